@@ -13,6 +13,7 @@ package com.openshift.client;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -52,7 +53,7 @@ public class ApplicationBuilder {
 		}
 	}
 	
-	protected abstract class AbstractNamedCartridgeBuilder<B> {
+	protected abstract class AbstractNamedCartridgeBuilder<B> implements IApplicationSpec {
 		
 		protected String name;
 		protected IGearProfile gearProfile;
@@ -89,6 +90,16 @@ public class ApplicationBuilder {
 			this.environmentVariables = environmentVariables;
 			return (B) this;
 		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public Map<String, String> getEnvironmentVariables() {
+			return environmentVariables;
+		}
 	}
 	
 	public class NamedTypedCartridgeBuilder extends AbstractNamedCartridgeBuilder<NamedTypedCartridgeBuilder> {
@@ -114,6 +125,20 @@ public class ApplicationBuilder {
 					createCartridges(standaloneCartridge, embeddableCartridges));
 		}
 
+		@Override
+		public IApplication create() {
+			return domain.createApplication(name, applicationScale, gearProfile, initialGitUrl, timeout, null,
+					standaloneCartridge);
+		}
+
+		@Override
+		public Collection<IEmbeddableCartridge> getEmbeddableCartridges() {
+			if (embeddableCartridges == null) {
+				return Collections.emptyList();
+			}
+			return embeddableCartridges;
+		}
+
 		protected ICartridge[] createCartridges(IStandaloneCartridge standaloneCartridge, Collection<? extends ICartridge> embeddableCartridges) {
 			List<ICartridge> cartridges = new ArrayList<ICartridge>();
 			cartridges.add(standaloneCartridge);
@@ -138,5 +163,20 @@ public class ApplicationBuilder {
 			return domain.createApplication(name, applicationScale, gearProfile, initialGitUrl, timeout, environmentVariables,
 					cartridges.toArray(new ICartridge[cartridges.size()]));
 		}
+
+		/**
+		 * Creates the application with all its cartridges, it cannot tell
+		 * standalone from embeddable ones.
+		 */
+		@Override
+		public IApplication create() {
+			return domain.createApplication(name, applicationScale, gearProfile, initialGitUrl, timeout, null,
+					cartridges.toArray(new ICartridge[cartridges.size()]));
+		}
+
+		@Override
+		public Collection<IEmbeddableCartridge> getEmbeddableCartridges() {
+			return Collections.emptyList();
+		}
 	}
 }
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.openshift.client.cartridge.IEmbeddableCartridge;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * Creates many applications at once. Each application runs through the stages
+ * of a pipeline: it gets created, its embeddable cartridges are added, its
+ * environment variables are set and the provisioner waits for it to be
+ * accessible. Stages that have nothing to do for an application are skipped.
+ * Each stage runs a limited number of applications at the same time, an
+ * application moves on to the next stage as soon as it is done with the
+ * current one. An application that fails a stage does not run the remaining
+ * ones, the other applications are not affected.
+ * 
+ * <pre>
+ * ApplicationProvisioner.Report report = new ApplicationProvisioner()
+ * 		.setConcurrency(Stage.CREATE, 10)
+ * 		.setWaitForAccessible(5 * 60 * 1000)
+ * 		.provision(builders);
+ * </pre>
+ * 
+ * @author Andre Dietisheim
+ * 
+ * @see ApplicationBuilder
+ * @see IApplicationSpec
+ */
+public class ApplicationProvisioner {
+
+	public static final int DEFAULT_CONCURRENCY = 5;
+
+	public enum Stage {
+		CREATE, EMBED_CARTRIDGES, SET_ENVIRONMENT_VARIABLES, WAIT_FOR_ACCESSIBLE
+	}
+
+	private final Map<Stage, Integer> concurrency = new EnumMap<Stage, Integer>(Stage.class);
+	private long accessibleTimeout = 0;
+
+	public ApplicationProvisioner() {
+		for (Stage stage : Stage.values()) {
+			concurrency.put(stage, DEFAULT_CONCURRENCY);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of applications that run the given stage at the
+	 * same time.
+	 */
+	public ApplicationProvisioner setConcurrency(Stage stage, int concurrency) {
+		Assert.isTrue(concurrency > 0);
+		this.concurrency.put(stage, concurrency);
+		return this;
+	}
+
+	/**
+	 * Waits for each application to become accessible for the given time.
+	 * Applications are not waited for if the timeout is 0 (the default).
+	 * 
+	 * @param timeout
+	 *            the timeout in milliseconds
+	 */
+	public ApplicationProvisioner setWaitForAccessible(long timeout) {
+		this.accessibleTimeout = timeout;
+		return this;
+	}
+
+	/**
+	 * Provisions the applications that the given builders specify and blocks
+	 * until all of them succeeded or failed.
+	 * 
+	 * @param builders
+	 *            the builders (or other specs) of the applications to
+	 *            provision
+	 * @return the report with the results for all applications
+	 * @throws OpenShiftException
+	 *             if the provisioning was interrupted
+	 */
+	public Report provision(Collection<? extends IApplicationSpec> builders) throws OpenShiftException {
+		Map<Stage, ExecutorService> executors = new EnumMap<Stage, ExecutorService>(Stage.class);
+		for (Stage stage : Stage.values()) {
+			executors.put(stage, Executors.newFixedThreadPool(concurrency.get(stage)));
+		}
+		long start = System.currentTimeMillis();
+		List<Result> results = new ArrayList<Result>(builders.size());
+		CountDownLatch done = new CountDownLatch(builders.size());
+		try {
+			for (IApplicationSpec builder : builders) {
+				Result result = new Result(builder.getName());
+				results.add(result);
+				new StageTask(Stage.CREATE, builder, result, executors, done).submit();
+			}
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenShiftException(e, "Interrupted while provisioning {0} applications", builders.size());
+		} finally {
+			for (ExecutorService executor : executors.values()) {
+				executor.shutdownNow();
+			}
+		}
+		return new Report(results, System.currentTimeMillis() - start);
+	}
+
+	private class StageTask implements Runnable {
+
+		private final Stage stage;
+		private final IApplicationSpec builder;
+		private final Result result;
+		private final Map<Stage, ExecutorService> executors;
+		private final CountDownLatch done;
+
+		private StageTask(Stage stage, IApplicationSpec builder, Result result,
+				Map<Stage, ExecutorService> executors, CountDownLatch done) {
+			this.stage = stage;
+			this.builder = builder;
+			this.result = result;
+			this.executors = executors;
+			this.done = done;
+		}
+
+		private void submit() {
+			executors.get(stage).submit(this);
+		}
+
+		@Override
+		public void run() {
+			long start = System.currentTimeMillis();
+			boolean submittedNext = false;
+			try {
+				runStage();
+				result.setDuration(stage, System.currentTimeMillis() - start);
+				Stage next = getNextStage(stage);
+				if (next != null) {
+					new StageTask(next, builder, result, executors, done).submit();
+					submittedNext = true;
+				}
+			} catch (Throwable e) {
+				result.setDuration(stage, System.currentTimeMillis() - start);
+				result.setError(stage, e);
+			} finally {
+				if (!submittedNext) {
+					done.countDown();
+				}
+			}
+		}
+
+		private void runStage() {
+			switch (stage) {
+			case CREATE:
+				result.application = builder.create();
+				break;
+			case EMBED_CARTRIDGES:
+				result.application.addEmbeddableCartridges(builder.getEmbeddableCartridges());
+				break;
+			case SET_ENVIRONMENT_VARIABLES:
+				result.application.addEnvironmentVariables(builder.getEnvironmentVariables());
+				break;
+			case WAIT_FOR_ACCESSIBLE:
+				if (!result.application.waitForAccessible(accessibleTimeout)) {
+					throw new OpenShiftException("Application {0} did not become accessible within {1} ms",
+							builder.getName(), accessibleTimeout);
+				}
+				break;
+			}
+		}
+
+		private Stage getNextStage(Stage stage) {
+			for (int i = stage.ordinal() + 1; i < Stage.values().length; i++) {
+				Stage next = Stage.values()[i];
+				if (isRequired(next)) {
+					return next;
+				}
+			}
+			return null;
+		}
+
+		private boolean isRequired(Stage stage) {
+			switch (stage) {
+			case EMBED_CARTRIDGES:
+				Collection<IEmbeddableCartridge> cartridges = builder.getEmbeddableCartridges();
+				return cartridges != null
+						&& !cartridges.isEmpty();
+			case SET_ENVIRONMENT_VARIABLES:
+				Map<String, String> environmentVariables = builder.getEnvironmentVariables();
+				return environmentVariables != null
+						&& !environmentVariables.isEmpty();
+			case WAIT_FOR_ACCESSIBLE:
+				return accessibleTimeout > 0;
+			default:
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * The outcome of provisioning a single application.
+	 */
+	public static class Result {
+
+		private final String name;
+		private final long[] durations = new long[Stage.values().length];
+		private volatile IApplication application;
+		private volatile Stage failedStage;
+		private volatile Throwable error;
+
+		private Result(String name) {
+			this.name = name;
+			Arrays.fill(durations, -1);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the application or <code>null</code> if it could not be
+		 * created.
+		 */
+		public IApplication getApplication() {
+			return application;
+		}
+
+		public boolean isSuccessful() {
+			return error == null;
+		}
+
+		/**
+		 * Returns the stage that failed or <code>null</code> if all stages
+		 * succeeded.
+		 */
+		public Stage getFailedStage() {
+			return failedStage;
+		}
+
+		public Throwable getError() {
+			return error;
+		}
+
+		/**
+		 * Returns the time in milliseconds that the given stage took or -1 if
+		 * the stage was not run for this application.
+		 */
+		public synchronized long getDuration(Stage stage) {
+			return durations[stage.ordinal()];
+		}
+
+		private synchronized void setDuration(Stage stage, long duration) {
+			durations[stage.ordinal()] = duration;
+		}
+
+		private void setError(Stage stage, Throwable error) {
+			this.failedStage = stage;
+			this.error = error;
+		}
+
+		@Override
+		public String toString() {
+			return "Result ["
+					+ "name=" + name + ", "
+					+ "successful=" + isSuccessful() + ", "
+					+ "failedStage=" + failedStage + ", "
+					+ "durations=" + Arrays.toString(durations)
+					+ "]";
+		}
+	}
+
+	/**
+	 * The results of a provisioning with the time that it and its stages took.
+	 */
+	public static class Report {
+
+		private final List<Result> results;
+		private final long duration;
+
+		private Report(List<Result> results, long duration) {
+			this.results = Collections.unmodifiableList(results);
+			this.duration = duration;
+		}
+
+		/**
+		 * Returns the results of all applications, in the order of the
+		 * builders that they were provisioned with.
+		 */
+		public List<Result> getResults() {
+			return results;
+		}
+
+		public List<Result> getFailed() {
+			List<Result> failed = new ArrayList<Result>();
+			for (Result result : results) {
+				if (!result.isSuccessful()) {
+					failed.add(result);
+				}
+			}
+			return failed;
+		}
+
+		public List<IApplication> getApplications() {
+			List<IApplication> applications = new ArrayList<IApplication>();
+			for (Result result : results) {
+				if (result.isSuccessful()) {
+					applications.add(result.getApplication());
+				}
+			}
+			return applications;
+		}
+
+		/**
+		 * Returns the time in milliseconds that the whole provisioning took.
+		 */
+		public long getDuration() {
+			return duration;
+		}
+
+		/**
+		 * Returns the time in milliseconds that the given stage took for all
+		 * applications together.
+		 */
+		public long getTotalDuration(Stage stage) {
+			long total = 0;
+			for (Result result : results) {
+				total += Math.max(0, result.getDuration(stage));
+			}
+			return total;
+		}
+
+		/**
+		 * Returns the longest time in milliseconds that the given stage took
+		 * for a single application.
+		 */
+		public long getMaxDuration(Stage stage) {
+			long max = 0;
+			for (Result result : results) {
+				max = Math.max(max, result.getDuration(stage));
+			}
+			return max;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder("Report [")
+					.append("applications=").append(results.size()).append(", ")
+					.append("failed=").append(getFailed().size()).append(", ")
+					.append("duration=").append(duration).append("ms");
+			for (Stage stage : Stage.values()) {
+				builder.append(", ").append(stage)
+						.append("=").append(getTotalDuration(stage)).append("ms total/")
+						.append(getMaxDuration(stage)).append("ms max");
+			}
+			return builder.append("]").toString();
+		}
+	}
+}
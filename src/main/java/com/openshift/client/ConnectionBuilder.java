@@ -10,6 +10,7 @@
  ******************************************************************************/
 package com.openshift.client;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
@@ -25,9 +26,12 @@ import com.openshift.internal.client.RestService;
 import com.openshift.internal.client.httpclient.UrlConnectionHttpClientBuilder;
 import com.openshift.internal.client.httpclient.request.JsonMediaType;
 import com.openshift.internal.client.httpclient.request.Parameter;
+import com.openshift.internal.client.response.ApiLinksSnapshot;
+import com.openshift.internal.client.response.CatalogSnapshot;
 import com.openshift.internal.client.response.Link;
 import com.openshift.internal.client.response.OpenShiftJsonDTOFactory;
 import com.openshift.internal.client.response.RestResponse;
+import com.openshift.internal.client.ssh.ForwardablePortsSnapshot;
 
 /**
  * A builder for a connection to OpenShift.
@@ -178,6 +182,8 @@ public class ConnectionBuilder {
 		protected String sslCipherExclusionRegex;
 		protected IOpenShiftConfiguration configuration;
 		protected int timeout;
+		protected File catalogSnapshot;
+		protected File warmStartDirectory;
 
 		protected AbstractConnectionBuilder(String serverUrl, IOpenShiftConfiguration configuration) {
 			this.serverUrl = serverUrl;
@@ -214,6 +220,40 @@ public class ConnectionBuilder {
 			return this;
 		}
 
+		/**
+		 * Keeps the cartridges and quickstarts of the server in the given
+		 * file. Connections that are created later on load them from this file
+		 * instead of requesting them from the server as long as the file is
+		 * valid and up-to-date.
+		 * 
+		 * @param file
+		 *            the file to store the catalogs in
+		 * @return this builder
+		 */
+		public AbstractConnectionBuilder catalogSnapshot(File file) {
+			this.catalogSnapshot = file;
+			return this;
+		}
+
+		/**
+		 * Creates connections that start without requesting the API root of
+		 * the server. The links of the API root are discovered when they're
+		 * first needed and stored in the given directory (per server). Later
+		 * connections load them from there and only request the API root again
+		 * once a request with a stored link fails. The cartridges and
+		 * quickstarts are stored in the given directory, too, unless a
+		 * {@link #catalogSnapshot(File) catalog snapshot} is given. So are the
+		 * forwardable ports of the applications once they were looked up.
+		 * 
+		 * @param directory
+		 *            the directory to store the links and catalogs in
+		 * @return this builder
+		 */
+		public AbstractConnectionBuilder warmStart(File directory) {
+			this.warmStartDirectory = directory;
+			return this;
+		}
+
 		public abstract IOpenShiftConnection create();
 
 		protected String createCipherExclusionRegex(ConfigurationOptions option) {
@@ -245,13 +285,34 @@ public class ConnectionBuilder {
 
 		@SuppressWarnings("unchecked")
 		protected APIResource getAPIResource(String username, String password, String token, IRestService service) {
+			if (warmStartDirectory != null) {
+				// links are discovered lazily
+				return new APIResource(username, password, token, service, null,
+						createCatalogSnapshot(service),
+						new ApiLinksSnapshot(warmStartDirectory, service.getPlatformUrl(), IRestService.SERVICE_VERSION),
+						new ForwardablePortsSnapshot(warmStartDirectory, service.getPlatformUrl())) {};
+			}
 			RestResponse response =
 					(RestResponse) service.request(
 							new Link("Get API", "/api", HttpMethod.GET),
 							IHttpClient.NO_TIMEOUT,
 							Collections.<Parameter> emptyList(),
 							Collections.<Parameter> emptyList());
-			return new APIResource(username, password, token, service, (Map<String, Link>) response.getData()) {};
+			return new APIResource(username, password, token, service, (Map<String, Link>) response.getData(),
+					createCatalogSnapshot(service)) {};
+		}
+
+		protected CatalogSnapshot createCatalogSnapshot(IRestService service) {
+			File file = catalogSnapshot;
+			if (file == null
+					&& warmStartDirectory != null) {
+				file = new File(warmStartDirectory,
+						"catalog-" + Integer.toHexString(service.getPlatformUrl().hashCode()) + ".snapshot");
+			}
+			if (file == null) {
+				return null;
+			}
+			return new CatalogSnapshot(file, service.getPlatformUrl());
 		}
 	}
 }
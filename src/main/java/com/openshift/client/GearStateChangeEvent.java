@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+/**
+ * Notifies that the state of a gear changed. The previous state is
+ * <code>null</code> if the gear was added, the new state is <code>null</code>
+ * if the gear was removed.
+ * 
+ * @author Andre Dietisheim
+ * 
+ * @see GearStateListener
+ */
+public class GearStateChangeEvent {
+
+	private final IApplication application;
+	private final IGear gear;
+	private final GearState previousState;
+	private final GearState state;
+
+	public GearStateChangeEvent(IApplication application, IGear gear, GearState previousState, GearState state) {
+		this.application = application;
+		this.gear = gear;
+		this.previousState = previousState;
+		this.state = state;
+	}
+
+	public IApplication getApplication() {
+		return application;
+	}
+
+	public IGear getGear() {
+		return gear;
+	}
+
+	/**
+	 * Returns the state of the gear before it changed or <code>null</code> if
+	 * the gear was added.
+	 */
+	public GearState getPreviousState() {
+		return previousState;
+	}
+
+	/**
+	 * Returns the state of the gear after it changed or <code>null</code> if
+	 * the gear was removed.
+	 */
+	public GearState getState() {
+		return state;
+	}
+
+	public boolean isAdded() {
+		return previousState == null;
+	}
+
+	public boolean isRemoved() {
+		return state == null;
+	}
+
+	@Override
+	public String toString() {
+		return "GearStateChangeEvent ["
+				+ "application=" + application.getName() + ", "
+				+ "gear=" + gear.getId() + ", "
+				+ "previousState=" + previousState + ", "
+				+ "state=" + state
+				+ "]";
+	}
+}
@@ -599,4 +599,32 @@ public interface IApplication extends IOpenShiftResource {
 	 */
 	public boolean canUpdateEnvironmentVariables();
 
-}
\ No newline at end of file
+	/**
+	 * Adds a listener that gets notified when embedded cartridges are added,
+	 * removed or changed while this application is refreshed.
+	 * 
+	 * @param listener
+	 *            the listener to add
+	 * 
+	 * @see #refresh()
+	 */
+	public void addChangeListener(IResourceChangeListener listener);
+
+	public void removeChangeListener(IResourceChangeListener listener);
+
+	/**
+	 * Watches the gears of this application: they're polled in the background
+	 * and the given listener gets notified when the state of a gear changed or
+	 * when gears were added or removed. The polling stops once all listeners
+	 * unwatched the gear states.
+	 * 
+	 * @param listener
+	 *            the listener to notify
+	 * 
+	 * @see #unwatchGearStates(IGearStateListener)
+	 * @see IDomain#watch(IResourceChangeListener)
+	 */
+	public void watchGearStates(IGearStateListener listener);
+
+	public void unwatchGearStates(IGearStateListener listener);
+}
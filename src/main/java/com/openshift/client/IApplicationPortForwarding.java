@@ -47,7 +47,7 @@ public interface IApplicationPortForwarding {
 
 	/**
 	 * @param localPort
-	 *            the localPort to set
+	 *            the localPort to set, 0 to bind to any free port
 	 */
 	public abstract void setLocalPort(final int localPort);
 
@@ -22,6 +22,13 @@ import java.util.List;
  */
 public interface IApplicationSSHSession {
 
+	/**
+	 * Returns the application that this session is connected to.
+	 * 
+	 * @return the application of this session
+	 */
+	public IApplication getApplication();
+
 	/**
 	 * Refreshes the list of port-forwarding. Started ones are kept as-is.
 	 *
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.openshift.client.cartridge.IEmbeddableCartridge;
+
+/**
+ * The specification of an application that the {@link ApplicationProvisioner}
+ * creates in separate stages. The builders of the {@link ApplicationBuilder}
+ * are such specifications.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see ApplicationBuilder#setName(String)
+ */
+public interface IApplicationSpec {
+
+	/**
+	 * Returns the name of the application.
+	 */
+	public String getName();
+
+	/**
+	 * Creates the application without its embeddable cartridges and
+	 * environment variables. These are added in separate stages.
+	 *
+	 * @return the application that was created
+	 * @throws OpenShiftException
+	 */
+	public IApplication create() throws OpenShiftException;
+
+	/**
+	 * Returns the cartridges that {@link #create()} does not create the
+	 * application with.
+	 */
+	public Collection<IEmbeddableCartridge> getEmbeddableCartridges();
+
+	/**
+	 * Returns the environment variables that {@link #create()} does not
+	 * create the application with.
+	 */
+	public Map<String, String> getEnvironmentVariables();
+}
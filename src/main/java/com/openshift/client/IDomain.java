@@ -250,5 +250,32 @@ public interface IDomain extends IOpenShiftResource {
 	 * @throws OpenShiftException
 	 */
 	public List<IGearProfile> getAvailableGearProfiles() throws OpenShiftException;
-	
-}
\ No newline at end of file
+
+	/**
+	 * Adds a listener that gets notified when applications are added, removed or
+	 * changed while this domain is refreshed.
+	 * 
+	 * @param listener
+	 *            the listener to add
+	 * 
+	 * @see #refresh()
+	 */
+	public void addChangeListener(IResourceChangeListener listener);
+
+	public void removeChangeListener(IResourceChangeListener listener);
+
+	/**
+	 * Watches the applications of this domain: they're polled in the
+	 * background and the given listener gets notified when applications are
+	 * created, removed or changed (ex. scaled). The polling stops once all
+	 * listeners unwatched this domain.
+	 * 
+	 * @param listener
+	 *            the listener to notify
+	 * 
+	 * @see #unwatch(IResourceChangeListener)
+	 */
+	public void watch(IResourceChangeListener listener);
+
+	public void unwatch(IResourceChangeListener listener);
+}
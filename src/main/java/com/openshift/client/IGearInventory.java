@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The gears of all applications of a user, as of the time the inventory was
+ * loaded.
+ * 
+ * @author Andre Dietisheim
+ * 
+ * @see IUser#getGearInventory()
+ */
+public interface IGearInventory {
+
+	/** the default maximum number of gear groups requests that run in parallel */
+	public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 5;
+
+	/**
+	 * Returns the number of gears in this inventory.
+	 */
+	public int size();
+
+	public List<IGear> getGears();
+
+	/**
+	 * Returns the gears that are in the given state.
+	 * 
+	 * @param state
+	 *            the state, ex. "started"
+	 * @return the gears in the given state
+	 */
+	public List<IGear> getGears(IGearState state);
+
+	/**
+	 * Returns the number of gears that are in the given state.
+	 * 
+	 * @param state
+	 *            the state, ex. "idle"
+	 * @return the number of gears in the given state
+	 */
+	public int getCount(IGearState state);
+
+	/**
+	 * Returns the gears of the given application.
+	 * 
+	 * @param application
+	 *            the application whose gears shall be returned
+	 * @return the gears of the given application
+	 */
+	public List<IGear> getGears(IApplication application);
+
+	/**
+	 * Returns the states that the gears in this inventory are in.
+	 */
+	public Set<GearState> getStates();
+
+	public List<IApplication> getApplications();
+}
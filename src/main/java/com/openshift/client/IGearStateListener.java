@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+/**
+ * A listener that gets notified when the state of a gear of a watched
+ * application changed, or when gears were added or removed (ex. because the
+ * application was scaled).
+ * 
+ * @author Andre Dietisheim
+ * 
+ * @see IApplication#watchGearStates(IGearStateListener)
+ */
+public interface IGearStateListener {
+
+	public void gearStateChanged(GearStateChangeEvent event);
+
+}
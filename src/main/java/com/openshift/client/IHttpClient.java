@@ -35,6 +35,8 @@ public interface IHttpClient {
 	public static final String PROPERTY_AUTHORIZATION = "Authorization";
 	public static final String PROPERTY_ACCEPT = "Accept";
 	public static final String PROPERTY_USER_AGENT = "User-Agent";
+	public static final String PROPERTY_ACCEPT_ENCODING = "Accept-Encoding";
+	public static final String PROPERTY_CONTENT_ENCODING = "Content-Encoding";
 	
 	public static final String PROPERTY_AUTHKEY = "broker_auth_key";
 	public static final String PROPERTY_AUTHIV = "broker_auth_iv";
@@ -43,6 +45,10 @@ public interface IHttpClient {
 	public static final String MEDIATYPE_APPLICATION_XML = "application/xml";
 	public static final String MEDIATYPE_APPLICATION_FORMURLENCODED = "application/x-www-form-urlencoded";
 
+	public static final String ENCODING_GZIP = "gzip";
+	public static final String ENCODING_X_GZIP = "x-gzip";
+	public static final String ENCODING_DEFLATE = "deflate";
+
 	public static final String AUTHORIZATION_BASIC = "Basic";
 	public static final String AUTHORIZATION_BEARER = "Bearer";
 
@@ -118,6 +118,39 @@ public interface IOpenShiftConnection {
 	 */
 	public List<IQuickstart> getQuickstarts() throws OpenShiftException;
 
+	/**
+	 * Returns the available quickstarts that have the given tag. Tags are
+	 * matched case-insensitively.
+	 * 
+	 * @param tag
+	 *            the tag, ex. "php"
+	 * @return the quickstarts with the given tag
+	 * @throws OpenShiftException
+	 */
+	public List<IQuickstart> getQuickstartsByTag(String tag) throws OpenShiftException;
+
+	/**
+	 * Returns the available quickstarts in the given language. Languages are
+	 * matched case-insensitively.
+	 * 
+	 * @param language
+	 *            the language, ex. "Java"
+	 * @return the quickstarts in the given language
+	 * @throws OpenShiftException
+	 */
+	public List<IQuickstart> getQuickstartsByLanguage(String language) throws OpenShiftException;
+
+	/**
+	 * Returns the available quickstarts of the given provider. Providers are
+	 * matched case-insensitively.
+	 * 
+	 * @param provider
+	 *            the provider, ex. "openshift"
+	 * @return the quickstarts of the given provider
+	 * @throws OpenShiftException
+	 */
+	public List<IQuickstart> getQuickstartsByProvider(String provider) throws OpenShiftException;
+
 	/**
 	 * Returns the executor service instance that's available in this
 	 * connection.
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * The output of a command that runs remotely via ssh. The output is read while
+ * the command is running, lines (or chunks of bytes) are available as soon as
+ * they arrive. Nothing is read ahead of the caller: if the caller does not
+ * read, the remote output waits in the (bounded) buffer of the ssh channel and
+ * the remote command is eventually blocked.
+ * <p>
+ * The output is either read as lines (by iterating) or as chunks of bytes (by
+ * {@link #read(byte[])}), the two should not be mixed. Lines that are longer
+ * than the maximum line length are split. Closing or cancelling closes the ssh
+ * channel and terminates the remote command.
+ *
+ * <pre>
+ * IRemoteCommandOutput output = session.streamCommand("tail -f app-root/logs/*.log");
+ * try {
+ * 	while (output.hasNext()) {
+ * 		System.out.println(output.next());
+ * 	}
+ * } finally {
+ * 	output.close();
+ * }
+ * </pre>
+ *
+ * @author Andre Dietisheim
+ *
+ * @see com.openshift.internal.client.ApplicationSSHSession#streamCommand(String)
+ */
+public interface IRemoteCommandOutput extends Iterator<String>, Closeable {
+
+	/** the length in characters after which lines are split */
+	public static final int DEFAULT_MAX_LINE_LENGTH = 8 * 1024;
+
+	/**
+	 * Returns <code>true</code> if there's a further line. Blocks until the
+	 * line arrived or the remote command ended.
+	 *
+	 * @throws OpenShiftSSHOperationException
+	 *             if the output could not be read
+	 */
+	@Override
+	public boolean hasNext() throws OpenShiftSSHOperationException;
+
+	/**
+	 * Returns the next line. Blocks until the line arrived.
+	 *
+	 * @throws OpenShiftSSHOperationException
+	 *             if the output could not be read
+	 * @throws java.util.NoSuchElementException
+	 *             if the remote command ended and there are no further lines
+	 */
+	@Override
+	public String next() throws OpenShiftSSHOperationException;
+
+	/**
+	 * Reads the next chunk of bytes into the given buffer. Blocks until at
+	 * least one byte arrived or the remote command ended.
+	 *
+	 * @param buffer
+	 *            the buffer to read into
+	 * @return the number of bytes read, -1 if the remote command ended
+	 * @throws OpenShiftSSHOperationException
+	 *             if the output could not be read
+	 */
+	public int read(byte[] buffer) throws OpenShiftSSHOperationException;
+
+	/**
+	 * Stops reading and closes the ssh channel. Threads that are blocked
+	 * reading return as if the remote command had ended.
+	 */
+	public void cancel();
+
+	public boolean isCancelled();
+
+	/**
+	 * Returns the exit status of the remote command, or -1 if it did not end
+	 * (yet) or if it was cancelled.
+	 */
+	public int getExitStatus();
+
+	/**
+	 * Closes the ssh channel. Same as {@link #cancel()} if the remote command
+	 * is still running.
+	 */
+	@Override
+	public void close();
+
+}
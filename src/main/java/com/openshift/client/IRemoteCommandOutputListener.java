@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+/**
+ * A listener that gets notified of each line that a remote command outputs,
+ * as soon as it arrives. The listener is called in the thread that runs the
+ * command, a listener that takes long to process a line holds back the
+ * command.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see com.openshift.internal.client.ApplicationSSHSession#streamCommand(String, IRemoteCommandOutputListener)
+ */
+public interface IRemoteCommandOutputListener {
+
+	/**
+	 * Called for each line of output.
+	 *
+	 * @param line
+	 *            the line without the line terminator
+	 * @return <code>false</code> to cancel the command, <code>true</code> to
+	 *         continue
+	 */
+	public boolean lineReceived(String line);
+
+}
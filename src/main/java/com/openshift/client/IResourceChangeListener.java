@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+/**
+ * A listener that gets notified when the children of a resource were added,
+ * removed or changed while the resource was refreshed.
+ * 
+ * @author Andre Dietisheim
+ * 
+ * @see IDomain#addChangeListener(IResourceChangeListener)
+ * @see IApplication#addChangeListener(IResourceChangeListener)
+ */
+public interface IResourceChangeListener {
+
+	public void resourceChanged(ResourceChangeEvent event);
+
+}
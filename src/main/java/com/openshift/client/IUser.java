@@ -12,6 +12,7 @@ package com.openshift.client;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author André Dietisheim
@@ -19,6 +20,9 @@ import java.util.List;
  */
 public interface IUser extends IOpenShiftResource {
 
+	/** the default maximum number of key requests that run in parallel when synchronizing keys */
+	public static final int DEFAULT_MAX_CONCURRENT_KEY_REQUESTS = 5;
+
 	public String getId();
 
 	public String getRhlogin();
@@ -145,6 +149,39 @@ public interface IUser extends IOpenShiftResource {
 
 	public boolean removeSSHKey(String name);
 
+	/**
+	 * Makes the ssh keys of this user match the given keys. Keys whose name is
+	 * not in the given keys are removed, keys whose type or public key differ
+	 * are updated and keys that don't exist yet are added. Keys that match
+	 * are left untouched. The requests run in parallel, at most
+	 * {@link #DEFAULT_MAX_CONCURRENT_KEY_REQUESTS} at a time.
+	 * 
+	 * @param keys
+	 *            the keys that this user shall have, by name
+	 * @return the keys of this user
+	 * @throws OpenShiftException
+	 * 
+	 * @see #syncSSHKeys(Map, int)
+	 */
+	public List<IOpenShiftSSHKey> syncSSHKeys(Map<String, ISSHPublicKey> keys) throws OpenShiftException;
+
+	/**
+	 * Makes the ssh keys of this user match the given keys. At most the given
+	 * number of requests run at the same time. Removals run before additions
+	 * and updates so that public keys may move from one name to another.
+	 * 
+	 * @param keys
+	 *            the keys that this user shall have, by name
+	 * @param maxConcurrentRequests
+	 *            the maximum number of requests that run at the same time
+	 * @return the keys of this user
+	 * @throws OpenShiftException
+	 * 
+	 * @see #syncSSHKeys(Map)
+	 */
+	public List<IOpenShiftSSHKey> syncSSHKeys(Map<String, ISSHPublicKey> keys, int maxConcurrentRequests)
+			throws OpenShiftException;
+
 	@Deprecated
 	public void deleteKey(String name);
 
@@ -152,4 +189,31 @@ public interface IUser extends IOpenShiftResource {
 
 	public int getConsumedGears();
 
+	/**
+	 * Returns the gears of all applications in all domains of this user. The
+	 * gear groups of the applications are requested in parallel, at most
+	 * {@link IGearInventory#DEFAULT_MAX_CONCURRENT_REQUESTS} at a time.
+	 * 
+	 * @return the gears of this user
+	 * @throws OpenShiftException
+	 * 
+	 * @see #getGearInventory(int)
+	 */
+	public IGearInventory getGearInventory() throws OpenShiftException;
+
+	/**
+	 * Returns the gears of all applications in all domains of this user. The
+	 * gear groups of the applications are requested in parallel using the
+	 * executor of the connection, at most the given number at a time.
+	 * 
+	 * @param maxConcurrentRequests
+	 *            the maximum number of gear groups requests that run at the
+	 *            same time
+	 * @return the gears of this user
+	 * @throws OpenShiftException
+	 * 
+	 * @see IOpenShiftConnection#getExecutorService()
+	 */
+	public IGearInventory getGearInventory(int maxConcurrentRequests) throws OpenShiftException;
+
 }
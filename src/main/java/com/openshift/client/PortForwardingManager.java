@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.openshift.internal.client.ssh.ApplicationPortForwarding;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * Starts and stops the port forwarding of many applications at once. Each
+ * application is handled in its own ssh session, the sessions are worked on in
+ * parallel: their forwardable ports are looked up and bound at the same time.
+ * At most a limited number of sessions are worked on at the same time. A
+ * session that fails does not affect the other ones, the report holds the
+ * outcome for each port and each session that failed.
+ *
+ * <pre>
+ * PortForwardingManager.Report report = new PortForwardingManager()
+ * 		.setConcurrency(10)
+ * 		.start(sessions);
+ * </pre>
+ *
+ * @author Andre Dietisheim
+ *
+ * @see IApplicationSSHSession#startPortForwarding()
+ */
+public class PortForwardingManager {
+
+	public static final int DEFAULT_CONCURRENCY = 5;
+
+	private int concurrency = DEFAULT_CONCURRENCY;
+
+	/**
+	 * Sets the maximum number of sessions that are worked on at the same time.
+	 */
+	public PortForwardingManager setConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0);
+		this.concurrency = concurrency;
+		return this;
+	}
+
+	/**
+	 * Starts forwarding the ports of the given sessions and blocks until all
+	 * of them are started or failed.
+	 *
+	 * @param sessions
+	 *            the sessions whose ports shall be forwarded
+	 * @return the report with the results for all ports
+	 * @throws OpenShiftException
+	 *             if starting was interrupted
+	 */
+	public Report start(Collection<? extends IApplicationSSHSession> sessions) throws OpenShiftException {
+		return run(sessions, true);
+	}
+
+	/**
+	 * Stops forwarding the ports of the given sessions and blocks until all of
+	 * them are stopped or failed.
+	 *
+	 * @param sessions
+	 *            the sessions whose ports shall not be forwarded any more
+	 * @return the report with the results for all ports
+	 * @throws OpenShiftException
+	 *             if stopping was interrupted
+	 */
+	public Report stop(Collection<? extends IApplicationSSHSession> sessions) throws OpenShiftException {
+		return run(sessions, false);
+	}
+
+	private Report run(Collection<? extends IApplicationSSHSession> sessions, final boolean start)
+			throws OpenShiftException {
+		Assert.notNull(sessions);
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, sessions.size())));
+		List<Future<List<IApplicationPortForwarding>>> futures =
+				new ArrayList<Future<List<IApplicationPortForwarding>>>(sessions.size());
+		try {
+			for (final IApplicationSSHSession session : sessions) {
+				futures.add(executor.submit(new Callable<List<IApplicationPortForwarding>>() {
+
+					@Override
+					public List<IApplicationPortForwarding> call() throws Exception {
+						if (start) {
+							return session.startPortForwarding();
+						} else {
+							return session.stopPortForwarding();
+						}
+					}
+				}));
+			}
+			List<Result> results = new ArrayList<Result>();
+			int i = 0;
+			for (IApplicationSSHSession session : sessions) {
+				addResults(session, futures.get(i++), results);
+			}
+			return new Report(results);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenShiftException(e, "Interrupted while forwarding the ports of {0} applications",
+					sessions.size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void addResults(IApplicationSSHSession session, Future<List<IApplicationPortForwarding>> future,
+			List<Result> results) throws InterruptedException {
+		try {
+			for (IApplicationPortForwarding port : future.get()) {
+				results.add(new Result(session.getApplication(), port, getError(port)));
+			}
+		} catch (ExecutionException e) {
+			results.add(new Result(session.getApplication(), null, e.getCause()));
+		}
+	}
+
+	private Throwable getError(IApplicationPortForwarding port) {
+		if (!(port instanceof ApplicationPortForwarding)) {
+			return null;
+		}
+		return ((ApplicationPortForwarding) port).getError();
+	}
+
+	/**
+	 * The outcome of forwarding a single port. A session whose ports could not
+	 * be looked up has a single result without a port.
+	 */
+	public static class Result {
+
+		private final IApplication application;
+		private final IApplicationPortForwarding port;
+		private final Throwable error;
+
+		private Result(IApplication application, IApplicationPortForwarding port, Throwable error) {
+			this.application = application;
+			this.port = port;
+			this.error = error;
+		}
+
+		public IApplication getApplication() {
+			return application;
+		}
+
+		/**
+		 * Returns the port or <code>null</code> if the ports of the
+		 * application could not be looked up.
+		 */
+		public IApplicationPortForwarding getPort() {
+			return port;
+		}
+
+		public boolean isSuccessful() {
+			return error == null;
+		}
+
+		public Throwable getError() {
+			return error;
+		}
+
+		@Override
+		public String toString() {
+			return "Result ["
+					+ "application=" + (application == null ? null : application.getName()) + ", "
+					+ "port=" + port + ", "
+					+ "successful=" + isSuccessful()
+					+ "]";
+		}
+	}
+
+	/**
+	 * The results of all ports of all sessions.
+	 */
+	public static class Report {
+
+		private final List<Result> results;
+
+		private Report(List<Result> results) {
+			this.results = Collections.unmodifiableList(results);
+		}
+
+		/**
+		 * Returns the results of all ports, in the order of the sessions that
+		 * they belong to.
+		 */
+		public List<Result> getResults() {
+			return results;
+		}
+
+		public List<Result> getFailed() {
+			List<Result> failed = new ArrayList<Result>();
+			for (Result result : results) {
+				if (!result.isSuccessful()) {
+					failed.add(result);
+				}
+			}
+			return failed;
+		}
+
+		public List<IApplicationPortForwarding> getPorts() {
+			List<IApplicationPortForwarding> ports = new ArrayList<IApplicationPortForwarding>();
+			for (Result result : results) {
+				if (result.isSuccessful()) {
+					ports.add(result.getPort());
+				}
+			}
+			return ports;
+		}
+
+		@Override
+		public String toString() {
+			return "Report ["
+					+ "ports=" + results.size() + ", "
+					+ "failed=" + getFailed().size()
+					+ "]";
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+/**
+ * Notifies that a child of a resource (ex. an application of a domain) was
+ * added, removed or changed.
+ * 
+ * @author Andre Dietisheim
+ * 
+ * @see IResourceChangeListener
+ */
+public class ResourceChangeEvent {
+
+	public enum Type {
+		ADDED, REMOVED, CHANGED
+	}
+
+	private final IOpenShiftResource source;
+	private final Type type;
+	private final IOpenShiftResource resource;
+
+	public ResourceChangeEvent(IOpenShiftResource source, Type type, IOpenShiftResource resource) {
+		this.source = source;
+		this.type = type;
+		this.resource = resource;
+	}
+
+	/**
+	 * Returns the resource whose children changed, ex. the domain.
+	 */
+	public IOpenShiftResource getSource() {
+		return source;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the child that was added, removed or changed, ex. the
+	 * application.
+	 */
+	public IOpenShiftResource getResource() {
+		return resource;
+	}
+
+	@Override
+	public String toString() {
+		return "ResourceChangeEvent ["
+				+ "source=" + source + ", "
+				+ "type=" + type + ", "
+				+ "resource=" + resource
+				+ "]";
+	}
+}
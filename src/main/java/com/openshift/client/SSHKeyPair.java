@@ -10,27 +10,25 @@
  ******************************************************************************/
 package com.openshift.client;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.KeyPair;
 import com.openshift.client.utils.Base64Coder;
 import com.openshift.internal.client.ssh.AbstractSSHKey;
 import com.openshift.internal.client.utils.Assert;
+import com.openshift.internal.client.utils.FileUtils;
+import com.openshift.internal.client.utils.StreamUtils;
 
 /**
  * @author André Dietisheim
  */
 public class SSHKeyPair extends AbstractSSHKey {
 
-	/**
-	 * The length of the key that is created when using #create. ssh-keygen uses
-	 * a default of 2048
-	 * 
-	 * @see #create(String, String, String)
-	 * @see http://en.wikipedia.org/wiki/Ssh-keygen
-	 */
-	private static final int KEYLENGTH = 2048;
-
 	private static final String ID = "com.openshift.client.rest";
 
 	private KeyPair keyPair;
@@ -59,9 +57,13 @@ public class SSHKeyPair extends AbstractSSHKey {
 	}
 
 	/**
-	 * Creates private and public ssh-rsa keys and stores them to the given
-	 * paths. The key is created while using the given pass phrase.
+	 * Creates private and public ssh keys of the given type and stores them to
+	 * the given paths. The key is created while using the given pass phrase.
+	 * The key files are written to temporary files first and then renamed, so
+	 * that there are no partially written keys at the given paths.
 	 * 
+	 * @param type
+	 *            the type of the key to create
 	 * @param passPhrase
 	 *            the pass phrase to set to the new key
 	 * @param privateKeyPath
@@ -71,17 +73,66 @@ public class SSHKeyPair extends AbstractSSHKey {
 	 * @return
 	 * @throws OpenShiftException
 	 *             if the key could not be created
+	 * 
+	 * @see SSHKeyType#getKeyLength()
+	 * @see SSHKeyPairPool
 	 */
 	public static SSHKeyPair create(SSHKeyType type, String passPhrase, String privateKeyPath, String publicKeyPath)
 			throws OpenShiftException {
+		Assert.notNull(type);
+
+		return create(generate(type), type, passPhrase, privateKeyPath, publicKeyPath);
+	}
+
+	static KeyPair generate(SSHKeyType type) throws OpenShiftException {
+		try {
+			return KeyPair.genKeyPair(new JSch(), type.toJSchKeyType(), type.getKeyLength());
+		} catch (JSchException e) {
+			throw new OpenShiftException(e, "Could not create new {0} key", type.getTypeId());
+		}
+	}
+
+	static SSHKeyPair create(KeyPair keyPair, SSHKeyType type, String passPhrase, String privateKeyPath,
+			String publicKeyPath) throws OpenShiftException {
+		Assert.notNull(privateKeyPath);
+		Assert.notNull(publicKeyPath);
+
 		try {
-			KeyPair keyPair = KeyPair.genKeyPair(new JSch(), KeyPair.RSA, KEYLENGTH);
 			keyPair.setPassphrase(passPhrase);
-			keyPair.writePublicKey(publicKeyPath, "created by " + ID);
-			keyPair.writePrivateKey(privateKeyPath);
-			return new SSHKeyPair(keyPair, privateKeyPath, publicKeyPath, SSHKeyType.SSH_RSA);
-		} catch (Exception e) {
-			throw new OpenShiftException(e, "Could not create new rsa key", e);
+			ByteArrayOutputStream publicKey = new ByteArrayOutputStream();
+			keyPair.writePublicKey(publicKey, "created by " + ID);
+			ByteArrayOutputStream privateKey = new ByteArrayOutputStream();
+			keyPair.writePrivateKey(privateKey);
+			write(publicKey.toByteArray(), new File(publicKeyPath));
+			write(privateKey.toByteArray(), new File(privateKeyPath));
+			return new SSHKeyPair(keyPair, privateKeyPath, publicKeyPath, type);
+		} catch (IOException e) {
+			throw new OpenShiftException(e, "Could not store new {0} key to {1}", type.getTypeId(), privateKeyPath);
+		}
+	}
+
+	/**
+	 * Writes the given content to a temporary file next to the given file and
+	 * replaces the given file by it once it is complete.
+	 * 
+	 * @see FileUtils#replace(File, File)
+	 */
+	private static void write(byte[] content, File file) throws IOException {
+		File directory = file.getAbsoluteFile().getParentFile();
+		File tmpFile = File.createTempFile(file.getName(), ".tmp", directory);
+		FileOutputStream out = null;
+		try {
+			out = new FileOutputStream(tmpFile);
+			out.write(content);
+			out.close();
+			out = null;
+			FileUtils.replace(tmpFile, file);
+			tmpFile = null;
+		} finally {
+			StreamUtils.quietlyClose(out);
+			if (tmpFile != null) {
+				tmpFile.delete();
+			}
 		}
 	}
 
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jcraft.jsch.KeyPair;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * Creates ssh key pairs from a pool of keys that are generated in the
+ * background. Generating a key takes a noticeable amount of time (up to
+ * seconds for 2048 bit rsa keys), the pool generates its keys ahead of time
+ * and replaces each key that is taken by a new one. Keys are generated
+ * on-the-fly if the pool is empty.
+ * <p>
+ * The pooled keys are held in memory without pass phrase: the pool holds up
+ * to <code>size</code> unencrypted private keys for as long as it lives. The
+ * pass phrase is only set once a key is taken and stored. Call
+ * {@link #shutdown()} to drop the keys once no more keys are needed.
+ *
+ * <pre>
+ * SSHKeyPairPool pool = new SSHKeyPairPool(SSHKeyType.SSH_RSA, 5);
+ * SSHKeyPair keyPair = pool.create(passPhrase, privateKeyPath, publicKeyPath);
+ * ...
+ * pool.shutdown();
+ * </pre>
+ *
+ * @author Andre Dietisheim
+ *
+ * @see SSHKeyPair#create(SSHKeyType, String, String, String)
+ */
+public class SSHKeyPairPool {
+
+	public static final int DEFAULT_SIZE = 5;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SSHKeyPairPool.class);
+
+	private final SSHKeyType type;
+	private final BlockingQueue<KeyPair> keyPairs;
+	private final ExecutorService executor;
+
+	public SSHKeyPairPool() {
+		this(SSHKeyType.SSH_RSA, DEFAULT_SIZE);
+	}
+
+	/**
+	 * Creates a pool that holds the given number of keys of the given type. It
+	 * starts generating the keys right away.
+	 *
+	 * @param type
+	 *            the type of the keys
+	 * @param size
+	 *            the number of keys that are generated ahead of time
+	 */
+	public SSHKeyPairPool(SSHKeyType type, int size) {
+		Assert.notNull(type);
+		Assert.isTrue(size > 0);
+
+		this.type = type;
+		this.keyPairs = new ArrayBlockingQueue<KeyPair>(size);
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "OpenShift ssh key generator");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			}
+		});
+		for (int i = 0; i < size; i++) {
+			refill();
+		}
+	}
+
+	/**
+	 * Creates private and public ssh keys with the given pass phrase and stores
+	 * them to the given paths. A key from the pool is used if there's one, it
+	 * is generated otherwise.
+	 *
+	 * @param passPhrase
+	 *            the pass phrase to set to the new key
+	 * @param privateKeyPath
+	 *            the path where the new private key gets stored
+	 * @param publicKeyPath
+	 *            the path where the new public key gets stored
+	 * @return the new key pair
+	 * @throws OpenShiftException
+	 *             if the key could not be created
+	 */
+	public SSHKeyPair create(String passPhrase, String privateKeyPath, String publicKeyPath)
+			throws OpenShiftException {
+		KeyPair keyPair = keyPairs.poll();
+		if (keyPair == null) {
+			keyPair = SSHKeyPair.generate(type);
+		}
+		refill();
+		return SSHKeyPair.create(keyPair, type, passPhrase, privateKeyPath, publicKeyPath);
+	}
+
+	/**
+	 * Returns the number of keys that are ready to be used.
+	 *
+	 * @return the number of keys in this pool
+	 */
+	public int getAvailable() {
+		return keyPairs.size();
+	}
+
+	public SSHKeyType getType() {
+		return type;
+	}
+
+	/**
+	 * Stops generating keys and discards the keys that were not used.
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+		synchronized (keyPairs) {
+			keyPairs.clear();
+		}
+	}
+
+	private void refill() {
+		try {
+			executor.submit(new Runnable() {
+
+				@Override
+				public void run() {
+					if (keyPairs.remainingCapacity() == 0) {
+						return;
+					}
+					try {
+						KeyPair keyPair = SSHKeyPair.generate(type);
+						synchronized (keyPairs) {
+							// generating is not interruptible, drop keys that were generated after shutdown
+							if (!executor.isShutdown()) {
+								keyPairs.offer(keyPair);
+							}
+						}
+					} catch (OpenShiftException e) {
+						LOGGER.warn("Could not generate {} key: {}", type.getTypeId(), e.getMessage());
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// shut down
+		}
+	}
+}
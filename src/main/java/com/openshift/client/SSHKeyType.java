@@ -18,18 +18,34 @@ import com.openshift.internal.client.utils.Assert;
  */
 public enum SSHKeyType {
 
-	SSH_RSA("ssh-rsa"), SSH_DSA("ssh-dss");
+	/** ssh-keygen uses a default of 2048 bits for rsa keys */
+	SSH_RSA("ssh-rsa", 2048),
+	/** dsa keys are 1024 bits as mandated by FIPS 186-2 */
+	SSH_DSA("ssh-dss", 1024);
 
 	private final String typeId;
+	private final int keyLength;
 
-	SSHKeyType(String typeId) {
+	SSHKeyType(String typeId, int keyLength) {
 		this.typeId = typeId;
+		this.keyLength = keyLength;
 	}
 
 	public String getTypeId() {
 		return typeId;
 	}
 
+	/**
+	 * Returns the length (in bits) of the keys that are created for this type.
+	 * 
+	 * @return the key length
+	 * 
+	 * @see SSHKeyPair#create(SSHKeyType, String, String, String)
+	 */
+	public int getKeyLength() {
+		return keyLength;
+	}
+
 	/**
 	 * Returns the JSch key pair constant for a given SSHKeyType.
 	 * 
@@ -11,7 +11,12 @@
 package com.openshift.client.cartridge.query;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
 
 import com.openshift.client.IApplication;
 import com.openshift.client.IDomain;
@@ -25,7 +30,20 @@ import com.openshift.internal.client.utils.Assert;
  * @author Andre Dietisheim
  */
 public abstract class AbstractCartridgeQuery implements ICartridgeQuery {
-	
+
+	private static final int MAX_CACHED_PATTERNS = 128;
+
+	private static final Map<String, Pattern> patternsByRegex =
+			new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+					return size() > MAX_CACHED_PATTERNS;
+				}
+			};
+
 	@Override
 	public <C extends ICartridge> List<C> getAll(List<C> cartridges) {
 		List<C> matchingCartridges = new ArrayList<C>();
@@ -33,7 +51,7 @@ public abstract class AbstractCartridgeQuery implements ICartridgeQuery {
 		if (cartridges == null) {
 			return matchingCartridges;
 		}
-		
+
 		for (C cartridge : cartridges) {
 			if (matches(cartridge)) {
 				matchingCartridges.add(cartridge);
@@ -53,9 +71,84 @@ public abstract class AbstractCartridgeQuery implements ICartridgeQuery {
 		 return matchingCartridges.iterator().next();
 	}
 
+	/**
+	 * Returns an iterator that lazily walks the given cartridges and only
+	 * returns the ones that this query matches.
+	 * 
+	 * @param cartridges
+	 *            the cartridges to match
+	 * @return an iterator over the matching cartridges
+	 */
+	public <C extends ICartridge> Iterator<C> iterator(final List<C> cartridges) {
+		return new MatchingIterator<C>(cartridges, this);
+	}
+
 	@Override
 	public abstract <C extends ICartridge> boolean matches(C cartridge);
 
+	/**
+	 * Returns a query that matches the cartridges that both, this and the
+	 * given query, match.
+	 * 
+	 * @see AndCartridgeQuery
+	 */
+	public AbstractCartridgeQuery and(ICartridgeQuery query) {
+		return new AndCartridgeQuery(this, query);
+	}
+
+	/**
+	 * Returns a query that matches the cartridges that this or the given
+	 * query match.
+	 * 
+	 * @see OrCartridgeQuery
+	 */
+	public AbstractCartridgeQuery or(ICartridgeQuery query) {
+		return new OrCartridgeQuery(this, query);
+	}
+
+	/**
+	 * Returns a query that matches the cartridges that this query does not
+	 * match.
+	 * 
+	 * @see NotCartridgeQuery
+	 */
+	public AbstractCartridgeQuery not() {
+		return new NotCartridgeQuery(this);
+	}
+
+	/**
+	 * Returns the compiled pattern for the given regex. Patterns are cached so
+	 * that queries for the same regex share the compiled pattern.
+	 */
+	protected static Pattern compile(String regex) {
+		synchronized (patternsByRegex) {
+			Pattern pattern = patternsByRegex.get(regex);
+			if (pattern == null) {
+				pattern = Pattern.compile(regex);
+				patternsByRegex.put(regex, pattern);
+			}
+			return pattern;
+		}
+	}
+
+	/**
+	 * Asserts that the given queries may be combined. A
+	 * {@link LatestVersionQuery} only picks the latest version when asked for
+	 * all matching cartridges, its {@link #matches(ICartridge)} accepts any
+	 * version. Combined with other queries it would match outdated versions.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if one of the given queries is a latest version query
+	 */
+	protected static void assertCombinable(ICartridgeQuery... queries) throws IllegalArgumentException {
+		for (ICartridgeQuery query : queries) {
+			if (query instanceof LatestVersionQuery) {
+				throw new IllegalArgumentException("Cannot combine the latest version query for \""
+						+ ((LatestVersionQuery) query).getNameConstraint() + "\" with other queries.");
+			}
+		}
+	}
+
 	protected IOpenShiftConnection getConnection(IApplication application) {
 		Assert.notNull(application);
 		return application.getDomain().getUser().getConnection();
@@ -65,4 +158,43 @@ public abstract class AbstractCartridgeQuery implements ICartridgeQuery {
 		Assert.notNull(domain);
 		return domain.getUser().getConnection();
 	}
+
+	private static class MatchingIterator<C extends ICartridge> implements Iterator<C> {
+
+		private final Iterator<C> cartridges;
+		private final ICartridgeQuery query;
+		private C next;
+
+		private MatchingIterator(List<C> cartridges, ICartridgeQuery query) {
+			this.cartridges = cartridges == null ? new ArrayList<C>().iterator() : cartridges.iterator();
+			this.query = query;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null
+					&& cartridges.hasNext()) {
+				C cartridge = cartridges.next();
+				if (query.matches(cartridge)) {
+					next = cartridge;
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public C next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			C cartridge = next;
+			next = null;
+			return cartridge;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
 }
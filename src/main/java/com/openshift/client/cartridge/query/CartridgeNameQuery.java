@@ -20,7 +20,7 @@ import com.openshift.internal.client.utils.Assert;
  */
 public class CartridgeNameQuery extends AbstractCartridgeQuery {
 
-	private String nameSubstring;
+	private final String nameSubstring;
 
 	public CartridgeNameQuery(String nameSubstring) {
 		Assert.notEmpty(nameSubstring);
@@ -36,6 +36,22 @@ public class CartridgeNameQuery extends AbstractCartridgeQuery {
 		return cartridge.getName().contains(nameSubstring);
 	}
 
+	@Override
+	public int hashCode() {
+		return nameSubstring.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CartridgeNameQuery)) {
+			return false;
+		}
+		return nameSubstring.equals(((CartridgeNameQuery) obj).nameSubstring);
+	}
+
 	@Override
 	public String toString() {
 		return "CartridgeNameQuery ["
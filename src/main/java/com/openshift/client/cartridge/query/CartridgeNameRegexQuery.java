@@ -21,16 +21,20 @@ import com.openshift.client.cartridge.ICartridge;
  */
 public class CartridgeNameRegexQuery extends AbstractCartridgeQuery {
 
-	private Pattern namePattern;
+	private final Pattern namePattern;
 
 	public CartridgeNameRegexQuery(String namePattern) {
-		this(Pattern.compile(namePattern));
+		this(compile(namePattern));
 	}
 
 	public CartridgeNameRegexQuery(Pattern namePattern) {
 		this.namePattern = namePattern;
 	}
 
+	public Pattern getNamePattern() {
+		return namePattern;
+	}
+
 	@Override
 	public <C extends ICartridge> boolean matches(C cartridge) {
 		if (cartridge == null) {
@@ -39,6 +43,28 @@ public class CartridgeNameRegexQuery extends AbstractCartridgeQuery {
 		return namePattern.matcher(cartridge.getName()).find();
 	}
 
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + namePattern.pattern().hashCode();
+		result = prime * result + namePattern.flags();
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CartridgeNameRegexQuery)) {
+			return false;
+		}
+		Pattern otherPattern = ((CartridgeNameRegexQuery) obj).namePattern;
+		return namePattern.pattern().equals(otherPattern.pattern())
+				&& namePattern.flags() == otherPattern.flags();
+	}
+
 	@Override
 	public String toString() {
 		return "CartridgeNameRegexQuery ["
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client.cartridge.query;
+
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.internal.client.CartridgeType;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * A query that matches the cartridges of a given type (standalone or
+ * embedded).
+ * 
+ * @author Andre Dietisheim
+ */
+public class CartridgeTypeQuery extends AbstractCartridgeQuery {
+
+	private final CartridgeType type;
+
+	public CartridgeTypeQuery(CartridgeType type) {
+		Assert.notNull(type);
+		this.type = type;
+	}
+
+	public CartridgeType getType() {
+		return type;
+	}
+
+	@Override
+	public <C extends ICartridge> boolean matches(C cartridge) {
+		return cartridge != null
+				&& type == cartridge.getType();
+	}
+
+	@Override
+	public int hashCode() {
+		return type.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CartridgeTypeQuery)) {
+			return false;
+		}
+		return type == ((CartridgeTypeQuery) obj).type;
+	}
+
+	@Override
+	public String toString() {
+		return "CartridgeTypeQuery ["
+				+ "type=" + type
+				+ "]";
+	}
+}
@@ -46,7 +46,7 @@ public class LatestVersionQuery extends AbstractCartridgeQuery {
 
 	@Override
 	public <C extends ICartridge> List<C> getAll(List<C> cartridges) {
-		return Collections.singletonList(getLatest(super.getAll(cartridges)));
+		return Collections.singletonList(get(cartridges));
 	}
 
 	@Override
@@ -54,13 +54,35 @@ public class LatestVersionQuery extends AbstractCartridgeQuery {
 		return getLatest(super.getAll(cartridges));
 	}
 
+	/**
+	 * Returns <code>true</code> if the given cartridge is any version of the
+	 * cartridge that this query looks for. Only {@link #get(List)} and
+	 * {@link #getAll(List)} pick the latest one, this query can therefore not
+	 * be combined with other queries.
+	 * 
+	 * @see AbstractCartridgeQuery#and(ICartridgeQuery)
+	 */
 	public <C extends ICartridge> boolean matches(C cartridge) {
-		String name = cartridge.getName();
+		return nameConstraint.equals(getNameWithoutVersion(cartridge.getName()));
+	}
+
+	/**
+	 * Returns the given cartridge name without its version (ex. "mysql" for
+	 * "mysql-5.1"). Returns <code>null</code> if the name has no version.
+	 * 
+	 * @param name
+	 *            the name of the cartridge
+	 * @return the name without version
+	 */
+	public static String getNameWithoutVersion(String name) {
+		if (name == null) {
+			return null;
+		}
 		int delimiterIndex = name.lastIndexOf(ICartridge.NAME_VERSION_DELIMITER);
 		if (delimiterIndex == -1) {
-			return false;
+			return null;
 		}
-		return nameConstraint.equals(name.substring(0, delimiterIndex));
+		return name.substring(0, delimiterIndex);
 	}
 
 	protected <C extends ICartridge> C getLatest(Collection<C> matchingCartridges) {
@@ -69,48 +91,47 @@ public class LatestVersionQuery extends AbstractCartridgeQuery {
 			return null;
 		}
 		C latest = it.next();
+		VersionedName latestName = new VersionedName(latest.getName());
 		while (it.hasNext()) {
 			C cartridge = it.next();
-			VersionedName latestName = new VersionedName(latest.getName());
 			VersionedName cartridgeName = new VersionedName(cartridge.getName());
-			switch (latestName.compareTo(cartridgeName)) {
-			case 0:
-			case 1:
-				break;
-			case -1:
+			if (latestName.compareTo(cartridgeName) < 0) {
 				latest = cartridge;
-				break;
+				latestName = cartridgeName;
 			}
 		}
 		return latest;
 	}
 
-	protected class VersionedName implements Comparable<VersionedName> {
+	/**
+	 * A cartridge name that is split into name, major and minor version.
+	 * Names are compared by name first, then by major and minor version.
+	 */
+	public static class VersionedName implements Comparable<VersionedName> {
 
-		private Pattern versionPattern = Pattern.compile(
+		private static final Pattern VERSION_PATTERN = Pattern.compile(
 				"(([^" + ICartridge.NAME_VERSION_DELIMITER + " ]+" + ICartridge.NAME_VERSION_DELIMITER + ")*([^"
 						+ ICartridge.NAME_VERSION_DELIMITER + "]+))" + ICartridge.NAME_VERSION_DELIMITER
 						+ "([0-9a-zA-Z]+)\\.{0,1}([0-9a-zA-Z]*)");
-		private Collator collator = Collator.getInstance();
+		/** collators are not thread-safe, compareTo uses a clone of this one */
+		private static final Collator COLLATOR = Collator.getInstance();
 
-		private String name;
-		private String major;
-		private String minor;
+		private final String name;
+		private final String major;
+		private final String minor;
 
-		protected VersionedName(String name) {
-			Matcher matcher = versionPattern.matcher(name);
+		public VersionedName(String name) {
+			Matcher matcher = VERSION_PATTERN.matcher(name);
 			if (!matcher.matches()) {
 				this.name = name;
+				this.major = null;
+				this.minor = null;
 				return;
 			}
 
 			this.name = matcher.group(1);
-			if (matcher.groupCount() >= 4) {
-				this.major = matcher.group(4);
-				if (matcher.groupCount() >= 5) {
-					this.minor = matcher.group(5);
-				}
-			}
+			this.major = matcher.group(4);
+			this.minor = matcher.group(5);
 		}
 
 		public String getName() {
@@ -131,17 +152,27 @@ public class LatestVersionQuery extends AbstractCartridgeQuery {
 
 		@Override
 		public int compareTo(VersionedName other) {
-			int result = collator.compare(getName(), other.getName());
+			Collator collator = (Collator) COLLATOR.clone();
+			int result = compare(getName(), other.getName(), collator);
 			if (result != 0) {
 				return result;
 			}
 
-			result = collator.compare(major, other.getMajor());
+			result = compare(major, other.getMajor(), collator);
 			if (result != 0) {
 				return result;
 			}
 
-			return collator.compare(minor, other.getMinor());
+			return compare(minor, other.getMinor(), collator);
+		}
+
+		private int compare(String thisValue, String otherValue, Collator collator) {
+			if (thisValue == null) {
+				return otherValue == null ? 0 : -1;
+			} else if (otherValue == null) {
+				return 1;
+			}
+			return collator.compare(thisValue, otherValue);
 		}
 	}
 	
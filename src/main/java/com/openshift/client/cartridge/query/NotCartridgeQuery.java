@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client.cartridge.query;
+
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * A query that matches the cartridges that the given query does not match.
+ * 
+ * @author Andre Dietisheim
+ */
+public class NotCartridgeQuery extends AbstractCartridgeQuery {
+
+	private final ICartridgeQuery query;
+
+	public NotCartridgeQuery(ICartridgeQuery query) {
+		Assert.notNull(query);
+		assertCombinable(query);
+		this.query = query;
+	}
+
+	public ICartridgeQuery getQuery() {
+		return query;
+	}
+
+	@Override
+	public <C extends ICartridge> boolean matches(C cartridge) {
+		return !query.matches(cartridge);
+	}
+
+	@Override
+	public AbstractCartridgeQuery not() {
+		if (query instanceof AbstractCartridgeQuery) {
+			return (AbstractCartridgeQuery) query;
+		}
+		return super.not();
+	}
+
+	@Override
+	public int hashCode() {
+		return 41 + query.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof NotCartridgeQuery)) {
+			return false;
+		}
+		return query.equals(((NotCartridgeQuery) obj).query);
+	}
+
+	@Override
+	public String toString() {
+		return "NotCartridgeQuery ["
+				+ "query=" + query
+				+ "]";
+	}
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client.cartridge.query;
+
+import com.openshift.client.cartridge.ICartridge;
+
+/**
+ * A query that matches obsolete cartridges. Use {@link #not()} to match the
+ * cartridges that are not obsolete.
+ * 
+ * @author Andre Dietisheim
+ */
+public class ObsoleteCartridgeQuery extends AbstractCartridgeQuery {
+
+	@Override
+	public <C extends ICartridge> boolean matches(C cartridge) {
+		return cartridge != null
+				&& cartridge.isObsolete();
+	}
+
+	@Override
+	public int hashCode() {
+		return ObsoleteCartridgeQuery.class.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof ObsoleteCartridgeQuery;
+	}
+
+	@Override
+	public String toString() {
+		return "ObsoleteCartridgeQuery";
+	}
+}
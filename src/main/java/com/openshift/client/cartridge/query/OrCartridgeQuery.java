@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.client.cartridge.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * A query that matches the cartridges that at least one of the given queries
+ * matches. Queries are evaluated in the given order and evaluation stops at
+ * the first query that matches. A {@link LatestVersionQuery} cannot be
+ * combined.
+ * 
+ * @author Andre Dietisheim
+ */
+public class OrCartridgeQuery extends AbstractCartridgeQuery {
+
+	private final List<ICartridgeQuery> queries;
+
+	public OrCartridgeQuery(ICartridgeQuery... queries) {
+		Assert.notNull(queries);
+		assertCombinable(queries);
+		this.queries = Collections.unmodifiableList(Arrays.asList(queries));
+	}
+
+	public List<ICartridgeQuery> getQueries() {
+		return queries;
+	}
+
+	@Override
+	public <C extends ICartridge> boolean matches(C cartridge) {
+		for (ICartridgeQuery query : queries) {
+			if (query.matches(cartridge)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return 37 + queries.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof OrCartridgeQuery)) {
+			return false;
+		}
+		return queries.equals(((OrCartridgeQuery) obj).queries);
+	}
+
+	@Override
+	public String toString() {
+		return "OrCartridgeQuery ["
+				+ "queries=" + queries
+				+ "]";
+	}
+}
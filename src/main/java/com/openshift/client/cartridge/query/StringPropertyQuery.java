@@ -31,7 +31,7 @@ public abstract class StringPropertyQuery extends AbstractCartridgeQuery {
 
 	public StringPropertyQuery(final String propertyPattern) {
 		Assert.isTrue(propertyPattern != null);
-		this.namePattern = Pattern.compile(propertyPattern);
+		this.namePattern = compile(propertyPattern);
 	}
 	
 	
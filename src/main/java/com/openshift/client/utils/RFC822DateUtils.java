@@ -11,10 +11,10 @@
 package com.openshift.client.utils;
 
 import java.util.Date;
-import java.util.GregorianCalendar;
 
 import javax.xml.datatype.DatatypeConfigurationException;
-import javax.xml.datatype.DatatypeFactory;
+
+import com.openshift.internal.client.utils.RFC3339DateUtils;
 
 /**
  * @author André Dietisheim
@@ -23,7 +23,8 @@ public class RFC822DateUtils {
 
 	/**
 	 * Returns a date instance for a given timestamp string that complies to the
-	 * RFC 822 standard
+	 * RFC 822 standard. A timestamp without offset is read as UTC, previous
+	 * versions read it in the default time zone of the JVM.
 	 * 
 	 * @param rfc822DateString
 	 * @return
@@ -31,36 +32,40 @@ public class RFC822DateUtils {
 	 */
 	public static Date getDate(String rfc822DateString) throws DatatypeConfigurationException {
 		// SimpleDateFormat can't handle RFC822 (-04:00 instead of GMT-04:00)
-		// date formats
-		//
-		// SimpleDateFormat dateFormat = new
-		// SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
-		// return dateFormat.parse(propertyNode.asString());
-		GregorianCalendar calendar =
-				DatatypeFactory.newInstance()
-						.newXMLGregorianCalendar(rfc822DateString)
-						.toGregorianCalendar();
-		return calendar.getTime();
+		// date formats, DatatypeFactory is expensive to look up and use for
+		// each timestamp
+		return RFC3339DateUtils.parse(rfc822DateString);
 	}
 
 	/**
 	 * Returns a date instance for a given timestamp string that complies to the
-	 * RFC 822 standard. If an error occurs, <code>null</code> is returned an
-	 * no exception is thrown.
+	 * RFC 822 standard. If the given string is <code>null</code> or no valid
+	 * timestamp, <code>null</code> is returned and no exception is thrown. A
+	 * timestamp without offset is read as UTC.
 	 * 
 	 * @param rfc822DateString
 	 * @return
 	 */
 	public static Date safeGetDate(String rfc822DateString) {
+		if (rfc822DateString == null) {
+			return null;
+		}
 		try {
-			return getDate(rfc822DateString);
-		} catch (DatatypeConfigurationException e) {
+			return RFC3339DateUtils.parse(rfc822DateString);
+		} catch (IllegalArgumentException e) {
 			return null;
 		}
 	}
 
+	/**
+	 * Returns the given date as timestamp string in UTC, ex.
+	 * "2013-07-04T23:18:09Z".
+	 * 
+	 * @param date
+	 * @return
+	 * @throws DatatypeConfigurationException
+	 */
 	public static String getString(Date date) throws DatatypeConfigurationException {
-		GregorianCalendar calendar = (GregorianCalendar) GregorianCalendar.getInstance();
-		return DatatypeFactory.newInstance().newXMLGregorianCalendar(calendar).toXMLFormat();
+		return RFC3339DateUtils.format(date);
 	}
 }
@@ -11,13 +11,14 @@
 package com.openshift.internal.client;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import com.openshift.client.HttpMethod;
 import com.openshift.client.IAuthorization;
 import com.openshift.client.IDomain;
 import com.openshift.client.IHttpClient;
@@ -32,13 +33,20 @@ import com.openshift.client.cartridge.IStandaloneCartridge;
 import com.openshift.client.cartridge.StandaloneCartridge;
 import com.openshift.internal.client.httpclient.request.Parameter;
 import com.openshift.internal.client.httpclient.request.StringParameter;
+import com.openshift.internal.client.cartridge.CartridgeCatalog;
+import com.openshift.internal.client.cartridge.CartridgeDependencies;
+import com.openshift.internal.client.response.ApiLinksSnapshot;
 import com.openshift.internal.client.response.AuthorizationResourceDTO;
 import com.openshift.internal.client.response.CartridgeResourceDTO;
+import com.openshift.internal.client.response.CatalogSnapshot;
 import com.openshift.internal.client.response.DomainResourceDTO;
 import com.openshift.internal.client.response.Link;
 import com.openshift.internal.client.response.QuickstartDTO;
 import com.openshift.internal.client.response.QuickstartJsonDTOFactory;
+import com.openshift.internal.client.response.RestResponse;
 import com.openshift.internal.client.response.UserResourceDTO;
+import com.openshift.internal.client.ssh.ForwardablePortsCache;
+import com.openshift.internal.client.ssh.ForwardablePortsSnapshot;
 import com.openshift.internal.client.utils.Assert;
 import com.openshift.internal.client.utils.CollectionUtils;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
@@ -58,11 +66,21 @@ public class APIResource extends AbstractOpenShiftResource implements IOpenShift
 	private UserResource user;
 	private AuthorizationResource authorization;
 	private List<IDomain> domains;
-	private List<IStandaloneCartridge> standaloneCartridges;
-	private List<IEmbeddableCartridge> embeddableCartridges;
+	private CartridgeCatalog<IStandaloneCartridge> standaloneCartridges;
+	private CartridgeCatalog<IStandaloneCartridge> activeStandaloneCartridges;
+	private CartridgeCatalog<IEmbeddableCartridge> embeddableCartridges;
+	private CartridgeCatalog<IEmbeddableCartridge> activeEmbeddableCartridges;
+	private CartridgeCatalog<ICartridge> cartridges;
+	private CartridgeCatalog<ICartridge> activeCartridges;
+	private CartridgeDependencies cartridgeDependencies;
 	private List<IAuthorization> authorizations;
-	private Map<String, IQuickstart> quickstartsByName;
+	private QuickstartCatalog quickstarts;
+	private final CatalogSnapshot catalogSnapshot;
+	private final ApiLinksSnapshot apiLinksSnapshot;
+	private volatile boolean linksFromSnapshot;
 	private final ExecutorService executorService;
+	private final ForwardablePortsCache forwardablePortsCache;
+	private ResourcePoller resourcePoller;
 
 	protected APIResource(final String token, final IRestService service,
 			final Map<String, Link> links) {
@@ -70,16 +88,56 @@ public class APIResource extends AbstractOpenShiftResource implements IOpenShift
 		this.login = null;
 		this.password = null;
 		this.token = token;
+		this.catalogSnapshot = null;
+		this.apiLinksSnapshot = null;
 		this.executorService = Executors.newFixedThreadPool(10);
+		this.forwardablePortsCache = new ForwardablePortsCache(executorService);
 	}
 
 	protected APIResource(final String login, final String password, final String token, final IRestService service,
 			final Map<String, Link> links) {
+		this(login, password, token, service, links, null);
+	}
+
+	/**
+	 * Creates an api resource that loads its cartridges and quickstarts from
+	 * the given snapshot if it holds valid ones. It stores them to the given
+	 * snapshot once they were requested from the server otherwise.
+	 */
+	protected APIResource(final String login, final String password, final String token, final IRestService service,
+			final Map<String, Link> links, final CatalogSnapshot catalogSnapshot) {
+		this(login, password, token, service, links, catalogSnapshot, null);
+	}
+
+	/**
+	 * Creates an api resource that discovers its links when they're first
+	 * needed if no links are given. The links are then loaded from the given
+	 * snapshot if it holds valid ones or requested from the server and stored
+	 * to the snapshot otherwise. Links that were loaded from the snapshot are
+	 * requested again once a request that uses them fails.
+	 */
+	protected APIResource(final String login, final String password, final String token, final IRestService service,
+			final Map<String, Link> links, final CatalogSnapshot catalogSnapshot,
+			final ApiLinksSnapshot apiLinksSnapshot) {
+		this(login, password, token, service, links, catalogSnapshot, apiLinksSnapshot, null);
+	}
+
+	/**
+	 * Creates an api resource that keeps the forwardable ports of its
+	 * applications in the given snapshot, in addition to the above.
+	 */
+	protected APIResource(final String login, final String password, final String token, final IRestService service,
+			final Map<String, Link> links, final CatalogSnapshot catalogSnapshot,
+			final ApiLinksSnapshot apiLinksSnapshot, final ForwardablePortsSnapshot forwardablePortsSnapshot) {
 		super(service, links, null);
 		this.login = login;
 		this.password = password;
 		this.token = token;
+		this.catalogSnapshot = catalogSnapshot;
+		this.apiLinksSnapshot = apiLinksSnapshot;
 		this.executorService = Executors.newFixedThreadPool(10);
+		this.forwardablePortsCache = new ForwardablePortsCache(
+				forwardablePortsSnapshot, executorService, ForwardablePortsCache.DEFAULT_REVALIDATE_AFTER);
 	}
 
 	protected final String getLogin() {
@@ -90,6 +148,54 @@ public class APIResource extends AbstractOpenShiftResource implements IOpenShift
 		return password;
 	}
 
+	@Override
+	Map<String, Link> getLinks() throws OpenShiftException {
+		if (!areLinksLoaded()) {
+			loadLinks();
+		}
+		return super.getLinks();
+	}
+
+	private synchronized void loadLinks() throws OpenShiftException {
+		if (areLinksLoaded()) {
+			return;
+		}
+		Map<String, Link> links = null;
+		if (apiLinksSnapshot != null) {
+			links = apiLinksSnapshot.getLinks();
+		}
+		if (links != null) {
+			this.linksFromSnapshot = true;
+			setLinks(links);
+		} else {
+			setLinks(requestLinks());
+		}
+	}
+
+	private Map<String, Link> requestLinks() throws OpenShiftException {
+		RestResponse response = getService().request(
+				new Link("Get API", "/api", HttpMethod.GET),
+				IHttpClient.NO_TIMEOUT,
+				Collections.<Parameter> emptyList(),
+				Collections.<Parameter> emptyList());
+		Map<String, Link> links = response.getData();
+		if (apiLinksSnapshot != null) {
+			apiLinksSnapshot.setLinks(links);
+		}
+		this.linksFromSnapshot = false;
+		return links;
+	}
+
+	@Override
+	protected synchronized boolean refreshOutdatedLinks() throws OpenShiftException {
+		if (!linksFromSnapshot) {
+			return false;
+		}
+		apiLinksSnapshot.invalidate();
+		setLinks(requestLinks());
+		return true;
+	}
+
 	@Override
 	public String getServer() {
 		return getService().getPlatformUrl();
@@ -237,14 +343,11 @@ public class APIResource extends AbstractOpenShiftResource implements IOpenShift
 
 	@Override
 	public List<IStandaloneCartridge> getStandaloneCartridges(boolean includeObsolete) throws OpenShiftException {
-		return CollectionUtils.toUnmodifiableCopy(filterObsolete(includeObsolete, getOrLoadStandaloneCartridges()));
-	}
-
-	protected List<IStandaloneCartridge> getOrLoadStandaloneCartridges() throws OpenShiftException {
-		if (standaloneCartridges == null) {
-			loadCartridges();
+		loadCartridgesIfNeeded();
+		if (includeObsolete) {
+			return standaloneCartridges;
 		}
-		return standaloneCartridges;
+		return activeStandaloneCartridges;
 	}
 
 	@Override
@@ -254,14 +357,11 @@ public class APIResource extends AbstractOpenShiftResource implements IOpenShift
 
 	@Override
 	public List<IEmbeddableCartridge> getEmbeddableCartridges(boolean includeObsolete) throws OpenShiftException {
-		return CollectionUtils.toUnmodifiableCopy(filterObsolete(includeObsolete, getOrLoadEmbeddableCartridges()));
-	}
-
-	protected List<IEmbeddableCartridge> getOrLoadEmbeddableCartridges() throws OpenShiftException {
-		if (embeddableCartridges == null) {
-			loadCartridges();
+		loadCartridgesIfNeeded();
+		if (includeObsolete) {
+			return embeddableCartridges;
 		}
-		return embeddableCartridges;
+		return activeEmbeddableCartridges;
 	}
 
 	protected <C extends ICartridge> List<C> filterObsolete(boolean includeObsolete, List<C> allCartridges) {
@@ -285,23 +385,64 @@ public class APIResource extends AbstractOpenShiftResource implements IOpenShift
 
 	@Override
 	public List<ICartridge> getCartridges(boolean includeObsolete) {
-		List<IEmbeddableCartridge> embeddableCartridges = getOrLoadEmbeddableCartridges();
-		List<IStandaloneCartridge> standaloneCartridges = getOrLoadStandaloneCartridges();
-		List<ICartridge> cartridges =
-				new ArrayList<ICartridge>(embeddableCartridges.size() + standaloneCartridges.size());
+		loadCartridgesIfNeeded();
+		if (includeObsolete) {
+			return cartridges;
+		}
+		return activeCartridges;
+	}
 
-		cartridges.addAll(filterObsolete(includeObsolete, embeddableCartridges));
-		cartridges.addAll(filterObsolete(includeObsolete, standaloneCartridges));
-		return cartridges;
+	private void loadCartridgesIfNeeded() throws OpenShiftException {
+		if (cartridges == null) {
+			loadCartridges();
+		}
 	}
 
+	/**
+	 * Loads the cartridges and indexes them in immutable catalogs so that
+	 * cartridge queries don't need to scan the cartridges over and over again.
+	 * 
+	 * @see CartridgeCatalog
+	 */
 	private void loadCartridges() throws OpenShiftException {
-		final Map<String, CartridgeResourceDTO> cartridgeDTOsByName = new GetCartridgesRequest().execute();
-		this.standaloneCartridges = new ArrayList<IStandaloneCartridge>();
-		this.embeddableCartridges = new ArrayList<IEmbeddableCartridge>();
-		for (CartridgeResourceDTO cartridgeDTO : cartridgeDTOsByName.values()) {
+		List<IStandaloneCartridge> standaloneCartridges = new ArrayList<IStandaloneCartridge>();
+		List<IEmbeddableCartridge> embeddableCartridges = new ArrayList<IEmbeddableCartridge>();
+		CartridgeDependencies cartridgeDependencies = new CartridgeDependencies();
+		for (CartridgeResourceDTO cartridgeDTO : getCartridgeDTOs()) {
 			addCartridge(cartridgeDTO, standaloneCartridges, embeddableCartridges);
+			for (String requiredName : cartridgeDTO.getRequires()) {
+				cartridgeDependencies.add(cartridgeDTO.getName(), requiredName);
+			}
+		}
+		List<ICartridge> cartridges =
+				new ArrayList<ICartridge>(embeddableCartridges.size() + standaloneCartridges.size());
+		cartridges.addAll(embeddableCartridges);
+		cartridges.addAll(standaloneCartridges);
+
+		this.standaloneCartridges = new CartridgeCatalog<IStandaloneCartridge>(standaloneCartridges);
+		this.activeStandaloneCartridges =
+				new CartridgeCatalog<IStandaloneCartridge>(filterObsolete(false, standaloneCartridges));
+		this.embeddableCartridges = new CartridgeCatalog<IEmbeddableCartridge>(embeddableCartridges);
+		this.activeEmbeddableCartridges =
+				new CartridgeCatalog<IEmbeddableCartridge>(filterObsolete(false, embeddableCartridges));
+		this.activeCartridges = new CartridgeCatalog<ICartridge>(filterObsolete(false, cartridges));
+		this.cartridgeDependencies = cartridgeDependencies;
+		// set last, marks cartridges as loaded
+		this.cartridges = new CartridgeCatalog<ICartridge>(cartridges);
+	}
+
+	private Collection<CartridgeResourceDTO> getCartridgeDTOs() throws OpenShiftException {
+		if (catalogSnapshot != null) {
+			List<CartridgeResourceDTO> cartridgeDTOs = catalogSnapshot.getCartridges();
+			if (cartridgeDTOs != null) {
+				return cartridgeDTOs;
+			}
 		}
+		Collection<CartridgeResourceDTO> cartridgeDTOs = new GetCartridgesRequest().execute().values();
+		if (catalogSnapshot != null) {
+			catalogSnapshot.setCartridges(cartridgeDTOs);
+		}
+		return cartridgeDTOs;
 	}
 
 	private void addCartridge(CartridgeResourceDTO dto, List<IStandaloneCartridge> standaloneCartridges,
@@ -342,30 +483,103 @@ public class APIResource extends AbstractOpenShiftResource implements IOpenShift
 		return getDomain(name) != null;
 	}
 
+	@Override
 	public List<IQuickstart> getQuickstarts() {
-		if (quickstartsByName == null) {
-			this.quickstartsByName = loadQuickstarts();
-		}
-		return CollectionUtils.toUnmodifiableCopy(this.quickstartsByName.values());
+		return getQuickstartCatalog();
 	}
 
-	private Map<String, IQuickstart> loadQuickstarts() throws OpenShiftException {
-		Map<String, IQuickstart> quickstarts = new HashMap<String, IQuickstart>();
-		for (QuickstartDTO quickstartDTO : new ListQuickstartsRequest().execute()) {
-			quickstarts.put(quickstartDTO.getName(), new Quickstart(quickstartDTO, this));
+	@Override
+	public List<IQuickstart> getQuickstartsByTag(String tag) throws OpenShiftException {
+		return getQuickstartCatalog().getByTag(tag);
+	}
+
+	@Override
+	public List<IQuickstart> getQuickstartsByLanguage(String language) throws OpenShiftException {
+		return getQuickstartCatalog().getByLanguage(language);
+	}
+
+	@Override
+	public List<IQuickstart> getQuickstartsByProvider(String provider) throws OpenShiftException {
+		return getQuickstartCatalog().getByProvider(provider);
+	}
+
+	private QuickstartCatalog getQuickstartCatalog() throws OpenShiftException {
+		if (quickstarts == null) {
+			this.quickstarts = loadQuickstarts();
 		}
 		return quickstarts;
 	}
 
+	private QuickstartCatalog loadQuickstarts() throws OpenShiftException {
+		List<IQuickstart> quickstarts = new ArrayList<IQuickstart>();
+		for (QuickstartDTO quickstartDTO : getQuickstartDTOs()) {
+			quickstarts.add(new Quickstart(quickstartDTO, this));
+		}
+		return new QuickstartCatalog(quickstarts);
+	}
+
+	private List<QuickstartDTO> getQuickstartDTOs() throws OpenShiftException {
+		if (catalogSnapshot != null) {
+			List<QuickstartDTO> quickstartDTOs = catalogSnapshot.getQuickstarts();
+			if (quickstartDTOs != null) {
+				return quickstartDTOs;
+			}
+		}
+		List<QuickstartDTO> quickstartDTOs = new ListQuickstartsRequest().execute();
+		if (catalogSnapshot != null) {
+			catalogSnapshot.setQuickstarts(quickstartDTOs);
+		}
+		return quickstartDTOs;
+	}
+
+	/**
+	 * Returns the dependencies among the cartridges that the server offers,
+	 * as published in the requires of the cartridges.
+	 */
+	CartridgeDependencies getCartridgeDependencies() throws OpenShiftException {
+		loadCartridgesIfNeeded();
+		return cartridgeDependencies;
+	}
+
+	/**
+	 * Returns the cache of the forwardable ports of the applications of this
+	 * connection.
+	 */
+	ForwardablePortsCache getForwardablePortsCache() {
+		return forwardablePortsCache;
+	}
+
 	public ExecutorService getExecutorService() {
 		return executorService;
 	}
 
+	/**
+	 * Returns the poller that polls the watched resources of this connection.
+	 */
+	synchronized ResourcePoller getResourcePoller() {
+		if (resourcePoller == null) {
+			this.resourcePoller = new ResourcePoller();
+		}
+		return resourcePoller;
+	}
+
+	synchronized void setResourcePoller(ResourcePoller resourcePoller) {
+		if (this.resourcePoller != null) {
+			this.resourcePoller.shutdown();
+		}
+		this.resourcePoller = resourcePoller;
+	}
+
 	public void disconnect() {
+		cartridges = null;
+		activeCartridges = null;
 		standaloneCartridges = null;
+		activeStandaloneCartridges = null;
 		embeddableCartridges = null;
+		activeEmbeddableCartridges = null;
 		domains = null;
 		executorService.shutdownNow();
+		setResourcePoller(null);
 	}
 
 	private class AddDomainRequest extends ServiceRequest {
@@ -15,21 +15,26 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.openshift.client.ApplicationScale;
 import com.openshift.client.IGearProfile;
 import com.openshift.client.IHttpClient;
 import com.openshift.client.IOpenShiftResource;
+import com.openshift.client.IResourceChangeListener;
 import com.openshift.client.Message;
 import com.openshift.client.Messages;
+import com.openshift.client.NotFoundOpenShiftException;
 import com.openshift.client.OpenShiftException;
 import com.openshift.client.OpenShiftRequestException;
+import com.openshift.client.ResourceChangeEvent;
 import com.openshift.client.cartridge.ICartridge;
 import com.openshift.internal.client.httpclient.request.Parameter;
 import com.openshift.internal.client.httpclient.request.ParameterValueArray;
 import com.openshift.internal.client.httpclient.request.ParameterValueMap;
 import com.openshift.internal.client.httpclient.request.StringParameter;
 import com.openshift.internal.client.response.IRestResponseFactory;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.response.Link;
 import com.openshift.internal.client.response.RestResponse;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
@@ -56,6 +61,9 @@ public abstract class AbstractOpenShiftResource implements IOpenShiftResource {
 
 	private Messages messages;
 
+	/** Null until the first listener is added. */
+	private volatile List<IResourceChangeListener> changeListeners;
+
 	/**
 	 * Instantiates a new abstract open shift resource.
 	 * 
@@ -127,72 +135,176 @@ public abstract class AbstractOpenShiftResource implements IOpenShiftResource {
 		return link;
 	}
 
+	private boolean hasLink(String linkName) throws OpenShiftException {
+		return getLinks() != null
+				&& getLinks().containsKey(linkName);
+	}
+
 	boolean areLinksLoaded() {
 		return links != null;
 	}
 
+	/**
+	 * Called when a request failed because its link could not be found or
+	 * pointed to a missing resource. Resources whose links may be outdated
+	 * (ex. because they were loaded from a local snapshot) refresh them and
+	 * return <code>true</code> so that the request is retried once.
+	 * 
+	 * @return true if the links were refreshed
+	 * @throws OpenShiftException
+	 */
+	protected boolean refreshOutdatedLinks() throws OpenShiftException {
+		return false;
+	}
+
+	public synchronized void addChangeListener(IResourceChangeListener listener) {
+		if (changeListeners == null) {
+			this.changeListeners = new CopyOnWriteArrayList<IResourceChangeListener>();
+		}
+		changeListeners.add(listener);
+	}
+
+	public void removeChangeListener(IResourceChangeListener listener) {
+		List<IResourceChangeListener> listeners = changeListeners;
+		if (listeners != null) {
+			listeners.remove(listener);
+		}
+	}
+
+	protected boolean hasChangeListeners() {
+		List<IResourceChangeListener> listeners = changeListeners;
+		return listeners != null
+				&& !listeners.isEmpty();
+	}
+
+	/**
+	 * Notifies the listeners of this resource that the given child resource
+	 * was added, removed or changed.
+	 */
+	protected void fireResourceChanged(ResourceChangeEvent.Type type, IOpenShiftResource resource) {
+		if (!hasChangeListeners()) {
+			return;
+		}
+		fireResourceChanged(new ResourceChangeEvent(this, type, resource));
+	}
+
+	/**
+	 * Notifies the listeners of this resource of the given event. Callers
+	 * that collected events while holding locks fire them once they released
+	 * these.
+	 */
+	protected void fireResourceChanged(ResourceChangeEvent event) {
+		List<IResourceChangeListener> listeners = changeListeners;
+		if (listeners == null) {
+			return;
+		}
+		for (IResourceChangeListener listener : listeners) {
+			listener.resourceChanged(event);
+		}
+	}
+
 	protected class ServiceRequest {
 
 		protected final String linkName;
+		private final ResponseProjection projection;
 		
 		protected ServiceRequest(final String linkName) {
+			this(linkName, ResponseProjection.DATA);
+		}
+
+		/**
+		 * Creates a request for the given link that only reads the given parts
+		 * of the response. Requests whose callers ignore the response data
+		 * (ex. start, stop, delete) should not have it read.
+		 * 
+		 * @param linkName
+		 *            the name of the link to request
+		 * @param projection
+		 *            the parts of the response that the caller needs
+		 */
+		protected ServiceRequest(final String linkName, final ResponseProjection projection) {
 			this.linkName = linkName;
+			this.projection = projection;
 		}
 
 		protected <DTO> DTO execute(final Parameter... parameters) throws OpenShiftException {
-			return getData(getService().request(
-					getLink(linkName),
-					IHttpClient.NO_TIMEOUT,
+			return getData(request(IHttpClient.NO_TIMEOUT, null,
 					Collections.<Parameter> emptyList(),
 					Collections.<Parameter> emptyList(),
 					parameters));
 		}
 		
 		protected <DTO> DTO execute(final int timeout, final Parameter... parameters) throws OpenShiftException {
-			return getData(getService().request(
-					getLink(linkName), 
-					timeout, 
+			return getData(request(timeout, null,
 					Collections.<Parameter> emptyList(), 
 					Collections.<Parameter> emptyList(),
 					parameters));
 		}
 		
 		protected <DTO> DTO execute(final List<Parameter> urlParameters, final Parameter... parameters) throws OpenShiftException {
-			return getData(getService().request(
-					getLink(linkName), 
-					IHttpClient.NO_TIMEOUT,
+			return getData(request(IHttpClient.NO_TIMEOUT, null,
 					Collections.<Parameter> emptyList(),
 					urlParameters, parameters));
 		}
 
 		protected <DTO> DTO execute(final int timeout, List<Parameter> urlParameters, final Parameter... parameters) throws OpenShiftException {
-			return getData(getService().request(
-					getLink(linkName), 
-					timeout,
+			return getData(request(timeout, null,
 					Collections.<Parameter> emptyList(), 
 					urlParameters, 
 					parameters));
 		}
 
 		protected <DTO> DTO execute(final int timeout, List<Parameter> urlPathParameters, List<Parameter> urlParameters, final Parameter... parameters) throws OpenShiftException {
-			return getData(getService().request(
-					getLink(linkName), 
-					timeout, 
+			return getData(request(timeout, null,
 					urlPathParameters, 
 					urlParameters, 
 					parameters));
 		}
 
 		protected <DTO> DTO execute(final int timeout, IRestResponseFactory responseFactory, List<Parameter> urlPathParameter, List<Parameter> urlParameter, final Parameter... parameters) throws OpenShiftException {
-			return getData(getService().request(
-					getLink(linkName), 
-					timeout, 
+			return getData(request(timeout, 
 					responseFactory, 
 					urlPathParameter, 
 					urlParameter, 
 					parameters));
 		}
 
+		/**
+		 * Requests the link of this request. Refreshes the (outdated) links of
+		 * this resource and retries once if the link is missing or pointed to
+		 * a missing resource. Other errors, ex. invalid request parameters,
+		 * are not retried.
+		 * 
+		 * @see AbstractOpenShiftResource#refreshOutdatedLinks()
+		 */
+		private RestResponse request(int timeout, IRestResponseFactory responseFactory,
+				List<Parameter> urlPathParameters, List<Parameter> urlParameters, Parameter... parameters)
+				throws OpenShiftException {
+			if (!hasLink(linkName)) {
+				refreshOutdatedLinks();
+				return requestLink(getLink(linkName), timeout, responseFactory, urlPathParameters, urlParameters, parameters);
+			}
+			try {
+				return requestLink(getLink(linkName), timeout, responseFactory, urlPathParameters, urlParameters, parameters);
+			} catch (NotFoundOpenShiftException e) {
+				if (!refreshOutdatedLinks()) {
+					throw e;
+				}
+			}
+			return requestLink(getLink(linkName), timeout, responseFactory, urlPathParameters, urlParameters, parameters);
+		}
+
+		private RestResponse requestLink(Link link, int timeout, IRestResponseFactory responseFactory,
+				List<Parameter> urlPathParameters, List<Parameter> urlParameters, Parameter... parameters)
+				throws OpenShiftException {
+			if (responseFactory == null) {
+				return getService().request(
+						link, timeout, projection, urlPathParameters, urlParameters, parameters);
+			}
+			return getService().request(
+					link, timeout, responseFactory, urlPathParameters, urlParameters, parameters);
+		}
+
 		protected <DTO> DTO getData(RestResponse response) {
 			// in some cases, there is not response body, just a return code to
 			// indicate that the operation was successful (e.g.: delete domain)
@@ -10,10 +10,12 @@
  ******************************************************************************/
 package com.openshift.internal.client;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.openshift.client.cartridge.ICartridge;
 import com.openshift.client.cartridge.query.ICartridgeQuery;
+import com.openshift.internal.client.cartridge.CartridgeCatalog;
 
 /**
  * A list of alternative cartridges that one can choose from. The user
@@ -39,7 +41,11 @@ public class AlternativeCartridges {
 	 * @return the alternative cartridges
 	 */
 	public List<ICartridge> get() {
-		return query.getAll(api.getCartridges(true)); // include obsolete cartridges
+		List<ICartridge> cartridges = api.getCartridges(true); // include obsolete cartridges
+		if (cartridges instanceof CartridgeCatalog) {
+			return new ArrayList<ICartridge>(((CartridgeCatalog<ICartridge>) cartridges).getAll(query));
+		}
+		return query.getAll(cartridges);
 	}
 
 	@Override
@@ -10,20 +10,22 @@
  ******************************************************************************/
 package com.openshift.internal.client;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -38,31 +40,41 @@ import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import com.openshift.client.ApplicationScale;
+import com.openshift.client.GearStateChangeEvent;
 import com.openshift.client.IApplication;
 import com.openshift.client.IApplicationPortForwarding;
 import com.openshift.client.IDomain;
 import com.openshift.client.IEnvironmentVariable;
+import com.openshift.client.IGear;
 import com.openshift.client.IGearGroup;
 import com.openshift.client.IGearProfile;
+import com.openshift.client.IGearStateListener;
 import com.openshift.client.IOpenShiftConnection;
 import com.openshift.client.Messages;
 import com.openshift.client.OpenShiftException;
 import com.openshift.client.OpenShiftSSHOperationException;
+import com.openshift.client.ResourceChangeEvent;
 import com.openshift.client.cartridge.ICartridge;
 import com.openshift.client.cartridge.IDeployedStandaloneCartridge;
 import com.openshift.client.cartridge.IEmbeddableCartridge;
 import com.openshift.client.cartridge.IEmbeddedCartridge;
 import com.openshift.client.utils.HostUtils;
 import com.openshift.client.utils.RFC822DateUtils;
+import com.openshift.internal.client.ResourcePoller.IPollable;
+import com.openshift.internal.client.cartridge.CartridgeDependencies;
 import com.openshift.internal.client.httpclient.request.StringParameter;
 import com.openshift.internal.client.response.ApplicationResourceDTO;
 import com.openshift.internal.client.response.CartridgeResourceDTO;
 import com.openshift.internal.client.response.EnvironmentVariableResourceDTO;
 import com.openshift.internal.client.response.GearGroupResourceDTO;
 import com.openshift.internal.client.response.Link;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.ssh.ApplicationPortForwarding;
+import com.openshift.internal.client.ssh.ForwardablePortsCache;
+import com.openshift.internal.client.ssh.RemoteCommandOutput;
 import com.openshift.internal.client.utils.Assert;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
+import com.openshift.internal.client.utils.ObjectUtils;
 import com.openshift.internal.client.utils.StringUtils;
 
 /**
@@ -153,6 +165,23 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	private Session session;
 
 	private Collection<IGearGroup> gearGroups;
+
+	private final List<IGearStateListener> gearStateListeners = new CopyOnWriteArrayList<IGearStateListener>();
+	/** the gears by id, as of the last time the gear states were polled */
+	private volatile Map<String, IGear> polledGears;
+	private final IPollable gearStatesPollable = new IPollable() {
+
+		@Override
+		public boolean poll() throws OpenShiftException {
+			return pollGearStates();
+		}
+
+		@Override
+		public String toString() {
+			return "gear states of application " + name;
+		}
+	};
+
 	/**
 	 * The environment variables for this application
 	 */
@@ -210,7 +239,8 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		this.deploymentType = deploymentType;
 		this.domain = domain;
 		this.aliases = aliases;
-		updateCartridges(cartridgesByName);
+		// nobody can listen yet
+		updateCartridges(cartridgesByName, null);
 		environmentVariablesMap = new HashMap<String, IEnvironmentVariable>();
 	}
 
@@ -270,6 +300,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	public void destroy() throws OpenShiftException {
 		new DeleteApplicationRequest().execute();
 		domain.removeApplication(this);
+		invalidateForwardablePorts();
 	}
 
 	@Override
@@ -299,11 +330,13 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	@Override
 	public void scaleDown() throws OpenShiftException {
 		new ScaleDownRequest().execute();
+		invalidateForwardablePorts();
 	}
 
 	@Override
 	public void scaleUp() throws OpenShiftException {
 		new ScaleUpRequest().execute();
+		invalidateForwardablePorts();
 	}
 
 	@Override
@@ -387,8 +420,13 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		
 		final CartridgeResourceDTO embeddedCartridgeDTO =
 				new AddEmbeddedCartridgeRequest().execute(cartridge);
+		return addEmbeddedCartridge(embeddedCartridgeDTO);
+	}
+
+	private EmbeddedCartridgeResource addEmbeddedCartridge(CartridgeResourceDTO embeddedCartridgeDTO) {
 		final EmbeddedCartridgeResource embeddedCartridge = new EmbeddedCartridgeResource(embeddedCartridgeDTO, this);
 		this.embeddedCartridgesByName.put(embeddedCartridge.getName(), embeddedCartridge);
+		invalidateForwardablePorts();
 		return embeddedCartridge;
 	}
 
@@ -397,28 +435,51 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		if (cartridges == null) {
 			return Collections.<IEmbeddedCartridge> emptyList();
 		}
-		
-		final List<IEmbeddedCartridge> addedCartridge = new ArrayList<IEmbeddedCartridge>();
-		for (ICartridge cartridge : cartridges) {
-			// TODO: catch exceptions when removing cartridges, continue removing
-			// and report the exceptions that occurred
-			addedCartridge.add(addEmbeddableCartridge(cartridge));
-		}
-		return addedCartridge;
+		return addEmbeddableCartridges(Arrays.asList(cartridges));
 	}
 
 	@Override
 	public List<IEmbeddedCartridge> addEmbeddableCartridges(Collection<IEmbeddableCartridge> cartridges)
 			throws OpenShiftException {
 		Assert.notNull(cartridges);
+		return addEmbeddableCartridges(new ArrayList<ICartridge>(cartridges));
+	}
 
-		final List<IEmbeddedCartridge> addedCartridge = new ArrayList<IEmbeddedCartridge>();
-		for (IEmbeddableCartridge cartridge : cartridges) {
-			// TODO: catch exceptions when removing cartridges, contine removing
-			// and report the exceptions that occurred
-			addedCartridge.add(addEmbeddableCartridge(cartridge));
+	/**
+	 * Adds the given cartridges to this application. The broker only adds a
+	 * single cartridge per request and rejects concurrent changes to the
+	 * same application, the cartridges are therefore requested one after
+	 * the other, each one after the cartridges that it requires. The
+	 * cartridges that the broker returns are added to this application, the
+	 * embedded cartridges are not reloaded. If a request fails, the remaining
+	 * cartridges are not requested.
+	 * 
+	 * @param cartridges
+	 *            the cartridges to add
+	 * @return the embedded cartridges, in the order of the given cartridges
+	 * 
+	 * @see CartridgeDependencies
+	 */
+	private List<IEmbeddedCartridge> addEmbeddableCartridges(List<ICartridge> cartridges) throws OpenShiftException {
+		List<ICartridge> orderedCartridges = cartridges;
+		if (cartridges.size() > 1) {
+			orderedCartridges = getCartridgeDependencies().getAddOrder(cartridges);
+		}
+
+		final Map<ICartridge, IEmbeddedCartridge> addedByCartridge = new IdentityHashMap<ICartridge, IEmbeddedCartridge>();
+		for (ICartridge cartridge : orderedCartridges) {
+			addedByCartridge.put(cartridge, addEmbeddableCartridge(cartridge));
 		}
-		return addedCartridge;
+
+		final List<IEmbeddedCartridge> addedCartridges = new ArrayList<IEmbeddedCartridge>(cartridges.size());
+		for (ICartridge cartridge : cartridges) {
+			addedCartridges.add(addedByCartridge.get(cartridge));
+		}
+		return addedCartridges;
+	}
+
+	private CartridgeDependencies getCartridgeDependencies() throws OpenShiftException {
+		return ((APIResource) getConnection()).getCartridgeDependencies();
 	}
 	
 	/**
@@ -431,6 +492,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		Assert.notNull(embeddedCartridge);
 
 		this.embeddedCartridgesByName.remove(embeddedCartridge.getName());
+		invalidateForwardablePorts();
 	}
 
 	/**
@@ -442,47 +504,98 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	protected void refreshEmbeddedCartridges() throws OpenShiftException {
 		// load collection if necessary
 		Map<String, CartridgeResourceDTO> cartridgeDTOByName = new ListCartridgesRequest().execute();
-		updateCartridges(cartridgeDTOByName);
-		removeCartridges(cartridgeDTOByName);
+		List<ResourceChangeEvent> events = new ArrayList<ResourceChangeEvent>();
+		if (updateCartridges(cartridgeDTOByName, events)) {
+			invalidateForwardablePorts();
+		}
+		fireResourceChanged(events);
 	}
 
-	private void updateCartridges(Map<String, CartridgeResourceDTO> cartridgeDTOByName) {
+	/**
+	 * Updates the cartridges of this application with the given ones. Adds the
+	 * new embedded cartridges, updates the existing ones and removes the ones
+	 * that are not present any more. Events for the embedded cartridges that
+	 * were added, removed or changed are added to the given list, callers fire
+	 * them once they released their locks.
+	 * 
+	 * @param cartridgeDTOByName
+	 *            the cartridges to update this application with
+	 * @param events
+	 *            the list to add the change events to, may be null
+	 * @return true if embedded cartridges were added, removed or changed
+	 */
+	private boolean updateCartridges(Map<String, CartridgeResourceDTO> cartridgeDTOByName,
+			List<ResourceChangeEvent> events) {
+		if (cartridgeDTOByName == null) {
+			return false;
+		}
+		boolean changed = false;
 		for (CartridgeResourceDTO cartridgeDTO : cartridgeDTOByName.values()) {
 			switch(cartridgeDTO.getType()) {
 				case STANDALONE:
 					createStandaloneCartridge(cartridgeDTO);
 					break;
 				case EMBEDDED:
-					addOrUpdateEmbeddedCartridge(cartridgeDTO.getName(), cartridgeDTO);
+					changed |= addOrUpdateEmbeddedCartridge(cartridgeDTO.getName(), cartridgeDTO, events);
 					break;
 				case UNDEFINED:
 					break;
 			}
 		}
+		changed |= removeCartridges(cartridgeDTOByName, events);
+		return changed;
 	}
 
 	private void createStandaloneCartridge(CartridgeResourceDTO dto) {
 		this.cartridge = new StandaloneCartridgeResource(dto,this);
 	}
 
-	private void addOrUpdateEmbeddedCartridge(String name, CartridgeResourceDTO cartridgeDTO) {
+	private boolean addOrUpdateEmbeddedCartridge(String name, CartridgeResourceDTO cartridgeDTO,
+			List<ResourceChangeEvent> events) {
 		EmbeddedCartridgeResource embeddedCartridge = embeddedCartridgesByName.get(name);
 		if (embeddedCartridge != null) {
-			embeddedCartridge.update(cartridgeDTO);
+			if (!embeddedCartridge.update(cartridgeDTO)) {
+				return false;
+			}
+			addEvent(ResourceChangeEvent.Type.CHANGED, embeddedCartridge, events);
 		} else {
-			embeddedCartridgesByName.put(name, new EmbeddedCartridgeResource(cartridgeDTO, this));
+			embeddedCartridge = new EmbeddedCartridgeResource(cartridgeDTO, this);
+			embeddedCartridgesByName.put(name, embeddedCartridge);
+			addEvent(ResourceChangeEvent.Type.ADDED, embeddedCartridge, events);
+		}
+		return true;
+	}
+
+	private void addEvent(ResourceChangeEvent.Type type, IEmbeddedCartridge cartridge, List<ResourceChangeEvent> events) {
+		if (events == null
+				|| !hasChangeListeners()) {
+			return;
 		}
+		events.add(new ResourceChangeEvent(this, type, cartridge));
 	}
 
-	private void removeCartridges(Map<String, CartridgeResourceDTO> cartridgeDTOsByName) {
-		List<EmbeddedCartridgeResource> cartridges = new ArrayList<EmbeddedCartridgeResource>(embeddedCartridgesByName.values());
-		for (EmbeddedCartridgeResource cartridge : cartridges) {
-			String name = cartridge.getName();
-			if (!cartridgeDTOsByName.containsKey(name)) {
+	/**
+	 * Notifies the listeners of this application of the given events.
+	 */
+	void fireResourceChanged(List<ResourceChangeEvent> events) {
+		for (ResourceChangeEvent event : events) {
+			fireResourceChanged(event);
+		}
+	}
+
+	private boolean removeCartridges(Map<String, CartridgeResourceDTO> cartridgeDTOsByName,
+			List<ResourceChangeEvent> events) {
+		boolean removed = false;
+		for (Iterator<EmbeddedCartridgeResource> it = embeddedCartridgesByName.values().iterator(); it.hasNext();) {
+			EmbeddedCartridgeResource cartridge = it.next();
+			if (!cartridgeDTOsByName.containsKey(cartridge.getName())) {
 				// not present in updated collection
-				embeddedCartridgesByName.remove(name);
+				it.remove();
+				addEvent(ResourceChangeEvent.Type.REMOVED, cartridge, events);
+				removed = true;
 			}
 		}
+		return removed;
 	}
 
 	@Override
@@ -530,13 +643,33 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		}
 	}
 
+	/**
+	 * Removes the given cartridges from this application. The cartridges are
+	 * removed one after the other, each one after the cartridges that require
+	 * it. If a request fails, the remaining cartridges are not removed.
+	 * 
+	 * @param cartridges
+	 *            the cartridges to remove
+	 * 
+	 * @see CartridgeDependencies
+	 */
 	public void removeEmbeddedCartridges(Collection<IEmbeddableCartridge> cartridges) throws OpenShiftException {
 		Assert.notNull(cartridges);
 
-		for(IEmbeddableCartridge cartridge : cartridges) {
-			// TODO: catch exceptions when removing cartridges, contine removing
-			// and report the exceptions that occurred
-			removeEmbeddedCartridge(cartridge);
+		List<IEmbeddedCartridge> embeddedCartridges = new ArrayList<IEmbeddedCartridge>();
+		for (IEmbeddableCartridge cartridge : cartridges) {
+			Assert.notNull(cartridge);
+			IEmbeddedCartridge embeddedCartridge = getEmbeddedCartridge(cartridge);
+			if (embeddedCartridge != null) {
+				embeddedCartridges.add(embeddedCartridge);
+			}
+		}
+		if (embeddedCartridges.size() > 1) {
+			embeddedCartridges = getCartridgeDependencies().getRemoveOrder(embeddedCartridges);
+		}
+
+		for (IEmbeddedCartridge embeddedCartridge : embeddedCartridges) {
+			embeddedCartridge.destroy();
 		}
 	}
 
@@ -548,6 +681,62 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		return gearGroups;
 	}
 
+	@Override
+	public void watchGearStates(IGearStateListener listener) {
+		if (!gearStateListeners.contains(listener)) {
+			gearStateListeners.add(listener);
+		}
+		domain.getResourcePoller().watch(gearStatesPollable, listener);
+	}
+
+	@Override
+	public void unwatchGearStates(IGearStateListener listener) {
+		gearStateListeners.remove(listener);
+		if (!domain.getResourcePoller().unwatch(gearStatesPollable, listener)) {
+			this.polledGears = null;
+		}
+	}
+
+	/**
+	 * Requests the gear groups of this application and notifies the gear
+	 * state listeners of the gears that were added, removed or changed their
+	 * state since the last poll. The first poll only remembers the gears.
+	 * 
+	 * @return true if gears were added, removed or changed their state
+	 */
+	protected boolean pollGearStates() throws OpenShiftException {
+		Map<String, IGear> gears = new LinkedHashMap<String, IGear>();
+		for (IGearGroup gearGroup : loadGearGroups()) {
+			for (IGear gear : gearGroup.getGears()) {
+				gears.put(gear.getId(), gear);
+			}
+		}
+		Map<String, IGear> previousGears = this.polledGears;
+		this.polledGears = gears;
+		if (previousGears == null) {
+			return false;
+		}
+		previousGears = new HashMap<String, IGear>(previousGears);
+		List<GearStateChangeEvent> events = new ArrayList<GearStateChangeEvent>();
+		for (IGear gear : gears.values()) {
+			IGear previousGear = previousGears.remove(gear.getId());
+			if (previousGear == null) {
+				events.add(new GearStateChangeEvent(this, gear, null, gear.getState()));
+			} else if (!ObjectUtils.equals(previousGear.getState(), gear.getState())) {
+				events.add(new GearStateChangeEvent(this, gear, previousGear.getState(), gear.getState()));
+			}
+		}
+		for (IGear removedGear : previousGears.values()) {
+			events.add(new GearStateChangeEvent(this, removedGear, removedGear.getState(), null));
+		}
+		for (GearStateChangeEvent event : events) {
+			for (IGearStateListener listener : gearStateListeners) {
+				listener.gearStateChanged(event);
+			}
+		}
+		return !events.isEmpty();
+	}
+
 	public IGearGroup getGearGroup(ICartridge cartridge) throws OpenShiftException {
 		// this collection is not cached so we always have the latest info 
 		// about the gear groups consumed by this application.
@@ -633,7 +822,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 			this.gearGroups = loadGearGroups();
 		}
 		if (this.ports != null) {
-			this.ports = loadPorts();
+			refreshForwardablePorts();
 		}
 		updateEnvironmentVariables();
 	}
@@ -660,17 +849,47 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	}
 
 	public List<IApplicationPortForwarding> refreshForwardablePorts() throws OpenShiftSSHOperationException {
-		this.ports = loadPorts();
+		ForwardablePortsCache cache = getForwardablePortsCache();
+		if (cache == null) {
+			this.ports = loadPorts();
+		} else {
+			this.ports = cache.load(this, new PortsLoader());
+		}
 		return this.ports;
 	}
 
 	public List<IApplicationPortForwarding> getForwardablePorts() throws OpenShiftSSHOperationException {
 		if (ports == null) {
-			this.ports = loadPorts();
+			ForwardablePortsCache cache = getForwardablePortsCache();
+			if (cache == null) {
+				this.ports = loadPorts();
+			} else {
+				this.ports = cache.getPorts(this, new PortsLoader());
+			}
 		}
 		return ports;
 	}
 
+	/**
+	 * Returns the cache of the forwardable ports that this application shares
+	 * with its ssh sessions and the other applications of its connection.
+	 * Returns <code>null</code> if the connection has no such cache.
+	 */
+	ForwardablePortsCache getForwardablePortsCache() {
+		IOpenShiftConnection connection = getConnection();
+		if (!(connection instanceof APIResource)) {
+			return null;
+		}
+		return ((APIResource) connection).getForwardablePortsCache();
+	}
+
+	private void invalidateForwardablePorts() {
+		ForwardablePortsCache cache = getForwardablePortsCache();
+		if (cache != null) {
+			cache.invalidate(uuid);
+		}
+	}
+
 	@Override
 	public List<String> getEnvironmentProperties() throws OpenShiftSSHOperationException {
 		List<String> openshiftProps = new ArrayList<String>();
@@ -858,7 +1077,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	 * @throws OpenShiftSSHOperationException
 	 */
 	private List<IApplicationPortForwarding> loadPorts() throws OpenShiftSSHOperationException {
-		this.ports = new ArrayList<IApplicationPortForwarding>();
+		List<IApplicationPortForwarding> ports = new ArrayList<IApplicationPortForwarding>();
 		List<String> lines = sshExecCmd("rhc-list-ports", SshStreams.EXT_INPUT);
 		for (String line : lines) {
 			ApplicationPortForwarding port = extractForwardablePortFrom(line);
@@ -877,28 +1096,48 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	 */
 	protected List<String> sshExecCmd(final String command, final SshStreams sshStream)
 			throws OpenShiftSSHOperationException {
+		return sshStreamCmd(command, sshStream).getLines();
+	}
+
+	/**
+	 * Runs the given command via ssh and returns its output while it's still
+	 * running. The caller has to close the output once done.
+	 *
+	 * @param command
+	 *            the command to run
+	 * @param sshStream
+	 *            the stream to read the output from
+	 * @return the output of the running command
+	 * @throws OpenShiftSSHOperationException
+	 */
+	protected RemoteCommandOutput sshStreamCmd(final String command, final SshStreams sshStream)
+			throws OpenShiftSSHOperationException {
 		final Session session = getSSHSession();
 		if (session == null) {
 			throw new OpenShiftSSHOperationException("No SSH session available for application ''{0}''", this.getName());
 		}
 		Channel channel = null;
 		try {
-			session.openChannel("exec");
 			channel = session.openChannel("exec");
 			((ChannelExec) channel).setCommand(command);
+			// stream has to be get before connecting
+			InputStream in = sshStream.getInputStream(channel);
 			channel.connect();
-			return sshStream.getLines(channel);
+			return new RemoteCommandOutput(command, channel, in);
 		} catch (JSchException e) {
-			throw new OpenShiftSSHOperationException(e, "Failed to execute remote ssh command \"{0}\"",
-					this.getName());
+			disconnect(channel);
+			throw new OpenShiftSSHOperationException(e,
+					"Failed to execute remote ssh command \"{0}\" on application {1}", command, this.getName());
 		} catch (IOException e) {
-			throw new OpenShiftSSHOperationException(e, "Failed to execute remote ssh command \"{0}\"",
-					this.getName());
-		} finally {
+			disconnect(channel);
+			throw new OpenShiftSSHOperationException(e,
+					"Failed to execute remote ssh command \"{0}\" on application {1}", command, this.getName());
+		}
+	}
 
-			if (channel != null && channel.isConnected()) {
-				channel.disconnect();
-			}
+	private void disconnect(Channel channel) {
+		if (channel != null && channel.isConnected()) {
+			channel.disconnect();
 		}
 	}
 
@@ -963,7 +1202,26 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		return ports;
 	}
 
-	protected void update(ApplicationResourceDTO dto) {
+	/**
+	 * Updates this application with the given DTO. Events for the embedded
+	 * cartridges that changed are added to the given list and are not fired.
+	 * 
+	 * @param dto
+	 *            the DTO to update this application with
+	 * @param events
+	 *            the list to add the change events to
+	 * @return true if this application changed
+	 */
+	protected boolean update(ApplicationResourceDTO dto, List<ResourceChangeEvent> events) {
+		boolean changed = !ObjectUtils.equals(name, dto.getName())
+				|| !ObjectUtils.equals(uuid, dto.getUuid())
+				|| !ObjectUtils.equals(scale, dto.getApplicationScale())
+				|| !ObjectUtils.equals(gearProfile, dto.getGearProfile())
+				|| !ObjectUtils.equals(applicationUrl, dto.getApplicationUrl())
+				|| !ObjectUtils.equals(sshUrl, dto.getSshUrl())
+				|| !ObjectUtils.equals(gitUrl, dto.getGitUrl())
+				|| !ObjectUtils.equals(initialGitUrl, dto.getInitialGitUrl())
+				|| !ObjectUtils.equals(aliases, dto.getAliases());
 		this.name = dto.getName();
 		this.uuid = dto.getUuid();
 		this.creationTime = RFC822DateUtils.safeGetDate(dto.getCreationTime());
@@ -974,7 +1232,11 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 		this.gitUrl = dto.getGitUrl();
 		this.initialGitUrl = dto.getInitialGitUrl();
 		this.aliases = dto.getAliases();
-		updateCartridges(dto.getCartridges());
+		if (updateCartridges(dto.getCartridges(), events)) {
+			invalidateForwardablePorts();
+			changed = true;
+		}
+		return changed;
 	}
 
 	@Override
@@ -1035,32 +1297,29 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 			}
 		};
 
-		public List<String> getLines(Channel channel) throws IOException {
-			BufferedReader reader = new BufferedReader(new InputStreamReader(getInputStream(channel)));
-			List<String> lines = new ArrayList<String>();
-			String line = null;
-			// Read File Line By Line
-			while ((line = reader.readLine()) != null) {
-				lines.add(line);
-			}
-			return lines;
-		}
-
 		protected abstract InputStream getInputStream(Channel channel) throws IOException;
 
 	}
 
+	private class PortsLoader implements ForwardablePortsCache.IPortsLoader {
+
+		@Override
+		public List<IApplicationPortForwarding> load() throws OpenShiftException {
+			return loadPorts();
+		}
+	}
+
 	private class DeleteApplicationRequest extends ServiceRequest {
 
 		private DeleteApplicationRequest() {
-			super(LINK_DELETE_APPLICATION);
+			super(LINK_DELETE_APPLICATION, ResponseProjection.STATUS);
 		}
 	}
 
 	private class StartApplicationRequest extends ServiceRequest {
 
 		private StartApplicationRequest() {
-			super(LINK_START_APPLICATION);
+			super(LINK_START_APPLICATION, ResponseProjection.STATUS);
 		}
 
 		protected <DTO> DTO execute() throws OpenShiftException {
@@ -1072,7 +1331,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	private class StopApplicationRequest extends ServiceRequest {
 
 		private StopApplicationRequest() {
-			super(LINK_STOP_APPLICATION);
+			super(LINK_STOP_APPLICATION, ResponseProjection.STATUS);
 		}
 
 		protected <DTO> DTO execute() throws OpenShiftException {
@@ -1084,7 +1343,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	private class ForceStopApplicationRequest extends ServiceRequest {
 
 		private ForceStopApplicationRequest() {
-			super(LINK_FORCE_STOP_APPLICATION);
+			super(LINK_FORCE_STOP_APPLICATION, ResponseProjection.STATUS);
 		}
 
 		protected <DTO> DTO execute() throws OpenShiftException {
@@ -1096,7 +1355,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	private class RestartApplicationRequest extends ServiceRequest {
 
 		private RestartApplicationRequest() {
-			super(LINK_RESTART_APPLICATION);
+			super(LINK_RESTART_APPLICATION, ResponseProjection.STATUS);
 		}
 
 		protected <DTO> DTO execute() throws OpenShiftException {
@@ -1108,7 +1367,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	private class ScaleUpRequest extends ServiceRequest {
 
 		private ScaleUpRequest() {
-			super(LINK_SCALE_UP);
+			super(LINK_SCALE_UP, ResponseProjection.STATUS);
 		}
 
 		protected <DTO> DTO execute() throws OpenShiftException {
@@ -1120,7 +1379,7 @@ public class ApplicationResource extends AbstractOpenShiftResource implements IA
 	private class ScaleDownRequest extends ServiceRequest {
 
 		private ScaleDownRequest() {
-			super(LINK_SCALE_DOWN);
+			super(LINK_SCALE_DOWN, ResponseProjection.STATUS);
 		}
 
 		protected <DTO> DTO execute() throws OpenShiftException {
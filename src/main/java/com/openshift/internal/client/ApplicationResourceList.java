@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.openshift.client.IApplication;
+import com.openshift.client.ResourceChangeEvent;
+import com.openshift.internal.client.response.ApplicationResourceDTO;
+import com.openshift.internal.client.response.CartridgeResourceDTO;
+import com.openshift.internal.client.utils.ObjectUtils;
+import com.openshift.internal.client.utils.UrlUtils;
+
+/**
+ * The applications of a domain. The list holds the application DTOs that the
+ * server sent and only creates an application resource once it is accessed.
+ * Looking up an application by name or iterating over a part of the list
+ * therefore only creates the resources that are actually used.
+ * <p>
+ * Copies of this list share their entries: an application is only created
+ * once, no matter which copy it is accessed in. The list is synchronized, it
+ * may be updated by the poller while it is accessed.
+ *
+ * @author Andre Dietisheim
+ */
+class ApplicationResourceList extends AbstractList<IApplication> implements RandomAccess {
+
+	private final DomainResource domain;
+	private final List<Entry> entries;
+
+	ApplicationResourceList(List<ApplicationResourceDTO> dtos, DomainResource domain) {
+		this(domain, new ArrayList<Entry>(dtos.size()));
+		for (ApplicationResourceDTO dto : dtos) {
+			entries.add(new Entry(dto));
+		}
+	}
+
+	private ApplicationResourceList(DomainResource domain, List<Entry> entries) {
+		this.entries = entries;
+		this.domain = domain;
+	}
+
+	@Override
+	public synchronized IApplication get(int index) {
+		return entries.get(index).get();
+	}
+
+	@Override
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	@Override
+	public synchronized void add(int index, IApplication application) {
+		entries.add(index, new Entry(application));
+	}
+
+	@Override
+	public synchronized IApplication set(int index, IApplication application) {
+		return entries.set(index, new Entry(application)).get();
+	}
+
+	@Override
+	public synchronized IApplication remove(int index) {
+		return entries.remove(index).get();
+	}
+
+	/**
+	 * Returns the index of the given application. Only applications that were
+	 * created are looked at, the others were never handed out.
+	 */
+	@Override
+	public synchronized int indexOf(Object application) {
+		for (int i = 0; i < entries.size(); i++) {
+			if (entries.get(i).isApplication(application)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object application) {
+		return indexOf(application) >= 0;
+	}
+
+	@Override
+	public synchronized boolean remove(Object application) {
+		int index = indexOf(application);
+		if (index < 0) {
+			return false;
+		}
+		entries.remove(index);
+		return true;
+	}
+
+	/**
+	 * Returns the application with the given name (case-insensitive) or
+	 * <code>null</code> if there's none. Only the matching application is
+	 * created.
+	 *
+	 * @param name
+	 *            the name of the application
+	 * @return the application with the given name
+	 */
+	synchronized IApplication getByName(String name) {
+		Entry entry = getEntry(name);
+		if (entry == null) {
+			return null;
+		}
+		return entry.get();
+	}
+
+	private Entry getEntry(String name) {
+		for (Entry entry : entries) {
+			if (name.equalsIgnoreCase(entry.getName())) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Updates this list with the given DTOs. It adds new applications, updates
+	 * the existing ones and removes the ones that are not present any more.
+	 * Applications that were not created yet are not created, their DTO is
+	 * replaced. The applications are matched by name via a hash index,
+	 * reconciling is linear in the number of applications. The listeners of
+	 * the domain are notified of the applications that were added, removed or
+	 * changed.
+	 *
+	 * @param dtos
+	 *            the DTOs to update this list with
+	 * @return true if applications were added, removed or changed
+	 */
+	boolean update(List<ApplicationResourceDTO> dtos) {
+		List<Entry> added = new ArrayList<Entry>();
+		List<Entry> removed = new ArrayList<Entry>();
+		List<Entry> changed = new ArrayList<Entry>();
+		List<ResourceChangeEvent> cartridgeEvents = new ArrayList<ResourceChangeEvent>();
+		synchronized (this) {
+			Map<String, Entry> entriesByName = new HashMap<String, Entry>(entries.size());
+			for (Entry entry : entries) {
+				entriesByName.put(toKey(entry.getName()), entry);
+			}
+			Set<Entry> present = new HashSet<Entry>(dtos.size());
+			for (ApplicationResourceDTO dto : dtos) {
+				Entry entry = entriesByName.get(toKey(dto.getName()));
+				if (entry == null) {
+					entry = new Entry(dto);
+					entriesByName.put(toKey(dto.getName()), entry);
+					entries.add(entry);
+					added.add(entry);
+				} else if (entry.update(dto, cartridgeEvents)) {
+					changed.add(entry);
+				}
+				present.add(entry);
+			}
+			for (Iterator<Entry> it = entries.iterator(); it.hasNext();) {
+				Entry entry = it.next();
+				if (!present.contains(entry)) {
+					it.remove();
+					removed.add(entry);
+				}
+			}
+		}
+		// notify outside of the lock
+		fireResourceChanged(ResourceChangeEvent.Type.ADDED, added);
+		fireResourceChanged(ResourceChangeEvent.Type.REMOVED, removed);
+		fireResourceChanged(ResourceChangeEvent.Type.CHANGED, changed);
+		for (ResourceChangeEvent event : cartridgeEvents) {
+			((ApplicationResource) event.getSource()).fireResourceChanged(event);
+		}
+		return !added.isEmpty()
+				|| !removed.isEmpty()
+				|| !changed.isEmpty();
+	}
+
+	private String toKey(String name) {
+		return name.toLowerCase(Locale.ENGLISH);
+	}
+
+	private void fireResourceChanged(ResourceChangeEvent.Type type, List<Entry> entries) {
+		if (!domain.hasChangeListeners()) {
+			// dont create applications that nobody's interested in
+			return;
+		}
+		for (Entry entry : entries) {
+			domain.fireResourceChanged(type, entry.get());
+		}
+	}
+
+	/**
+	 * Returns a copy of this list that shares its entries with this list.
+	 *
+	 * @return a copy of this list
+	 */
+	synchronized ApplicationResourceList copy() {
+		return new ApplicationResourceList(domain, new ArrayList<Entry>(entries));
+	}
+
+	/**
+	 * Returns <code>true</code> if the application at the given index was
+	 * created already.
+	 */
+	synchronized boolean isCreated(int index) {
+		return entries.get(index).isCreated();
+	}
+
+	private class Entry {
+
+		private ApplicationResourceDTO dto;
+		private IApplication application;
+
+		private Entry(ApplicationResourceDTO dto) {
+			this.dto = dto;
+		}
+
+		private Entry(IApplication application) {
+			this.application = application;
+		}
+
+		private synchronized IApplication get() {
+			if (application == null) {
+				this.application = new ApplicationResource(dto, domain);
+				this.dto = null;
+			}
+			return application;
+		}
+
+		private synchronized String getName() {
+			if (application != null) {
+				return application.getName();
+			}
+			return dto.getName();
+		}
+
+		private synchronized boolean isCreated() {
+			return application != null;
+		}
+
+		private synchronized boolean isApplication(Object object) {
+			return application != null
+					&& application.equals(object);
+		}
+
+		/**
+		 * Updates this entry with the given DTO and returns <code>true</code>
+		 * if the application changed. Events of the application's cartridges
+		 * are added to the given list.
+		 */
+		private synchronized boolean update(ApplicationResourceDTO dto, List<ResourceChangeEvent> cartridgeEvents) {
+			if (application == null) {
+				boolean changed = isChanged(this.dto, dto);
+				this.dto = dto;
+				return changed;
+			} else {
+				return ((ApplicationResource) application).update(dto, cartridgeEvents);
+			}
+		}
+	}
+
+	private static boolean isChanged(ApplicationResourceDTO thisDTO, ApplicationResourceDTO thatDTO) {
+		return !ObjectUtils.equals(thisDTO.getUuid(), thatDTO.getUuid())
+				|| !ObjectUtils.equals(thisDTO.getApplicationScale(), thatDTO.getApplicationScale())
+				|| !ObjectUtils.equals(thisDTO.getGearProfile(), thatDTO.getGearProfile())
+				|| !ObjectUtils.equals(thisDTO.getApplicationUrl(), thatDTO.getApplicationUrl())
+				|| !ObjectUtils.equals(thisDTO.getSshUrl(), thatDTO.getSshUrl())
+				|| !ObjectUtils.equals(thisDTO.getGitUrl(), thatDTO.getGitUrl())
+				|| !ObjectUtils.equals(thisDTO.getInitialGitUrl(), thatDTO.getInitialGitUrl())
+				|| !ObjectUtils.equals(thisDTO.getAliases(), thatDTO.getAliases())
+				|| !isEqualCartridges(thisDTO.getCartridges(), thatDTO.getCartridges());
+	}
+
+	private static boolean isEqualCartridges(Map<String, CartridgeResourceDTO> thisCartridges,
+			Map<String, CartridgeResourceDTO> thatCartridges) {
+		if (thisCartridges == null
+				|| thatCartridges == null) {
+			return thisCartridges == thatCartridges;
+		}
+		if (!thisCartridges.keySet().equals(thatCartridges.keySet())) {
+			return false;
+		}
+		for (CartridgeResourceDTO thisCartridge : thisCartridges.values()) {
+			CartridgeResourceDTO thatCartridge = thatCartridges.get(thisCartridge.getName());
+			if (thatCartridge == null
+					|| !ObjectUtils.equals(thisCartridge.getDisplayName(), thatCartridge.getDisplayName())
+					|| !ObjectUtils.equals(thisCartridge.getDescription(), thatCartridge.getDescription())
+					|| !ObjectUtils.equals(UrlUtils.toString(thisCartridge.getUrl()), UrlUtils.toString(thatCartridge.getUrl()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
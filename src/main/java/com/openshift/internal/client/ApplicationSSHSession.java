@@ -15,9 +15,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.net.BindException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,10 +35,14 @@ import com.jcraft.jsch.Session;
 import com.openshift.client.IApplication;
 import com.openshift.client.IApplicationPortForwarding;
 import com.openshift.client.IApplicationSSHSession;
+import com.openshift.client.IRemoteCommandOutput;
+import com.openshift.client.IRemoteCommandOutputListener;
 import com.openshift.client.OpenShiftException;
 import com.openshift.client.OpenShiftSSHOperationException;
 import com.openshift.client.utils.TarFileUtils;
 import com.openshift.internal.client.ssh.ApplicationPortForwarding;
+import com.openshift.internal.client.ssh.ForwardablePortsCache;
+import com.openshift.internal.client.ssh.RemoteCommandOutput;
 import com.openshift.internal.client.utils.StreamUtils;
 
 /**
@@ -49,6 +57,9 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	private static final int CONNECT_TIMEOUT = 10 * 60 * 1000;
 	private static final String JSCH_EXEC_CHANNEL = "exec";
 
+	/** the local address that ports are forwarded from if they have none */
+	public static final String DEFAULT_LOCAL_ADDRESS = "127.0.0.1";
+
 	/** SSH Session to use for all methods */
 	private Session session;
 
@@ -58,6 +69,11 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	/** List of ports available for port forwarding */
 	private List<IApplicationPortForwarding> ports = null;
 
+	/** the ports whose local port was picked by this session, not set by the caller */
+	private final Set<IApplicationPortForwarding> portsWithPickedLocalPort =
+			Collections.synchronizedSet(
+					Collections.newSetFromMap(new IdentityHashMap<IApplicationPortForwarding, Boolean>()));
+
 	/**
 	 * Sets the SSH session that this application will use to connect to
 	 * OpenShift to perform some operations. This SSH session must be
@@ -120,27 +136,64 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	}
 
 	/**
-	 * Start forwarding available ports to this application
+	 * Start forwarding available ports to this application. Ports without a
+	 * local address are bound to {@link #DEFAULT_LOCAL_ADDRESS}, ports without
+	 * a local port are bound to any free port. If such a port is started
+	 * again and the local port that it got is taken by now, it is bound to a
+	 * free port instead. Ports whose local port was set by the caller are
+	 * only bound to this local port. Ports that could not be started hold the
+	 * error that they failed with.
 	 * 
 	 * @return Current list of ports
 	 * @throws OpenShiftSSHOperationException
+	 * 
+	 * @see ApplicationPortForwarding#getError()
 	 */
 	public List<IApplicationPortForwarding> startPortForwarding() throws OpenShiftSSHOperationException {
 		assertLiveSSHSession();
 
-		for (IApplicationPortForwarding port : ports) {
+		for (IApplicationPortForwarding port : getForwardablePorts()) {
 			try {
-				port.start(session);
-			} catch (OpenShiftSSHOperationException oss) {
-				/*
-				 * ignore for now FIXME: should store this error on the forward
-				 * to let user know why it could not start/stop
-				 */
+				startPortForwarding(port);
+			} catch (OpenShiftSSHOperationException e) {
+				// error is stored in the port
+				LOGGER.debug("Could not start port forwarding {}: {}", port, e.getMessage());
 			}
 		}
 		return ports;
 	}
 
+	private void startPortForwarding(IApplicationPortForwarding port) throws OpenShiftSSHOperationException {
+		if (port.getLocalAddress() == null) {
+			port.setLocalAddress(DEFAULT_LOCAL_ADDRESS);
+		}
+		if (port.getLocalPort() == -1) {
+			port.setLocalPort(0);
+			portsWithPickedLocalPort.add(port);
+		}
+		try {
+			port.start(session);
+		} catch (OpenShiftSSHOperationException e) {
+			if (port.getLocalPort() == 0
+					|| !portsWithPickedLocalPort.contains(port)
+					|| !isBindFailure(e)) {
+				throw e;
+			}
+			// the local port that was picked before is taken by now
+			port.setLocalPort(0);
+			port.start(session);
+		}
+	}
+
+	private boolean isBindFailure(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof BindException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Stop forwarding of all ports to this application
 	 * 
@@ -149,14 +202,16 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	 */
 	public List<IApplicationPortForwarding> stopPortForwarding() throws OpenShiftSSHOperationException {
 		assertLiveSSHSession();
+		if (ports == null) {
+			// ports were never looked up, none were started
+			this.ports = new ArrayList<IApplicationPortForwarding>();
+		}
 		for (IApplicationPortForwarding port : ports) {
 			try {
 				port.stop(session);
-			} catch (OpenShiftSSHOperationException oss) {
-				/*
-				 * ignore for now should store this error on the forward to let
-				 * user know why it could not start/stop
-				 */
+			} catch (OpenShiftSSHOperationException e) {
+				// error is stored in the port
+				LOGGER.debug("Could not stop port forwarding {}: {}", port, e.getMessage());
 			}
 		}
 		// make sure port forwarding is stopped by closing session...
@@ -172,7 +227,13 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	 */
 	public List<IApplicationPortForwarding> refreshForwardablePorts() throws OpenShiftSSHOperationException {
 		assertLiveSSHSession();
-		this.ports = loadPorts();
+		portsWithPickedLocalPort.clear();
+		ForwardablePortsCache cache = getForwardablePortsCache();
+		if (cache == null) {
+			this.ports = loadPorts();
+		} else {
+			this.ports = cache.load(application, new PortsLoader());
+		}
 		return getForwardablePorts();
 	}
 
@@ -185,11 +246,28 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	public List<IApplicationPortForwarding> getForwardablePorts() throws OpenShiftSSHOperationException {
 		assertLiveSSHSession();
 		if (ports == null) {
-			this.ports = loadPorts();
+			ForwardablePortsCache cache = getForwardablePortsCache();
+			if (cache == null) {
+				this.ports = loadPorts();
+			} else {
+				this.ports = cache.getPorts(application, new PortsLoader());
+			}
 		}
 		return ports;
 	}
 
+	/**
+	 * Returns the cache of forwardable ports that is shared by all sessions to
+	 * the applications of the same connection, <code>null</code> if there's
+	 * none.
+	 */
+	private ForwardablePortsCache getForwardablePortsCache() {
+		if (!(application instanceof ApplicationResource)) {
+			return null;
+		}
+		return ((ApplicationResource) application).getForwardablePortsCache();
+	}
+
 	/**
 	 * Get a list of properties from your OpenShift Application
 	 * 
@@ -212,6 +290,41 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 		}
 	}
 
+	/**
+	 * Runs the given command and returns its output (stdout) while the
+	 * command is running. Lines are available as soon as they arrive. The
+	 * caller has to close the output once done, closing it terminates the
+	 * command.
+	 *
+	 * @param command
+	 *            the command to run
+	 * @return the output of the running command
+	 * @throws OpenShiftSSHOperationException
+	 *             if the command could not be run
+	 */
+	public IRemoteCommandOutput streamCommand(String command) throws OpenShiftSSHOperationException {
+		return streamCommand(command, ChannelInputStreams.DATA, session);
+	}
+
+	/**
+	 * Runs the given command and notifies the given listener of each line
+	 * (stdout) as soon as it arrives. Blocks until the command ended or the
+	 * listener cancelled it.
+	 *
+	 * @param command
+	 *            the command to run
+	 * @param listener
+	 *            the listener to notify of each line
+	 * @return the exit status of the command, -1 if it was cancelled
+	 * @throws OpenShiftSSHOperationException
+	 *             if the command could not be run or its output could not be
+	 *             read
+	 */
+	public int streamCommand(String command, IRemoteCommandOutputListener listener)
+			throws OpenShiftSSHOperationException {
+		return streamCommand(command, ChannelInputStreams.DATA, session).notifyLines(listener);
+	}
+
 	public InputStream saveFullSnapshot() {
 		assertLiveSSHSession();
 
@@ -277,11 +390,9 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	 */
 	private List<IApplicationPortForwarding> loadPorts() throws OpenShiftSSHOperationException {
 		assertLiveSSHSession();
-		this.ports = new ArrayList<IApplicationPortForwarding>();
 		InputStream in = execCommand("rhc-list-ports", ChannelInputStreams.EXTENDED_DATA, session);
 		try {
-			this.ports = new RhcListPortsCommandResponse(application, in).getPortForwardings();
-			return this.ports;
+			return new RhcListPortsCommandResponse(application, in).getPortForwardings();
 		} catch (IOException e) {
 			throw new OpenShiftSSHOperationException("Could not execute \"rhc-list-ports\" via ssh in application {0}",
 					application.getName());
@@ -302,7 +413,7 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 	 */
 	public void refresh() throws OpenShiftException {
 		if (this.ports != null) {
-			this.ports = loadPorts();
+			refreshForwardablePorts();
 		}
 	}
 
@@ -402,6 +513,46 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 		}
 	}
 
+	/**
+	 * Runs the given command and returns its output while it is running. The
+	 * output is read from the channel stream as the caller asks for it.
+	 *
+	 * @param command
+	 *            the remote command to run on the server
+	 * @param channelInputStream
+	 *            the stream to read the output from
+	 * @return the output of the running command
+	 * @throws OpenShiftSSHOperationException
+	 */
+	protected RemoteCommandOutput streamCommand(final String command, ChannelInputStreams channelInputStream,
+			Session session) throws OpenShiftSSHOperationException {
+		assertLiveSSHSession();
+
+		ChannelExec channel = null;
+		try {
+			channel = (ChannelExec) session.openChannel(JSCH_EXEC_CHANNEL);
+			channel.setCommand(command);
+			// ATTENTION: stream must be get before connecting
+			InputStream in = channelInputStream.get(channel);
+			channel.connect(CONNECT_TIMEOUT);
+			return new RemoteCommandOutput(command, channel, in);
+		} catch (JSchException e) {
+			if (channel != null && channel.isConnected()) {
+				channel.disconnect();
+			}
+			throw new OpenShiftSSHOperationException(e,
+					"Could not execute remote ssh command \"{0}\" on application {1}",
+					command, application.getName());
+		} catch (IOException e) {
+			if (channel != null && channel.isConnected()) {
+				channel.disconnect();
+			}
+			throw new OpenShiftSSHOperationException(e,
+					"Could not get response channel for remote ssh command \"{0}\" on application {1}",
+					command, application.getName());
+		}
+	}
+
 	private void writeToRemoteStdInput(InputStream forStdInput, OutputStream remoteStdIn) throws IOException {
 		for (int data = -1; (data = forStdInput.read()) != -1;) {
 			remoteStdIn.write(data);
@@ -500,6 +651,14 @@ public class ApplicationSSHSession implements IApplicationSSHSession {
 		}
 	}
 
+	private class PortsLoader implements ForwardablePortsCache.IPortsLoader {
+
+		@Override
+		public List<IApplicationPortForwarding> load() throws OpenShiftException {
+			return loadPorts();
+		}
+	}
+
 	private static class RhcListPortsCommandResponse extends SshCommandResponse {
 
 		/** Regex for port forwarding */
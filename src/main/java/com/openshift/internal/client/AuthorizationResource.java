@@ -14,6 +14,7 @@ import com.openshift.client.IAuthorization;
 import com.openshift.client.OpenShiftException;
 import com.openshift.internal.client.httpclient.request.StringParameter;
 import com.openshift.internal.client.response.AuthorizationResourceDTO;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
 
 /**
@@ -117,7 +118,7 @@ public class AuthorizationResource extends AbstractOpenShiftResource implements
 	private class DeleteAuthorizationRequest extends ServiceRequest {
 
 		private DeleteAuthorizationRequest() throws OpenShiftException {
-			super(LINK_DELETE);
+			super(LINK_DELETE, ResponseProjection.STATUS);
 		}
 
 		protected void execute(boolean force) throws OpenShiftException {
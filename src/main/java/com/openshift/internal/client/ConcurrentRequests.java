@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.openshift.client.OpenShiftException;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * Runs requests concurrently with a given executor, at most a given number at
+ * the same time.
+ *
+ * @author Andre Dietisheim
+ */
+class ConcurrentRequests {
+
+	private ConcurrentRequests() {
+		// inhibit instantiation
+	}
+
+	/**
+	 * Runs the given requests with the given executor, at most the given
+	 * number at the same time. If a request fails, the requests that are
+	 * still running are cancelled and the failure is rethrown. Requests that
+	 * the executor rejects (ex. because the connection was disconnected and
+	 * its executor shut down) are run in the calling thread.
+	 *
+	 * @param requests
+	 *            the requests to run
+	 * @param executor
+	 *            the executor to run the requests with
+	 * @param maxConcurrentRequests
+	 *            the maximum number of requests that run at the same time
+	 * @param action
+	 *            what the requests do, used in error messages, ex.
+	 *            "load the gear groups"
+	 * @return the results of the requests, in the order of the requests
+	 * @throws OpenShiftException
+	 *             if a request failed
+	 */
+	static <T> List<T> run(List<? extends Callable<T>> requests, ExecutorService executor,
+			int maxConcurrentRequests, String action) throws OpenShiftException {
+		Assert.isTrue(maxConcurrentRequests > 0);
+
+		CompletionService<T> completionService = new ExecutorCompletionService<T>(executor);
+		List<Future<T>> futures = new ArrayList<Future<T>>(requests.size());
+		try {
+			int running = 0;
+			while (futures.size() < requests.size()
+					|| running > 0) {
+				while (futures.size() < requests.size()
+						&& running < maxConcurrentRequests) {
+					Callable<T> request = requests.get(futures.size());
+					try {
+						futures.add(completionService.submit(request));
+						running++;
+					} catch (RejectedExecutionException e) {
+						FutureTask<T> task = new FutureTask<T>(request);
+						futures.add(task);
+						task.run();
+						task.get();
+					}
+				}
+				if (running > 0) {
+					completionService.take().get();
+					running--;
+				}
+			}
+			List<T> results = new ArrayList<T>(futures.size());
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenShiftException(e, "Interrupted while trying to {0}", action);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OpenShiftException) {
+				throw (OpenShiftException) e.getCause();
+			}
+			throw new OpenShiftException(e.getCause(), "Could not {0}: {1}", action, e.getCause().getMessage());
+		} finally {
+			for (Future<T> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+}
@@ -13,8 +13,8 @@ package com.openshift.internal.client;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 
 import com.openshift.client.ApplicationScale;
@@ -22,6 +22,7 @@ import com.openshift.client.IApplication;
 import com.openshift.client.IDomain;
 import com.openshift.client.IGearProfile;
 import com.openshift.client.IHttpClient;
+import com.openshift.client.IResourceChangeListener;
 import com.openshift.client.IUser;
 import com.openshift.client.Messages;
 import com.openshift.client.OpenShiftException;
@@ -29,11 +30,13 @@ import com.openshift.client.OpenShiftRequestException;
 import com.openshift.client.cartridge.ICartridge;
 import com.openshift.client.cartridge.IEmbeddableCartridge;
 import com.openshift.client.cartridge.IStandaloneCartridge;
+import com.openshift.internal.client.ResourcePoller.IPollable;
 import com.openshift.internal.client.httpclient.request.StringParameter;
 import com.openshift.internal.client.response.ApplicationResourceDTO;
 import com.openshift.internal.client.response.DomainResourceDTO;
 import com.openshift.internal.client.response.Link;
 import com.openshift.internal.client.response.LinkParameter;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.utils.Assert;
 import com.openshift.internal.client.utils.CollectionUtils;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
@@ -54,8 +57,19 @@ public class DomainResource extends AbstractOpenShiftResource implements IDomain
 	private String id;
 	private String suffix;
 	private final APIResource connectionResource;
-	// TODO: replace by a map indexed by application names ?
-	private List<IApplication> applications = null;
+	private ApplicationResourceList applications = null;
+	private final IPollable applicationsPollable = new IPollable() {
+
+		@Override
+		public boolean poll() throws OpenShiftException {
+			return pollApplications();
+		}
+
+		@Override
+		public String toString() {
+			return "applications of domain " + id;
+		}
+	};
 
 	protected DomainResource(final String namespace, final String suffix, final Map<String, Link> links,
 			final Messages messages, final APIResource api) {
@@ -205,25 +219,7 @@ public class DomainResource extends AbstractOpenShiftResource implements IDomain
 	@Override
 	public IApplication getApplicationByName(String name) throws OpenShiftException {
 		Assert.notNull(name);
-		return getApplicationByName(name, getApplications());
-	}
-
-	private IApplication getApplicationByName(String name, Collection<IApplication> applications)
-			throws OpenShiftException {
-		Assert.notNull(name);
-
-		if (applications == null) {
-			return null;
-		}
-
-		IApplication matchingApplication = null;
-		for (IApplication application : applications) {
-			if (application.getName().equalsIgnoreCase(name)) {
-				matchingApplication = application;
-				break;
-			}
-		}
-		return matchingApplication;
+		return getOrLoadApplications().getByName(name);
 	}
 
 	@Override
@@ -263,12 +259,16 @@ public class DomainResource extends AbstractOpenShiftResource implements IDomain
 		connectionResource.removeDomain(this);
 	}
 
+	/**
+	 * Returns the applications of this domain. The application resources are
+	 * created once they're accessed in the returned list.
+	 */
 	@Override
 	public List<IApplication> getApplications() throws OpenShiftException {
-		return CollectionUtils.toUnmodifiableCopy(getOrLoadApplications());
+		return Collections.unmodifiableList(getOrLoadApplications().copy());
 	}
 
-	protected List<IApplication> getOrLoadApplications() throws OpenShiftException {
+	protected synchronized ApplicationResourceList getOrLoadApplications() throws OpenShiftException {
 		if (applications == null) {
 			this.applications = loadApplications();
 		}
@@ -281,13 +281,9 @@ public class DomainResource extends AbstractOpenShiftResource implements IDomain
 	 * @return all applications that are known to the backend for this domain
 	 * @throws OpenShiftException
 	 */
-	private List<IApplication> loadApplications() throws OpenShiftException {
-		List<IApplication> applications = new ArrayList<IApplication>();
+	private ApplicationResourceList loadApplications() throws OpenShiftException {
 		List<ApplicationResourceDTO> applicationDTOs = new ListApplicationsRequest().execute();
-		for (ApplicationResourceDTO dto : applicationDTOs) {
-			applications.add(new ApplicationResource(dto, this));
-		}
-		return applications;
+		return new ApplicationResourceList(applicationDTOs, this);
 	}
 
 	/**
@@ -295,54 +291,45 @@ public class DomainResource extends AbstractOpenShiftResource implements IDomain
 	 * applications, updates the existing ones and removes the ones that were
 	 * removed in the backend.
 	 * 
-	 * @param applications
-	 * @return
-	 * @return
 	 * @throws OpenShiftException
 	 */
 	private List<IApplication> updateApplications() throws OpenShiftException {
 		List<ApplicationResourceDTO> applicationDTOs = new ListApplicationsRequest().execute();
-		addOrUpdateApplications(applicationDTOs, applications);
-		removeApplications(applicationDTOs, applications);
+		applications.update(applicationDTOs);
 		return applications;
 	}
 
-	private List<IApplication> addOrUpdateApplications(List<ApplicationResourceDTO> dtos,
-			List<IApplication> applications) throws OpenShiftException {
-		for (ApplicationResourceDTO dto : dtos) {
-			addOrUpdateApplication(dto, applications);
+	/**
+	 * Requests the applications of this domain and updates the loaded ones.
+	 * Loads the applications if they're not loaded yet.
+	 * 
+	 * @return true if applications were added, removed or changed
+	 */
+	protected boolean pollApplications() throws OpenShiftException {
+		synchronized (this) {
+			if (applications == null) {
+				this.applications = loadApplications();
+				return false;
+			}
 		}
-		return applications;
+		List<ApplicationResourceDTO> applicationDTOs = new ListApplicationsRequest().execute();
+		return applications.update(applicationDTOs);
 	}
 
-	private void addOrUpdateApplication(ApplicationResourceDTO applicationDTO, List<IApplication> applications) {
-		ApplicationResource application = (ApplicationResource) getApplicationByName(applicationDTO.getName(),
-				applications);
-		if (application == null) {
-			final IApplication newApplication = new ApplicationResource(applicationDTO, this);
-			applications.add(newApplication);
-		} else {
-			application.update(applicationDTO);
-		}
+	@Override
+	public void watch(IResourceChangeListener listener) {
+		addChangeListener(listener);
+		getResourcePoller().watch(applicationsPollable, listener);
 	}
 
-	private List<IApplication> removeApplications(List<ApplicationResourceDTO> dtos, List<IApplication> applications) {
-		for (ListIterator<IApplication> it = applications.listIterator(); it.hasNext();) {
-			IApplication application = it.next();
-			if (!hasApplicationDTOByName(application.getName(), dtos)) {
-				it.remove();
-			}
-		}
-		return applications;
+	@Override
+	public void unwatch(IResourceChangeListener listener) {
+		getResourcePoller().unwatch(applicationsPollable, listener);
+		removeChangeListener(listener);
 	}
 
-	private boolean hasApplicationDTOByName(String name, List<ApplicationResourceDTO> dtos) {
-		for (ApplicationResourceDTO dto : dtos) {
-			if (name.equals(dto.getName())) {
-				return true;
-			}
-		}
-		return false;
+	ResourcePoller getResourcePoller() {
+		return connectionResource.getResourcePoller();
 	}
 
 	protected void removeApplication(IApplication application) {
@@ -500,7 +487,7 @@ public class DomainResource extends AbstractOpenShiftResource implements IDomain
 	private class DeleteDomainRequest extends ServiceRequest {
 
 		private DeleteDomainRequest() throws OpenShiftException {
-			super(LINK_DELETE);
+			super(LINK_DELETE, ResponseProjection.STATUS);
 		}
 
 		protected void execute(boolean force) throws OpenShiftException {
@@ -20,7 +20,11 @@ import com.openshift.client.cartridge.IEmbeddedCartridge;
 import com.openshift.internal.client.httpclient.request.Parameter;
 import com.openshift.internal.client.response.CartridgeResourceDTO;
 import com.openshift.internal.client.response.CartridgeResourceProperties;
+import com.openshift.internal.client.response.CartridgeResourceProperty;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
+import com.openshift.internal.client.utils.ObjectUtils;
+import com.openshift.internal.client.utils.UrlUtils;
 
 /**
  * A cartridge that is embedded into an application. 
@@ -93,12 +97,41 @@ public class EmbeddedCartridgeResource extends AbstractOpenShiftResource impleme
 		return application;
 	}
 
-	protected void update(CartridgeResourceDTO dto) {
+	/**
+	 * Updates this cartridge with the given DTO.
+	 * 
+	 * @param dto
+	 *            the DTO to update this cartridge with
+	 * @return true if this cartridge changed
+	 */
+	protected boolean update(CartridgeResourceDTO dto) {
+		boolean changed = !ObjectUtils.equals(description, dto.getDescription())
+				|| !ObjectUtils.equals(displayName, dto.getDisplayName())
+				|| !ObjectUtils.equals(UrlUtils.toString(url), UrlUtils.toString(dto.getUrl()))
+				|| !isEqualProperties(properties, dto.getProperties());
 		this.description = dto.getDescription();
 		this.displayName = dto.getDisplayName();
 		this.url = dto.getUrl();
 		this.properties = dto.getProperties();
 		setLinks(dto.getLinks());
+		return changed;
+	}
+
+	private static boolean isEqualProperties(CartridgeResourceProperties thisProperties,
+			CartridgeResourceProperties thatProperties) {
+		if (thisProperties == null
+				|| thatProperties == null) {
+			return thisProperties == thatProperties;
+		}
+		if (thisProperties.size() != thatProperties.size()) {
+			return false;
+		}
+		for (CartridgeResourceProperty property : thisProperties.getAll()) {
+			if (!ObjectUtils.equals(property.getValue(), thatProperties.getPropertyValue(property.getName()))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -186,7 +219,7 @@ public class EmbeddedCartridgeResource extends AbstractOpenShiftResource impleme
 	private class DeleteCartridgeRequest extends ServiceRequest {
 		
 		private DeleteCartridgeRequest() {
-			super(LINK_DELETE_CARTRIDGE);
+			super(LINK_DELETE_CARTRIDGE, ResponseProjection.STATUS);
 		}
 	}
 	private class UpdateCartridgeRequest extends ServiceRequest {
@@ -18,6 +18,7 @@ import com.openshift.client.Messages;
 import com.openshift.client.OpenShiftException;
 import com.openshift.internal.client.response.EnvironmentVariableResourceDTO;
 import com.openshift.internal.client.response.Link;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
 
 /**
@@ -120,7 +121,7 @@ public class EnvironmentVariableResource extends AbstractOpenShiftResource imple
 
 	private class DeleteEnvironmentVariableRequest extends ServiceRequest {
 		protected DeleteEnvironmentVariableRequest() {
-			super(LINK_DELETE);
+			super(LINK_DELETE, ResponseProjection.STATUS);
 		}
 	}
 
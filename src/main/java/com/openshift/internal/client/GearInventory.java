@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import com.openshift.client.GearState;
+import com.openshift.client.IApplication;
+import com.openshift.client.IDomain;
+import com.openshift.client.IGear;
+import com.openshift.client.IGearGroup;
+import com.openshift.client.IGearInventory;
+import com.openshift.client.IGearState;
+import com.openshift.client.OpenShiftException;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * An inventory of gears that is stored in columns: the ids, ssh urls, states
+ * and applications of the gears are held in arrays that are indexed by gear.
+ * States are stored once and referenced by index, states that only differ in
+ * case are stored as the first one of them. The gears of an application
+ * are stored next to each other, the gears in a given state are indexed when
+ * the inventory is created. Gear instances are only created when they're
+ * accessed.
+ * 
+ * @author Andre Dietisheim
+ */
+public class GearInventory implements IGearInventory {
+
+	private final List<IApplication> applications;
+	/** the index of the first gear of each application, plus the number of gears */
+	private final int[] applicationOffsets;
+	private final String[] ids;
+	private final String[] sshUrls;
+	private final String[] states;
+	/** the index of each state by its lower case form */
+	private final Map<String, Integer> stateIndexByKey;
+	private final int[] stateIndexes;
+	/** the indexes of the gears in each state */
+	private final int[][] gearIndexesByState;
+
+	/**
+	 * Creates an inventory of the gears within the given gear groups.
+	 * 
+	 * @param applications
+	 *            the applications
+	 * @param gearGroups
+	 *            the gear groups of each application, in the order of the
+	 *            applications
+	 */
+	public GearInventory(List<IApplication> applications, List<? extends Collection<IGearGroup>> gearGroups) {
+		Assert.isTrue(applications.size() == gearGroups.size());
+		this.applications = Collections.unmodifiableList(new ArrayList<IApplication>(applications));
+		this.applicationOffsets = new int[applications.size() + 1];
+		int size = 0;
+		for (Collection<IGearGroup> applicationGearGroups : gearGroups) {
+			for (IGearGroup gearGroup : applicationGearGroups) {
+				size += gearGroup.getGears().size();
+			}
+		}
+		this.ids = new String[size];
+		this.sshUrls = new String[size];
+		this.stateIndexes = new int[size];
+		Map<String, Integer> stateIndexByKey = new HashMap<String, Integer>();
+		List<String> states = new ArrayList<String>();
+		int gear = 0;
+		for (int application = 0; application < gearGroups.size(); application++) {
+			applicationOffsets[application] = gear;
+			for (IGearGroup gearGroup : gearGroups.get(application)) {
+				for (IGear applicationGear : gearGroup.getGears()) {
+					ids[gear] = applicationGear.getId();
+					sshUrls[gear] = applicationGear.getSshUrl();
+					stateIndexes[gear] = getStateIndex(getState(applicationGear), stateIndexByKey, states);
+					gear++;
+				}
+			}
+		}
+		applicationOffsets[applications.size()] = gear;
+		this.states = states.toArray(new String[states.size()]);
+		this.stateIndexByKey = stateIndexByKey;
+		this.gearIndexesByState = createGearIndexesByState(stateIndexes, states.size());
+	}
+
+	private String getState(IGear gear) {
+		if (gear.getState() == null) {
+			return IGearState.UNKNOWN;
+		}
+		return gear.getState().getState();
+	}
+
+	private int getStateIndex(String state, Map<String, Integer> stateIndexByKey, List<String> states) {
+		String key = toKey(state);
+		Integer index = stateIndexByKey.get(key);
+		if (index == null) {
+			index = states.size();
+			states.add(state);
+			stateIndexByKey.put(key, index);
+		}
+		return index;
+	}
+
+	private String toKey(String state) {
+		return state.toLowerCase(Locale.ENGLISH);
+	}
+
+	private static int[][] createGearIndexesByState(int[] stateIndexes, int numOfStates) {
+		int[] counts = new int[numOfStates];
+		for (int stateIndex : stateIndexes) {
+			counts[stateIndex]++;
+		}
+		int[][] gearIndexesByState = new int[numOfStates][];
+		for (int state = 0; state < numOfStates; state++) {
+			gearIndexesByState[state] = new int[counts[state]];
+		}
+		int[] positions = new int[numOfStates];
+		for (int gear = 0; gear < stateIndexes.length; gear++) {
+			int state = stateIndexes[gear];
+			gearIndexesByState[state][positions[state]++] = gear;
+		}
+		return gearIndexesByState;
+	}
+
+	/**
+	 * Loads the gear groups of all applications in the given domains and
+	 * creates an inventory of their gears. The gear groups are requested in
+	 * parallel with the given executor, at most the given number of requests
+	 * run at the same time.
+	 * 
+	 * @param domains
+	 *            the domains whose gears shall be loaded
+	 * @param executor
+	 *            the executor to request the gear groups with
+	 * @param maxConcurrentRequests
+	 *            the maximum number of requests that run at the same time
+	 * @return the inventory of the gears
+	 * @throws OpenShiftException
+	 *             if the gear groups of an application could not be loaded
+	 */
+	public static GearInventory load(List<IDomain> domains, ExecutorService executor, int maxConcurrentRequests)
+			throws OpenShiftException {
+		Assert.isTrue(maxConcurrentRequests > 0);
+		List<IApplication> applications = new ArrayList<IApplication>();
+		for (IDomain domain : domains) {
+			applications.addAll(domain.getApplications());
+		}
+		List<GetGearGroups> requests = new ArrayList<GetGearGroups>(applications.size());
+		for (IApplication application : applications) {
+			requests.add(new GetGearGroups(application));
+		}
+		List<Collection<IGearGroup>> gearGroups =
+				ConcurrentRequests.run(requests, executor, maxConcurrentRequests, "load the gear groups");
+		return new GearInventory(applications, gearGroups);
+	}
+
+	private static class GetGearGroups implements Callable<Collection<IGearGroup>> {
+
+		private final IApplication application;
+
+		private GetGearGroups(IApplication application) {
+			this.application = application;
+		}
+
+		@Override
+		public Collection<IGearGroup> call() throws Exception {
+			return application.getGearGroups();
+		}
+	}
+
+	@Override
+	public int size() {
+		return ids.length;
+	}
+
+	@Override
+	public List<IGear> getGears() {
+		return new GearList(0, ids.length, null);
+	}
+
+	@Override
+	public List<IGear> getGears(IGearState state) {
+		int stateIndex = indexOf(state);
+		if (stateIndex < 0) {
+			return Collections.emptyList();
+		}
+		int[] gearIndexes = gearIndexesByState[stateIndex];
+		return new GearList(0, gearIndexes.length, gearIndexes);
+	}
+
+	@Override
+	public int getCount(IGearState state) {
+		int stateIndex = indexOf(state);
+		if (stateIndex < 0) {
+			return 0;
+		}
+		return gearIndexesByState[stateIndex].length;
+	}
+
+	private int indexOf(IGearState state) {
+		if (state == null
+				|| state.getState() == null) {
+			return -1;
+		}
+		Integer index = stateIndexByKey.get(toKey(state.getState()));
+		if (index == null) {
+			return -1;
+		}
+		return index;
+	}
+
+	@Override
+	public List<IGear> getGears(IApplication application) {
+		int index = applications.indexOf(application);
+		if (index < 0) {
+			return Collections.emptyList();
+		}
+		return new GearList(applicationOffsets[index], applicationOffsets[index + 1], null);
+	}
+
+	@Override
+	public Set<GearState> getStates() {
+		Set<GearState> gearStates = new LinkedHashSet<GearState>(states.length);
+		for (String state : states) {
+			gearStates.add(new GearState(state));
+		}
+		return Collections.unmodifiableSet(gearStates);
+	}
+
+	@Override
+	public List<IApplication> getApplications() {
+		return applications;
+	}
+
+	private IGear createGear(int index) {
+		return new Gear(ids[index], new GearState(states[stateIndexes[index]]), sshUrls[index]);
+	}
+
+	/**
+	 * A view of a range of gears within this inventory. The range either
+	 * refers to gears directly or to positions within the given gear indexes.
+	 */
+	private class GearList extends AbstractList<IGear> implements RandomAccess {
+
+		private final int from;
+		private final int to;
+		private final int[] gearIndexes;
+
+		private GearList(int from, int to, int[] gearIndexes) {
+			this.from = from;
+			this.to = to;
+			this.gearIndexes = gearIndexes;
+		}
+
+		@Override
+		public IGear get(int index) {
+			if (index < 0
+					|| index >= size()) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			}
+			int gear = from + index;
+			if (gearIndexes != null) {
+				gear = gearIndexes[gear];
+			}
+			return createGear(gear);
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "GearInventory ["
+				+ "applications=" + applications.size() + ", "
+				+ "gears=" + ids.length + ", "
+				+ "states=" + Arrays.toString(states)
+				+ "]";
+	}
+}
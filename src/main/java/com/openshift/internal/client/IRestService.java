@@ -18,6 +18,7 @@ import com.openshift.internal.client.httpclient.request.IMediaType;
 import com.openshift.internal.client.httpclient.request.Parameter;
 import com.openshift.internal.client.response.IRestResponseFactory;
 import com.openshift.internal.client.response.Link;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.response.RestResponse;
 
 /**
@@ -37,6 +38,16 @@ public interface IRestService {
 	public RestResponse request(Link link, int timeout, IRestResponseFactory responseFactory, List<Parameter> urlPathParameters,
 			List<Parameter> urlParameters, Parameter... parameters) throws OpenShiftException;
 
+	/**
+	 * Requests the given link and only reads the given parts of the response.
+	 * 
+	 * @see #request(Link, int, IMediaType, IRestResponseFactory, List, List,
+	 *      Parameter...)
+	 * @see ResponseProjection
+	 */
+	public RestResponse request(Link link, int timeout, ResponseProjection projection, List<Parameter> urlPathParameters,
+			List<Parameter> urlParameters, Parameter... parameters) throws OpenShiftException;
+
 	/**
 	 * Requests the given link sending the given parameters while encoding the
 	 * parameters with the given media type and respecting the given timeout.
@@ -12,7 +12,9 @@ package com.openshift.internal.client;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.openshift.client.IQuickstart;
 import com.openshift.client.cartridge.ICartridge;
@@ -36,6 +38,7 @@ public class Quickstart implements IQuickstart {
 	private final String language;
 	private final String initialGitUrl;
 	private final String provider;
+	private volatile Map<ICartridge, List<ICartridge>> alternativesByCartridge;
 
 	Quickstart(QuickstartDTO dto, APIResource api) {
 		this.id = dto.getId();
@@ -84,14 +87,44 @@ public class Quickstart implements IQuickstart {
 	@Override
 	public List<ICartridge> getAlternativesFor(ICartridge cartridge) {
 		if (cartridge != null) {
-			for (AlternativeCartridges alternatives : alternativeCartridges) {
-				if (alternatives.get().contains(cartridge)) {
-					return alternatives.get();
+			List<ICartridge> alternatives = getAlternativesByCartridge().get(cartridge);
+			if (alternatives != null) {
+				return alternatives;
+			}
+			if (cartridge.isDownloadable()) {
+				// downloadable cartridges equal on url, not on name
+				for (AlternativeCartridges alternativeCartridges : this.alternativeCartridges) {
+					if (alternativeCartridges.get().contains(cartridge)) {
+						return alternativeCartridges.get();
+					}
 				}
 			}
 		}
 		return Collections.emptyList();
 	}
+
+	/**
+	 * Returns the alternatives for each cartridge that this quickstart may
+	 * use. The map is created on first use since the cartridges are only
+	 * loaded when they're needed. The first alternatives that contain a
+	 * cartridge win.
+	 */
+	private Map<ICartridge, List<ICartridge>> getAlternativesByCartridge() {
+		Map<ICartridge, List<ICartridge>> alternativesByCartridge = this.alternativesByCartridge;
+		if (alternativesByCartridge == null) {
+			alternativesByCartridge = new HashMap<ICartridge, List<ICartridge>>();
+			for (AlternativeCartridges alternativeCartridges : this.alternativeCartridges) {
+				List<ICartridge> alternatives = alternativeCartridges.get();
+				for (ICartridge alternative : alternatives) {
+					if (!alternativesByCartridge.containsKey(alternative)) {
+						alternativesByCartridge.put(alternative, alternatives);
+					}
+				}
+			}
+			this.alternativesByCartridge = alternativesByCartridge;
+		}
+		return alternativesByCartridge;
+	}
 	
 	@Override
 	public String getWebsite() {
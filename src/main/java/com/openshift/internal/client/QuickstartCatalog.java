@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.openshift.client.IQuickstart;
+
+/**
+ * An immutable list of quickstarts that is indexed by name, tag, language and
+ * provider. Tags, languages and providers are looked up case-insensitively.
+ * Quickstarts with the same name replace each other, the last one wins.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see com.openshift.internal.client.cartridge.CartridgeCatalog
+ */
+public class QuickstartCatalog extends AbstractList<IQuickstart> implements RandomAccess {
+
+	private final List<IQuickstart> quickstarts;
+	private final Map<String, IQuickstart> quickstartsByName;
+	private final Map<String, List<IQuickstart>> quickstartsByTag;
+	private final Map<String, List<IQuickstart>> quickstartsByLanguage;
+	private final Map<String, List<IQuickstart>> quickstartsByProvider;
+
+	public QuickstartCatalog(Collection<? extends IQuickstart> quickstarts) {
+		this.quickstartsByName = createByName(quickstarts);
+		this.quickstarts = Collections.unmodifiableList(new ArrayList<IQuickstart>(quickstartsByName.values()));
+		this.quickstartsByTag = new HashMap<String, List<IQuickstart>>();
+		this.quickstartsByLanguage = new HashMap<String, List<IQuickstart>>();
+		this.quickstartsByProvider = new HashMap<String, List<IQuickstart>>();
+		for (IQuickstart quickstart : this.quickstarts) {
+			if (quickstart.getTags() != null) {
+				for (String tag : quickstart.getTags()) {
+					add(tag, quickstart, quickstartsByTag);
+				}
+			}
+			add(quickstart.getLanguage(), quickstart, quickstartsByLanguage);
+			add(quickstart.getProvider(), quickstart, quickstartsByProvider);
+		}
+		makeUnmodifiable(quickstartsByTag);
+		makeUnmodifiable(quickstartsByLanguage);
+		makeUnmodifiable(quickstartsByProvider);
+	}
+
+	private Map<String, IQuickstart> createByName(Collection<? extends IQuickstart> quickstarts) {
+		Map<String, IQuickstart> quickstartsByName = new LinkedHashMap<String, IQuickstart>(quickstarts.size());
+		for (IQuickstart quickstart : quickstarts) {
+			quickstartsByName.put(quickstart.getName(), quickstart);
+		}
+		return quickstartsByName;
+	}
+
+	private void add(String key, IQuickstart quickstart, Map<String, List<IQuickstart>> index) {
+		if (key == null) {
+			return;
+		}
+		key = toKey(key);
+		List<IQuickstart> quickstarts = index.get(key);
+		if (quickstarts == null) {
+			quickstarts = new ArrayList<IQuickstart>();
+			index.put(key, quickstarts);
+		} else if (quickstarts.get(quickstarts.size() - 1) == quickstart) {
+			// duplicate tag within the same quickstart
+			return;
+		}
+		quickstarts.add(quickstart);
+	}
+
+	private void makeUnmodifiable(Map<String, List<IQuickstart>> index) {
+		for (Map.Entry<String, List<IQuickstart>> entry : index.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+	}
+
+	private String toKey(String key) {
+		return key.toLowerCase(Locale.ENGLISH);
+	}
+
+	private List<IQuickstart> get(String key, Map<String, List<IQuickstart>> index) {
+		if (key == null) {
+			return Collections.emptyList();
+		}
+		List<IQuickstart> quickstarts = index.get(toKey(key));
+		if (quickstarts == null) {
+			return Collections.emptyList();
+		}
+		return quickstarts;
+	}
+
+	@Override
+	public IQuickstart get(int index) {
+		return quickstarts.get(index);
+	}
+
+	@Override
+	public int size() {
+		return quickstarts.size();
+	}
+
+	/**
+	 * Returns the quickstart with the given name or <code>null</code> if
+	 * there's none.
+	 *
+	 * @param name
+	 *            the name of the quickstart
+	 * @return the quickstart with the given name
+	 */
+	public IQuickstart getByName(String name) {
+		return quickstartsByName.get(name);
+	}
+
+	/**
+	 * Returns the quickstarts that have the given tag.
+	 *
+	 * @param tag
+	 *            the tag, ex. "php"
+	 * @return the quickstarts with the given tag
+	 */
+	public List<IQuickstart> getByTag(String tag) {
+		return get(tag, quickstartsByTag);
+	}
+
+	/**
+	 * Returns the quickstarts that are written in the given language.
+	 *
+	 * @param language
+	 *            the language, ex. "Java"
+	 * @return the quickstarts in the given language
+	 */
+	public List<IQuickstart> getByLanguage(String language) {
+		return get(language, quickstartsByLanguage);
+	}
+
+	/**
+	 * Returns the quickstarts that are provided by the given provider.
+	 *
+	 * @param provider
+	 *            the provider, ex. "openshift"
+	 * @return the quickstarts of the given provider
+	 */
+	public List<IQuickstart> getByProvider(String provider) {
+		return get(provider, quickstartsByProvider);
+	}
+}
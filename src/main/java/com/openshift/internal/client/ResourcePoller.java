@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.openshift.client.OpenShiftException;
+
+/**
+ * Polls watched resources in the background. All resources of a connection
+ * are polled by a single daemon thread that is only running while there are
+ * watched resources. Each resource is polled once no matter how many watchers
+ * it has. A resource is polled at the minimum interval once it changed, the
+ * interval then doubles with each poll that finds no change until it reaches
+ * the maximum interval.
+ * 
+ * @author Andre Dietisheim
+ */
+public class ResourcePoller {
+
+	/** 5 seconds */
+	public static final long DEFAULT_MIN_INTERVAL = 5 * 1000;
+	/** a minute */
+	public static final long DEFAULT_MAX_INTERVAL = 60 * 1000;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ResourcePoller.class);
+
+	private final long minInterval;
+	private final long maxInterval;
+	private final Map<IPollable, PollTask> tasks = new IdentityHashMap<IPollable, PollTask>();
+	private ScheduledExecutorService executor;
+
+	public ResourcePoller() {
+		this(DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL);
+	}
+
+	public ResourcePoller(long minInterval, long maxInterval) {
+		this.minInterval = minInterval;
+		this.maxInterval = Math.max(minInterval, maxInterval);
+	}
+
+	/**
+	 * Something that can be polled, ex. the applications of a domain.
+	 */
+	public interface IPollable {
+
+		/**
+		 * Polls the resource and notifies its listeners of the changes.
+		 * 
+		 * @return true if the resource changed
+		 */
+		public boolean poll() throws OpenShiftException;
+	}
+
+	/**
+	 * Starts polling the given pollable if it's not polled yet and adds the
+	 * given watcher to it. The first poll happens right away.
+	 * 
+	 * @param pollable
+	 *            the pollable to poll
+	 * @param watcher
+	 *            the watcher that the pollable is polled for
+	 */
+	public synchronized void watch(IPollable pollable, Object watcher) {
+		PollTask task = tasks.get(pollable);
+		if (task == null) {
+			task = new PollTask(pollable);
+			tasks.put(pollable, task);
+			task.schedule(0);
+		}
+		task.watchers.add(watcher);
+	}
+
+	/**
+	 * Removes the given watcher from the given pollable. The pollable is not
+	 * polled any more once it has no watchers left.
+	 * 
+	 * @param pollable
+	 *            the pollable to stop watching
+	 * @param watcher
+	 *            the watcher to remove
+	 * @return true if the pollable is still polled for other watchers
+	 */
+	public synchronized boolean unwatch(IPollable pollable, Object watcher) {
+		PollTask task = tasks.get(pollable);
+		if (task == null) {
+			return false;
+		}
+		task.watchers.remove(watcher);
+		if (!task.watchers.isEmpty()) {
+			return true;
+		}
+		task.cancel();
+		tasks.remove(pollable);
+		if (tasks.isEmpty()) {
+			shutdownExecutor();
+		}
+		return false;
+	}
+
+	public synchronized boolean isWatched(IPollable pollable) {
+		return tasks.containsKey(pollable);
+	}
+
+	/**
+	 * Stops polling all pollables.
+	 */
+	public synchronized void shutdown() {
+		for (PollTask task : tasks.values()) {
+			task.cancel();
+		}
+		tasks.clear();
+		shutdownExecutor();
+	}
+
+	private void shutdownExecutor() {
+		if (executor != null) {
+			executor.shutdown();
+			this.executor = null;
+		}
+	}
+
+	private ScheduledExecutorService getExecutor() {
+		if (executor == null) {
+			this.executor = createExecutor();
+		}
+		return executor;
+	}
+
+	/**
+	 * Creates the executor that runs the polls. A new executor is created
+	 * each time polling starts after all pollables were unwatched.
+	 * <p>
+	 * This method is protected for testing purposes only.
+	 * 
+	 * @return the executor that runs the polls
+	 */
+	protected ScheduledExecutorService createExecutor() {
+		return Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "OpenShift resource poller");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	private class PollTask implements Runnable {
+
+		private final IPollable pollable;
+		private final Set<Object> watchers = new HashSet<Object>();
+		private long interval = minInterval;
+		private ScheduledFuture<?> future;
+		private boolean cancelled;
+
+		private PollTask(IPollable pollable) {
+			this.pollable = pollable;
+		}
+
+		@Override
+		public void run() {
+			boolean changed = false;
+			try {
+				changed = pollable.poll();
+			} catch (RuntimeException e) {
+				// keep polling, the server might be back by the next poll
+				LOGGER.warn("Could not poll {}: {}", pollable, e.getMessage());
+			}
+			synchronized (ResourcePoller.this) {
+				if (cancelled) {
+					return;
+				}
+				if (changed) {
+					this.interval = minInterval;
+				} else {
+					this.interval = Math.min(interval * 2, maxInterval);
+				}
+				schedule(interval);
+			}
+		}
+
+		private void schedule(long delay) {
+			this.future = getExecutor().schedule(this, delay, TimeUnit.MILLISECONDS);
+		}
+
+		private void cancel() {
+			this.cancelled = true;
+			if (future != null) {
+				future.cancel(false);
+			}
+		}
+	}
+}
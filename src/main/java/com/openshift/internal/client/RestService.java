@@ -34,6 +34,7 @@ import com.openshift.internal.client.httpclient.request.IMediaType;
 import com.openshift.internal.client.httpclient.request.Parameter;
 import com.openshift.internal.client.response.IRestResponseFactory;
 import com.openshift.internal.client.response.Link;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.response.RestResponse;
 import com.openshift.internal.client.utils.Assert;
 import com.openshift.internal.client.utils.StringUtils;
@@ -98,14 +99,26 @@ public class RestService implements IRestService {
 		return request(link, timeout, defaultRequestMediaType, responseFactory, urlPathParameters, urlParameters, parameters);
 	}
 	
+	@Override
+	public RestResponse request(Link link, int timeout, ResponseProjection projection, List<Parameter> urlPathParameters,
+			List<Parameter> urlParameters, Parameter... parameters) throws OpenShiftException {
+		return request(link, timeout, defaultRequestMediaType, factory, projection, urlPathParameters, urlParameters, parameters);
+	}
+
 	@Override
 	public RestResponse request(Link link, int timeout, IMediaType requestMediaType, IRestResponseFactory responseFactory, List<Parameter> urlPathParameter,
 			List<Parameter> urlParameters, Parameter... parameters) throws OpenShiftException {
+		return request(link, timeout, requestMediaType, responseFactory, ResponseProjection.DATA, urlPathParameter, urlParameters, parameters);
+	}
+
+	private RestResponse request(Link link, int timeout, IMediaType requestMediaType, IRestResponseFactory responseFactory,
+			ResponseProjection projection, List<Parameter> urlPathParameter, List<Parameter> urlParameters,
+			Parameter... parameters) throws OpenShiftException {
 		// link.validateParameters(parameters);
         String url = link.getHref(server, SERVICE_PATH, urlPathParameter, urlParameters);
         try {
             String response = request(new URL(url), link.getHttpMethod(), requestMediaType, timeout, parameters);
-            return responseFactory.get(response);
+            return responseFactory.get(response, projection);
         } catch (EncodingException e) {
             throw new OpenShiftException(e, e.getMessage());
 		} catch (MalformedURLException e) {
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ssh keys of a user, indexed by name and by public key. Both lookups are
+ * hash lookups, there's no need to iterate over the keys to find the one with
+ * a given public key. The index is synchronized, keys may be added, updated
+ * and removed concurrently.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see UserResource
+ */
+class SSHKeyIndex {
+
+	private final Map<String, SSHKeyResource> keysByName = new HashMap<String, SSHKeyResource>();
+	private final Map<String, SSHKeyResource> keysByPublicKey = new HashMap<String, SSHKeyResource>();
+
+	synchronized SSHKeyResource getByName(String name) {
+		return keysByName.get(name);
+	}
+
+	synchronized SSHKeyResource getByPublicKey(String publicKey) {
+		return keysByPublicKey.get(publicKey);
+	}
+
+	/**
+	 * Adds the given key, replacing the key with the same name if there's one.
+	 */
+	synchronized void put(SSHKeyResource key) {
+		SSHKeyResource replaced = keysByName.put(key.getName(), key);
+		if (replaced != null) {
+			removePublicKey(replaced.getPublicKey(), replaced);
+		}
+		if (key.getPublicKey() != null) {
+			keysByPublicKey.put(key.getPublicKey(), key);
+		}
+	}
+
+	synchronized SSHKeyResource remove(String name) {
+		SSHKeyResource key = keysByName.remove(name);
+		if (key != null) {
+			removePublicKey(key.getPublicKey(), key);
+		}
+		return key;
+	}
+
+	/**
+	 * Updates the public key index for the given key whose public key changed
+	 * from the given previous one.
+	 *
+	 * @param previousPublicKey
+	 *            the public key that the key had before
+	 * @param key
+	 *            the key that changed
+	 */
+	synchronized void update(String previousPublicKey, SSHKeyResource key) {
+		if (keysByName.get(key.getName()) != key) {
+			return;
+		}
+		removePublicKey(previousPublicKey, key);
+		if (key.getPublicKey() != null) {
+			keysByPublicKey.put(key.getPublicKey(), key);
+		}
+	}
+
+	private void removePublicKey(String publicKey, SSHKeyResource key) {
+		if (publicKey != null
+				&& keysByPublicKey.get(publicKey) == key) {
+			keysByPublicKey.remove(publicKey);
+		}
+	}
+
+	synchronized List<SSHKeyResource> getKeys() {
+		return new ArrayList<SSHKeyResource>(keysByName.values());
+	}
+
+	synchronized int size() {
+		return keysByName.size();
+	}
+}
@@ -16,6 +16,7 @@ import com.openshift.client.OpenShiftUnknownSSHKeyTypeException;
 import com.openshift.client.SSHKeyType;
 import com.openshift.internal.client.httpclient.request.StringParameter;
 import com.openshift.internal.client.response.KeyResourceDTO;
+import com.openshift.internal.client.response.ResponseProjection;
 import com.openshift.internal.client.utils.Assert;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
 
@@ -81,8 +82,10 @@ public class SSHKeyResource extends AbstractOpenShiftResource implements IOpenSh
 		if (dto == null) {
 			return;
 		}
+		String previousPublicKey = publicKey;
 		this.type = SSHKeyType.getByTypeId(dto.getType());
 		this.publicKey = dto.getContent();
+		user.updateSSHKey(previousPublicKey, this);
 	}
 
 	private class UpdateKeyRequest extends ServiceRequest {
@@ -110,7 +113,7 @@ public class SSHKeyResource extends AbstractOpenShiftResource implements IOpenSh
 	private class DeleteKeyRequest extends ServiceRequest {
 
 		private DeleteKeyRequest() {
-			super("DELETE");
+			super("DELETE", ResponseProjection.STATUS);
 		}
 		
 		protected void execute() throws OpenShiftException {
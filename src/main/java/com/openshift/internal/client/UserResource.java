@@ -10,12 +10,15 @@
  ******************************************************************************/
 package com.openshift.internal.client;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import com.openshift.client.IDomain;
+import com.openshift.client.IGearInventory;
 import com.openshift.client.IOpenShiftConnection;
 import com.openshift.client.IOpenShiftSSHKey;
 import com.openshift.client.ISSHPublicKey;
@@ -29,7 +32,6 @@ import com.openshift.internal.client.httpclient.request.StringParameter;
 import com.openshift.internal.client.response.KeyResourceDTO;
 import com.openshift.internal.client.response.UserResourceDTO;
 import com.openshift.internal.client.utils.Assert;
-import com.openshift.internal.client.utils.CollectionUtils;
 import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
 
 /**
@@ -45,7 +47,7 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 	private final int maxGears;
 	private final int consumedGears;
 
-	private Map<String, SSHKeyResource> sshKeys;
+	private SSHKeyIndex sshKeys;
 	
 	public UserResource(final APIResource api, final UserResourceDTO dto, final String password) {
 		super(api.getService(), dto.getLinks(), dto.getMessages());
@@ -92,6 +94,16 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 		return consumedGears;
 	}
 
+	@Override
+	public IGearInventory getGearInventory() throws OpenShiftException {
+		return getGearInventory(IGearInventory.DEFAULT_MAX_CONCURRENT_REQUESTS);
+	}
+
+	@Override
+	public IGearInventory getGearInventory(int maxConcurrentRequests) throws OpenShiftException {
+		return GearInventory.load(getDomains(), api.getExecutorService(), maxConcurrentRequests);
+	}
+
 	@Override
 	public IDomain createDomain(String id) throws OpenShiftException {
 		Assert.notNull(id);
@@ -170,7 +182,10 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
     
 	@Override
 	public void refresh() throws OpenShiftException {
-		this.sshKeys = loadKeys();
+		SSHKeyIndex sshKeys = loadKeys();
+		synchronized (this) {
+			this.sshKeys = sshKeys;
+		}
 		
 		api.refresh();
 		DomainResource defaultDomain = (DomainResource) getDefaultDomain();
@@ -182,12 +197,10 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 	@Override
 	public List<IOpenShiftSSHKey> getSSHKeys() throws OpenShiftUnknownSSHKeyTypeException,
 			OpenShiftException {
-		Map<String, IOpenShiftSSHKey> keys = new HashMap<String, IOpenShiftSSHKey>();
-		keys.putAll(getCachedOrLoadSSHKeys());
-		return CollectionUtils.toUnmodifiableCopy(keys.values());
+		return Collections.<IOpenShiftSSHKey> unmodifiableList(getCachedOrLoadSSHKeys().getKeys());
 	}
 
-	private Map<String, SSHKeyResource> getCachedOrLoadSSHKeys() throws OpenShiftException,
+	private synchronized SSHKeyIndex getCachedOrLoadSSHKeys() throws OpenShiftException,
 			OpenShiftUnknownSSHKeyTypeException {
 		if (sshKeys == null) {
 			this.sshKeys = loadKeys();
@@ -195,12 +208,12 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 		return sshKeys;
 	}
 
-	private Map<String, SSHKeyResource> loadKeys() throws OpenShiftException,
+	private SSHKeyIndex loadKeys() throws OpenShiftException,
 			OpenShiftUnknownSSHKeyTypeException {
-		Map<String, SSHKeyResource> keys = new HashMap<String, SSHKeyResource>();
+		SSHKeyIndex keys = new SSHKeyIndex();
 		List<KeyResourceDTO> keyDTOs = new GetSShKeysRequest().execute();
 		for (KeyResourceDTO keyDTO : keyDTOs) {
-			keys.put(keyDTO.getName(), new SSHKeyResource(keyDTO, this));
+			keys.put(new SSHKeyResource(keyDTO, this));
 		}
 		return keys;
 	}
@@ -227,7 +240,7 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 			throws OpenShiftUnknownSSHKeyTypeException, OpenShiftException {
 		Assert.notNull(name);
 
-		return getCachedOrLoadSSHKeys().get(name);
+		return getCachedOrLoadSSHKeys().getByName(name);
 	}
 
 	@Override
@@ -235,18 +248,7 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 			throws OpenShiftUnknownSSHKeyTypeException, OpenShiftException {
 		Assert.notNull(publicKey);
 
-		IOpenShiftSSHKey matchingKey = null;
-		if (publicKey == null) {
-			return null;
-		}
-
-		for (SSHKeyResource key : getCachedOrLoadSSHKeys().values()) {
-			if (publicKey.equals(key.getPublicKey())) {
-				matchingKey = key;
-				break;
-			}
-		}
-		return matchingKey;
+		return getCachedOrLoadSSHKeys().getByPublicKey(publicKey);
 	}
 
 	@Override
@@ -282,7 +284,7 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 					"Could not add new key {0} with the name {1}. There already is a key for this name, key names must be unique.",
 					key.getPublicKey(), name);
 		}
-		if (hasSSHPublicKey(name)) {
+		if (hasSSHPublicKey(key.getPublicKey())) {
 			throw new OpenShiftSSHKeyException(
 					"Could not add new key {0} with the name {1}. The key is already stored with a different name. Public key have to be unique.",
 					key.getPublicKey(), name);
@@ -291,14 +293,77 @@ public class UserResource extends AbstractOpenShiftResource implements IUser {
 		return put(keyDTO);
 	}
 
+	@Override
+	public List<IOpenShiftSSHKey> syncSSHKeys(Map<String, ISSHPublicKey> keys) throws OpenShiftException {
+		return syncSSHKeys(keys, DEFAULT_MAX_CONCURRENT_KEY_REQUESTS);
+	}
+
+	@Override
+	public List<IOpenShiftSSHKey> syncSSHKeys(Map<String, ISSHPublicKey> keys, int maxConcurrentRequests)
+			throws OpenShiftException {
+		Assert.notNull(keys);
+		Assert.isTrue(maxConcurrentRequests > 0);
+
+		SSHKeyIndex index = getCachedOrLoadSSHKeys();
+		List<Callable<Void>> removals = new ArrayList<Callable<Void>>();
+		for (final SSHKeyResource existing : index.getKeys()) {
+			if (!keys.containsKey(existing.getName())) {
+				removals.add(new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						existing.destroy();
+						return null;
+					}
+				});
+			}
+		}
+		List<Callable<Void>> updates = new ArrayList<Callable<Void>>();
+		List<Callable<Void>> additions = new ArrayList<Callable<Void>>();
+		for (final Map.Entry<String, ISSHPublicKey> entry : keys.entrySet()) {
+			final ISSHPublicKey key = entry.getValue();
+			final SSHKeyResource existing = index.getByName(entry.getKey());
+			if (existing == null) {
+				additions.add(new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						put(new AddSShKeyRequest().execute(key.getKeyType(), entry.getKey(), key.getPublicKey()));
+						return null;
+					}
+				});
+			} else if (existing.getKeyType() != key.getKeyType()
+					|| !key.getPublicKey().equals(existing.getPublicKey())) {
+				updates.add(new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						existing.setKeyType(key.getKeyType(), key.getPublicKey());
+						return null;
+					}
+				});
+			}
+		}
+		// public keys are unique: removals and updates free public keys that
+		// added keys might use, run them before the additions
+		ConcurrentRequests.run(removals, api.getExecutorService(), maxConcurrentRequests, "remove the ssh keys");
+		ConcurrentRequests.run(updates, api.getExecutorService(), maxConcurrentRequests, "update the ssh keys");
+		ConcurrentRequests.run(additions, api.getExecutorService(), maxConcurrentRequests, "add the ssh keys");
+		return getSSHKeys();
+	}
+
 	private SSHKeyResource put(KeyResourceDTO keyDTO) throws OpenShiftUnknownSSHKeyTypeException {
 		SSHKeyResource sshKey = new SSHKeyResource(keyDTO, this);
-		getCachedOrLoadSSHKeys().put(keyDTO.getName(), sshKey);
+		getCachedOrLoadSSHKeys().put(sshKey);
 		return sshKey;
 	}
 
 	protected void removeSSHKey(SSHKeyResource key) {
-		sshKeys.remove(key.getName());
+		getCachedOrLoadSSHKeys().remove(key.getName());
+	}
+
+	protected void updateSSHKey(String previousPublicKey, SSHKeyResource key) {
+		getCachedOrLoadSSHKeys().update(previousPublicKey, key);
 	}
 
 	private class GetSShKeysRequest extends ServiceRequest {
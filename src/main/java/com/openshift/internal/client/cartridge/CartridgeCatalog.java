@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.cartridge;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.client.cartridge.query.AndCartridgeQuery;
+import com.openshift.client.cartridge.query.CartridgeNameQuery;
+import com.openshift.client.cartridge.query.CartridgeNameRegexQuery;
+import com.openshift.client.cartridge.query.CartridgeTypeQuery;
+import com.openshift.client.cartridge.query.ICartridgeQuery;
+import com.openshift.client.cartridge.query.LatestVersionQuery;
+import com.openshift.client.cartridge.query.NotCartridgeQuery;
+import com.openshift.client.cartridge.query.OrCartridgeQuery;
+import com.openshift.client.cartridge.query.LatestVersionQuery.VersionedName;
+import com.openshift.internal.client.CartridgeType;
+
+/**
+ * An immutable list of cartridges that is indexed by name, by name without
+ * version and by type. The versions of a cartridge are parsed and sorted
+ * once, when the catalog is created. Queries that are run through
+ * {@link #getAll(ICartridgeQuery)} use these indexes and the matches of the
+ * (immutable) queries of this library are remembered so that querying the
+ * same catalog again does not scan all cartridges.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see ICartridgeQuery
+ */
+public class CartridgeCatalog<C extends ICartridge> extends AbstractList<C> implements RandomAccess {
+
+	private static final int MAX_REMEMBERED_QUERIES = 128;
+
+	private final List<C> cartridges;
+	private final Map<String, C> cartridgesByName;
+	private final Map<String, List<C>> versionsByName;
+	private final Map<CartridgeType, List<C>> cartridgesByType;
+	private final ConcurrentMap<ICartridgeQuery, List<C>> matchesByQuery =
+			new ConcurrentHashMap<ICartridgeQuery, List<C>>();
+
+	public CartridgeCatalog(Collection<? extends C> cartridges) {
+		this.cartridges = Collections.unmodifiableList(new ArrayList<C>(cartridges));
+		this.cartridgesByName = new HashMap<String, C>(this.cartridges.size());
+		this.versionsByName = createVersionsByName(this.cartridges, cartridgesByName);
+		this.cartridgesByType = createCartridgesByType(this.cartridges);
+	}
+
+	private Map<CartridgeType, List<C>> createCartridgesByType(List<C> cartridges) {
+		Map<CartridgeType, List<C>> cartridgesByType = new EnumMap<CartridgeType, List<C>>(CartridgeType.class);
+		for (CartridgeType type : CartridgeType.values()) {
+			cartridgesByType.put(type, new ArrayList<C>());
+		}
+		for (C cartridge : cartridges) {
+			if (cartridge.getType() != null) {
+				cartridgesByType.get(cartridge.getType()).add(cartridge);
+			}
+		}
+		for (Map.Entry<CartridgeType, List<C>> entry : cartridgesByType.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		return cartridgesByType;
+	}
+
+	private Map<String, List<C>> createVersionsByName(List<C> cartridges, Map<String, C> cartridgesByName) {
+		Map<String, List<VersionedCartridge<C>>> versionedByName = new HashMap<String, List<VersionedCartridge<C>>>();
+		for (C cartridge : cartridges) {
+			String name = cartridge.getName();
+			if (!cartridgesByName.containsKey(name)) {
+				cartridgesByName.put(name, cartridge);
+			}
+			String nameWithoutVersion = LatestVersionQuery.getNameWithoutVersion(name);
+			if (nameWithoutVersion == null) {
+				continue;
+			}
+			List<VersionedCartridge<C>> versions = versionedByName.get(nameWithoutVersion);
+			if (versions == null) {
+				versions = new ArrayList<VersionedCartridge<C>>();
+				versionedByName.put(nameWithoutVersion, versions);
+			}
+			versions.add(new VersionedCartridge<C>(cartridge));
+		}
+
+		Map<String, List<C>> versionsByName = new HashMap<String, List<C>>(versionedByName.size());
+		for (Map.Entry<String, List<VersionedCartridge<C>>> entry : versionedByName.entrySet()) {
+			List<VersionedCartridge<C>> versioned = entry.getValue();
+			// stable sort: among equal versions the first one in the catalog wins
+			Collections.sort(versioned, new LatestFirstComparator<C>());
+			List<C> versions = new ArrayList<C>(versioned.size());
+			for (VersionedCartridge<C> versionedCartridge : versioned) {
+				versions.add(versionedCartridge.cartridge);
+			}
+			versionsByName.put(entry.getKey(), Collections.unmodifiableList(versions));
+		}
+		return versionsByName;
+	}
+
+	@Override
+	public C get(int index) {
+		return cartridges.get(index);
+	}
+
+	@Override
+	public int size() {
+		return cartridges.size();
+	}
+
+	/**
+	 * Returns the cartridge with the given (full) name or <code>null</code> if
+	 * there's none.
+	 *
+	 * @param name
+	 *            the name of the cartridge, ex. "mysql-5.1"
+	 * @return the cartridge with the given name
+	 */
+	public C getByName(String name) {
+		return cartridgesByName.get(name);
+	}
+
+	/**
+	 * Returns all the versions of the cartridge with the given name, the
+	 * latest version first.
+	 *
+	 * @param nameWithoutVersion
+	 *            the name of the cartridge without version, ex. "mysql"
+	 * @return the versions of the given cartridge
+	 */
+	public List<C> getVersions(String nameWithoutVersion) {
+		List<C> versions = versionsByName.get(nameWithoutVersion);
+		if (versions == null) {
+			return Collections.emptyList();
+		}
+		return versions;
+	}
+
+	/**
+	 * Returns the latest version of the cartridge with the given name or
+	 * <code>null</code> if there's none.
+	 *
+	 * @param nameWithoutVersion
+	 *            the name of the cartridge without version, ex. "mysql"
+	 * @return the latest version of the given cartridge
+	 */
+	public C getLatest(String nameWithoutVersion) {
+		List<C> versions = versionsByName.get(nameWithoutVersion);
+		if (versions == null) {
+			return null;
+		}
+		return versions.get(0);
+	}
+
+	/**
+	 * Returns the cartridges within this catalog that the given query
+	 * matches. Latest version, type and and-queries are answered from the
+	 * indexes. The result is remembered for the queries of this library that
+	 * are immutable, other queries are evaluated on each call.
+	 *
+	 * @param query
+	 *            the query that shall match cartridges
+	 * @return the matching cartridges
+	 */
+	public List<C> getAll(ICartridgeQuery query) {
+		if (query.getClass() == LatestVersionQuery.class) {
+			C latest = getLatest(((LatestVersionQuery) query).getNameConstraint());
+			if (latest == null) {
+				return Collections.emptyList();
+			}
+			return Collections.singletonList(latest);
+		}
+		boolean remember = isImmutable(query);
+		if (remember) {
+			List<C> matches = matchesByQuery.get(query);
+			if (matches != null) {
+				return matches;
+			}
+		}
+		List<C> matches = Collections.unmodifiableList(query.getAll(getCandidates(query)));
+		if (remember
+				&& matchesByQuery.size() < MAX_REMEMBERED_QUERIES) {
+			matchesByQuery.putIfAbsent(query, matches);
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the latest version of the cartridge that the given query
+	 * matches or the first match for any other query.
+	 *
+	 * @param query
+	 *            the query that shall match a cartridge
+	 * @return the matching cartridge
+	 */
+	public C get(ICartridgeQuery query) {
+		List<C> matches = getAll(query);
+		if (matches.isEmpty()) {
+			return null;
+		}
+		return matches.get(0);
+	}
+
+	/**
+	 * Returns the cartridges that the given query needs to look at, a
+	 * superset of the ones it matches.
+	 */
+	private List<C> getCandidates(ICartridgeQuery query) {
+		List<C> candidates = null;
+		if (query.getClass() == AndCartridgeQuery.class) {
+			for (ICartridgeQuery andQuery : ((AndCartridgeQuery) query).getQueries()) {
+				List<C> indexed = getIndexed(andQuery);
+				if (indexed != null
+						&& (candidates == null || indexed.size() < candidates.size())) {
+					candidates = indexed;
+				}
+			}
+		} else {
+			candidates = getIndexed(query);
+		}
+		if (candidates == null) {
+			return this;
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the cartridges that the index holds for the given query, a
+	 * superset of the cartridges that the query matches. Returns
+	 * <code>null</code> if the given query is not indexed.
+	 */
+	private List<C> getIndexed(ICartridgeQuery query) {
+		if (query.getClass() == CartridgeTypeQuery.class) {
+			return cartridgesByType.get(((CartridgeTypeQuery) query).getType());
+		}
+		// matches that were remembered
+		return matchesByQuery.get(query);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given query is one of the queries of
+	 * this library that never change what they match. Subclasses and custom
+	 * queries may be mutable or not implement equals and are therefore not
+	 * remembered.
+	 */
+	private static boolean isImmutable(ICartridgeQuery query) {
+		Class<?> clazz = query.getClass();
+		if (clazz == CartridgeNameQuery.class
+				|| clazz == CartridgeNameRegexQuery.class
+				|| clazz == CartridgeTypeQuery.class) {
+			return true;
+		} else if (clazz == AndCartridgeQuery.class) {
+			return isImmutable(((AndCartridgeQuery) query).getQueries());
+		} else if (clazz == OrCartridgeQuery.class) {
+			return isImmutable(((OrCartridgeQuery) query).getQueries());
+		} else if (clazz == NotCartridgeQuery.class) {
+			return isImmutable(((NotCartridgeQuery) query).getQuery());
+		}
+		return false;
+	}
+
+	private static boolean isImmutable(List<ICartridgeQuery> queries) {
+		for (ICartridgeQuery query : queries) {
+			if (!isImmutable(query)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static class VersionedCartridge<C extends ICartridge> {
+
+		private final C cartridge;
+		private final VersionedName name;
+
+		private VersionedCartridge(C cartridge) {
+			this.cartridge = cartridge;
+			this.name = new VersionedName(cartridge.getName());
+		}
+	}
+
+	private static class LatestFirstComparator<C extends ICartridge> implements Comparator<VersionedCartridge<C>> {
+
+		@Override
+		public int compare(VersionedCartridge<C> thisCartridge, VersionedCartridge<C> thatCartridge) {
+			return thatCartridge.name.compareTo(thisCartridge.name);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.cartridge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.client.cartridge.query.LatestVersionQuery;
+
+/**
+ * The cartridges that embeddable cartridges require to be embedded before
+ * them, as published by the broker in the requires of its cartridges.
+ * Cartridges are matched by their name without version.
+ * 
+ * @author Andre Dietisheim
+ */
+public class CartridgeDependencies {
+
+	private final Map<String, Set<String>> requiredByName = new HashMap<String, Set<String>>();
+
+	/**
+	 * Declares that the cartridge with the given name requires the cartridge
+	 * with the given other name.
+	 * 
+	 * @param name
+	 *            the name of the requiring cartridge
+	 * @param requiredName
+	 *            the name of the required cartridge
+	 * @return this
+	 */
+	public CartridgeDependencies add(String name, String requiredName) {
+		String nameWithoutVersion = getNameWithoutVersion(name);
+		Set<String> required = requiredByName.get(nameWithoutVersion);
+		if (required == null) {
+			required = new HashSet<String>();
+			requiredByName.put(nameWithoutVersion, required);
+		}
+		required.add(getNameWithoutVersion(requiredName));
+		return this;
+	}
+
+	/**
+	 * Returns the given cartridges in the order they have to be added: a
+	 * cartridge comes after the cartridges that it requires. Cartridges that
+	 * don't depend on each other keep their given order, cartridges that
+	 * require each other are appended in their given order.
+	 * 
+	 * @param cartridges
+	 *            the cartridges to add
+	 * @return the cartridges in the order they have to be added
+	 */
+	public <C extends ICartridge> List<C> getAddOrder(Collection<C> cartridges) {
+		List<C> ordered = new ArrayList<C>(cartridges.size());
+		List<C> remaining = new ArrayList<C>(cartridges);
+		while (!remaining.isEmpty()) {
+			Set<String> remainingNames = getNames(remaining);
+			int size = ordered.size();
+			for (Iterator<C> it = remaining.iterator(); it.hasNext();) {
+				C cartridge = it.next();
+				if (!requiresAny(cartridge, remainingNames)) {
+					ordered.add(cartridge);
+					it.remove();
+				}
+			}
+			if (size == ordered.size()) {
+				// cyclic dependencies
+				ordered.addAll(remaining);
+				remaining.clear();
+			}
+		}
+		return ordered;
+	}
+
+	/**
+	 * Returns the given cartridges in the order they have to be removed. This
+	 * is the reverse of the order they are added in: the requiring cartridges
+	 * are removed before the ones they require.
+	 * 
+	 * @param cartridges
+	 *            the cartridges to remove
+	 * @return the cartridges in the order they have to be removed
+	 * 
+	 * @see #getAddOrder(Collection)
+	 */
+	public <C extends ICartridge> List<C> getRemoveOrder(Collection<C> cartridges) {
+		List<C> ordered = getAddOrder(cartridges);
+		Collections.reverse(ordered);
+		return ordered;
+	}
+
+	private boolean requiresAny(ICartridge cartridge, Set<String> names) {
+		Set<String> required = requiredByName.get(getName(cartridge));
+		if (required == null) {
+			return false;
+		}
+		for (String requiredName : required) {
+			if (names.contains(requiredName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Set<String> getNames(Collection<? extends ICartridge> cartridges) {
+		Set<String> names = new HashSet<String>();
+		for (ICartridge cartridge : cartridges) {
+			names.add(getName(cartridge));
+		}
+		return names;
+	}
+
+	private String getName(ICartridge cartridge) {
+		return getNameWithoutVersion(cartridge.getName());
+	}
+
+	private String getNameWithoutVersion(String name) {
+		String nameWithoutVersion = LatestVersionQuery.getNameWithoutVersion(name);
+		if (nameWithoutVersion == null) {
+			return name;
+		}
+		return nameWithoutVersion;
+	}
+}
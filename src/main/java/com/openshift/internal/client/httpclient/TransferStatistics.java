@@ -0,0 +1,73 @@
+/******************************************************************************* 
+ * Copyright (c) 2014 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/
+package com.openshift.internal.client.httpclient;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte counters for the traffic of a http client. Wire bytes are the bytes
+ * that were actually sent or received (possibly compressed), decoded bytes are
+ * the bytes before compression (requests) or after decompression (responses).
+ * 
+ * @author Andre Dietisheim
+ * 
+ * @see UrlConnectionHttpClient#getTransferStatistics()
+ */
+public class TransferStatistics {
+
+	private final AtomicLong wireBytesSent = new AtomicLong();
+	private final AtomicLong decodedBytesSent = new AtomicLong();
+	private final AtomicLong wireBytesReceived = new AtomicLong();
+	private final AtomicLong decodedBytesReceived = new AtomicLong();
+
+	void addSent(long wireBytes, long decodedBytes) {
+		wireBytesSent.addAndGet(wireBytes);
+		decodedBytesSent.addAndGet(decodedBytes);
+	}
+
+	void addReceived(long wireBytes, long decodedBytes) {
+		wireBytesReceived.addAndGet(wireBytes);
+		decodedBytesReceived.addAndGet(decodedBytes);
+	}
+
+	public long getWireBytesSent() {
+		return wireBytesSent.get();
+	}
+
+	public long getDecodedBytesSent() {
+		return decodedBytesSent.get();
+	}
+
+	public long getWireBytesReceived() {
+		return wireBytesReceived.get();
+	}
+
+	public long getDecodedBytesReceived() {
+		return decodedBytesReceived.get();
+	}
+
+	public void reset() {
+		wireBytesSent.set(0);
+		decodedBytesSent.set(0);
+		wireBytesReceived.set(0);
+		decodedBytesReceived.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "TransferStatistics ["
+				+ "wireBytesSent=" + getWireBytesSent()
+				+ ", decodedBytesSent=" + getDecodedBytesSent()
+				+ ", wireBytesReceived=" + getWireBytesReceived()
+				+ ", decodedBytesReceived=" + getDecodedBytesReceived()
+				+ "]";
+	}
+}
@@ -10,7 +10,12 @@
  ******************************************************************************/
 package com.openshift.internal.client.httpclient;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.HttpRetryException;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.ProtocolException;
@@ -26,6 +31,10 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -47,6 +56,7 @@ import com.openshift.client.utils.SSLUtils;
 import com.openshift.internal.client.httpclient.request.IMediaType;
 import com.openshift.internal.client.httpclient.request.Parameter;
 import com.openshift.internal.client.httpclient.request.ParameterValueMap;
+import com.openshift.internal.client.utils.CountingInputStream;
 import com.openshift.internal.client.utils.StreamUtils;
 import com.openshift.internal.client.utils.StringUtils;
 
@@ -60,6 +70,17 @@ public class UrlConnectionHttpClient implements IHttpClient {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(UrlConnectionHttpClient.class);
 
+	public static final int NO_REQUEST_COMPRESSION = -1;
+
+	private static final String ACCEPTED_ENCODINGS = ENCODING_GZIP + COMMA + SPACE + ENCODING_DEFLATE;
+	private static final int DECODING_BUFFER_SIZE = 8 * 1024;
+	private static final int INITIAL_REQUEST_BODY_SIZE = 256;
+	private static final int MAX_REDIRECTS = 5;
+	private static final int STATUS_SEE_OTHER = 303;
+	private static final int STATUS_TEMPORARY_REDIRECT = 307;
+	private static final int STATUS_PERMANENT_REDIRECT = 308;
+	private static final String PROPERTY_LOCATION = "Location";
+
 	protected String userAgent;
 	protected String username;
 	protected String password;
@@ -71,6 +92,12 @@ public class UrlConnectionHttpClient implements IHttpClient {
 	protected ISSLCertificateCallback sslAuthorizationCallback;
 	protected Integer configTimeout;
 	private String excludedSSLCipherRegex;
+	private boolean acceptCompressedResponses;
+	private int requestCompressionThreshold;
+	private final TransferStatistics transferStatistics = new TransferStatistics();
+	private final HostnameVerifier callbackHostnameVerifier = new CallbackHostnameVerifier();
+	/** the ssl socket factory that's shared by all https connections, guarded by this */
+	private SSLSocketFactory sslSocketFactory;
 
 	public UrlConnectionHttpClient(
 			String username, String password, String userAgent, String acceptedMediaType, String version) {
@@ -84,6 +111,26 @@ public class UrlConnectionHttpClient implements IHttpClient {
 
 	public UrlConnectionHttpClient(String username, String password, String userAgent, String acceptedMediaType,
 			String version, String authKey, String authIV, String token, ISSLCertificateCallback callback, Integer configTimeout, String excludedSSLCipherRegex) {
+		this(username, password, userAgent, acceptedMediaType, version, authKey, authIV, token, callback, configTimeout,
+				excludedSSLCipherRegex, true, NO_REQUEST_COMPRESSION);
+	}
+
+	/**
+	 * Creates a http client.
+	 * 
+	 * @param acceptCompressedResponses
+	 *            if <code>true</code> the client asks the server for gzip- or
+	 *            deflate-compressed responses and decompresses them while
+	 *            reading.
+	 * @param requestCompressionThreshold
+	 *            the minimum size (in bytes) of a request body that gets
+	 *            gzip-compressed or {@link #NO_REQUEST_COMPRESSION} if request
+	 *            bodies shall never get compressed.
+	 */
+	public UrlConnectionHttpClient(String username, String password, String userAgent, String acceptedMediaType,
+			String version, String authKey, String authIV, String token, ISSLCertificateCallback callback,
+			Integer configTimeout, String excludedSSLCipherRegex, boolean acceptCompressedResponses,
+			int requestCompressionThreshold) {
 		// TODO: separate auth strategies in UrlConnectionHttpClient
 		this.username = username;
 		this.password = password;
@@ -96,6 +143,8 @@ public class UrlConnectionHttpClient implements IHttpClient {
 		this.sslAuthorizationCallback = callback;
 		this.configTimeout = configTimeout;
 		this.excludedSSLCipherRegex = excludedSSLCipherRegex;
+		this.acceptCompressedResponses = acceptCompressedResponses;
+		this.requestCompressionThreshold = requestCompressionThreshold;
 	}
 
 	@Override
@@ -149,16 +198,36 @@ public class UrlConnectionHttpClient implements IHttpClient {
 			throws SocketTimeoutException, HttpClientException {
 		HttpURLConnection connection = null;
 		try {
-			connection = createConnection(
-					url, username, password, authKey, authIV, token, userAgent, acceptedVersion, acceptedMediaType, sslAuthorizationCallback, timeout);
-			// PATCH not yet supported by JVM
-			setRequestMethod(httpMethod, connection);
-			if (!parameters.isEmpty()) {
+			for (int redirects = 0;; redirects++) {
+				connection = createConnection(
+						url, username, password, authKey, authIV, token, userAgent, acceptedVersion, acceptedMediaType, sslAuthorizationCallback, timeout);
+				// PATCH not yet supported by JVM
+				setRequestMethod(httpMethod, connection);
+				if (parameters.isEmpty()) {
+					return readToString(connection.getInputStream(), connection);
+				}
+				// a streamed body cannot be resent by HttpURLConnection, follow redirects ourselves
+				connection.setInstanceFollowRedirects(false);
 				connection.setDoOutput(true);
 				setRequestMediaType(requestMediaType, connection);
-				requestMediaType.writeTo(parameters, connection.getOutputStream());
+				writeRequestBody(parameters, requestMediaType, connection);
+				URL location = getRedirectLocation(httpMethod, connection);
+				if (location == null) {
+					return readToString(connection.getInputStream(), connection);
+				}
+				if (redirects >= MAX_REDIRECTS) {
+					throw new HttpClientException(MessageFormat.format(
+							"{0} request to {1} was redirected more than {2} times", httpMethod, url, MAX_REDIRECTS));
+				}
+				int responseCode = connection.getResponseCode();
+				disconnect(connection);
+				if (responseCode == STATUS_SEE_OTHER) {
+					// see other: get the result at the new location
+					httpMethod = HttpMethod.GET;
+					parameters = new ParameterValueMap();
+				}
+				url = location;
 			}
-			return StreamUtils.readToString(connection.getInputStream(), StreamUtils.UTF_8);
 		} catch (SocketTimeoutException e) {
 			throw e;
 		} catch (IOException e) {
@@ -168,6 +237,153 @@ public class UrlConnectionHttpClient implements IHttpClient {
 		}
 	}
 
+	/**
+	 * Returns the location that the server redirected the given request to,
+	 * <code>null</code> if it did not redirect. Requests are only resent to the
+	 * same host, credentials are not handed to other hosts.
+	 */
+	private URL getRedirectLocation(HttpMethod httpMethod, HttpURLConnection connection) throws IOException {
+		int responseCode = connection.getResponseCode();
+		if (!isRedirect(responseCode)) {
+			return null;
+		}
+		URL url = connection.getURL();
+		String location = connection.getHeaderField(PROPERTY_LOCATION);
+		if (StringUtils.isEmpty(location)) {
+			throw new HttpClientException(MessageFormat.format(
+					"{0} request to {1} was redirected ({2}) without a location", httpMethod, url, responseCode));
+		}
+		URL redirect = new URL(url, location);
+		if (!url.getHost().equalsIgnoreCase(redirect.getHost())) {
+			throw new HttpClientException(MessageFormat.format(
+					"{0} request to {1} was redirected ({2}) to another host: {3}",
+					httpMethod, url, responseCode, redirect));
+		}
+		return redirect;
+	}
+
+	private boolean isRedirect(int responseCode) {
+		return responseCode == HttpURLConnection.HTTP_MOVED_PERM
+				|| responseCode == HttpURLConnection.HTTP_MOVED_TEMP
+				|| responseCode == STATUS_SEE_OTHER
+				|| responseCode == STATUS_TEMPORARY_REDIRECT
+				|| responseCode == STATUS_PERMANENT_REDIRECT;
+	}
+
+	/**
+	 * Encodes the request body to a buffer before sending it. Knowing the
+	 * length up front allows to stream it with a fixed content length instead
+	 * of having HttpURLConnection buffer it once more. The media type encodes
+	 * straight into this buffer, a body that gets compressed is copied to a
+	 * second one.
+	 */
+	private void writeRequestBody(ParameterValueMap parameters, IMediaType requestMediaType,
+			HttpURLConnection connection) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream(INITIAL_REQUEST_BODY_SIZE);
+		requestMediaType.writeTo(parameters, body);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("{}", body.toString(StreamUtils.UTF_8));
+		}
+		int decodedLength = body.size();
+		if (requestCompressionThreshold != NO_REQUEST_COMPRESSION
+				&& decodedLength >= requestCompressionThreshold) {
+			body = gzip(body);
+			connection.setRequestProperty(PROPERTY_CONTENT_ENCODING, ENCODING_GZIP);
+		}
+		connection.setFixedLengthStreamingMode(body.size());
+		OutputStream out = connection.getOutputStream();
+		try {
+			body.writeTo(out);
+		} finally {
+			out.close();
+		}
+		transferStatistics.addSent(body.size(), decodedLength);
+	}
+
+	private ByteArrayOutputStream gzip(ByteArrayOutputStream data) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.size() / 2);
+		GZIPOutputStream out = new GZIPOutputStream(compressed);
+		try {
+			data.writeTo(out);
+		} finally {
+			out.close();
+		}
+		return compressed;
+	}
+
+	/**
+	 * Reads the given (response or error) stream of the given connection to a
+	 * string. The content gets decompressed on the fly if the server sent it
+	 * gzip- or deflate-encoded.
+	 */
+	private String readToString(InputStream in, HttpURLConnection connection) throws IOException {
+		if (in == null) {
+			return null;
+		}
+		CountingInputStream wireStream = new CountingInputStream(in);
+		CountingInputStream decodedStream = new CountingInputStream(
+				createDecodingStream(connection.getContentEncoding(), wireStream));
+		try {
+			return StreamUtils.readToString(decodedStream, StreamUtils.UTF_8);
+		} finally {
+			transferStatistics.addReceived(wireStream.getCount(), decodedStream.getCount());
+		}
+	}
+
+	private InputStream createDecodingStream(String contentEncoding, InputStream in) throws IOException {
+		if (StringUtils.isEmpty(contentEncoding)) {
+			return in;
+		}
+		PushbackInputStream pushbackStream = new PushbackInputStream(in, 2);
+		byte[] header = new byte[2];
+		int read = readFully(header, pushbackStream);
+		if (read <= 0) {
+			// no content (ex. HEAD)
+			return pushbackStream;
+		}
+		pushbackStream.unread(header, 0, read);
+
+		contentEncoding = contentEncoding.trim().toLowerCase();
+		if (ENCODING_GZIP.equals(contentEncoding)
+				|| ENCODING_X_GZIP.equals(contentEncoding)) {
+			return new GZIPInputStream(pushbackStream, DECODING_BUFFER_SIZE);
+		} else if (ENCODING_DEFLATE.equals(contentEncoding)) {
+			// some servers send raw deflate data instead of the zlib format
+			// that's required by the spec
+			return new InflaterInputStream(pushbackStream,
+					new Inflater(!isZlibHeader(header, read)), DECODING_BUFFER_SIZE);
+		} else {
+			LOGGER.warn("Unsupported content encoding \"{}\", reading content as is.", contentEncoding);
+			return pushbackStream;
+		}
+	}
+
+	private int readFully(byte[] buffer, InputStream in) throws IOException {
+		int read = 0;
+		while (read < buffer.length) {
+			int bytesRead = in.read(buffer, read, buffer.length - read);
+			if (bytesRead == -1) {
+				break;
+			}
+			read += bytesRead;
+		}
+		return read;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given bytes are a zlib header (RFC 1950:
+	 * compression method 8, header checksum is a multiple of 31)
+	 */
+	private boolean isZlibHeader(byte[] header, int length) {
+		if (length < 2) {
+			return false;
+		}
+		int cmf = header[0] & 0xff;
+		int flg = header[1] & 0xff;
+		return (cmf & 0x0f) == 8
+				&& ((cmf << 8) | flg) % 31 == 0;
+	}
+
 	private void setRequestMethod(HttpMethod httpMethod, HttpURLConnection connection) throws ProtocolException {
 		if (httpMethod == HttpMethod.PATCH) {
 			httpMethod = HttpMethod.POST;
@@ -185,7 +401,7 @@ public class UrlConnectionHttpClient implements IHttpClient {
 	private HttpClientException createException(IOException ioe, HttpURLConnection connection)
 			throws SocketTimeoutException {
 		try {
-			int responseCode = connection.getResponseCode();
+			int responseCode = getResponseCode(ioe, connection);
 			String errorMessage = createErrorMessage(ioe, connection);
 			switch (responseCode) {
 			case STATUS_INTERNAL_SERVER_ERROR:
@@ -206,8 +422,27 @@ public class UrlConnectionHttpClient implements IHttpClient {
 		}
 	}
 
+	private int getResponseCode(IOException ioe, HttpURLConnection connection) throws IOException {
+		if (ioe instanceof HttpRetryException) {
+			// in fixed length streaming mode the connection cannot retry
+			// (ex. unauthorized) and reports the status code in the exception
+			return ((HttpRetryException) ioe).responseCode();
+		}
+		return connection.getResponseCode();
+	}
+
 	protected String createErrorMessage(IOException ioe, HttpURLConnection connection) throws IOException {
-		String errorMessage = StreamUtils.readToString(connection.getErrorStream());
+		if (ioe instanceof HttpRetryException) {
+			// streaming connection was closed, there's no error stream
+			StringBuilder builder = new StringBuilder("Connection to ")
+					.append(connection.getURL()).append(": ").append(ioe.getMessage());
+			String location = ((HttpRetryException) ioe).getLocation();
+			if (location != null) {
+				builder.append(", redirected to ").append(location);
+			}
+			return builder.toString();
+		}
+		String errorMessage = readToString(connection.getErrorStream(), connection);
 		if (!StringUtils.isEmpty(errorMessage)) {
 			return errorMessage;
 		}
@@ -233,9 +468,7 @@ public class UrlConnectionHttpClient implements IHttpClient {
 				new Object[] { url, username, password, token });
 		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
 		if (isHttps(url)) {
-			HttpsURLConnection httpsConnection = (HttpsURLConnection) connection;
-			SSLContext sslContext = setSSLCallback(sslAuthorizationCallback, url, httpsConnection);
-			setFilteredCiphers(excludedSSLCipherRegex, sslContext, httpsConnection);
+			setSSLSocketFactory((HttpsURLConnection) connection);
 		}
 		setAuthorization(username, password, authKey, authIV, token, connection);
 		connection.setUseCaches(false);
@@ -248,6 +481,7 @@ public class UrlConnectionHttpClient implements IHttpClient {
 		connection.setInstanceFollowRedirects(true);
 		setUserAgent(userAgent, authKey, connection);
 		setAcceptHeader(acceptedVersion, acceptedMediaType, connection);
+		setAcceptEncodingHeader(connection);
 
 		return connection;
 	}
@@ -273,6 +507,12 @@ public class UrlConnectionHttpClient implements IHttpClient {
 		connection.setRequestProperty(PROPERTY_ACCEPT, builder.toString());
 	}
 
+	private void setAcceptEncodingHeader(HttpURLConnection connection) {
+		if (acceptCompressedResponses) {
+			connection.setRequestProperty(PROPERTY_ACCEPT_ENCODING, ACCEPTED_ENCODINGS);
+		}
+	}
+
 	private void setAuthorization(String username, String password, String authKey, String authIV, String token,
 			HttpURLConnection connection) {
 		if (username == null || username.trim().length() == 0
@@ -293,17 +533,47 @@ public class UrlConnectionHttpClient implements IHttpClient {
 		}
 	}
 
-	private SSLContext setSSLCallback(ISSLCertificateCallback sslAuthorizationCallback, URL url, HttpsURLConnection connection) {
+	private void setSSLSocketFactory(HttpsURLConnection connection) {
+		if (sslAuthorizationCallback != null) {
+			connection.setHostnameVerifier(callbackHostnameVerifier);
+		}
+		SSLSocketFactory socketFactory = getSSLSocketFactory();
+		if (socketFactory != null) {
+			connection.setSSLSocketFactory(socketFactory);
+		}
+	}
+
+	/**
+	 * Returns the ssl socket factory that all https connections of this client
+	 * share. It is created once (when the first https connection is created)
+	 * so that the ssl context, its trust manager and the filtered ciphers are
+	 * not looked up for every request. Sharing the ssl context also allows ssl
+	 * sessions to be resumed and connections to be kept alive. If it cannot
+	 * be created, the default ssl socket factory is used instead and creation
+	 * is not retried.
+	 * 
+	 * @return the shared ssl socket factory
+	 */
+	protected synchronized SSLSocketFactory getSSLSocketFactory() {
+		if (sslSocketFactory == null) {
+			SSLSocketFactory socketFactory = createSSLSocketFactory();
+			if (socketFactory == null) {
+				socketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+			}
+			this.sslSocketFactory = socketFactory;
+		}
+		return sslSocketFactory;
+	}
+
+	private SSLSocketFactory createSSLSocketFactory() {
 		X509TrustManager trustManager = null;
 		if (sslAuthorizationCallback != null) {
-			connection.setHostnameVerifier(new CallbackHostnameVerifier());
-			trustManager = createCallbackTrustManager(sslAuthorizationCallback, connection);
+			trustManager = createCallbackTrustManager(sslAuthorizationCallback);
 		}
 
 		try {
 			SSLContext sslContext = SSLUtils.getSSLContext(trustManager);
-			connection.setSSLSocketFactory(sslContext.getSocketFactory());
-			return sslContext;
+			return createFilteredCiphersSocketFactory(excludedSSLCipherRegex, sslContext);
 		} catch (GeneralSecurityException e) {
 			LOGGER.warn("Could not install trust manager callback", e);
 			return null;
@@ -315,7 +585,7 @@ public class UrlConnectionHttpClient implements IHttpClient {
 	 * 
 	 * @see ISSLCertificateCallback
 	 */
-	private X509TrustManager createCallbackTrustManager(ISSLCertificateCallback sslAuthorizationCallback,HttpsURLConnection connection) {
+	private X509TrustManager createCallbackTrustManager(ISSLCertificateCallback sslAuthorizationCallback) {
 		X509TrustManager trustManager = null;
 		try {
 			trustManager = getCurrentTrustManager();
@@ -331,25 +601,45 @@ public class UrlConnectionHttpClient implements IHttpClient {
 	}
 		
 	/**
-	 * Sets a ssl socket factory that sets a filtered list of ciphers based on
-	 * the #excludedSSLCipherRegex to the given connection.
+	 * Returns a ssl socket factory that sets a filtered list of ciphers based
+	 * on the #excludedSSLCipherRegex to the sockets it creates. Returns the
+	 * plain socket factory of the given ssl context if no regex is given.
 	 * 
+	 * @param excludedSSLCipherRegex
+	 *            the regex for the ciphers that shall not be used
 	 * @param sslContext
+	 *            the ssl context that shall be used
+	 */
+	protected SSLSocketFactory createFilteredCiphersSocketFactory(String excludedSSLCipherRegex, SSLContext sslContext) {
+		if (excludedSSLCipherRegex == null) {
+			return sslContext.getSocketFactory();
+		}
+		return new EnabledCiphersSSLSocketFactory(
+				SSLUtils.filterCiphers(excludedSSLCipherRegex, getSupportedCiphers(sslContext)),
+				sslContext.getSocketFactory());
+	}
+
+	/**
+	 * Sets a ssl socket factory that sets a filtered list of ciphers based on
+	 * the #excludedSSLCipherRegex to the given connection.
 	 * 
+	 * @param excludedSSLCipherRegex
+	 *            the regex for the ciphers that shall not be used
 	 * @param sslContext
 	 *            the ssl context that shall be used
-	 * @param url
-	 *            the url we are connecting to
 	 * @param connection
 	 *            the connection that the cipher filter shall be applied to
+	 * 
+	 * @deprecated this client no longer calls this method, it shares a single
+	 *             socket factory among all its connections. Override
+	 *             {@link #createFilteredCiphersSocketFactory(String, SSLContext)}
+	 *             instead.
 	 */
-	protected SSLContext setFilteredCiphers(String excludedSSLCipherRegex, SSLContext sslContext, HttpsURLConnection connection) {
+	@Deprecated
+	protected SSLContext setFilteredCiphers(String excludedSSLCipherRegex, SSLContext sslContext,
+			HttpsURLConnection connection) {
 		if (excludedSSLCipherRegex != null) {
-			connection.setSSLSocketFactory(
-					new EnabledCiphersSSLSocketFactory(
-							SSLUtils.filterCiphers(
-									excludedSSLCipherRegex, getSupportedCiphers(sslContext)), sslContext
-									.getSocketFactory()));
+			connection.setSSLSocketFactory(createFilteredCiphersSocketFactory(excludedSSLCipherRegex, sslContext));
 		}
 		return sslContext;
 	}
@@ -404,6 +694,16 @@ public class UrlConnectionHttpClient implements IHttpClient {
 		return x509TrustManager;
 	}
 	
+	/**
+	 * Returns the counters for the bytes that this client sent and received,
+	 * both on the wire and decoded.
+	 * 
+	 * @return the transfer statistics of this client
+	 */
+	public TransferStatistics getTransferStatistics() {
+		return transferStatistics;
+	}
+
 	@Override
 	public void setUserAgent(String userAgent) {
 		this.userAgent = userAgent;
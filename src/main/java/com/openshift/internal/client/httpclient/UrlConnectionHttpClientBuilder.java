@@ -31,6 +31,8 @@ public class UrlConnectionHttpClientBuilder {
 	private Integer configTimeout;
 	private ISSLCertificateCallback callback;
 	private String excludeSSLCipherRegex;
+	private boolean acceptCompressedResponses = true;
+	private int requestCompressionThreshold = UrlConnectionHttpClient.NO_REQUEST_COMPRESSION;
 
 	public UrlConnectionHttpClientBuilder setUserAgent(String userAgent) {
 		this.userAgent = userAgent;
@@ -74,8 +76,30 @@ public class UrlConnectionHttpClientBuilder {
 		return this;
 	}
 	
+	public UrlConnectionHttpClientBuilder setAcceptCompressedResponses(boolean acceptCompressedResponses) {
+		this.acceptCompressedResponses = acceptCompressedResponses;
+		return this;
+	}
+
+	/**
+	 * Request bodies that are at least the given number of bytes get
+	 * gzip-compressed. Disabled by default since not all servers accept
+	 * compressed requests.
+	 * 
+	 * @param threshold
+	 *            the minimum size of a request body that gets compressed
+	 * @return this builder
+	 * 
+	 * @see UrlConnectionHttpClient#NO_REQUEST_COMPRESSION
+	 */
+	public UrlConnectionHttpClientBuilder setRequestCompressionThreshold(int threshold) {
+		this.requestCompressionThreshold = threshold;
+		return this;
+	}
+
 	public IHttpClient client() {
 		return new UrlConnectionHttpClient(
-				username, password, userAgent, acceptedMediaType, version, authKey, authIV, token, callback, configTimeout, excludeSSLCipherRegex);
+				username, password, userAgent, acceptedMediaType, version, authKey, authIV, token, callback,
+				configTimeout, excludeSSLCipherRegex, acceptCompressedResponses, requestCompressionThreshold);
 	}
 }
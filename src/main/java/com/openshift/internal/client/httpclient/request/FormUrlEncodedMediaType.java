@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 
 import com.openshift.client.IHttpClient;
 import com.openshift.internal.client.httpclient.EncodingException;
+import com.openshift.internal.client.utils.StreamUtils;
 import com.openshift.internal.client.utils.UrlUtils;
 
 /**
@@ -48,7 +49,7 @@ public class FormUrlEncodedMediaType implements IMediaType {
 	private static final Logger LOGGER = LoggerFactory.getLogger(FormUrlEncodedMediaType.class);
 
 	private static final String UTF8 = "UTF-8";
-	private boolean firstParameter = true;
+	private static final int INITIAL_BUFFER_SIZE = 128;
 
 	@Override
 	public String getType() {
@@ -56,59 +57,74 @@ public class FormUrlEncodedMediaType implements IMediaType {
 	}
 
 	public void writeTo(ParameterValueMap parameterMap, OutputStream out) throws EncodingException {
-		// reset for eventual 2nd write
 		try {
-			this.firstParameter = true;
+			StringBuilder builder = new StringBuilder(INITIAL_BUFFER_SIZE);
+			writeTo(parameterMap, builder);
+			StreamUtils.writeUtf8(builder, 0, builder.length(), out);
+		} catch (IOException e) {
+			throw new EncodingException(
+					MessageFormat.format("Could not encode parameters {0}", parameterMap.toString()), e);
+		}
+	}
+
+	/**
+	 * Appends the given parameters to the given builder. The builder may
+	 * already hold content (ex. the url that the parameters are a query
+	 * for), parameters are only separated from each other.
+	 * 
+	 * @param parameterMap
+	 *            the parameters to encode
+	 * @param builder
+	 *            the builder to append the encoded parameters to
+	 * @throws EncodingException
+	 */
+	public void writeTo(ParameterValueMap parameterMap, StringBuilder builder) throws EncodingException {
+		try {
+			int start = builder.length();
 			for (Parameter parameter : parameterMap.getValue().values()) {
-				writeTo(parameter.getName(), parameter.getValue(), out);
+				write(parameter.getName(), parameter.getValue(), start, builder);
 			}
+			LOGGER.trace("{}", builder.substring(start));
 		} catch (IOException e) {
 			throw new EncodingException(
 					MessageFormat.format("Could not encode parameters {0}", parameterMap.toString()), e);
 		}
 	}
 
-	private void writeTo(String name, ParameterValueMap parameterMap, OutputStream out) throws IOException {
+	private void write(String name, ParameterValueMap parameterMap, int start, StringBuilder builder)
+			throws IOException {
 		for (Parameter parameter : parameterMap.getValue().values()) {
-			String childName = new StringBuilder()
-					.append(name)
+			String childName = new StringBuilder(name)
 					.append('[').append(parameter.getName()).append(']')
 					.toString();
-			writeTo(childName, parameter.getValue(), out);
+			write(childName, parameter.getValue(), start, builder);
 		}
 	}
 
-	private void writeTo(String name, ParameterValue<?> value, OutputStream out) throws IOException {
+	private void write(String name, ParameterValue<?> value, int start, StringBuilder builder) throws IOException {
 		if (StringValue.class.isAssignableFrom(value.getClass())) {
-			writeTo(name, (StringValue) value, out);
+			write(name, (StringValue) value, start, builder);
 		} else if (ParameterValueArray.class.isAssignableFrom(value.getClass())) {
-			writeTo(name, (ParameterValueArray) value, out);
+			write(name, (ParameterValueArray) value, start, builder);
 		} else if (ParameterValueMap.class.isAssignableFrom(value.getClass())) {
-			writeTo(name, (ParameterValueMap) value, out);
+			write(name, (ParameterValueMap) value, start, builder);
 		}
 	}
 
-	private void writeTo(String name, ParameterValueArray array, OutputStream out) throws IOException {
+	private void write(String name, ParameterValueArray array, int start, StringBuilder builder) throws IOException {
 		String childName = name + "[]";
 		for (ParameterValue<?> value : array.getValue()) {
-			writeTo(childName, value, out);
+			write(childName, value, start, builder);
 		}
 	}
 
-	private void writeTo(String name, StringValue stringValue, OutputStream out) throws IOException {
-		StringBuilder builder = new StringBuilder();
-		if (!firstParameter) {
+	private void write(String name, StringValue stringValue, int start, StringBuilder builder) throws IOException {
+		if (builder.length() > start) {
 			builder.append(IHttpClient.AMPERSAND);
-		} else {
-			firstParameter = false;
 		}
-		String value = encode(stringValue.getValue());
-		String parameterString = builder
-				.append(name)
-				.append(IHttpClient.EQUALS).append(value)
-				.toString();
-		out.write(parameterString.getBytes());
-		LOGGER.trace(out.toString());
+		builder.append(name)
+				.append(IHttpClient.EQUALS)
+				.append(encode(stringValue.getValue()));
 	}
 
 	private String encode(String value) throws UnsupportedEncodingException {
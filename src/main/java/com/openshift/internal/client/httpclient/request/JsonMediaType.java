@@ -10,15 +10,15 @@
  ******************************************************************************/
 package com.openshift.internal.client.httpclient.request;
 
+import java.io.IOException;
 import java.io.OutputStream;
-import java.io.PrintWriter;
-
-import org.jboss.dmr.ModelNode;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.text.MessageFormat;
+import java.util.Iterator;
+import java.util.List;
 
 import com.openshift.client.IHttpClient;
 import com.openshift.internal.client.httpclient.EncodingException;
+import com.openshift.internal.client.utils.StreamUtils;
 
 /**
  * A class that encodes request parameters to json so that they may get sent to
@@ -30,6 +30,9 @@ import com.openshift.internal.client.httpclient.EncodingException;
  * <li>ParameterValueArray (array of values, in json: array</li>
  * <li>ParameterValueMap (map of values, in json: object</li>
  * </ul>
+ * The parameters are encoded in UTF-8 straight to the given stream, no
+ * intermediate json tree, string or byte array is built. The output is
+ * identical to the compact format of jboss-dmr which was used previously.
  * 
  * @author Andre Dietisheim
  * 
@@ -39,7 +42,8 @@ import com.openshift.internal.client.httpclient.EncodingException;
  */
 public class JsonMediaType implements IMediaType {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(JsonMediaType.class);
+	private static final String NULL = "null";
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
 	@Override
 	public String getType() {
@@ -47,55 +51,117 @@ public class JsonMediaType implements IMediaType {
 	}
 
 	public void writeTo(ParameterValueMap parameterMap, OutputStream out) throws EncodingException {
-		ModelNode root = new ModelNode();
-		for (Parameter parameter : parameterMap.getValue().values()) {
-			ModelNode property = root.get(parameter.getName());
-			create(parameter.getValue(), property);
+		try {
+			write(parameterMap, out);
+			out.flush();
+		} catch (IOException e) {
+			throw new EncodingException(
+					MessageFormat.format("Could not encode parameters {0}", parameterMap.toString()), e);
 		}
-
-		writeTo(out, root);
-		log(root);
 	}
 
-	private void create(ParameterValueMap parameterMap, ModelNode node) {
-		for (Parameter parameter : parameterMap.getValue().values()) {
-			ModelNode property = node.get(parameter.getName());
-			create(parameter.getValue(), property);
+	private void write(ParameterValueMap parameterMap, OutputStream out) throws IOException {
+		if (parameterMap.isEmpty()) {
+			// an empty object was an undefined node in jboss-dmr
+			writeAscii(NULL, out);
+			return;
 		}
+		out.write('{');
+		for (Iterator<Parameter> it = parameterMap.getValue().values().iterator(); it.hasNext();) {
+			Parameter parameter = it.next();
+			write(parameter.getName(), out);
+			writeAscii(" : ", out);
+			write(parameter.getValue(), out);
+			if (it.hasNext()) {
+				writeAscii(", ", out);
+			}
+		}
+		out.write('}');
 	}
 
-	private void create(ParameterValue<?> value, ModelNode node) {
-		if (StringValue.class.isAssignableFrom(value.getClass())) {
-			create((StringValue) value, node);
+	private void write(ParameterValue<?> value, OutputStream out) throws IOException {
+		if (value == null) {
+			writeAscii(NULL, out);
+		} else if (StringValue.class.isAssignableFrom(value.getClass())) {
+			write(((StringValue) value).getValue(), out);
 		} else if (ParameterValueArray.class.isAssignableFrom(value.getClass())) {
-			create((ParameterValueArray) value, node);
+			write((ParameterValueArray) value, out);
 		} else if (ParameterValueMap.class.isAssignableFrom(value.getClass())) {
-			create((ParameterValueMap) value, node);
+			write((ParameterValueMap) value, out);
 		}
 	}
 
-	private void create(ParameterValueArray array, ModelNode node) {
-		for (ParameterValue<?> value : array.getValue()) {
-			ModelNode member = new ModelNode();
-			create(value, member);
-			node.add(member);
+	private void write(ParameterValueArray array, OutputStream out) throws IOException {
+		List<ParameterValue<?>> values = array.getValue();
+		if (values == null
+				|| values.isEmpty()) {
+			// an empty array was an undefined node in jboss-dmr
+			writeAscii(NULL, out);
+			return;
+		}
+		out.write('[');
+		for (Iterator<ParameterValue<?>> it = values.iterator(); it.hasNext();) {
+			write(it.next(), out);
+			if (it.hasNext()) {
+				out.write(',');
+			}
 		}
+		out.write(']');
 	}
 
-	private void create(StringValue stringValue, ModelNode node) {
-		node.set(stringValue.getValue());
+	/**
+	 * Writes the given string quoted and escaped. Runs of characters that
+	 * need no escaping are encoded as they are.
+	 */
+	private void write(String value, OutputStream out) throws IOException {
+		if (value == null) {
+			writeAscii(NULL, out);
+			return;
+		}
+		out.write('"');
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			String escaped = getEscaped(value.charAt(i));
+			if (escaped != null) {
+				StreamUtils.writeUtf8(value, start, i, out);
+				writeAscii(escaped, out);
+				start = i + 1;
+			}
+		}
+		StreamUtils.writeUtf8(value, start, value.length(), out);
+		out.write('"');
 	}
 
-	private void writeTo(OutputStream out, ModelNode node) {
-		PrintWriter writer = new PrintWriter(out);
-		node.writeJSONString(writer, true);
-		writer.flush();
+	private String getEscaped(char character) {
+		switch (character) {
+		case '"':
+			return "\\\"";
+		case '\\':
+			return "\\\\";
+		case '\n':
+			return "\\n";
+		case '\r':
+			return "\\r";
+		case '\t':
+			return "\\t";
+		case '\b':
+			return "\\b";
+		case '\f':
+			return "\\f";
+		default:
+			if (character < 0x20) {
+				return new StringBuilder("\\u00")
+						.append(HEX_DIGITS[character >> 4])
+						.append(HEX_DIGITS[character & 0xf])
+						.toString();
+			}
+			return null;
+		}
 	}
 
-	private void log(ModelNode node) {
-		if (LOGGER.isTraceEnabled()) {
-			LOGGER.trace(node.toJSONString(true));
+	private void writeAscii(String value, OutputStream out) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			out.write(value.charAt(i));
 		}
 	}
-
 }
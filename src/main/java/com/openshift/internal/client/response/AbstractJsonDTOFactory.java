@@ -39,12 +39,17 @@ public abstract class AbstractJsonDTOFactory implements IRestResponseFactory {
 
 	@Override
 	public RestResponse get(final String json) throws OpenShiftException {
+		return get(json, ResponseProjection.DATA);
+	}
+
+	@Override
+	public RestResponse get(final String json, ResponseProjection projection) throws OpenShiftException {
 		// in case the server answers with 'no-content'
 		if (StringUtils.isEmpty(json)) {
 			return null;
 		}
 		LOGGER.trace("Unmarshalling response\n{}", json);
-		final ModelNode rootNode = getModelNode(json);
+		final ModelNode rootNode = getModelNode(json, projection);
 		final String type = getAsString(rootNode, IOpenShiftJsonConstants.PROPERTY_TYPE);
 		final String status = getAsString(rootNode, IOpenShiftJsonConstants.PROPERTY_STATUS);
 		final Messages messages = createMessages(rootNode.get(IOpenShiftJsonConstants.PROPERTY_MESSAGES));
@@ -92,19 +97,29 @@ public abstract class AbstractJsonDTOFactory implements IRestResponseFactory {
 	}
 	
 	/**
-	 * Gets the model node.
+	 * Gets the model node for the given parts of the content. The complete
+	 * content is parsed by jboss-dmr. Projections that leave out parts of the
+	 * content are read by the {@link JsonReader} which skips these parts
+	 * without creating any nodes for them.
 	 * 
 	 * @param content
 	 *            the content
+	 * @param projection
+	 *            the parts of the content to read
 	 * @return the model node
 	 * @throws OpenShiftException
 	 *             the open shift exception
 	 */
-	protected ModelNode getModelNode(final String content) throws OpenShiftException {
+	protected ModelNode getModelNode(final String content, ResponseProjection projection) throws OpenShiftException {
 		if (content == null) {
 			throw new OpenShiftException("Could not unmarshall response: no content.");
 		}
-		final ModelNode node = ModelNode.fromJSONString(content);
+		final ModelNode node;
+		if (projection.getSkippedProperties().isEmpty()) {
+			node = ModelNode.fromJSONString(content);
+		} else {
+			node = JsonReader.read(content, projection.getSkippedProperties());
+		}
 		if (!node.isDefined()) {
 			throw new OpenShiftException("Could not unmarshall response: erroneous content.");
 		}
@@ -123,8 +138,8 @@ public abstract class AbstractJsonDTOFactory implements IRestResponseFactory {
 	 * @return the property as a String
 	 */
 	protected String getAsString(final ModelNode node, String propertyName) {
-		final ModelNode propertyNode = node.get(propertyName);
-		return propertyNode.isDefined() ? propertyNode.asString() : null;
+		final ModelNode propertyNode = getProperty(node, propertyName);
+		return propertyNode != null ? propertyNode.asString() : null;
 	}
 	
 	/**
@@ -138,8 +153,8 @@ public abstract class AbstractJsonDTOFactory implements IRestResponseFactory {
 	 * @return the property as a String
 	 */
 	protected Boolean getAsBoolean(final ModelNode node, String propertyName) {
-		final ModelNode propertyNode = node.get(propertyName);
-		return propertyNode.isDefined() ? propertyNode.asBoolean() : Boolean.FALSE;
+		final ModelNode propertyNode = getProperty(node, propertyName);
+		return propertyNode != null ? propertyNode.asBoolean() : Boolean.FALSE;
 	}
 	
 	/**
@@ -153,8 +168,21 @@ public abstract class AbstractJsonDTOFactory implements IRestResponseFactory {
 	 * @return the property as an Integer
 	 */
 	protected int getAsInteger(final ModelNode node, String propertyName) {
+		final ModelNode propertyNode = getProperty(node, propertyName);
+		return propertyNode != null ? propertyNode.asInt() : -1;
+	}
+
+	/**
+	 * Returns the defined property with the given name or <code>null</code>.
+	 * Unlike {@link ModelNode#get(String)} this does not add an undefined node
+	 * for a missing property (nor turn an undefined node into an object).
+	 */
+	private ModelNode getProperty(final ModelNode node, String propertyName) {
+		if (!node.has(propertyName)) {
+			return null;
+		}
 		final ModelNode propertyNode = node.get(propertyName);
-		return propertyNode.isDefined() ? propertyNode.asInt() : -1;
+		return propertyNode.isDefined() ? propertyNode : null;
 	}
 	
 	protected boolean isDefined(ModelNode node) {
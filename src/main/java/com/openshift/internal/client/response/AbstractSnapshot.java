@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.openshift.client.HttpMethod;
+import com.openshift.internal.client.utils.FileUtils;
+import com.openshift.internal.client.utils.StreamUtils;
+
+/**
+ * A local, binary snapshot of content that a server sent. The snapshot file
+ * holds a magic number, a format version, the server it was created for, the
+ * content and a checksum. A snapshot is validated when it is read and is
+ * ignored if any of these do not match.
+ * <p>
+ * A snapshot is a cache: failing to read or write it is logged but never
+ * thrown. Snapshots are written to a temporary file that is then renamed so
+ * that readers never see a partial snapshot.
+ *
+ * @author Andre Dietisheim
+ */
+public abstract class AbstractSnapshot<T> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSnapshot.class);
+
+	private static final String UTF8 = "UTF-8";
+	/** guards against allocating huge arrays for corrupted sizes */
+	private static final int MAX_SIZE = 1 << 24;
+
+	private final File file;
+	private final String server;
+	private final int magic;
+	private final short formatVersion;
+
+	protected AbstractSnapshot(File file, String server, int magic, short formatVersion) {
+		this.file = file;
+		this.server = server;
+		this.magic = magic;
+		this.formatVersion = formatVersion;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public String getServer() {
+		return server;
+	}
+
+	/**
+	 * Reads the content of this snapshot. Returns <code>null</code> if there's
+	 * no snapshot file or if it is invalid.
+	 *
+	 * @return the content or null
+	 */
+	protected T read() {
+		if (!file.isFile()) {
+			return null;
+		}
+		DataInputStream in = null;
+		try {
+			CheckedInputStream checkedIn =
+					new CheckedInputStream(new BufferedInputStream(new FileInputStream(file)), new CRC32());
+			in = new DataInputStream(checkedIn);
+			if (in.readInt() != magic
+					|| in.readShort() != formatVersion
+					|| !server.equals(readString(in))) {
+				LOGGER.debug("Ignoring snapshot {}: other format or server", file);
+				return null;
+			}
+			T content = readContent(in);
+			long checksum = checkedIn.getChecksum().getValue();
+			if (checksum != in.readLong()) {
+				LOGGER.debug("Ignoring snapshot {}: invalid checksum", file);
+				return null;
+			}
+			return content;
+		} catch (IOException e) {
+			LOGGER.debug("Ignoring snapshot {}: {}", file, e.getMessage());
+			return null;
+		} catch (RuntimeException e) {
+			LOGGER.debug("Ignoring snapshot {}: {}", file, e.getMessage());
+			return null;
+		} finally {
+			StreamUtils.quietlyClose(in);
+		}
+	}
+
+	/**
+	 * Writes the given content to this snapshot, replacing the existing one.
+	 *
+	 * @param content
+	 *            the content to write
+	 */
+	protected void write(T content) {
+		File tmpFile = null;
+		DataOutputStream out = null;
+		try {
+			File directory = file.getAbsoluteFile().getParentFile();
+			if (!directory.isDirectory()
+					&& !directory.mkdirs()) {
+				throw new IOException("could not create directory " + directory);
+			}
+			tmpFile = File.createTempFile(file.getName(), ".tmp", directory);
+			CheckedOutputStream checkedOut =
+					new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)), new CRC32());
+			out = new DataOutputStream(checkedOut);
+			out.writeInt(magic);
+			out.writeShort(formatVersion);
+			writeString(server, out);
+			writeContent(content, out);
+			out.writeLong(checkedOut.getChecksum().getValue());
+			out.close();
+			out = null;
+			FileUtils.replace(tmpFile, file);
+			tmpFile = null;
+		} catch (IOException e) {
+			LOGGER.warn("Could not write snapshot {}: {}", file, e.getMessage());
+		} finally {
+			StreamUtils.quietlyClose(out);
+			if (tmpFile != null) {
+				tmpFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * Deletes the snapshot file.
+	 */
+	protected void delete() {
+		if (file.exists()
+				&& !file.delete()) {
+			LOGGER.warn("Could not delete snapshot {}", file);
+		}
+	}
+
+	protected abstract T readContent(DataInputStream in) throws IOException;
+
+	protected abstract void writeContent(T content, DataOutputStream out) throws IOException;
+
+	/**
+	 * Writes the given string as length-prefixed UTF-8. Unlike
+	 * {@link DataOutputStream#writeUTF(String)} this supports null values and
+	 * strings of any length.
+	 */
+	protected static void writeString(String string, DataOutputStream out) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = string.getBytes(UTF8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	protected static String readString(DataInputStream in) throws IOException {
+		int length = readSize(in);
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	protected static void writeStrings(List<String> strings, DataOutputStream out) throws IOException {
+		if (strings == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			writeString(string, out);
+		}
+	}
+
+	protected static List<String> readStrings(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		if (size < 0) {
+			return null;
+		}
+		List<String> strings = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			strings.add(readString(in));
+		}
+		return strings;
+	}
+
+	/**
+	 * Writes the given links, <code>null</code> is written as -1.
+	 */
+	protected static void writeLinks(Map<String, Link> links, DataOutputStream out) throws IOException {
+		if (links == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(links.size());
+		for (Map.Entry<String, Link> entry : links.entrySet()) {
+			Link link = entry.getValue();
+			writeString(entry.getKey(), out);
+			writeString(link.getRel(), out);
+			writeString(link.getHref(), out);
+			writeString(link.getHttpMethod().name(), out);
+			writeParameters(link.getRequiredParams(), out);
+			writeParameters(link.getOptionalParams(), out);
+		}
+	}
+
+	protected static Map<String, Link> readLinks(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		if (size < 0) {
+			return null;
+		}
+		Map<String, Link> links = new LinkedHashMap<String, Link>();
+		for (int i = 0; i < size; i++) {
+			String name = readString(in);
+			String rel = readString(in);
+			String href = readString(in);
+			HttpMethod httpMethod = HttpMethod.valueOf(readString(in));
+			List<LinkParameter> requiredParams = readParameters(in);
+			List<LinkParameter> optionalParams = readParameters(in);
+			links.put(name, new Link(rel, href, httpMethod, requiredParams, optionalParams));
+		}
+		return links;
+	}
+
+	private static void writeParameters(List<LinkParameter> parameters, DataOutputStream out) throws IOException {
+		if (parameters == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(parameters.size());
+		for (LinkParameter parameter : parameters) {
+			writeString(parameter.getName(), out);
+			writeString(parameter.getType() == null ? null : parameter.getType().getValue(), out);
+			writeString(parameter.getDefaultValue(), out);
+			writeString(parameter.getDescription(), out);
+			writeStrings(parameter.getValidOptions(), out);
+		}
+	}
+
+	private static List<LinkParameter> readParameters(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		if (size < 0) {
+			return null;
+		}
+		List<LinkParameter> parameters = new ArrayList<LinkParameter>(size);
+		for (int i = 0; i < size; i++) {
+			String name = readString(in);
+			String type = readString(in);
+			String defaultValue = readString(in);
+			String description = readString(in);
+			List<String> validOptions = readStrings(in);
+			parameters.add(new LinkParameter(name, type, defaultValue, description, validOptions));
+		}
+		return parameters;
+	}
+
+	/**
+	 * Reads a size (of a list, a string etc.) that was written as int. Returns
+	 * -1 for null values.
+	 */
+	protected static int readSize(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		if (size < -1
+				|| size > MAX_SIZE) {
+			throw new IOException("invalid size " + size);
+		}
+		return size;
+	}
+}
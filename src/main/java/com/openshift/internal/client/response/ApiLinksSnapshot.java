@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A local snapshot of the links that the API root of a server offers,
+ * together with the protocol version they were requested with. It allows new
+ * connections to skip requesting the API root. The snapshot is ignored if it
+ * was written for another protocol version. There's no maximum age: links
+ * rarely change and the client discards the snapshot once a request with one
+ * of its links fails.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see AbstractSnapshot
+ */
+public class ApiLinksSnapshot extends AbstractSnapshot<Map<String, Link>> {
+
+	private static final int MAGIC = 0x4f534150; // "OSAP"
+	private static final short FORMAT_VERSION = 1;
+
+	private final String protocolVersion;
+
+	/**
+	 * Creates a snapshot for the given server within the given directory. The
+	 * name of the snapshot file is derived from the server url.
+	 *
+	 * @param directory
+	 *            the directory that the snapshot file is in
+	 * @param server
+	 *            the server url
+	 * @param protocolVersion
+	 *            the protocol version that the links were requested with
+	 */
+	public ApiLinksSnapshot(File directory, String server, String protocolVersion) {
+		super(new File(directory, getFileName(server)), server, MAGIC, FORMAT_VERSION);
+		this.protocolVersion = protocolVersion;
+	}
+
+	private static String getFileName(String server) {
+		// the server is written to the file and verified when it's read
+		return "api-" + Integer.toHexString(server.hashCode()) + ".snapshot";
+	}
+
+	/**
+	 * Returns the links within this snapshot or <code>null</code> if there
+	 * are none.
+	 *
+	 * @return the links or null
+	 */
+	public synchronized Map<String, Link> getLinks() {
+		return read();
+	}
+
+	public synchronized void setLinks(Map<String, Link> links) {
+		write(links);
+	}
+
+	/**
+	 * Deletes the snapshot file.
+	 */
+	public synchronized void invalidate() {
+		delete();
+	}
+
+	@Override
+	protected Map<String, Link> readContent(DataInputStream in) throws IOException {
+		if (!protocolVersion.equals(readString(in))) {
+			return null;
+		}
+		return readLinks(in);
+	}
+
+	@Override
+	protected void writeContent(Map<String, Link> links, DataOutputStream out) throws IOException {
+		writeString(protocolVersion, out);
+		writeLinks(links, out);
+	}
+
+	@Override
+	public String toString() {
+		return "ApiLinksSnapshot ["
+				+ "file=" + getFile() + ", "
+				+ "server=" + getServer() + ", "
+				+ "protocolVersion=" + protocolVersion
+				+ "]";
+	}
+}
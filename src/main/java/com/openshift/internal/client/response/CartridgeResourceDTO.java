@@ -11,6 +11,8 @@
 package com.openshift.internal.client.response;
 
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import com.openshift.client.Messages;
@@ -30,19 +32,21 @@ public class CartridgeResourceDTO extends BaseResourceDTO {
 	private URL url;
 	private boolean obsolete;
 	private CartridgeResourceProperties properties;
+	private final List<String> requires;
 
 	protected CartridgeResourceDTO(final String name, final CartridgeType type, boolean obsolete, final CartridgeResourceProperties properties) {
-		this(name, null, null, type, null, obsolete, properties, null, null);
+		this(name, null, null, type, null, obsolete, properties, null, null, null);
 	}
 
 	protected CartridgeResourceDTO(final String name, final String displayName, final String description,
-			final String type, URL url, boolean obsolete, CartridgeResourceProperties properties, final Map<String, Link> links, final Messages messages) {
-		this(name, displayName, description, CartridgeType.safeValueOf(type), url, obsolete, properties, links, messages);
+			final String type, URL url, boolean obsolete, CartridgeResourceProperties properties, final List<String> requires,
+			final Map<String, Link> links, final Messages messages) {
+		this(name, displayName, description, CartridgeType.safeValueOf(type), url, obsolete, properties, requires, links, messages);
 	}
 
 	CartridgeResourceDTO(final String name, final String displayName, final String description,
-			final CartridgeType type, URL url, boolean obsolete, CartridgeResourceProperties properties, final Map<String, Link> links,
-			final Messages messages) {
+			final CartridgeType type, URL url, boolean obsolete, CartridgeResourceProperties properties, final List<String> requires,
+			final Map<String, Link> links, final Messages messages) {
 		super(links, messages);
 		this.name = name;
 		this.displayName = displayName;
@@ -51,6 +55,11 @@ public class CartridgeResourceDTO extends BaseResourceDTO {
 		this.url = url;
 		this.obsolete = obsolete;
 		this.properties = properties;
+		if (requires == null) {
+			this.requires = Collections.emptyList();
+		} else {
+			this.requires = requires;
+		}
 	}
 
 	public String getName() {
@@ -81,6 +90,16 @@ public class CartridgeResourceDTO extends BaseResourceDTO {
 		return properties;
 	}
 
+	/**
+	 * Returns the names of the cartridges that this cartridge requires.
+	 * 
+	 * @return the names of the required cartridges, an empty list if there
+	 *         are none
+	 */
+	public List<String> getRequires() {
+		return requires;
+	}
+
 	@Override
 	public String toString() {
 		return "CartridgeResourceDTO ["
@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.openshift.client.IField;
+import com.openshift.client.Message;
+import com.openshift.client.Messages;
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.client.cartridge.query.CartridgeNameRegexQuery;
+import com.openshift.client.cartridge.query.ICartridgeQuery;
+import com.openshift.internal.client.CartridgeType;
+
+/**
+ * A local snapshot of the quickstarts and cartridges that a server offers. It
+ * allows new connections to skip requesting these catalogs from the server.
+ * Each catalog is stored with a timestamp and is ignored once it is older than
+ * the given maximum age.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see AbstractSnapshot
+ */
+public class CatalogSnapshot extends AbstractSnapshot<CatalogSnapshot.Catalogs> {
+
+	/** a day */
+	public static final long DEFAULT_MAX_AGE = 24 * 60 * 60 * 1000;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+	private static final int MAGIC = 0x4f534353; // "OSCS"
+	private static final short FORMAT_VERSION = 3;
+
+	private static final byte QUERY_NAMED = 1;
+	private static final byte QUERY_DOWNLOADABLE = 2;
+	private static final byte QUERY_NAME_REGEX = 3;
+
+	private final long maxAge;
+	private Catalogs catalogs;
+
+	public CatalogSnapshot(File file, String server) {
+		this(file, server, DEFAULT_MAX_AGE);
+	}
+
+	public CatalogSnapshot(File file, String server, long maxAge) {
+		super(file, server, MAGIC, FORMAT_VERSION);
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Returns the cartridges within this snapshot or <code>null</code> if
+	 * there are none or if they're outdated.
+	 *
+	 * @return the cartridges or null
+	 */
+	public synchronized List<CartridgeResourceDTO> getCartridges() {
+		return getValid(getCatalogs().cartridges);
+	}
+
+	public synchronized void setCartridges(Collection<CartridgeResourceDTO> cartridges) {
+		getCatalogs().cartridges = new Section<CartridgeResourceDTO>(System.currentTimeMillis(), cartridges);
+		write(catalogs);
+	}
+
+	/**
+	 * Returns the quickstarts within this snapshot or <code>null</code> if
+	 * there are none or if they're outdated.
+	 *
+	 * @return the quickstarts or null
+	 */
+	public synchronized List<QuickstartDTO> getQuickstarts() {
+		return getValid(getCatalogs().quickstarts);
+	}
+
+	public synchronized void setQuickstarts(Collection<QuickstartDTO> quickstarts) {
+		getCatalogs().quickstarts = new Section<QuickstartDTO>(System.currentTimeMillis(), quickstarts);
+		write(catalogs);
+	}
+
+	/**
+	 * Discards the content of this snapshot and deletes the snapshot file.
+	 */
+	public synchronized void invalidate() {
+		this.catalogs = new Catalogs();
+		delete();
+	}
+
+	private Catalogs getCatalogs() {
+		if (catalogs == null) {
+			this.catalogs = read();
+			if (catalogs == null) {
+				this.catalogs = new Catalogs();
+			}
+		}
+		return catalogs;
+	}
+
+	private <T> List<T> getValid(Section<T> section) {
+		if (section == null) {
+			return null;
+		}
+		long age = System.currentTimeMillis() - section.timestamp;
+		if (age < 0
+				|| age > maxAge) {
+			return null;
+		}
+		return section.elements;
+	}
+
+	@Override
+	protected Catalogs readContent(DataInputStream in) throws IOException {
+		Catalogs catalogs = new Catalogs();
+		catalogs.cartridges = readCartridges(in);
+		catalogs.quickstarts = readQuickstarts(in);
+		return catalogs;
+	}
+
+	@Override
+	protected void writeContent(Catalogs catalogs, DataOutputStream out) throws IOException {
+		writeCartridges(catalogs.cartridges, out);
+		writeQuickstarts(catalogs.quickstarts, out);
+	}
+
+	private void writeCartridges(Section<CartridgeResourceDTO> section, DataOutputStream out) throws IOException {
+		if (!writeSectionHeader(section, out)) {
+			return;
+		}
+		for (CartridgeResourceDTO cartridge : section.elements) {
+			writeString(cartridge.getName(), out);
+			writeString(cartridge.getDisplayName(), out);
+			writeString(cartridge.getDescription(), out);
+			writeString(cartridge.getType() == null ? null : cartridge.getType().name(), out);
+			writeString(cartridge.getUrl() == null ? null : cartridge.getUrl().toString(), out);
+			out.writeBoolean(cartridge.getObsolete());
+			writeProperties(cartridge.getProperties(), out);
+			writeStrings(cartridge.getRequires(), out);
+			writeLinks(cartridge.getLinks(), out);
+			writeMessages(cartridge.getMessages(), out);
+		}
+	}
+
+	private Section<CartridgeResourceDTO> readCartridges(DataInputStream in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		long timestamp = in.readLong();
+		int size = readSize(in);
+		List<CartridgeResourceDTO> cartridges = new ArrayList<CartridgeResourceDTO>(size);
+		for (int i = 0; i < size; i++) {
+			String name = readString(in);
+			String displayName = readString(in);
+			String description = readString(in);
+			String type = readString(in);
+			URL url = toUrl(readString(in));
+			boolean obsolete = in.readBoolean();
+			CartridgeResourceProperties properties = readProperties(in);
+			List<String> requires = readStrings(in);
+			Map<String, Link> links = readLinks(in);
+			Messages messages = readMessages(in);
+			cartridges.add(new CartridgeResourceDTO(name, displayName, description,
+					type == null ? null : CartridgeType.valueOf(type), url, obsolete, properties, requires, links, messages));
+		}
+		return new Section<CartridgeResourceDTO>(timestamp, cartridges);
+	}
+
+	private void writeProperties(CartridgeResourceProperties properties, DataOutputStream out) throws IOException {
+		if (properties == null) {
+			out.writeInt(-1);
+			return;
+		}
+		List<CartridgeResourceProperty> all = properties.getAll();
+		out.writeInt(all.size());
+		for (CartridgeResourceProperty property : all) {
+			writeString(property.getName(), out);
+			writeString(property.getType(), out);
+			writeString(property.getDescription(), out);
+			writeString(property.getValue(), out);
+		}
+	}
+
+	private CartridgeResourceProperties readProperties(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		if (size < 0) {
+			return null;
+		}
+		CartridgeResourceProperties properties = new CartridgeResourceProperties();
+		for (int i = 0; i < size; i++) {
+			String name = readString(in);
+			String type = readString(in);
+			String description = readString(in);
+			String value = readString(in);
+			properties.add(name, new CartridgeResourceProperty(name, type, description, value));
+		}
+		return properties;
+	}
+
+	private void writeMessages(Messages messages, DataOutputStream out) throws IOException {
+		if (messages == null) {
+			out.writeInt(-1);
+			return;
+		}
+		List<Message> all = messages.getAll();
+		out.writeInt(all.size());
+		for (Message message : all) {
+			writeString(message.getText(), out);
+			writeString(message.getField().getValue(), out);
+			writeString(message.getSeverity().getValue(), out);
+			out.writeInt(message.getExitCode());
+		}
+	}
+
+	private Messages readMessages(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		if (size < 0) {
+			return null;
+		}
+		Map<IField, List<Message>> messagesByField = new LinkedHashMap<IField, List<Message>>();
+		for (int i = 0; i < size; i++) {
+			String text = readString(in);
+			String field = readString(in);
+			String severity = readString(in);
+			int exitCode = in.readInt();
+			Message message = new Message(text, field, severity, exitCode);
+			List<Message> messages = messagesByField.get(message.getField());
+			if (messages == null) {
+				messages = new ArrayList<Message>();
+				messagesByField.put(message.getField(), messages);
+			}
+			messages.add(message);
+		}
+		return new Messages(messagesByField);
+	}
+
+	private void writeQuickstarts(Section<QuickstartDTO> section, DataOutputStream out) throws IOException {
+		if (section != null
+				&& !areWritable(section.elements)) {
+			// requested from the server again rather than restored incomplete
+			LOGGER.debug("Not writing the quickstarts to snapshot {}: unsupported cartridge query", getFile());
+			section = null;
+		}
+		if (!writeSectionHeader(section, out)) {
+			return;
+		}
+		for (QuickstartDTO quickstart : section.elements) {
+			writeString(quickstart.getId(), out);
+			writeString(quickstart.getHref(), out);
+			writeString(quickstart.getName(), out);
+			writeString(quickstart.getUpdated(), out);
+			writeString(quickstart.getSummary(), out);
+			writeCartridgeQueries(quickstart.getCartridges(), out);
+			writeString(quickstart.getWebsite(), out);
+			writeStrings(quickstart.getTags(), out);
+			writeString(quickstart.getLanguage(), out);
+			writeString(quickstart.getInitialGitUrl(), out);
+			writeString(quickstart.getProvider(), out);
+		}
+	}
+
+	private Section<QuickstartDTO> readQuickstarts(DataInputStream in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		long timestamp = in.readLong();
+		int size = readSize(in);
+		List<QuickstartDTO> quickstarts = new ArrayList<QuickstartDTO>(size);
+		for (int i = 0; i < size; i++) {
+			String id = readString(in);
+			String href = readString(in);
+			String name = readString(in);
+			String updated = readString(in);
+			String summary = readString(in);
+			List<ICartridgeQuery> cartridges = readCartridgeQueries(in);
+			String website = readString(in);
+			List<String> tags = readStrings(in);
+			String language = readString(in);
+			String initialGitUrl = readString(in);
+			String provider = readString(in);
+			quickstarts.add(new QuickstartDTO(
+					id, href, name, updated, summary, cartridges, website, tags, language, initialGitUrl, provider));
+		}
+		return new Section<QuickstartDTO>(timestamp, quickstarts);
+	}
+
+	private boolean writeSectionHeader(Section<?> section, DataOutputStream out) throws IOException {
+		out.writeBoolean(section != null);
+		if (section == null) {
+			return false;
+		}
+		out.writeLong(section.timestamp);
+		out.writeInt(section.elements.size());
+		return true;
+	}
+
+	private boolean areWritable(List<QuickstartDTO> quickstarts) {
+		for (QuickstartDTO quickstart : quickstarts) {
+			if (quickstart.getCartridges() == null) {
+				continue;
+			}
+			for (ICartridgeQuery query : quickstart.getCartridges()) {
+				if (!isWritable(query)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean isWritable(ICartridgeQuery query) {
+		return query instanceof NamedCartridgeSpec
+				|| query instanceof DownloadableCartridgeSpec
+				|| query instanceof CartridgeNameRegexQuery;
+	}
+
+	private void writeCartridgeQueries(List<ICartridgeQuery> queries, DataOutputStream out) throws IOException {
+		if (queries == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(queries.size());
+		for (ICartridgeQuery query : queries) {
+			if (query instanceof NamedCartridgeSpec) {
+				out.writeByte(QUERY_NAMED);
+				writeString(((NamedCartridgeSpec) query).getCartridge().getName(), out);
+			} else if (query instanceof DownloadableCartridgeSpec) {
+				out.writeByte(QUERY_DOWNLOADABLE);
+				ICartridge cartridge = ((DownloadableCartridgeSpec) query).getCartridge();
+				writeString(String.valueOf(cartridge.getUrl()), out);
+			} else if (query instanceof CartridgeNameRegexQuery) {
+				out.writeByte(QUERY_NAME_REGEX);
+				writeString(((CartridgeNameRegexQuery) query).getNamePattern().pattern(), out);
+			} else {
+				throw new IOException("unsupported cartridge query " + query);
+			}
+		}
+	}
+
+	private List<ICartridgeQuery> readCartridgeQueries(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		if (size < 0) {
+			return null;
+		}
+		List<ICartridgeQuery> queries = new ArrayList<ICartridgeQuery>(size);
+		for (int i = 0; i < size; i++) {
+			byte type = in.readByte();
+			String value = readString(in);
+			switch (type) {
+			case QUERY_NAMED:
+				queries.add(new NamedCartridgeSpec(value));
+				break;
+			case QUERY_DOWNLOADABLE:
+				queries.add(new DownloadableCartridgeSpec(value));
+				break;
+			case QUERY_NAME_REGEX:
+				queries.add(new CartridgeNameRegexQuery(value));
+				break;
+			default:
+				throw new IOException("unknown cartridge query type " + type);
+			}
+		}
+		return queries;
+	}
+
+	private URL toUrl(String url) throws IOException {
+		if (url == null) {
+			return null;
+		}
+		try {
+			return new URL(url);
+		} catch (MalformedURLException e) {
+			throw new IOException("invalid url " + url);
+		}
+	}
+
+	static class Catalogs {
+
+		private Section<CartridgeResourceDTO> cartridges;
+		private Section<QuickstartDTO> quickstarts;
+	}
+
+	private static class Section<T> {
+
+		private final long timestamp;
+		private final List<T> elements;
+
+		private Section(long timestamp, Collection<T> elements) {
+			this.timestamp = timestamp;
+			this.elements = Collections.unmodifiableList(new ArrayList<T>(elements));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "CatalogSnapshot ["
+				+ "file=" + getFile() + ", "
+				+ "server=" + getServer()
+				+ "]";
+	}
+}
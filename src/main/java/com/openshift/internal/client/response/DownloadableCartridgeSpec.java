@@ -51,6 +51,10 @@ public class DownloadableCartridgeSpec implements ICartridgeQuery {
 		return this.cartridge.equals(cartridge);
 	}
 
+	ICartridge getCartridge() {
+		return cartridge;
+	}
+
 	@Override
 	public String toString() {
 		return "DownloadableCartridgeSpec [cartridge=" + cartridge + "]";
@@ -10,7 +10,8 @@
  ******************************************************************************/
 package com.openshift.internal.client.response;
 
-import java.util.regex.Pattern;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * The Enum EnumDataType.
@@ -47,7 +48,18 @@ public enum EnumDataType {
 	environment_variable
 	;
 	
-	private static final Pattern pattern = Pattern.compile("-");
+	/**
+	 * The types by their names, the server uses '-' where the enum names use
+	 * '_' (ex. "gear-groups" for {@link #gear_groups}). Both are present.
+	 */
+	private static final Map<String, EnumDataType> typesByName = new HashMap<String, EnumDataType>();
+
+	static {
+		for (EnumDataType type : values()) {
+			typesByName.put(type.name(), type);
+			typesByName.put(type.name().replace('_', '-'), type);
+		}
+	}
 
 	/**
 	 * Returns the enum value matching the given value (as string), or 'undefined' if null/unknown value.
@@ -57,13 +69,15 @@ public enum EnumDataType {
 	 * @return value as enum
 	 */
 	static EnumDataType safeValueOf(String value) {
-		if (value != null) {
-			try {
-				 return valueOf(pattern.matcher(value).replaceAll("_"));
-			} catch (IllegalArgumentException e) {
-				// do nothing, will just return 'undefined'
-			}
+		if (value == null) {
+			return null;
+		}
+		EnumDataType type = typesByName.get(value);
+		if (type == null
+				&& value.indexOf('-') >= 0) {
+			// mixed separators
+			type = typesByName.get(value.replace('-', '_'));
 		}
-		return null;
+		return type;
 	}
 }
\ No newline at end of file
@@ -10,7 +10,7 @@
  ******************************************************************************/
 package com.openshift.internal.client.response;
 
-import java.util.HashMap;
+import java.util.Collections;
 
 /**
  * The Class ApplicationDTO.
@@ -35,7 +35,8 @@ public class GearResourceDTO extends BaseResourceDTO {
 	 * @param sshUrl the URL to connect with SSH
 	 */
 	GearResourceDTO(String uuid, String state, String sshUrl) {
-		super(new HashMap<String, Link>(), null);
+		// gears have no links, share an empty map
+		super(Collections.<String, Link> emptyMap(), null);
 		this.uuid = uuid;
 		this.sshUrl = sshUrl;
 		this.state = state;
@@ -23,5 +23,21 @@ public interface IRestResponseFactory {
 	 * @see RestResponse
 	 */
 	public RestResponse get(final String restResponse) throws OpenShiftException;
+
+	/**
+	 * Returns a {@link RestResponse} instance for a given rest response string
+	 * that only holds the given parts of the response.
+	 * 
+	 * @param rest
+	 *            response string
+	 * @param projection
+	 *            the parts of the response that are needed
+	 * @return RestResponse instance
+	 * @throws OpenShiftException
+	 * 
+	 * @see RestResponse
+	 * @see ResponseProjection
+	 */
+	public RestResponse get(final String restResponse, ResponseProjection projection) throws OpenShiftException;
 	
 }
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded table that hands out a single instance for equal values. Values
+ * such as cartridge names, gear profiles or gear states are repeated for each
+ * application and gear that the server reports, interning them lets all DTOs
+ * share a single instance. The table is bounded and drops the least recently
+ * used values, unlike {@link String#intern()} it cannot grow with arbitrary
+ * server content.
+ *
+ * @author Andre Dietisheim
+ */
+class Interner<T> {
+
+	static final int DEFAULT_MAX_SIZE = 4096;
+
+	private final Map<T, T> values;
+
+	Interner() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	Interner(final int maxSize) {
+		this.values = new LinkedHashMap<T, T>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<T, T> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the instance within this table that is equal to the given
+	 * value. The given value is added if there's none.
+	 *
+	 * @param value
+	 *            the value to intern, may be <code>null</code>
+	 * @return the shared instance that is equal to the given value
+	 */
+	synchronized T intern(T value) {
+		if (value == null) {
+			return null;
+		}
+		T interned = values.get(value);
+		if (interned == null) {
+			values.put(value, value);
+			interned = value;
+		}
+		return interned;
+	}
+
+	synchronized int size() {
+		return values.size();
+	}
+}
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A single pass json reader that creates the model node for a json string.
+ * Unlike {@link ModelNode#fromJSONString(String)}, which runs a generated
+ * parser that creates intermediate values for each token, this reader walks
+ * the string once and creates each node in place within its parent. Strings
+ * without escapes are cut out of the content as is. It is used for responses
+ * that are read with a {@link ResponseProjection} that skips parts of them,
+ * all other content is still parsed by jboss-dmr.
+ * <p>
+ * The nodes are the same as the ones that
+ * {@link ModelNode#fromJSONString(String)} creates: integers are of type
+ * {@link org.jboss.dmr.ModelType#INT}, {@link org.jboss.dmr.ModelType#LONG}
+ * or {@link org.jboss.dmr.ModelType#BIG_INTEGER} depending on their size,
+ * decimals of type {@link org.jboss.dmr.ModelType#BIG_DECIMAL}, null is
+ * undefined and duplicate properties replace each other.
+ *
+ * @author Andre Dietisheim
+ */
+class JsonReader {
+
+	private final String json;
+	private final Collection<String> skippedProperties;
+	private int position;
+
+	private JsonReader(String json, Collection<String> skippedProperties) {
+		this.json = json;
+		this.skippedProperties = skippedProperties;
+	}
+
+	/**
+	 * Returns the model node for the given json.
+	 *
+	 * @param json
+	 *            the json to read
+	 * @return the model node for the given json
+	 * @throws IllegalArgumentException
+	 *             if the given json is empty or not valid
+	 */
+	static ModelNode read(String json) throws IllegalArgumentException {
+		return read(json, Collections.<String> emptySet());
+	}
+
+	/**
+	 * Returns the model node for the given json, leaving out the given
+	 * properties of the root object. The values of these properties are
+	 * skipped over without creating any nodes or strings for them, they're
+	 * only checked for balanced brackets and quotes.
+	 *
+	 * @param json
+	 *            the json to read
+	 * @param skippedProperties
+	 *            the properties of the root object to skip
+	 * @return the model node for the given json
+	 * @throws IllegalArgumentException
+	 *             if the given json is empty or not valid
+	 */
+	static ModelNode read(String json, Collection<String> skippedProperties) throws IllegalArgumentException {
+		return new JsonReader(json, skippedProperties).read();
+	}
+
+	private ModelNode read() {
+		ModelNode node = new ModelNode();
+		if (nextNonWhitespace() == '{') {
+			readObject(node, skippedProperties);
+		} else {
+			readValue(node);
+		}
+		if (skipWhitespace()) {
+			throw invalid("unexpected content after the value");
+		}
+		return node;
+	}
+
+	private void readValue(ModelNode node) {
+		char character = json.charAt(position);
+		switch (character) {
+		case '{':
+			readObject(node, Collections.<String> emptySet());
+			break;
+		case '[':
+			readList(node);
+			break;
+		case '"':
+			node.set(readString());
+			break;
+		case 't':
+			readKeyword("true");
+			node.set(true);
+			break;
+		case 'f':
+			readKeyword("false");
+			node.set(false);
+			break;
+		case 'n':
+			// null stays undefined
+			readKeyword("null");
+			break;
+		default:
+			if (character == '-'
+					|| isDigit(character)) {
+				readNumber(node);
+			} else {
+				throw invalid("unexpected character '" + character + "'");
+			}
+		}
+	}
+
+	private void readObject(ModelNode node, Collection<String> skippedProperties) {
+		node.setEmptyObject();
+		position++; // {
+		if (nextNonWhitespace() == '}') {
+			position++;
+			return;
+		}
+		while (true) {
+			if (nextNonWhitespace() != '"') {
+				throw invalid("expected a property name");
+			}
+			String name = readString();
+			if (nextNonWhitespace() != ':') {
+				throw invalid("expected ':'");
+			}
+			position++;
+			nextNonWhitespace();
+			if (!skippedProperties.isEmpty()
+					&& skippedProperties.contains(name)) {
+				skipValue();
+			} else if (node.has(name)) {
+				// last one wins
+				ModelNode value = new ModelNode();
+				readValue(value);
+				node.get(name).set(value);
+			} else {
+				readValue(node.get(name));
+			}
+			char character = nextNonWhitespace();
+			position++;
+			if (character == '}') {
+				return;
+			} else if (character != ',') {
+				throw invalid("expected ',' or '}'");
+			}
+		}
+	}
+
+	private void readList(ModelNode node) {
+		node.setEmptyList();
+		position++; // [
+		if (nextNonWhitespace() == ']') {
+			position++;
+			return;
+		}
+		while (true) {
+			nextNonWhitespace();
+			readValue(node.add());
+			char character = nextNonWhitespace();
+			position++;
+			if (character == ']') {
+				return;
+			} else if (character != ',') {
+				throw invalid("expected ',' or ']'");
+			}
+		}
+	}
+
+	/**
+	 * Skips the value at the current position. Stops at the ',', '}' or ']'
+	 * that follows it.
+	 */
+	private void skipValue() {
+		int depth = 0;
+		while (true) {
+			if (position >= json.length()) {
+				throw invalid("unexpected end of content");
+			}
+			char character = json.charAt(position);
+			if (depth == 0
+					&& (character == ',' || character == '}' || character == ']')) {
+				return;
+			}
+			switch (character) {
+			case '"':
+				skipString();
+				continue;
+			case '{':
+			case '[':
+				depth++;
+				break;
+			case '}':
+			case ']':
+				depth--;
+				break;
+			default:
+				break;
+			}
+			position++;
+		}
+	}
+
+	private void skipString() {
+		for (position++; position < json.length(); position++) {
+			char character = json.charAt(position);
+			if (character == '"') {
+				position++;
+				return;
+			} else if (character == '\\') {
+				position++;
+			}
+		}
+		throw invalid("unterminated string");
+	}
+
+	private String readString() {
+		int start = ++position; // "
+		for (; position < json.length(); position++) {
+			char character = json.charAt(position);
+			if (character == '"') {
+				return json.substring(start, position++);
+			} else if (character == '\\') {
+				return readEscapedString(start);
+			}
+		}
+		throw invalid("unterminated string");
+	}
+
+	private String readEscapedString(int start) {
+		StringBuilder builder = new StringBuilder(position - start + 16);
+		builder.append(json, start, position);
+		for (; position < json.length(); position++) {
+			char character = json.charAt(position);
+			if (character == '"') {
+				position++;
+				return builder.toString();
+			} else if (character != '\\') {
+				builder.append(character);
+				continue;
+			}
+			if (++position >= json.length()) {
+				break;
+			}
+			character = json.charAt(position);
+			switch (character) {
+			case '"':
+			case '\\':
+			case '/':
+				builder.append(character);
+				break;
+			case 'b':
+				builder.append('\b');
+				break;
+			case 'f':
+				builder.append('\f');
+				break;
+			case 'n':
+				builder.append('\n');
+				break;
+			case 'r':
+				builder.append('\r');
+				break;
+			case 't':
+				builder.append('\t');
+				break;
+			case 'u':
+				if (position + 4 >= json.length()) {
+					throw invalid("incomplete unicode escape");
+				}
+				builder.append(readHex(position + 1));
+				position += 4;
+				break;
+			default:
+				throw invalid("invalid escape '\\" + character + "'");
+			}
+		}
+		throw invalid("unterminated string");
+	}
+
+	private char readHex(int start) {
+		int value = 0;
+		for (int i = start; i < start + 4; i++) {
+			int digit = Character.digit(json.charAt(i), 16);
+			if (digit < 0) {
+				throw invalid("invalid unicode escape");
+			}
+			value = (value << 4) + digit;
+		}
+		return (char) value;
+	}
+
+	private void readNumber(ModelNode node) {
+		int start = position;
+		if (json.charAt(position) == '-') {
+			position++;
+		}
+		int digitsStart = position;
+		while (position < json.length()
+				&& isDigit(json.charAt(position))) {
+			position++;
+		}
+		if (position == digitsStart) {
+			throw invalid("expected a digit");
+		}
+		boolean decimal = false;
+		if (position < json.length()
+				&& json.charAt(position) == '.') {
+			decimal = true;
+			position++;
+			while (position < json.length()
+					&& isDigit(json.charAt(position))) {
+				position++;
+			}
+		}
+		if (position < json.length()
+				&& (json.charAt(position) == 'e' || json.charAt(position) == 'E')) {
+			decimal = true;
+			position++;
+			if (position < json.length()
+					&& (json.charAt(position) == '+' || json.charAt(position) == '-')) {
+				position++;
+			}
+			while (position < json.length()
+					&& isDigit(json.charAt(position))) {
+				position++;
+			}
+		}
+		String number = json.substring(start, position);
+		try {
+			if (decimal) {
+				node.set(new BigDecimal(number));
+			} else if (position - digitsStart <= 9) {
+				// 9 digits always fit into an int
+				node.set(Integer.parseInt(number));
+			} else {
+				setInteger(number, node);
+			}
+		} catch (NumberFormatException e) {
+			throw invalid("invalid number " + number);
+		}
+	}
+
+	private void setInteger(String number, ModelNode node) {
+		BigInteger value = new BigInteger(number);
+		if (value.bitLength() < 32) {
+			node.set(value.intValue());
+		} else if (value.bitLength() < 64) {
+			node.set(value.longValue());
+		} else {
+			node.set(value);
+		}
+	}
+
+	private void readKeyword(String keyword) {
+		if (!json.startsWith(keyword, position)) {
+			throw invalid("unexpected character '" + json.charAt(position) + "'");
+		}
+		position += keyword.length();
+	}
+
+	/**
+	 * Skips whitespace and returns the next character.
+	 */
+	private char nextNonWhitespace() {
+		if (!skipWhitespace()) {
+			throw invalid("unexpected end of content");
+		}
+		return json.charAt(position);
+	}
+
+	/**
+	 * Skips whitespace and returns <code>true</code> if there's content left.
+	 */
+	private boolean skipWhitespace() {
+		for (; position < json.length(); position++) {
+			switch (json.charAt(position)) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\r':
+				break;
+			default:
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isDigit(char character) {
+		return character >= '0'
+				&& character <= '9';
+	}
+
+	private IllegalArgumentException invalid(String message) {
+		return new IllegalArgumentException("Invalid json at position " + position + ": " + message);
+	}
+}
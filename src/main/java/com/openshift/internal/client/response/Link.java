@@ -10,25 +10,13 @@
  ******************************************************************************/
 package com.openshift.internal.client.response;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.openshift.client.HttpMethod;
-import com.openshift.client.IHttpClient;
-import com.openshift.client.OpenShiftException;
 import com.openshift.client.OpenShiftRequestException;
-import com.openshift.internal.client.httpclient.EncodingException;
-import com.openshift.internal.client.httpclient.request.FormUrlEncodedMediaType;
 import com.openshift.internal.client.httpclient.request.Parameter;
-import com.openshift.internal.client.httpclient.request.ParameterValueMap;
 import com.openshift.internal.client.utils.StringUtils;
-import com.openshift.internal.client.utils.UrlUtils;
 
 /**
  * The Class Link.
@@ -37,22 +25,14 @@ import com.openshift.internal.client.utils.UrlUtils;
  */
 public class Link {
 
-	private final Pattern PATH_VAR_PATTERN = Pattern.compile(":([a-z_]+)");
-
-	/** The related resource (destination) this link points to */
-	private final String rel;
-
 	/** The url/href this link point to. */
 	private final String href;
 
-	/** The http method that this link operates on. */
-	private final HttpMethod httpMethod;
+	/** The relation, http method and parameters of this link, may be shared with other links. */
+	private final LinkSchema schema;
 
-	/** The required params of this link. */
-	private final List<LinkParameter> requiredParams;
-
-	/** The optional params of this link. */
-	private final List<LinkParameter> optionalParams;
+	/** The compiled href, looked up when this link is requested for the first time. */
+	private volatile UrlTemplate template;
 
 	public Link(final String href, final HttpMethod httpMethod) {
 		this(null, href, httpMethod);
@@ -83,11 +63,21 @@ public class Link {
 	 */
 	protected Link(final String rel, final String href, final HttpMethod httpMethod,
 			final List<LinkParameter> requiredParams, final List<LinkParameter> optionalParams) {
-		this.rel = rel;
+		this(href, new LinkSchema(rel, httpMethod, requiredParams, optionalParams));
+	}
+
+	/**
+	 * Instantiates a new Link object for the given href and the given (shared)
+	 * schema.
+	 * 
+	 * @param href
+	 *            the href the url/href this link points to
+	 * @param schema
+	 *            the relation, http method and parameters of this link
+	 */
+	protected Link(final String href, final LinkSchema schema) {
 		this.href = href;
-		this.httpMethod = httpMethod;
-		this.requiredParams = requiredParams;
-		this.optionalParams = optionalParams;
+		this.schema = schema;
 	}
 
 	/**
@@ -96,7 +86,7 @@ public class Link {
 	 * @return the rel
 	 */
 	public final String getRel() {
-		return rel;
+		return schema.getRel();
 	}
 
 	/**
@@ -109,13 +99,53 @@ public class Link {
 	}
 
 	public final String getHref(String server, String servicePath, Parameter... urlParameters) {
-		return addParameters(ensureAbsoluteUrl(href, server, servicePath), urlParameters);
+		List<Parameter> parameters = null;
+		if (urlParameters != null) {
+			parameters = Arrays.asList(urlParameters);
+		}
+		return getHref(server, servicePath, null, parameters);
 	}
 
+	/**
+	 * Returns the absolute url for this link. Variables within the href (in
+	 * the form ":var") are substituted by the given path parameters:
+	 * 
+	 * <pre>
+	 * <code>
+	 * https://openshift.redhat.com/broker/rest/domain/:domain_name/application/:name
+	 * </code>
+	 * </pre>
+	 * 
+	 * @param server
+	 *            the server to prepend to relative hrefs
+	 * @param servicePath
+	 *            the service path to prepend to relative hrefs
+	 * @param urlPathParameters
+	 *            the values for the variables within the href
+	 * @param urlParameters
+	 *            the parameters to append as query
+	 * @return the url
+	 * 
+	 * @see UrlTemplate
+	 */
 	public final String getHref(String server, String servicePath, List<Parameter> urlPathParameters,
 			List<Parameter> urlParameters) {
-		String url = substituteUrlPathParameters(href, urlPathParameters);
-		return addParameters(ensureAbsoluteUrl(url, server, servicePath), urlParameters);
+		if (href == null) {
+			return null;
+		}
+		return getTemplate().expand(server, servicePath, urlPathParameters, urlParameters);
+	}
+
+	protected UrlTemplate getTemplate() {
+		UrlTemplate template = this.template;
+		if (template == null) {
+			this.template = template = UrlTemplate.compile(href);
+		}
+		return template;
+	}
+
+	protected LinkSchema getSchema() {
+		return schema;
 	}
 
 	/**
@@ -124,7 +154,7 @@ public class Link {
 	 * @return the httpMethod
 	 */
 	public final HttpMethod getHttpMethod() {
-		return httpMethod;
+		return schema.getHttpMethod();
 	}
 
 	/**
@@ -133,7 +163,7 @@ public class Link {
 	 * @return the requiredParams
 	 */
 	public final List<LinkParameter> getRequiredParams() {
-		return requiredParams;
+		return schema.getRequiredParams();
 	}
 
 	/**
@@ -142,13 +172,13 @@ public class Link {
 	 * @return the optionalParams
 	 */
 	public final List<LinkParameter> getOptionalParams() {
-		return optionalParams;
+		return schema.getOptionalParams();
 	}
 
 	public boolean hasParameter(String name) {
-		if (getParameter(name, requiredParams) != null) {
+		if (getParameter(name, getRequiredParams()) != null) {
 			return true;
-		} else if (getParameter(name, optionalParams) != null) {
+		} else if (getParameter(name, getOptionalParams()) != null) {
 			return true;
 		}
 		return false;
@@ -220,104 +250,10 @@ public class Link {
 				&& StringUtils.isEmpty((String) parameterValue);
 	}
 
-	private String ensureAbsoluteUrl(String href, String server, String servicePath) {
-		if (StringUtils.isEmpty(href)
-				|| href.startsWith(IHttpClient.HTTP)) {
-			return href;
-		}
-
-		if (StringUtils.isEmpty(servicePath)
-				|| href.startsWith(servicePath)) {
-			return StringUtils.prependIfNonEmpty(server, href);
-		}
-
-		if (!href.startsWith(servicePath)) {
-			href = UrlUtils.appendPath(servicePath, href);
-		}
-		return StringUtils.prependIfNonEmpty(server, href);
-	}
-
-	private String addParameters(String url, Parameter... urlParameters) {
-		if (urlParameters == null
-				|| urlParameters.length == 0) {
-			return url;
-		}
-		return addParameters(url, Arrays.asList(urlParameters));
-	}
-
-	private String addParameters(String url, List<Parameter> urlParameters) {
-		if (urlParameters == null
-				|| urlParameters.size() == 0) {
-			return url;
-		}
-		try {
-			ByteArrayOutputStream out = new ByteArrayOutputStream();
-			out.write(url.getBytes());
-			out.write(IHttpClient.QUESTION_MARK);
-			new FormUrlEncodedMediaType().writeTo(new ParameterValueMap(urlParameters), out);
-			return out.toString();
-		} catch (IOException e) {
-			throw new OpenShiftException(e, "Could not add parameters {0} to url {1}", urlParameters, url);
-		} catch (EncodingException e) {
-			throw new OpenShiftException(e, "Could not add parameters {0} to url {1}", urlParameters, url);
-		}
-	}
-
-	/**
-	 * Replaces variables within the url in the form (":var"):
-	 * 
-	 * <pre>
-	 * <code>
-	 * https://openshift.redhat.com/broker/rest/domain/:domain_name/application/:name
-	 * </code>
-	 * </pre>
-	 * 
-	 * @param href the href (link) that contains the variables that shall get substituted 
-	 * @param urlPathParameters the list of parameters that shall contain the substitution values 
-	 * @return
-	 */
-	private String substituteUrlPathParameters(String href, List<Parameter> urlPathParameters) {
-		if (urlPathParameters == null
-				|| urlPathParameters.size() == 0) {
-			return href;
-		}
-		return substituteVariables(href, urlPathParameters);
-	}
-
-	private String substituteVariables(String url, List<Parameter> parameters) {
-		if (StringUtils.isEmpty(url)) {
-			return url;
-		}
-		
-		StringBuffer buffer = new StringBuffer();
-		Map<String, Parameter> parameterByName = toMap(parameters);
-		Matcher matcher = PATH_VAR_PATTERN.matcher(url);
-		while (matcher.find()) {
-			String name = matcher.group(1);
-			if (!StringUtils.isEmpty(name)) {
-				Parameter parameter = parameterByName.get(name);
-				if (parameter != null) {
-					matcher.appendReplacement(buffer, String.valueOf(parameter.getValue().getValue()));
-				}
-			}
-		}
-		matcher.appendTail(buffer);
-		
-		return buffer.toString();
-	}
-
-	private Map<String, Parameter> toMap(List<Parameter> parameters) {
-		HashMap<String, Parameter> parameterByName = new HashMap<String, Parameter>();
-		for (Parameter parameter : parameters) {
-			parameterByName.put(parameter.getName(), parameter);
-		}
-		return parameterByName;
-	}
-
 	public String toString() {
 		return "Link [" +
-				"rel=" + rel + ", "
-				+ "httpMethod=" + httpMethod + ", "
+				"rel=" + getRel() + ", "
+				+ "httpMethod=" + getHttpMethod() + ", "
 				+ "href=" + href
 				+ "]";
 	}
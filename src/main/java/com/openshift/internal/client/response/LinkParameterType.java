@@ -29,6 +29,10 @@ public class LinkParameterType {
 		this.type = type;
 	}
 
+	public String getValue() {
+		return type;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
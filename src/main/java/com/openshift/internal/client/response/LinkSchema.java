@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.openshift.client.HttpMethod;
+
+/**
+ * The part of a link that does not depend on the resource it belongs to: the
+ * relation, the http method and the required and optional parameters. A
+ * schema is immutable and may therefore be shared by the links of all
+ * resources of the same kind (ex. the "START" links of all applications),
+ * which only differ in their href.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see Link
+ */
+public class LinkSchema {
+
+	private final String rel;
+	private final HttpMethod httpMethod;
+	private final List<LinkParameter> requiredParams;
+	private final List<LinkParameter> optionalParams;
+
+	public LinkSchema(final String rel, final HttpMethod httpMethod,
+			final List<LinkParameter> requiredParams, final List<LinkParameter> optionalParams) {
+		this.rel = rel;
+		this.httpMethod = httpMethod;
+		this.requiredParams = unmodifiable(requiredParams);
+		this.optionalParams = unmodifiable(optionalParams);
+	}
+
+	private List<LinkParameter> unmodifiable(List<LinkParameter> parameters) {
+		if (parameters == null) {
+			return null;
+		}
+		return Collections.unmodifiableList(parameters);
+	}
+
+	public final String getRel() {
+		return rel;
+	}
+
+	public final HttpMethod getHttpMethod() {
+		return httpMethod;
+	}
+
+	public final List<LinkParameter> getRequiredParams() {
+		return requiredParams;
+	}
+
+	public final List<LinkParameter> getOptionalParams() {
+		return optionalParams;
+	}
+
+	@Override
+	public String toString() {
+		return "LinkSchema [" +
+				"rel=" + rel + ", "
+				+ "httpMethod=" + httpMethod
+				+ "]";
+	}
+}
@@ -45,6 +45,10 @@ public class NamedCartridgeSpec implements ICartridgeQuery {
 		return this.cartridge.equals(cartridge);
 	}
 
+	ICartridge getCartridge() {
+		return cartridge;
+	}
+
 	@Override
 	public String toString() {
 		return "NamedCartridgeSpec [cartridge=" + cartridge + "]";
@@ -41,6 +41,7 @@ import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPER
 import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPERTY_PROPERTIES;
 import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPERTY_REL;
 import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPERTY_REQUIRED_PARAMS;
+import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPERTY_REQUIRES;
 import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPERTY_SCALABLE;
 import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPERTY_SCOPES;
 import static com.openshift.internal.client.utils.IOpenShiftJsonConstants.PROPERTY_SSH_URL;
@@ -56,10 +57,13 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -88,6 +92,22 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 
 	private final Logger LOGGER = LoggerFactory.getLogger(OpenShiftJsonDTOFactory.class);
 
+	private static final int MAX_LINK_SCHEMAS = 256;
+
+	/**
+	 * The link schemas by rel and method. Links of resources of the same kind
+	 * only differ in their href and share a schema.
+	 */
+	private final ConcurrentMap<String, SharedLinkSchema> linkSchemas =
+			new ConcurrentHashMap<String, SharedLinkSchema>();
+
+	/**
+	 * Values that repeat for each application, cartridge or gear (names,
+	 * profiles, states, etc.). DTOs share a single instance of each.
+	 */
+	private final Interner<String> strings = new Interner<String>();
+	private final Interner<GearProfile> gearProfiles = new Interner<GearProfile>(64);
+
 	@Override
 	protected Object createData(EnumDataType dataType, Messages messages, ModelNode dataNode) {
 		switch (dataType) {
@@ -266,13 +286,67 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 		if(!HttpMethod.hasValue(method)){
 			return null;
 		}
-		final String rel = getAsString(valueNode, PROPERTY_REL);
 		final String href = valueNode.get(PROPERTY_HREF).asString();
-		final List<LinkParameter> requiredParams =
-				createLinkParameters(valueNode.get(PROPERTY_REQUIRED_PARAMS));
-		final List<LinkParameter> optionalParams =
-				createLinkParameters(valueNode.get(PROPERTY_OPTIONAL_PARAMS));
-		return new Link(rel, href, method, requiredParams, optionalParams);
+		return new Link(href, getLinkSchema(method, valueNode));
+	}
+
+	/**
+	 * Returns the schema for the given link node. Schemas are looked up by rel
+	 * and method and shared among all links that also have the same
+	 * parameters. A link whose parameters differ (ex. other valid options)
+	 * gets a schema of its own.
+	 * 
+	 * @param method
+	 *            the http method of the link
+	 * @param valueNode
+	 *            the link node
+	 * @return the (shared) link schema
+	 */
+	private LinkSchema getLinkSchema(final String method, final ModelNode valueNode) {
+		String rel = getAsString(valueNode, PROPERTY_REL);
+		ModelNode requiredParams = valueNode.get(PROPERTY_REQUIRED_PARAMS);
+		ModelNode optionalParams = valueNode.get(PROPERTY_OPTIONAL_PARAMS);
+		String key = rel + ' ' + method;
+		SharedLinkSchema shared = linkSchemas.get(key);
+		if (shared != null
+				&& shared.matches(requiredParams, optionalParams)) {
+			return shared.schema;
+		}
+		boolean share = shared == null
+				&& linkSchemas.size() < MAX_LINK_SCHEMAS;
+		// copy the parameters before parsing them, parsing adds undefined nodes
+		ModelNode requiredParamsCopy = share ? requiredParams.clone() : null;
+		ModelNode optionalParamsCopy = share ? optionalParams.clone() : null;
+		LinkSchema schema = new LinkSchema(
+				rel,
+				HttpMethod.valueOf(method),
+				createLinkParameters(requiredParams),
+				createLinkParameters(optionalParams));
+		if (share) {
+			linkSchemas.putIfAbsent(key, new SharedLinkSchema(schema, requiredParamsCopy, optionalParamsCopy));
+		}
+		return schema;
+	}
+
+	/**
+	 * A link schema and the parameters it was created from.
+	 */
+	private static class SharedLinkSchema {
+
+		private final LinkSchema schema;
+		private final ModelNode requiredParams;
+		private final ModelNode optionalParams;
+
+		private SharedLinkSchema(LinkSchema schema, ModelNode requiredParams, ModelNode optionalParams) {
+			this.schema = schema;
+			this.requiredParams = requiredParams;
+			this.optionalParams = optionalParams;
+		}
+
+		private boolean matches(ModelNode requiredParams, ModelNode optionalParams) {
+			return this.requiredParams.equals(requiredParams)
+					&& this.optionalParams.equals(optionalParams);
+		}
 	}
 
 	/**
@@ -315,7 +389,7 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 			return null;
 		}
 		final String namespace = getAsString(domainNode, PROPERTY_ID);
-		final String suffix = getAsString(domainNode, PROPERTY_SUFFIX);
+		final String suffix = getAsInternedString(domainNode, PROPERTY_SUFFIX);
 		final Map<String, Link> links = createLinks(domainNode.get(PROPERTY_LINKS));
 		return new DomainResourceDTO(namespace, suffix, links, messages);
 	}
@@ -353,7 +427,7 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 		if (!appNode.isDefined()) {
 			return null;
 		}
-		final String framework = getAsString(appNode, PROPERTY_FRAMEWORK);
+		final String framework = getAsInternedString(appNode, PROPERTY_FRAMEWORK);
 		final String creationTime = getAsString(appNode, PROPERTY_CREATION_TIME);
 		final String name = getAsString(appNode, PROPERTY_NAME);
 		final String uuid = getAsString(appNode, PROPERTY_UUID);
@@ -363,8 +437,8 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 		final String sshUrl = getAsString(appNode, PROPERTY_SSH_URL);
 		final String gitUrl = getAsString(appNode, PROPERTY_GIT_URL);
 		final String initialGitUrl = getAsString(appNode, PROPERTY_INITIAL_GIT_URL);
-		final String deploymentType = getAsString(appNode, PROPERTY_DEPLOYMENT_TYPE);
-		final String domainId = getAsString(appNode, PROPERTY_DOMAIN_ID);
+		final String deploymentType = getAsInternedString(appNode, PROPERTY_DEPLOYMENT_TYPE);
+		final String domainId = getAsInternedString(appNode, PROPERTY_DOMAIN_ID);
 		final Map<String, Link> links = createLinks(appNode.get(PROPERTY_LINKS));
 		final List<String> aliases = createAliases(appNode.get(PROPERTY_ALIASES));
 		final Map<String, CartridgeResourceDTO> cartridges = createCartridges(appNode.get(PROPERTY_CARTRIDGES));
@@ -389,11 +463,11 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 	}
 
 	private GearProfile createGearProfile(ModelNode appNode) {
-		String gearProfileName = getAsString(appNode, PROPERTY_GEAR_PROFILE);
+		String gearProfileName = getAsInternedString(appNode, PROPERTY_GEAR_PROFILE);
 		if (gearProfileName == null) {
 			return null;
 		}
-		return new GearProfile(gearProfileName);
+		return gearProfiles.intern(new GearProfile(gearProfileName));
 	}
 
 	private Collection<GearGroupResourceDTO> createGearGroups(ModelNode dataNode) {
@@ -413,7 +487,7 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 			return null;
 		}
 		final String uuid = getAsString(gearGroupNode, PROPERTY_UUID);
-		final String name = getAsString(gearGroupNode, PROPERTY_NAME);
+		final String name = getAsInternedString(gearGroupNode, PROPERTY_NAME);
 		final int additionalStorage = getAsInteger(gearGroupNode, PROPERTY_ADDITIONAL_GEAR_STORAGE);
 		final Collection<GearResourceDTO> gears = createGears(gearGroupNode.get(PROPERTY_GEARS));
 		final Map<String, CartridgeResourceDTO> cartridges = createCartridges(gearGroupNode.get(PROPERTY_CARTRIDGES));
@@ -421,12 +495,13 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 	}
 
 	private Collection<GearResourceDTO> createGears(ModelNode gearsNode) {
-		List<GearResourceDTO> gears = new ArrayList<GearResourceDTO>();
-		for (ModelNode gearNode : gearsNode.asList()) {
+		List<ModelNode> gearNodes = gearsNode.asList();
+		List<GearResourceDTO> gears = new ArrayList<GearResourceDTO>(gearNodes.size());
+		for (ModelNode gearNode : gearNodes) {
 			gears.add(
 					new GearResourceDTO(
 							getAsString(gearNode, PROPERTY_ID),
-							getAsString(gearNode, PROPERTY_GEAR_STATE),
+							getAsInternedString(gearNode, PROPERTY_GEAR_STATE),
 							getAsString(gearNode, PROPERTY_SSH_URL)));
 		}
 		return gears;
@@ -463,15 +538,16 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 	 */
 	private CartridgeResourceDTO createCartridge(ModelNode cartridgeNode, Messages messages)
 			throws OpenShiftException {
-		final String name = getAsString(cartridgeNode, PROPERTY_NAME);
-		final String displayName = getAsString(cartridgeNode, PROPERTY_DISPLAY_NAME);
-		final String description = getAsString(cartridgeNode, PROPERTY_DESCRIPTION);
+		final String name = getAsInternedString(cartridgeNode, PROPERTY_NAME);
+		final String displayName = getAsInternedString(cartridgeNode, PROPERTY_DISPLAY_NAME);
+		final String description = getAsInternedString(cartridgeNode, PROPERTY_DESCRIPTION);
 		final String type = getAsString(cartridgeNode, PROPERTY_TYPE);
 		final URL url = createUrl(getAsString(cartridgeNode, PROPERTY_URL), name);
 		final boolean obsolete = getAsBoolean(cartridgeNode, PROPERTY_OBSOLETE);
 		final CartridgeResourceProperties properties = createProperties(cartridgeNode.get(PROPERTY_PROPERTIES));
+		final List<String> requires = createRequires(cartridgeNode.get(PROPERTY_REQUIRES));
 		final Map<String, Link> links = createLinks(cartridgeNode.get(PROPERTY_LINKS));
-		return new CartridgeResourceDTO(name, displayName, description, type, url, obsolete, properties, links, messages);
+		return new CartridgeResourceDTO(name, displayName, description, type, url, obsolete, properties, requires, links, messages);
 	}
 
 	private URL createUrl(String url, String name) {
@@ -486,6 +562,22 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 		}
 	}
 
+	/**
+	 * Returns the names of the cartridges that a cartridge requires. Brokers
+	 * that don't publish them return no requires, an empty list is returned
+	 * then.
+	 * 
+	 * @param requiresNode
+	 *            the requires node
+	 * @return the names of the required cartridges
+	 */
+	private List<String> createRequires(ModelNode requiresNode) {
+		if (!requiresNode.isDefined()) {
+			return Collections.emptyList();
+		}
+		return createAliases(requiresNode);
+	}
+
 	/**
 	 * Creates a new ResourceDTO object.
 	 * 
@@ -608,13 +700,17 @@ public class OpenShiftJsonDTOFactory extends AbstractJsonDTOFactory {
 	}
 
 	private CartridgeResourceProperty createProperty(ModelNode propertyNode) {
-		String name = getAsString(propertyNode, IOpenShiftJsonConstants.PROPERTY_NAME);
-		String description = getAsString(propertyNode, IOpenShiftJsonConstants.PROPERTY_DESCRIPTION);
-		String type = getAsString(propertyNode, IOpenShiftJsonConstants.PROPERTY_TYPE);
+		String name = getAsInternedString(propertyNode, IOpenShiftJsonConstants.PROPERTY_NAME);
+		String description = getAsInternedString(propertyNode, IOpenShiftJsonConstants.PROPERTY_DESCRIPTION);
+		String type = getAsInternedString(propertyNode, IOpenShiftJsonConstants.PROPERTY_TYPE);
 		String value = getAsString(propertyNode, IOpenShiftJsonConstants.PROPERTY_VALUE);
 		return new CartridgeResourceProperty(name, type, description, value);
 	}
 
+	private String getAsInternedString(ModelNode node, String propertyName) {
+		return strings.intern(getAsString(node, propertyName));
+	}
+
 	private List<EnvironmentVariableResourceDTO> createEnvironmentVariables(ModelNode dataNode)
 			throws OpenShiftException {
 		final List<EnvironmentVariableResourceDTO> environmentVariables = new ArrayList<EnvironmentVariableResourceDTO>();
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+
+import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
+
+/**
+ * The parts of a response that a request needs. The parts that are not needed
+ * are skipped when the response is read, no nodes or DTOs are created for
+ * them. Links are part of the data and cannot be left out on their own:
+ * resources need them for their subsequent requests.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see IRestResponseFactory#get(String, ResponseProjection)
+ */
+public enum ResponseProjection {
+
+	/** the status and type of the response, messages and data are skipped */
+	STATUS(IOpenShiftJsonConstants.PROPERTY_MESSAGES, IOpenShiftJsonConstants.PROPERTY_DATA),
+	/** the status, type and messages of the response, data is skipped */
+	MESSAGES(IOpenShiftJsonConstants.PROPERTY_DATA),
+	/** the complete response */
+	DATA;
+
+	private final Collection<String> skippedProperties;
+
+	private ResponseProjection(String... skippedProperties) {
+		this.skippedProperties =
+				Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(skippedProperties)));
+	}
+
+	/**
+	 * Returns the properties of the response that are skipped.
+	 *
+	 * @return the skipped properties
+	 */
+	Collection<String> getSkippedProperties() {
+		return skippedProperties;
+	}
+}
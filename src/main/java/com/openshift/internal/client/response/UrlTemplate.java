@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.openshift.client.IHttpClient;
+import com.openshift.client.OpenShiftException;
+import com.openshift.internal.client.httpclient.EncodingException;
+import com.openshift.internal.client.httpclient.request.FormUrlEncodedMediaType;
+import com.openshift.internal.client.httpclient.request.Parameter;
+import com.openshift.internal.client.httpclient.request.ParameterValue;
+import com.openshift.internal.client.httpclient.request.ParameterValueMap;
+import com.openshift.internal.client.utils.StringUtils;
+
+/**
+ * An immutable, precompiled form of a link href. The href is split once into
+ * its static segments and the variables (in the form ":var") in between them:
+ *
+ * <pre>
+ * <code>
+ * /broker/rest/domain/:domain_name/application/:name
+ * </code>
+ * </pre>
+ *
+ * Expanding a template writes the server, service path, static segments,
+ * variable values and query parameters to a single buffer. Variable values are
+ * inserted as they are, they are not encoded. Templates are shared by href:
+ * links with the same href (ex. the ones of a resource that was refreshed) use
+ * the same template.
+ *
+ * @author Andre Dietisheim
+ */
+public final class UrlTemplate {
+
+	private static final Pattern PATH_VAR_PATTERN = Pattern.compile(":([a-z_]+)");
+
+	private static final int MAX_SHARED_TEMPLATES = 1024;
+
+	/** The shared templates by href. */
+	private static final ConcurrentMap<String, UrlTemplate> templates =
+			new ConcurrentHashMap<String, UrlTemplate>();
+
+	private final String href;
+	/** the static segments, segments[i] precedes variables[i] */
+	private final String[] segments;
+	private final String[] variables;
+	private final boolean absolute;
+
+	/**
+	 * Returns the template for the given href. Templates are shared by href,
+	 * once {@link #MAX_SHARED_TEMPLATES} hrefs are shared any further href is
+	 * compiled on each call.
+	 *
+	 * @param href
+	 *            the href to compile
+	 * @return the (shared) template for the given href
+	 */
+	public static UrlTemplate compile(String href) {
+		if (href == null) {
+			throw new IllegalArgumentException("href is null");
+		}
+		UrlTemplate template = templates.get(href);
+		if (template != null) {
+			return template;
+		}
+		template = new UrlTemplate(href);
+		if (templates.size() < MAX_SHARED_TEMPLATES) {
+			UrlTemplate shared = templates.putIfAbsent(href, template);
+			if (shared != null) {
+				return shared;
+			}
+		}
+		return template;
+	}
+
+	private UrlTemplate(String href) {
+		this.href = href;
+		this.absolute = href.startsWith(IHttpClient.HTTP);
+		List<String> segments = new ArrayList<String>();
+		List<String> variables = new ArrayList<String>();
+		Matcher matcher = PATH_VAR_PATTERN.matcher(href);
+		int start = 0;
+		while (matcher.find()) {
+			segments.add(href.substring(start, matcher.start()));
+			variables.add(matcher.group(1));
+			start = matcher.end();
+		}
+		segments.add(href.substring(start));
+		this.segments = segments.toArray(new String[segments.size()]);
+		this.variables = variables.toArray(new String[variables.size()]);
+	}
+
+	public String getHref() {
+		return href;
+	}
+
+	public int getVariableCount() {
+		return variables.length;
+	}
+
+	/**
+	 * Returns the absolute url for this template. Variables are substituted
+	 * by the matching path parameters, variables with no matching parameter
+	 * are left untouched. The url parameters are appended as query.
+	 *
+	 * @param server
+	 *            the server to prepend if the href is not absolute
+	 * @param servicePath
+	 *            the service path to prepend if the href does not hold it
+	 * @param urlPathParameters
+	 *            the values for the variables in the href, may be null
+	 * @param urlParameters
+	 *            the query parameters, may be null
+	 * @return the url
+	 */
+	public String expand(String server, String servicePath, List<Parameter> urlPathParameters,
+			List<Parameter> urlParameters) {
+		if (StringUtils.isEmpty(href)
+				&& (urlParameters == null || urlParameters.isEmpty())) {
+			return href;
+		}
+		StringBuilder builder = new StringBuilder(
+				length(server) + length(servicePath) + href.length() + 16 * variables.length);
+		int skip = appendBase(server, servicePath, builder);
+		for (int i = 0; i < variables.length; i++) {
+			appendSegment(segments[i], i == 0 ? skip : 0, builder);
+			appendVariable(variables[i], urlPathParameters, builder);
+		}
+		appendSegment(segments[variables.length], variables.length == 0 ? skip : 0, builder);
+		appendQuery(urlParameters, builder);
+		return builder.toString();
+	}
+
+	/**
+	 * Appends server and service path if the href is not absolute yet.
+	 * Returns the number of leading characters of the href that shall be
+	 * skipped so that the service path and the href are joined with a
+	 * single slash.
+	 */
+	private int appendBase(String server, String servicePath, StringBuilder builder) {
+		if (absolute
+				|| StringUtils.isEmpty(href)) {
+			return 0;
+		}
+		if (!StringUtils.isEmpty(server)) {
+			builder.append(server);
+		}
+		if (StringUtils.isEmpty(servicePath)
+				|| href.startsWith(servicePath)) {
+			return 0;
+		}
+		builder.append(servicePath);
+		boolean parentSlash = servicePath.charAt(servicePath.length() - 1) == '/';
+		boolean childSlash = href.charAt(0) == '/';
+		if (parentSlash && childSlash) {
+			return 1;
+		} else if (!parentSlash && !childSlash) {
+			builder.append('/');
+		}
+		return 0;
+	}
+
+	private void appendSegment(String segment, int skip, StringBuilder builder) {
+		if (skip >= segment.length()) {
+			return;
+		}
+		builder.append(segment, skip, segment.length());
+	}
+
+	private void appendVariable(String name, List<Parameter> urlPathParameters, StringBuilder builder) {
+		Parameter parameter = getParameter(name, urlPathParameters);
+		if (parameter == null) {
+			builder.append(':').append(name);
+			return;
+		}
+		ParameterValue<?> value = parameter.getValue();
+		builder.append(String.valueOf(value == null ? null : value.getValue()));
+	}
+
+	private Parameter getParameter(String name, List<Parameter> parameters) {
+		if (parameters == null) {
+			return null;
+		}
+		for (Parameter parameter : parameters) {
+			if (name.equals(parameter.getName())) {
+				return parameter;
+			}
+		}
+		return null;
+	}
+
+	private void appendQuery(List<Parameter> urlParameters, StringBuilder builder) {
+		if (urlParameters == null
+				|| urlParameters.isEmpty()) {
+			return;
+		}
+		builder.append(IHttpClient.QUESTION_MARK);
+		try {
+			new FormUrlEncodedMediaType().writeTo(new ParameterValueMap(urlParameters), builder);
+		} catch (EncodingException e) {
+			throw new OpenShiftException(e, "Could not add parameters {0} to url {1}", urlParameters, href);
+		}
+	}
+
+	private static int length(String string) {
+		if (string == null) {
+			return 0;
+		}
+		return string.length();
+	}
+
+	@Override
+	public String toString() {
+		return "UrlTemplate [href=" + href + "]";
+	}
+}
@@ -35,9 +35,15 @@ public class ApplicationPortForwarding implements IApplicationPortForwarding {
 	/** the local binding address, or null if not configured yet. */
 	private String localAddress;
 
-	/** the local binding port number, or null if not configured yet. */
+	/**
+	 * the local binding port number, -1 if not configured yet, 0 to bind to
+	 * any free port.
+	 */
 	private int localPort = -1;
 
+	/** the error that the last start or stop failed with */
+	private OpenShiftSSHOperationException error;
+
 	public ApplicationPortForwarding(final IApplication application, final String name, final String remoteAddress,
 			final int remotePort) {
 		super();
@@ -57,9 +63,12 @@ public class ApplicationPortForwarding implements IApplicationPortForwarding {
 		// don't start it twice
 		if (!isStarted(session)) {
 			try {
-				session.setPortForwardingL(localAddress, this.localPort, this.remoteAddress, this.remotePort);
+				// jsch binds to a free port and returns it if the local port is 0
+				this.localPort =
+						session.setPortForwardingL(localAddress, this.localPort, this.remoteAddress, this.remotePort);
+				this.error = null;
 			} catch (Exception e) {
-				throw new OpenShiftSSHOperationException(e, "Failed to start port forwarding on {0}:{1}",
+				throw this.error = new OpenShiftSSHOperationException(e, "Failed to start port forwarding on {0}:{1}",
 						this.localAddress, this.localPort);
 			}
 		}
@@ -69,8 +78,9 @@ public class ApplicationPortForwarding implements IApplicationPortForwarding {
 		if (isStarted(session)) {
 			try {
 				session.delPortForwardingL(localAddress, localPort);
+				this.error = null;
 			} catch (Exception e) {
-				throw new OpenShiftSSHOperationException(e, "Failed to stop port forwarding on {0}:{1}",
+				throw this.error = new OpenShiftSSHOperationException(e, "Failed to stop port forwarding on {0}:{1}",
 						this.localAddress, this.localPort);
 			}
 		}
@@ -118,6 +128,14 @@ public class ApplicationPortForwarding implements IApplicationPortForwarding {
 		this.localPort = localPort;
 	}
 
+	/**
+	 * @return the error that starting or stopping this port forwarding failed
+	 *         with the last time, null if it succeeded or was never run
+	 */
+	public final OpenShiftSSHOperationException getError() {
+		return error;
+	}
+
 	public final String getRemoteAddress() {
 		return remoteAddress;
 	}
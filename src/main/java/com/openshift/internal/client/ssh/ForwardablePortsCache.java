@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.ssh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.openshift.client.IApplication;
+import com.openshift.client.IApplicationPortForwarding;
+import com.openshift.client.OpenShiftException;
+
+/**
+ * The forwardable ports of applications, by application uuid. Looking up the
+ * ports of an application runs "rhc-list-ports" via ssh which takes seconds,
+ * this cache keeps the port definitions (name, remote address and port) so
+ * that later sessions to the same application don't have to look them up
+ * again. The definitions may optionally be kept on disk in a snapshot so that
+ * they survive restarts.
+ * <p>
+ * Cached definitions are returned right away. Definitions that are older than
+ * the revalidation interval are looked up again in the background while the
+ * cached ones are used. Definitions are discarded when the cartridges or the
+ * gears of an application change.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see ForwardablePortsSnapshot
+ */
+public class ForwardablePortsCache {
+
+	/** a minute */
+	public static final long DEFAULT_REVALIDATE_AFTER = 60 * 1000;
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ForwardablePortsCache.class);
+
+	/**
+	 * Looks up the forwardable ports of an application.
+	 */
+	public interface IPortsLoader {
+
+		public List<IApplicationPortForwarding> load() throws OpenShiftException;
+	}
+
+	private final Map<String, Entry> entries;
+	private final ForwardablePortsSnapshot snapshot;
+	private final ExecutorService executor;
+	private final long revalidateAfter;
+	private final Set<String> revalidating = new HashSet<String>();
+	private boolean snapshotRead;
+	/** incremented on each invalidation, revalidations that overlap one are dropped */
+	private long invalidations;
+
+	public ForwardablePortsCache(ExecutorService executor) {
+		this(null, executor, DEFAULT_REVALIDATE_AFTER);
+	}
+
+	/**
+	 * Creates a cache that keeps its definitions in the given snapshot (if
+	 * any) and revalidates them with the given executor.
+	 *
+	 * @param snapshot
+	 *            the snapshot to store the definitions in, may be null
+	 * @param executor
+	 *            the executor to revalidate with
+	 * @param revalidateAfter
+	 *            the age in milliseconds after which definitions are looked
+	 *            up again
+	 */
+	public ForwardablePortsCache(ForwardablePortsSnapshot snapshot, ExecutorService executor, long revalidateAfter) {
+		this.snapshot = snapshot;
+		this.executor = executor;
+		this.revalidateAfter = revalidateAfter;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ForwardablePortsCache.Entry> eldest) {
+				return size() > DEFAULT_MAX_SIZE;
+			}
+		};
+	}
+
+	/**
+	 * Returns the forwardable ports of the given application. Returns the
+	 * cached ones if there are any, uses the given loader to look them up
+	 * otherwise. Each call returns new port forwardings, the cached
+	 * definitions are not bound to any local address or port.
+	 *
+	 * @param application
+	 *            the application to get the ports for
+	 * @param loader
+	 *            the loader to look up the ports with
+	 * @return the forwardable ports
+	 * @throws OpenShiftException
+	 *             if the ports had to be looked up and this failed
+	 */
+	public List<IApplicationPortForwarding> getPorts(IApplication application, IPortsLoader loader)
+			throws OpenShiftException {
+		String uuid = application.getUUID();
+		if (uuid == null) {
+			return loader.load();
+		}
+		Entry entry = get(uuid);
+		if (entry == null) {
+			return load(uuid, loader);
+		}
+		if (System.currentTimeMillis() - entry.timestamp > revalidateAfter) {
+			revalidate(uuid, loader);
+		}
+		return entry.createPorts(application);
+	}
+
+	/**
+	 * Looks up the forwardable ports of the given application with the given
+	 * loader and replaces the cached ones.
+	 *
+	 * @return the forwardable ports
+	 */
+	public List<IApplicationPortForwarding> load(IApplication application, IPortsLoader loader)
+			throws OpenShiftException {
+		String uuid = application.getUUID();
+		if (uuid == null) {
+			return loader.load();
+		}
+		return load(uuid, loader);
+	}
+
+	private List<IApplicationPortForwarding> load(String uuid, IPortsLoader loader) {
+		long invalidations = getInvalidations();
+		List<IApplicationPortForwarding> ports = loader.load();
+		put(uuid, Entry.create(ports), invalidations);
+		return ports;
+	}
+
+	private void revalidate(final String uuid, final IPortsLoader loader) {
+		synchronized (this) {
+			if (executor == null
+					|| !revalidating.add(uuid)) {
+				return;
+			}
+		}
+		try {
+			executor.submit(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						load(uuid, loader);
+					} catch (RuntimeException e) {
+						// keep the cached ports, they're most likely still valid
+						LOGGER.debug("Could not revalidate the ports of application {}: {}", uuid, e.getMessage());
+					} finally {
+						synchronized (ForwardablePortsCache.this) {
+							revalidating.remove(uuid);
+						}
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			synchronized (this) {
+				revalidating.remove(uuid);
+			}
+		}
+	}
+
+	/**
+	 * Discards the ports of the application with the given uuid.
+	 *
+	 * @param uuid
+	 *            the uuid of the application
+	 */
+	public synchronized void invalidate(String uuid) {
+		if (uuid == null) {
+			return;
+		}
+		invalidations++;
+		readSnapshot();
+		if (entries.remove(uuid) != null) {
+			writeSnapshot();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if there are ports for the application with
+	 * the given uuid.
+	 */
+	public synchronized boolean contains(String uuid) {
+		return get(uuid) != null;
+	}
+
+	private synchronized Entry get(String uuid) {
+		readSnapshot();
+		return entries.get(uuid);
+	}
+
+	private synchronized long getInvalidations() {
+		return invalidations;
+	}
+
+	private synchronized void put(String uuid, Entry entry, long invalidations) {
+		if (invalidations != this.invalidations) {
+			// the application changed while its ports were looked up
+			return;
+		}
+		readSnapshot();
+		entries.put(uuid, entry);
+		writeSnapshot();
+	}
+
+	private void readSnapshot() {
+		if (snapshotRead) {
+			return;
+		}
+		this.snapshotRead = true;
+		if (snapshot == null) {
+			return;
+		}
+		Map<String, Entry> stored = snapshot.getEntries();
+		if (stored != null) {
+			entries.putAll(stored);
+		}
+	}
+
+	private void writeSnapshot() {
+		if (snapshot == null) {
+			return;
+		}
+		snapshot.setEntries(entries);
+	}
+
+	/**
+	 * The port definitions of an application and the time they were looked
+	 * up.
+	 */
+	static class Entry {
+
+		final long timestamp;
+		final List<Port> ports;
+
+		Entry(long timestamp, List<Port> ports) {
+			this.timestamp = timestamp;
+			this.ports = Collections.unmodifiableList(ports);
+		}
+
+		private static Entry create(List<IApplicationPortForwarding> ports) {
+			List<Port> definitions = new ArrayList<Port>(ports.size());
+			for (IApplicationPortForwarding port : ports) {
+				definitions.add(new Port(port.getName(), port.getRemoteAddress(), port.getRemotePort()));
+			}
+			return new Entry(System.currentTimeMillis(), definitions);
+		}
+
+		private List<IApplicationPortForwarding> createPorts(IApplication application) {
+			List<IApplicationPortForwarding> forwardings = new ArrayList<IApplicationPortForwarding>(ports.size());
+			for (Port port : ports) {
+				forwardings.add(new ApplicationPortForwarding(application, port.name, port.remoteAddress, port.remotePort));
+			}
+			return forwardings;
+		}
+	}
+
+	static class Port {
+
+		final String name;
+		final String remoteAddress;
+		final int remotePort;
+
+		Port(String name, String remoteAddress, int remotePort) {
+			this.name = name;
+			this.remoteAddress = remoteAddress;
+			this.remotePort = remotePort;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.ssh;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.openshift.internal.client.response.AbstractSnapshot;
+
+/**
+ * A local snapshot of the forwardable ports of applications, by application
+ * uuid. Each application's ports are stored with the time that they were
+ * looked up, the cache that uses this snapshot decides whether they're still
+ * valid.
+ *
+ * @author Andre Dietisheim
+ *
+ * @see ForwardablePortsCache
+ * @see AbstractSnapshot
+ */
+public class ForwardablePortsSnapshot extends AbstractSnapshot<Map<String, ForwardablePortsCache.Entry>> {
+
+	private static final int MAGIC = 0x4f534650; // "OSFP"
+	private static final short FORMAT_VERSION = 1;
+
+	/**
+	 * Creates a snapshot for the given server within the given directory. The
+	 * name of the snapshot file is derived from the server url.
+	 *
+	 * @param directory
+	 *            the directory that the snapshot file is in
+	 * @param server
+	 *            the server url
+	 */
+	public ForwardablePortsSnapshot(File directory, String server) {
+		super(new File(directory, getFileName(server)), server, MAGIC, FORMAT_VERSION);
+	}
+
+	private static String getFileName(String server) {
+		// the server is written to the file and verified when it's read
+		return "ports-" + Integer.toHexString(server.hashCode()) + ".snapshot";
+	}
+
+	synchronized Map<String, ForwardablePortsCache.Entry> getEntries() {
+		return read();
+	}
+
+	synchronized void setEntries(Map<String, ForwardablePortsCache.Entry> entries) {
+		write(entries);
+	}
+
+	/**
+	 * Deletes the snapshot file.
+	 */
+	public synchronized void invalidate() {
+		delete();
+	}
+
+	@Override
+	protected Map<String, ForwardablePortsCache.Entry> readContent(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		Map<String, ForwardablePortsCache.Entry> entries = new LinkedHashMap<String, ForwardablePortsCache.Entry>();
+		for (int i = 0; i < size; i++) {
+			String uuid = readString(in);
+			long timestamp = in.readLong();
+			int ports = readSize(in);
+			List<ForwardablePortsCache.Port> definitions = new ArrayList<ForwardablePortsCache.Port>(ports);
+			for (int j = 0; j < ports; j++) {
+				String name = readString(in);
+				String remoteAddress = readString(in);
+				int remotePort = in.readInt();
+				definitions.add(new ForwardablePortsCache.Port(name, remoteAddress, remotePort));
+			}
+			entries.put(uuid, new ForwardablePortsCache.Entry(timestamp, definitions));
+		}
+		return entries;
+	}
+
+	@Override
+	protected void writeContent(Map<String, ForwardablePortsCache.Entry> entries, DataOutputStream out)
+			throws IOException {
+		out.writeInt(entries.size());
+		for (Map.Entry<String, ForwardablePortsCache.Entry> entry : entries.entrySet()) {
+			writeString(entry.getKey(), out);
+			out.writeLong(entry.getValue().timestamp);
+			out.writeInt(entry.getValue().ports.size());
+			for (ForwardablePortsCache.Port port : entry.getValue().ports) {
+				writeString(port.name, out);
+				writeString(port.remoteAddress, out);
+				out.writeInt(port.remotePort);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ForwardablePortsSnapshot ["
+				+ "file=" + getFile() + ", "
+				+ "server=" + getServer()
+				+ "]";
+	}
+}
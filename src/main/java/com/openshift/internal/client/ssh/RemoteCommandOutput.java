@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.ssh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.jcraft.jsch.Channel;
+import com.openshift.client.IRemoteCommandOutput;
+import com.openshift.client.IRemoteCommandOutputListener;
+import com.openshift.client.OpenShiftSSHOperationException;
+import com.openshift.internal.client.utils.Assert;
+
+/**
+ * The output of a remote command that is read from the (connected) ssh channel
+ * that the command runs in. Lines are read char by char from the channel
+ * stream, at most one line (of at most the maximum line length) is held in
+ * memory.
+ *
+ * @author Andre Dietisheim
+ */
+public class RemoteCommandOutput implements IRemoteCommandOutput {
+
+	/** the time to wait for the exit status once the output ended */
+	private static final long EXIT_STATUS_TIMEOUT = 1000;
+	private static final long EXIT_STATUS_DELAY = 10;
+
+	private final String command;
+	private final Channel channel;
+	private final InputStream in;
+	private final Reader reader;
+	private final int maxLineLength;
+	private String nextLine;
+	private boolean skipLineFeed;
+	private int pendingChar = -1;
+	private volatile boolean ended;
+	private volatile boolean cancelled;
+
+	public RemoteCommandOutput(String command, Channel channel, InputStream in) {
+		this(command, channel, in, DEFAULT_MAX_LINE_LENGTH);
+	}
+
+	/**
+	 * Creates the output of the given command that runs in the given channel.
+	 *
+	 * @param command
+	 *            the command that is running
+	 * @param channel
+	 *            the channel that the command runs in
+	 * @param in
+	 *            the stream (stdout or stderr) of the channel to read
+	 * @param maxLineLength
+	 *            the length in characters after which lines are split
+	 */
+	public RemoteCommandOutput(String command, Channel channel, InputStream in, int maxLineLength) {
+		Assert.notNull(channel);
+		Assert.notNull(in);
+		Assert.isTrue(maxLineLength > 0);
+
+		this.command = command;
+		this.channel = channel;
+		this.in = in;
+		this.reader = new InputStreamReader(in);
+		this.maxLineLength = maxLineLength;
+	}
+
+	@Override
+	public synchronized boolean hasNext() throws OpenShiftSSHOperationException {
+		if (nextLine != null) {
+			return true;
+		}
+		this.nextLine = readLine();
+		return nextLine != null;
+	}
+
+	@Override
+	public synchronized String next() throws OpenShiftSSHOperationException {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		String line = nextLine;
+		this.nextLine = null;
+		return line;
+	}
+
+	private String readLine() throws OpenShiftSSHOperationException {
+		if (ended
+				|| cancelled) {
+			return null;
+		}
+		StringBuilder builder = new StringBuilder();
+		try {
+			for (int c = -1; (c = readChar()) != -1;) {
+				if (skipLineFeed) {
+					this.skipLineFeed = false;
+					if (c == '\n') {
+						continue;
+					}
+				}
+				if (c == '\n') {
+					return builder.toString();
+				} else if (c == '\r') {
+					this.skipLineFeed = true;
+					return builder.toString();
+				} else if (builder.length() >= maxLineLength) {
+					// split, the char starts the next line
+					this.pendingChar = c;
+					return builder.toString();
+				}
+				builder.append((char) c);
+			}
+		} catch (IOException e) {
+			if (!cancelled) {
+				throw new OpenShiftSSHOperationException(e,
+						"Could not read the output of remote ssh command \"{0}\"", command);
+			}
+		}
+		this.ended = true;
+		if (cancelled
+				|| builder.length() == 0) {
+			return null;
+		}
+		return builder.toString();
+	}
+
+	private int readChar() throws IOException {
+		if (pendingChar != -1) {
+			int c = pendingChar;
+			this.pendingChar = -1;
+			return c;
+		}
+		return reader.read();
+	}
+
+	@Override
+	public int read(byte[] buffer) throws OpenShiftSSHOperationException {
+		if (ended
+				|| cancelled) {
+			return -1;
+		}
+		try {
+			int read = in.read(buffer);
+			if (read == -1) {
+				this.ended = true;
+			}
+			return read;
+		} catch (IOException e) {
+			if (cancelled) {
+				return -1;
+			}
+			throw new OpenShiftSSHOperationException(e,
+					"Could not read the output of remote ssh command \"{0}\"", command);
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Reads all lines and hands them to the given listener. Cancels the
+	 * command if the listener asks for it.
+	 *
+	 * @param listener
+	 *            the listener to notify of each line
+	 * @return the exit status of the command
+	 */
+	public int notifyLines(IRemoteCommandOutputListener listener) throws OpenShiftSSHOperationException {
+		Assert.notNull(listener);
+		try {
+			while (hasNext()) {
+				if (!listener.lineReceived(next())) {
+					cancel();
+				}
+			}
+			return getExitStatus();
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Reads all lines. This holds the whole output in memory, use it for
+	 * commands whose output is short.
+	 */
+	public List<String> getLines() throws OpenShiftSSHOperationException {
+		try {
+			List<String> lines = new ArrayList<String>();
+			while (hasNext()) {
+				lines.add(next());
+			}
+			return lines;
+		} finally {
+			close();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		this.cancelled = true;
+		close();
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	@Override
+	public int getExitStatus() {
+		if (cancelled) {
+			return -1;
+		}
+		// the exit status may arrive shortly after the output ended
+		long timeout = System.currentTimeMillis() + EXIT_STATUS_TIMEOUT;
+		while (ended
+				&& !channel.isClosed()
+				&& System.currentTimeMillis() < timeout) {
+			try {
+				Thread.sleep(EXIT_STATUS_DELAY);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return channel.getExitStatus();
+	}
+
+	@Override
+	public void close() {
+		this.ended = true;
+		channel.disconnect();
+		try {
+			in.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "RemoteCommandOutput ["
+				+ "command=" + command + ", "
+				+ "cancelled=" + cancelled
+				+ "]";
+	}
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.utils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class FileUtils {
+
+	private static final String BACKUP_SUFFIX = ".bak";
+
+	/**
+	 * Replaces the given target file by the given source file. The source is
+	 * renamed to the target, which is atomic on most platforms. Where a rename
+	 * cannot replace an existing file, the target is first renamed to a
+	 * backup that is only deleted once the source was renamed. If that fails,
+	 * the backup is restored. The target therefore always exists.
+	 *
+	 * @param source
+	 *            the file to rename
+	 * @param target
+	 *            the file to replace
+	 * @throws IOException
+	 *             if the source could not be renamed to the target
+	 */
+	public static void replace(File source, File target) throws IOException {
+		if (source.renameTo(target)) {
+			return;
+		}
+		if (!target.exists()) {
+			throw new IOException("could not rename " + source + " to " + target);
+		}
+		File backup = new File(target.getPath() + BACKUP_SUFFIX);
+		if (backup.exists()
+				&& !backup.delete()) {
+			throw new IOException("could not delete backup " + backup);
+		}
+		if (!target.renameTo(backup)) {
+			throw new IOException("could not replace " + target);
+		}
+		if (!source.renameTo(target)) {
+			backup.renameTo(target);
+			throw new IOException("could not rename " + source + " to " + target);
+		}
+		backup.delete();
+	}
+}
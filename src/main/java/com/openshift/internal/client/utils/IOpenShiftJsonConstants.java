@@ -81,6 +81,7 @@ public class IOpenShiftJsonConstants {
 	public static final String PROPERTY_QUICKSTART = "quickstart";
 	public static final String PROPERTY_REL = "rel";
 	public static final String PROPERTY_REQUIRED_PARAMS = "required_params";
+	public static final String PROPERTY_REQUIRES = "requires";
 	public static final String PROPERTY_RESULT = "result";
 	public static final String PROPERTY_REGION = "region";
 	public static final String PROPERTY_RHLOGIN = "rhlogin";
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.utils;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class ObjectUtils {
+
+	/**
+	 * Returns <code>true</code> if both objects are <code>null</code> or equal
+	 * to each other.
+	 */
+	public static boolean equals(Object thisObject, Object thatObject) {
+		if (thisObject == null) {
+			return thatObject == null;
+		}
+		return thisObject.equals(thatObject);
+	}
+}
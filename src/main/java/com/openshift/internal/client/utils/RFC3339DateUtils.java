@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.utils;
+
+import java.util.Date;
+
+/**
+ * Parses and formats RFC 3339 timestamps as the server sends them (ex.
+ * "2013-07-04T23:18:09Z" or "2013-07-04T19:18:09.123-04:00"). The fields are
+ * read and converted to epoch millis directly, there's no calendar or
+ * formatter involved. Parsing and formatting are thread-safe, there's no
+ * state at all.
+ *
+ * @author Andre Dietisheim
+ */
+public class RFC3339DateUtils {
+
+	private static final long MILLIS_PER_SECOND = 1000;
+	private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+	private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+	private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+	private RFC3339DateUtils() {
+		// inhibit instantiation
+	}
+
+	/**
+	 * Returns the date for the given RFC 3339 timestamp. Fractions of a second
+	 * are truncated to millis, a missing offset is read as UTC.
+	 *
+	 * @param timestamp
+	 *            the timestamp, ex. "2013-07-04T23:18:09Z"
+	 * @return the date for the given timestamp
+	 * @throws IllegalArgumentException
+	 *             if the given timestamp is not a valid RFC 3339 timestamp
+	 */
+	public static Date parse(String timestamp) throws IllegalArgumentException {
+		return new Date(parseMillis(timestamp));
+	}
+
+	/**
+	 * Returns the milliseconds since the epoch for the given RFC 3339
+	 * timestamp.
+	 *
+	 * @param timestamp
+	 *            the timestamp, ex. "2013-07-04T23:18:09Z"
+	 * @return the millis since the epoch
+	 * @throws IllegalArgumentException
+	 *             if the given timestamp is not a valid RFC 3339 timestamp
+	 *
+	 * @see #parse(String)
+	 */
+	public static long parseMillis(String timestamp) throws IllegalArgumentException {
+		Assert.notNull(timestamp);
+
+		// yyyy-MM-ddTHH:mm:ss
+		if (timestamp.length() < 19
+				|| timestamp.charAt(4) != '-'
+				|| timestamp.charAt(7) != '-'
+				|| !isDateTimeSeparator(timestamp.charAt(10))
+				|| timestamp.charAt(13) != ':'
+				|| timestamp.charAt(16) != ':') {
+			throw invalid(timestamp);
+		}
+		int year = getDigits(timestamp, 0, 4);
+		int month = getDigits(timestamp, 5, 2);
+		int day = getDigits(timestamp, 8, 2);
+		int hour = getDigits(timestamp, 11, 2);
+		int minute = getDigits(timestamp, 14, 2);
+		int second = getDigits(timestamp, 17, 2);
+		if (month < 1 || month > 12
+				|| day < 1 || day > getDaysInMonth(year, month)
+				|| hour > 23
+				|| minute > 59
+				|| second > 60) {
+			throw invalid(timestamp);
+		}
+
+		int index = 19;
+		int millis = 0;
+		if (index < timestamp.length()
+				&& timestamp.charAt(index) == '.') {
+			int start = ++index;
+			while (index < timestamp.length()
+					&& isDigit(timestamp.charAt(index))) {
+				if (index - start < 3) {
+					millis = millis * 10 + (timestamp.charAt(index) - '0');
+				}
+				index++;
+			}
+			if (index == start) {
+				throw invalid(timestamp);
+			}
+			for (int digits = index - start; digits < 3; digits++) {
+				millis *= 10;
+			}
+		}
+
+		long offset = 0;
+		if (index < timestamp.length()) {
+			char sign = timestamp.charAt(index);
+			if (sign == 'Z'
+					|| sign == 'z') {
+				index++;
+			} else if (sign == '+'
+					|| sign == '-') {
+				// hh:mm or hhmm
+				int hours = getDigits(timestamp, ++index, 2);
+				index += 2;
+				if (index < timestamp.length()
+						&& timestamp.charAt(index) == ':') {
+					index++;
+				}
+				int minutes = getDigits(timestamp, index, 2);
+				index += 2;
+				if (hours > 23
+						|| minutes > 59) {
+					throw invalid(timestamp);
+				}
+				offset = hours * MILLIS_PER_HOUR + minutes * MILLIS_PER_MINUTE;
+				if (sign == '-') {
+					offset = -offset;
+				}
+			} else {
+				throw invalid(timestamp);
+			}
+		}
+		if (index != timestamp.length()) {
+			throw invalid(timestamp);
+		}
+
+		return getEpochDay(year, month, day) * MILLIS_PER_DAY
+				+ hour * MILLIS_PER_HOUR
+				+ minute * MILLIS_PER_MINUTE
+				+ second * MILLIS_PER_SECOND
+				+ millis
+				- offset;
+	}
+
+	/**
+	 * Returns the given date as RFC 3339 timestamp in UTC, ex.
+	 * "2013-07-04T23:18:09Z". Millis are only included if there are any.
+	 *
+	 * @param date
+	 *            the date to format
+	 * @return the timestamp for the given date
+	 */
+	public static String format(Date date) {
+		Assert.notNull(date);
+
+		long time = date.getTime();
+		long epochDay = floorDiv(time, MILLIS_PER_DAY);
+		int millisOfDay = (int) (time - epochDay * MILLIS_PER_DAY);
+
+		// civil from days, see http://howardhinnant.github.io/date_algorithms.html
+		long days = epochDay + 719468;
+		long era = floorDiv(days, 146097);
+		int dayOfEra = (int) (days - era * 146097);
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		int monthIndex = (5 * dayOfYear + 2) / 153;
+		int day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+		int month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+		long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+		StringBuilder builder = new StringBuilder(24);
+		appendDigits(year, 4, builder).append('-');
+		appendDigits(month, 2, builder).append('-');
+		appendDigits(day, 2, builder).append('T');
+		appendDigits(millisOfDay / MILLIS_PER_HOUR, 2, builder).append(':');
+		appendDigits((millisOfDay % MILLIS_PER_HOUR) / MILLIS_PER_MINUTE, 2, builder).append(':');
+		appendDigits((millisOfDay % MILLIS_PER_MINUTE) / MILLIS_PER_SECOND, 2, builder);
+		if (millisOfDay % MILLIS_PER_SECOND != 0) {
+			appendDigits(millisOfDay % MILLIS_PER_SECOND, 3, builder.append('.'));
+		}
+		return builder.append('Z').toString();
+	}
+
+	private static boolean isDateTimeSeparator(char character) {
+		return character == 'T'
+				|| character == 't'
+				|| character == ' ';
+	}
+
+	private static boolean isDigit(char character) {
+		return character >= '0'
+				&& character <= '9';
+	}
+
+	private static int getDigits(String timestamp, int start, int length) {
+		if (start + length > timestamp.length()) {
+			throw invalid(timestamp);
+		}
+		int value = 0;
+		for (int i = start; i < start + length; i++) {
+			char character = timestamp.charAt(i);
+			if (!isDigit(character)) {
+				throw invalid(timestamp);
+			}
+			value = value * 10 + (character - '0');
+		}
+		return value;
+	}
+
+	private static StringBuilder appendDigits(long value, int length, StringBuilder builder) {
+		String digits = String.valueOf(value);
+		for (int i = digits.length(); i < length; i++) {
+			builder.append('0');
+		}
+		return builder.append(digits);
+	}
+
+	private static int getDaysInMonth(int year, int month) {
+		switch (month) {
+		case 2:
+			return isLeapYear(year) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	private static boolean isLeapYear(int year) {
+		return (year % 4 == 0 && year % 100 != 0)
+				|| year % 400 == 0;
+	}
+
+	/**
+	 * Returns the days since 1970-01-01 for the given (proleptic gregorian)
+	 * date, see http://howardhinnant.github.io/date_algorithms.html
+	 */
+	private static long getEpochDay(int year, int month, int day) {
+		int y = month <= 2 ? year - 1 : year;
+		int era = (y >= 0 ? y : y - 399) / 400;
+		int yearOfEra = y - era * 400;
+		int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097L + dayOfEra - 719468;
+	}
+
+	private static long floorDiv(long dividend, long divisor) {
+		long quotient = dividend / divisor;
+		if ((dividend % divisor) != 0
+				&& (dividend < 0) != (divisor < 0)) {
+			quotient--;
+		}
+		return quotient;
+	}
+
+	private static IllegalArgumentException invalid(String timestamp) {
+		return new IllegalArgumentException(timestamp + " is not a valid RFC 3339 timestamp");
+	}
+}
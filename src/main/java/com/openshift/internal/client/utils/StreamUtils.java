@@ -89,6 +89,49 @@ public class StreamUtils {
 		outputStream.close();
 	}
 
+	/**
+	 * Writes the given characters to the given output stream, encoded in
+	 * UTF-8. Unlike {@link String#getBytes(String)} this does not create an
+	 * intermediate byte array. Unpaired surrogates are written as '?'.
+	 * 
+	 * @param characters
+	 *            the characters to write
+	 * @param start
+	 *            the index of the first character to write
+	 * @param end
+	 *            the index after the last character to write
+	 * @param out
+	 *            the stream to write to
+	 * @throws IOException
+	 */
+	public static void writeUtf8(CharSequence characters, int start, int end, OutputStream out)
+			throws IOException {
+		for (int i = start; i < end; i++) {
+			char character = characters.charAt(i);
+			if (character < 0x80) {
+				out.write(character);
+			} else if (character < 0x800) {
+				out.write(0xc0 | (character >> 6));
+				out.write(0x80 | (character & 0x3f));
+			} else if (character < Character.MIN_SURROGATE
+					|| character > Character.MAX_SURROGATE) {
+				out.write(0xe0 | (character >> 12));
+				out.write(0x80 | ((character >> 6) & 0x3f));
+				out.write(0x80 | (character & 0x3f));
+			} else if (Character.isHighSurrogate(character)
+					&& i + 1 < end
+					&& Character.isLowSurrogate(characters.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(character, characters.charAt(++i));
+				out.write(0xf0 | (codePoint >> 18));
+				out.write(0x80 | ((codePoint >> 12) & 0x3f));
+				out.write(0x80 | ((codePoint >> 6) & 0x3f));
+				out.write(0x80 | (codePoint & 0x3f));
+			} else {
+				out.write('?');
+			}
+		}
+	}
+
 	public static void close(InputStream inputStream) throws IOException {
 		if (inputStream != null) {
 			inputStream.close();
@@ -0,0 +1,60 @@
+/******************************************************************************* 
+ * Copyright (c) 2014 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/
+package com.openshift.client.fakes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.openshift.client.IHttpClient;
+
+/**
+ * A http server fake that sends its response (or the echoed request)
+ * compressed with the given content encoding.
+ * 
+ * @author Andre Dietisheim
+ */
+public class CompressingHttpServerFake extends HttpServerFake {
+
+	private final String contentEncoding;
+	private final boolean rawDeflate;
+
+	public CompressingHttpServerFake(int port, String contentEncoding) {
+		this(port, contentEncoding, false);
+	}
+
+	/**
+	 * @param rawDeflate
+	 *            if <code>true</code>, deflate encoded content is sent without
+	 *            the zlib wrapper
+	 */
+	public CompressingHttpServerFake(int port, String contentEncoding, boolean rawDeflate) {
+		super(port, null, "HTTP/1.1 200 OK\n"
+				+ IHttpClient.PROPERTY_CONTENT_ENCODING + ": " + contentEncoding + "\n");
+		this.contentEncoding = contentEncoding;
+		this.rawDeflate = rawDeflate;
+	}
+
+	@Override
+	protected void write(byte[] bytes, OutputStream outputStream) throws IOException {
+		DeflaterOutputStream compressingStream = null;
+		if (IHttpClient.ENCODING_GZIP.equals(contentEncoding)) {
+			compressingStream = new GZIPOutputStream(outputStream);
+		} else {
+			compressingStream = new DeflaterOutputStream(outputStream, new Deflater(Deflater.DEFAULT_COMPRESSION,
+					rawDeflate));
+		}
+		compressingStream.write(bytes);
+		compressingStream.finish();
+	}
+}
@@ -57,7 +57,8 @@ public class FileUtils {
 	}
 	
 	public static File createRandomTempDirectory() throws IOException {
-		File file = File.createTempFile(null, createRandomFilename());
+		File file = File.createTempFile(createRandomFilename(), null);
+		file.delete();
 		file.mkdir();
 		file.deleteOnExit();
 		return file;
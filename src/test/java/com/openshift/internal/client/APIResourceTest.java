@@ -12,12 +12,14 @@ package com.openshift.internal.client;
 
 import static org.fest.assertions.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import com.openshift.client.IOpenShiftConnection;
+import com.openshift.client.cartridge.EmbeddableCartridge;
 import com.openshift.client.cartridge.ICartridge;
 import com.openshift.client.cartridge.IEmbeddableCartridge;
 import com.openshift.client.cartridge.IStandaloneCartridge;
@@ -167,4 +169,19 @@ public class APIResourceTest extends TestTimer {
 				.contains(CartridgeTestUtils.METRICS_01_NAME
 						, CartridgeTestUtils.ZEND_56_NAME);
 	}
+
+	@Test
+	public void shouldAddCartridgesAfterTheCartridgesTheyRequire() throws Throwable {
+		// pre-conditions
+		IEmbeddableCartridge phpmyadmin = new EmbeddableCartridge("phpmyadmin-3.4");
+		IEmbeddableCartridge mysql = new EmbeddableCartridge(CartridgeTestUtils.MYSQL_51_NAME);
+		IEmbeddableCartridge mongodb = new EmbeddableCartridge(CartridgeTestUtils.MONGODB_22_NAME);
+
+		// operation
+		List<IEmbeddableCartridge> ordered = ((APIResource) connection).getCartridgeDependencies()
+				.getAddOrder(Arrays.asList(phpmyadmin, mongodb, mysql));
+
+		// verifications
+		assertThat(ordered).containsExactly(mongodb, mysql, phpmyadmin);
+	}
 }
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import com.openshift.client.ConnectionBuilder.CredentialsConnectionBuilder;
+import com.openshift.client.HttpMethod;
+import com.openshift.client.IOpenShiftConnection;
+import com.openshift.client.NotFoundOpenShiftException;
+import com.openshift.client.OpenShiftRequestException;
+import com.openshift.client.utils.TestConnectionBuilder;
+import com.openshift.internal.client.response.ApiLinksSnapshot;
+import com.openshift.internal.client.httpclient.request.Parameter;
+import com.openshift.internal.client.response.Link;
+import com.openshift.internal.client.response.ResponseProjection;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class ApiLinksSnapshotTest extends TestTimer {
+
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException {
+		this.directory = File.createTempFile("openshift-java-client", null);
+		directory.delete();
+		directory.mkdir();
+	}
+
+	@After
+	public void tearDown() {
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void shouldNotRequestApiBeforeFirstOperation() throws Throwable {
+		// pre-conditions
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector();
+
+		// operation
+		IOpenShiftConnection connection = createConnection(mockDirector);
+
+		// verification
+		mockDirector.verifyGetAny(0);
+		assertThat(connection.getUser()).isNotNull();
+		mockDirector.verifyGetAny(2); // api, user
+	}
+
+	@Test
+	public void shouldLoadLinksFromSnapshot() throws Throwable {
+		// pre-conditions
+		createConnection(new HttpClientMockDirector()).getUser();
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector();
+
+		// operation
+		IOpenShiftConnection connection = createConnection(mockDirector);
+
+		// verification
+		assertThat(connection.getUser()).isNotNull();
+		mockDirector.verifyGetAny(1); // user only
+	}
+
+	@Test
+	public void shouldRequestApiIfLinkIsMissingInSnapshot() throws Throwable {
+		// pre-conditions
+		IOpenShiftConnection connection = createConnection(new HttpClientMockDirector());
+		ApiLinksSnapshot snapshot = createSnapshot(connection, IRestService.SERVICE_VERSION);
+		snapshot.setLinks(Collections.singletonMap("API", new Link("API", "/api", HttpMethod.GET)));
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector();
+
+		// operation
+		assertThat(createConnection(mockDirector).getUser()).isNotNull();
+
+		// verification
+		mockDirector.verifyGetAny(2); // api, user
+		Map<String, Link> links = snapshot.getLinks();
+		assertThat(links).isNotNull();
+		assertThat(links.get("GET_USER")).isNotNull();
+	}
+
+	@Test
+	public void shouldRetryRequestOnceIfResourceIsNotFound() throws Throwable {
+		// pre-conditions
+		IRestService service = mock(IRestService.class);
+		when(service.request(any(Link.class), anyInt(), any(ResponseProjection.class), anyListOf(Parameter.class),
+				anyListOf(Parameter.class), Matchers.<Parameter> anyVararg()))
+				.thenThrow(new NotFoundOpenShiftException("/api", null, null));
+		RefreshingResource resource = new RefreshingResource(service);
+
+		// operation
+		try {
+			resource.request();
+			fail("NotFoundOpenShiftException expected");
+		} catch (NotFoundOpenShiftException e) {
+			// expected
+		}
+
+		// verification
+		assertThat(resource.refreshed).isEqualTo(1);
+		verify(service, times(2)).request(any(Link.class), anyInt(), any(ResponseProjection.class),
+				anyListOf(Parameter.class), anyListOf(Parameter.class), Matchers.<Parameter> anyVararg());
+	}
+
+	@Test
+	public void shouldNotRetryRequestIfRequestIsInvalid() throws Throwable {
+		// pre-conditions
+		IRestService service = mock(IRestService.class);
+		when(service.request(any(Link.class), anyInt(), any(ResponseProjection.class), anyListOf(Parameter.class),
+				anyListOf(Parameter.class), Matchers.<Parameter> anyVararg()))
+				.thenThrow(new OpenShiftRequestException("required request parameter is missing"));
+		RefreshingResource resource = new RefreshingResource(service);
+
+		// operation
+		try {
+			resource.request();
+			fail("OpenShiftRequestException expected");
+		} catch (OpenShiftRequestException e) {
+			// expected
+		}
+
+		// verification
+		assertThat(resource.refreshed).isEqualTo(0);
+		verify(service, times(1)).request(any(Link.class), anyInt(), any(ResponseProjection.class),
+				anyListOf(Parameter.class), anyListOf(Parameter.class), Matchers.<Parameter> anyVararg());
+	}
+
+	@Test
+	public void shouldIgnoreSnapshotOfOtherProtocolVersion() throws Throwable {
+		// pre-conditions
+		IOpenShiftConnection connection = createConnection(new HttpClientMockDirector());
+		connection.getUser();
+
+		// operation
+		ApiLinksSnapshot snapshot = createSnapshot(connection, "0.9");
+
+		// verification
+		assertThat(snapshot.getLinks()).isNull();
+		assertThat(createSnapshot(connection, IRestService.SERVICE_VERSION).getLinks()).isNotEmpty();
+	}
+
+	private static class RefreshingResource extends AbstractOpenShiftResource {
+
+		private int refreshed;
+
+		RefreshingResource(IRestService service) {
+			super(service, Collections.singletonMap("ADD_DOMAIN", new Link("ADD_DOMAIN", "/domains", HttpMethod.POST)), null);
+		}
+
+		void request() {
+			new ServiceRequest("ADD_DOMAIN").execute();
+		}
+
+		@Override
+		protected boolean refreshOutdatedLinks() {
+			refreshed++;
+			return true;
+		}
+
+		@Override
+		public void refresh() {
+		}
+	}
+
+	private ApiLinksSnapshot createSnapshot(IOpenShiftConnection connection, String protocolVersion) {
+		return new ApiLinksSnapshot(directory, connection.getServer(), protocolVersion);
+	}
+
+	private IOpenShiftConnection createConnection(HttpClientMockDirector mockDirector) throws Throwable {
+		CredentialsConnectionBuilder builder = new TestConnectionBuilder().defaultCredentials();
+		builder.warmStart(directory);
+		return builder.create(mockDirector.client());
+	}
+}
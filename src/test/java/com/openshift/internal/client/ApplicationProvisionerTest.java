@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.openshift.client.ApplicationBuilder;
+import com.openshift.client.ApplicationProvisioner;
+import com.openshift.client.ApplicationProvisioner.Report;
+import com.openshift.client.ApplicationProvisioner.Result;
+import com.openshift.client.ApplicationProvisioner.Stage;
+import com.openshift.client.ApplicationScale;
+import com.openshift.client.IApplication;
+import com.openshift.client.IApplicationSpec;
+import com.openshift.client.IDomain;
+import com.openshift.client.IGearProfile;
+import com.openshift.client.OpenShiftException;
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.client.cartridge.IEmbeddableCartridge;
+import com.openshift.client.utils.CartridgeTestUtils;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class ApplicationProvisionerTest extends TestTimer {
+
+	private IDomain domain;
+	private Map<String, IApplication> applications;
+	private Map<String, String> environmentVariables;
+
+	@Before
+	public void setup() throws Throwable {
+		this.domain = mock(IDomain.class);
+		this.applications = new ConcurrentHashMap<String, IApplication>();
+		this.environmentVariables = Collections.singletonMap("adietish", "Andre Dietisheim");
+		mockCreateApplication(new Answer<IApplication>() {
+
+			@Override
+			public IApplication answer(InvocationOnMock invocation) throws Throwable {
+				return createApplication((String) invocation.getArguments()[0]);
+			}
+		});
+	}
+
+	@Test
+	public void shouldRunApplicationsThroughRequiredStages() {
+		// pre-conditions
+		List<IApplicationSpec> builders = new ArrayList<IApplicationSpec>();
+		builders.add(createBuilder("redberret", true, true));
+		builders.add(createBuilder("redberries", false, true));
+		builders.add(createBuilder("rabbitinthehole", false, false));
+
+		// operation
+		Report report = new ApplicationProvisioner().provision(builders);
+
+		// verification
+		assertThat(report.getFailed()).isEmpty();
+		assertThat(report.getApplications()).hasSize(3);
+		assertThat(report.getResults()).onProperty("name").containsExactly("redberret", "redberries", "rabbitinthehole");
+		verify(applications.get("redberret")).addEmbeddableCartridges(
+				Arrays.<IEmbeddableCartridge> asList(CartridgeTestUtils.mysql51(), CartridgeTestUtils.mongodb22()));
+		verify(applications.get("redberret")).addEnvironmentVariables(environmentVariables);
+		verify(applications.get("redberries")).addEnvironmentVariables(environmentVariables);
+		verify(applications.get("rabbitinthehole"), never()).addEnvironmentVariables(
+				anyMapOf(String.class, String.class));
+		Result result = report.getResults().get(1);
+		assertThat(result.getDuration(Stage.CREATE)).isGreaterThanOrEqualTo(0);
+		assertThat(result.getDuration(Stage.EMBED_CARTRIDGES)).isEqualTo(-1);
+		assertThat(result.getDuration(Stage.SET_ENVIRONMENT_VARIABLES)).isGreaterThanOrEqualTo(0);
+		assertThat(result.getDuration(Stage.WAIT_FOR_ACCESSIBLE)).isEqualTo(-1);
+	}
+
+	@Test
+	public void shouldIsolateFailingApplications() {
+		// pre-conditions
+		mockCreateApplication(new Answer<IApplication>() {
+
+			@Override
+			public IApplication answer(InvocationOnMock invocation) throws Throwable {
+				String name = (String) invocation.getArguments()[0];
+				if ("broken".equals(name)) {
+					throw new OpenShiftException("could not create {0}", name);
+				}
+				IApplication application = createApplication(name);
+				if ("nocartridges".equals(name)) {
+					when(application.addEmbeddableCartridges(any(Collection.class)))
+							.thenThrow(new OpenShiftException("could not add cartridges"));
+				}
+				return application;
+			}
+		});
+		List<IApplicationSpec> builders = new ArrayList<IApplicationSpec>();
+		builders.add(createBuilder("broken", true, true));
+		builders.add(createBuilder("nocartridges", true, true));
+		builders.add(createBuilder("redberret", true, true));
+
+		// operation
+		Report report = new ApplicationProvisioner().provision(builders);
+
+		// verification
+		assertThat(report.getFailed()).onProperty("name").containsOnly("broken", "nocartridges");
+		assertThat(report.getApplications()).containsOnly(applications.get("redberret"));
+		Result broken = report.getResults().get(0);
+		assertThat(broken.getFailedStage()).isEqualTo(Stage.CREATE);
+		assertThat(broken.getApplication()).isNull();
+		assertThat(broken.getError()).isInstanceOf(OpenShiftException.class);
+		Result nocartridges = report.getResults().get(1);
+		assertThat(nocartridges.getFailedStage()).isEqualTo(Stage.EMBED_CARTRIDGES);
+		assertThat(nocartridges.getDuration(Stage.SET_ENVIRONMENT_VARIABLES)).isEqualTo(-1);
+		verify(applications.get("nocartridges"), never()).addEnvironmentVariables(
+				anyMapOf(String.class, String.class));
+	}
+
+	@Test
+	public void shouldRecordErrorsOfStages() {
+		// pre-conditions
+		mockCreateApplication(new Answer<IApplication>() {
+
+			@Override
+			public IApplication answer(InvocationOnMock invocation) throws Throwable {
+				throw new NoClassDefFoundError("redberret");
+			}
+		});
+		List<IApplicationSpec> builders = new ArrayList<IApplicationSpec>();
+		builders.add(createBuilder("redberret", false, false));
+
+		// operation
+		Report report = new ApplicationProvisioner().provision(builders);
+
+		// verification
+		assertThat(report.getFailed()).hasSize(1);
+		assertThat(report.getFailed().get(0).getFailedStage()).isEqualTo(Stage.CREATE);
+		assertThat(report.getFailed().get(0).getError()).isInstanceOf(NoClassDefFoundError.class);
+	}
+
+	@Test
+	public void shouldLimitConcurrencyPerStage() {
+		// pre-conditions
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		mockCreateApplication(new Answer<IApplication>() {
+
+			@Override
+			public IApplication answer(InvocationOnMock invocation) throws Throwable {
+				int current = running.incrementAndGet();
+				synchronized (maxRunning) {
+					maxRunning.set(Math.max(maxRunning.get(), current));
+				}
+				Thread.sleep(20);
+				running.decrementAndGet();
+				return createApplication((String) invocation.getArguments()[0]);
+			}
+		});
+		List<IApplicationSpec> builders = new ArrayList<IApplicationSpec>();
+		for (int i = 0; i < 8; i++) {
+			builders.add(createBuilder("app" + i, false, false));
+		}
+
+		// operation
+		Report report = new ApplicationProvisioner()
+				.setConcurrency(Stage.CREATE, 2)
+				.provision(builders);
+
+		// verification
+		assertThat(report.getFailed()).isEmpty();
+		assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+	}
+
+	private void mockCreateApplication(Answer<IApplication> answer) {
+		doAnswer(answer).when(domain).createApplication(anyString(), any(ApplicationScale.class),
+				any(IGearProfile.class), anyString(), anyInt(), anyMapOf(String.class, String.class),
+				(ICartridge[]) anyVararg());
+	}
+
+	private IApplication createApplication(String name) {
+		IApplication application = mock(IApplication.class);
+		when(application.getName()).thenReturn(name);
+		applications.put(name, application);
+		return application;
+	}
+
+	private IApplicationSpec createBuilder(String name, boolean embedCartridges,
+			boolean setEnvironmentVariables) {
+		ApplicationBuilder.NamedTypedCartridgeBuilder builder = new ApplicationBuilder(domain)
+				.setName(name)
+				.setStandaloneCartridge(CartridgeTestUtils.as7());
+		if (embedCartridges) {
+			builder.setEmbeddableCartridges(CartridgeTestUtils.mysql51(), CartridgeTestUtils.mongodb22());
+		}
+		if (setEnvironmentVariables) {
+			builder.setEnvironmentVariables(environmentVariables);
+		}
+		return builder;
+	}
+}
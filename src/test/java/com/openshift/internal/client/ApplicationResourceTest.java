@@ -38,6 +38,7 @@ import static org.junit.Assert.fail;
 
 import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -477,6 +478,30 @@ public class ApplicationResourceTest extends TestTimer {
 		assertThat(application.getEmbeddedCartridges()).hasSize(1);
 	}
 
+	@Test
+	public void shouldRemoveCartridgesFromApplication() throws Throwable {
+		// pre-conditions
+		mockDirector
+				.mockGetApplications(
+						"foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_2EMBEDDED)
+				.mockGetApplication(
+						"foobarz", "springeap6", GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_2EMBEDDED)
+				.mockGetApplicationCartridges(
+						"foobarz", "springeap6", GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_CARTRIDGES_2EMBEDDED);
+		final IApplication application = domain.getApplicationByName("springeap6");
+		assertThat(application.getEmbeddedCartridges()).hasSize(2);
+
+		// operation
+		application.removeEmbeddedCartridges(Arrays.<IEmbeddableCartridge> asList(
+				new EmbeddableCartridge("mysql-5.1"), new EmbeddableCartridge("mongodb-2.2")));
+
+		// verifications
+		mockDirector
+				.verifyDeleteEmbeddableCartridge("foobarz", "springeap6", "mysql-5.1")
+				.verifyDeleteEmbeddableCartridge("foobarz", "springeap6", "mongodb-2.2");
+		assertThat(application.getEmbeddedCartridges()).isEmpty();
+	}
+
 	@Test
 	public void shouldNotRemoveCartridgeFromApplication() throws Throwable {
 		// pre-conditions
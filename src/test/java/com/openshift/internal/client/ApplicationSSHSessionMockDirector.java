@@ -15,6 +15,7 @@ import java.net.SocketTimeoutException;
 
 import org.mockito.Mockito;
 
+import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
@@ -58,6 +59,46 @@ public class ApplicationSSHSessionMockDirector {
 		return this;
 	}
 
+	/**
+	 * Lets the session forward ports locally. The ssh session is not
+	 * connected to any server, it only binds the local ports as it would when
+	 * connected.
+	 */
+	public ApplicationSSHSessionMockDirector mockLocalPortForwarding() throws JSchException {
+		Session session = Mockito.spy(new JSch().getSession("mockuser", "mockhost", 22));
+		Mockito.doReturn(true)
+				.when(session)
+				.isConnected();
+		Mockito.doNothing()
+				.when(session)
+				.disconnect();
+		spyedApplicationSession.setSSHSession(session);
+		return this;
+	}
+
+	/**
+	 * Lets the session open the given channel when it runs a command.
+	 */
+	public ApplicationSSHSessionMockDirector mockChannel(Channel channel) throws JSchException {
+		Session session = Mockito.spy(new JSch().getSession("mockuser", "mockhost", 22));
+		Mockito.doReturn(true)
+				.when(session)
+				.isConnected();
+		Mockito.doReturn(channel)
+				.when(session)
+				.openChannel(Mockito.anyString());
+		spyedApplicationSession.setSSHSession(session);
+		return this;
+	}
+
+	public ApplicationSSHSessionMockDirector mockGetForwardablePorts(Exception exception) {
+		Mockito.doThrow(exception)
+				.when(spyedApplicationSession)
+				.execCommand(Mockito.anyString(), (ApplicationSSHSession.ChannelInputStreams) Mockito.any(),
+						(Session) Mockito.any());
+		return this;
+	}
+
 	public ApplicationSSHSession getMock() {
 		return spyedApplicationSession;
 	}
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.client.IHttpClient;
+import com.openshift.client.IOpenShiftConnection;
+import com.openshift.client.OpenShiftException;
+import com.openshift.client.cartridge.EmbeddableCartridge;
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.client.cartridge.IEmbeddableCartridge;
+import com.openshift.client.cartridge.IStandaloneCartridge;
+import com.openshift.client.cartridge.query.AbstractCartridgeQuery;
+import com.openshift.client.cartridge.query.CartridgeNameQuery;
+import com.openshift.client.cartridge.query.AbstractCartridgeQuery;
+import com.openshift.client.cartridge.query.CartridgeNameRegexQuery;
+import com.openshift.client.cartridge.query.CartridgeTypeQuery;
+import com.openshift.client.cartridge.query.DownloadableCartridgeQuery;
+import com.openshift.client.cartridge.query.LatestVersionQuery;
+import com.openshift.client.cartridge.query.ObsoleteCartridgeQuery;
+import com.openshift.client.utils.Samples;
+import com.openshift.client.utils.TestConnectionBuilder;
+import com.openshift.internal.client.cartridge.CartridgeCatalog;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class CartridgeCatalogTest {
+
+	private IOpenShiftConnection connection;
+
+	@Before
+	public void setUp() throws OpenShiftException, FileNotFoundException, IOException {
+		IHttpClient client = new HttpClientMockDirector()
+				.mockGetCartridges(Samples.GET_CARTRIDGES)
+				.client();
+		this.connection = new TestConnectionBuilder().defaultCredentials().create(client);
+	}
+
+	@Test
+	public void shouldSortVersionsLatestFirst() {
+		// pre-conditions
+		CartridgeCatalog<IEmbeddableCartridge> catalog = new CartridgeCatalog<IEmbeddableCartridge>(
+				Arrays.<IEmbeddableCartridge> asList(
+						new EmbeddableCartridge("mysql-5.0"),
+						new EmbeddableCartridge("mysql-6"),
+						new EmbeddableCartridge("jenkins-client-1.4"),
+						new EmbeddableCartridge("mysql-5.1")));
+
+		// operation
+		List<IEmbeddableCartridge> mysqls = catalog.getVersions("mysql");
+
+		// verification
+		assertThat(mysqls).containsExactly(
+				new EmbeddableCartridge("mysql-6"),
+				new EmbeddableCartridge("mysql-5.1"),
+				new EmbeddableCartridge("mysql-5.0"));
+		assertThat(catalog.getLatest("jenkins-client")).isEqualTo(new EmbeddableCartridge("jenkins-client-1.4"));
+		assertThat(catalog.getLatest("jenkins")).isNull();
+		assertThat(catalog.getByName("mysql-5.1")).isEqualTo(new EmbeddableCartridge("mysql-5.1"));
+	}
+
+	@Test
+	public void shouldQueryLatestVersionLikePlainList() {
+		// pre-conditions
+		List<IStandaloneCartridge> cartridges = connection.getStandaloneCartridges();
+		assertThat(cartridges instanceof CartridgeCatalog).isTrue();
+		@SuppressWarnings("unchecked")
+		CartridgeCatalog<IStandaloneCartridge> catalog = (CartridgeCatalog<IStandaloneCartridge>) cartridges;
+		List<ICartridge> plainCartridges = Arrays.<ICartridge> asList(cartridges.toArray(new ICartridge[0]));
+
+		for (ICartridge cartridge : cartridges) {
+			LatestVersionQuery query =
+					new LatestVersionQuery(LatestVersionQuery.getNameWithoutVersion(cartridge.getName()));
+
+			// operation
+			IStandaloneCartridge latest = catalog.get(query);
+
+			// verification
+			assertThat(latest).isSameAs(query.get(plainCartridges));
+		}
+	}
+
+	@Test
+	public void shouldNotMatchAnyCartridgeIfLatestVersionIsMissing() {
+		// pre-conditions
+		@SuppressWarnings("unchecked")
+		CartridgeCatalog<ICartridge> catalog = (CartridgeCatalog<ICartridge>) connection.getCartridges();
+
+		// operation
+		List<ICartridge> matches = catalog.getAll(new LatestVersionQuery("redberret"));
+
+		// verification
+		assertThat(matches).isEmpty();
+	}
+
+	@Test
+	public void shouldRememberMatchesOfEqualQueries() {
+		// pre-conditions
+		List<ICartridge> cartridges = connection.getCartridges();
+		@SuppressWarnings("unchecked")
+		CartridgeCatalog<ICartridge> catalog = (CartridgeCatalog<ICartridge>) cartridges;
+
+		// operation
+		List<ICartridge> matches = catalog.getAll(new CartridgeNameRegexQuery("^php-"));
+		List<ICartridge> matches2 = catalog.getAll(new CartridgeNameRegexQuery("^php-"));
+		List<ICartridge> mysqls = new CartridgeNameQuery("mysql").getAll(cartridges);
+
+		// verification
+		assertThat(matches).isNotEmpty();
+		assertThat(matches2).isSameAs(matches);
+		assertThat(mysqls).isNotEmpty();
+		assertThat(mysqls).isNotSameAs(catalog.getAll(new CartridgeNameQuery("mysql")));
+		assertThat(mysqls).isEqualTo(catalog.getAll(new CartridgeNameQuery("mysql")));
+	}
+
+	@Test
+	public void shouldCombineQueries() {
+		// pre-conditions
+		List<ICartridge> cartridges = connection.getCartridges(true);
+		AbstractCartridgeQuery query = new CartridgeNameRegexQuery("^python-")
+				.or(new CartridgeNameRegexQuery("^zend-"))
+				.and(new ObsoleteCartridgeQuery().not());
+
+		// operation
+		List<ICartridge> matches = query.getAll(cartridges);
+
+		// verification
+		assertThat(names(matches)).containsOnly("zend-6.1", "python-3.3", "python-2.6", "python-2.7");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldNotCombineLatestVersionQuery() {
+		// pre-conditions
+		// operation
+		new LatestVersionQuery("python").and(new ObsoleteCartridgeQuery().not());
+		// verification
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldNotCombineWithLatestVersionQuery() {
+		// pre-conditions
+		// operation
+		new ObsoleteCartridgeQuery().not().or(new LatestVersionQuery("python"));
+		// verification
+	}
+
+	@Test
+	public void shouldCombineQueriesOnCatalogLikeOnPlainList() {
+		// pre-conditions
+		List<ICartridge> cartridges = connection.getCartridges(true);
+		List<ICartridge> plainCartridges = Arrays.<ICartridge> asList(cartridges.toArray(new ICartridge[0]));
+		AbstractCartridgeQuery query = new CartridgeTypeQuery(CartridgeType.EMBEDDED)
+				.and(new CartridgeNameRegexQuery("^m"))
+				.and(new DownloadableCartridgeQuery().not());
+
+		// operation
+		List<ICartridge> matches = query.getAll(cartridges);
+
+		// verification
+		assertThat(names(matches)).containsOnly("mongodb-2.2", "mysql-5.1", "metrics-0.1");
+		assertThat(matches).isEqualTo(query.getAll(plainCartridges));
+	}
+
+	@Test
+	public void shouldIterateMatchesLazily() {
+		// pre-conditions
+		List<ICartridge> cartridges = connection.getCartridges(true);
+
+		// operation
+		Iterator<ICartridge> it = new ObsoleteCartridgeQuery().iterator(cartridges);
+
+		// verification
+		assertThat(it.hasNext()).isTrue();
+		// embeddable cartridges first
+		assertThat(it.next().getName()).isEqualTo("metrics-0.1");
+		assertThat(it.next().getName()).isEqualTo("zend-5.6");
+		assertThat(it.hasNext()).isFalse();
+	}
+
+	@Test
+	public void shouldEqualEqualComposites() {
+		// pre-conditions
+		// operation
+		// verification
+		assertThat(new CartridgeNameQuery("php").and(new ObsoleteCartridgeQuery().not()))
+				.isEqualTo(new CartridgeNameQuery("php").and(new ObsoleteCartridgeQuery().not()));
+		assertThat(new CartridgeNameQuery("php").or(new CartridgeTypeQuery(CartridgeType.STANDALONE)))
+				.isNotEqualTo(new CartridgeNameQuery("php").or(new CartridgeTypeQuery(CartridgeType.EMBEDDED)));
+	}
+
+	private List<String> names(List<ICartridge> cartridges) {
+		List<String> names = new ArrayList<String>();
+		for (ICartridge cartridge : cartridges) {
+			names.add(cartridge.getName());
+		}
+		return names;
+	}
+
+	@Test
+	public void shouldNotRememberMatchesOfCustomQueries() {
+		// pre-conditions
+		List<ICartridge> cartridges = connection.getCartridges();
+		@SuppressWarnings("unchecked")
+		CartridgeCatalog<ICartridge> catalog = (CartridgeCatalog<ICartridge>) cartridges;
+		MutableNameQuery query = new MutableNameQuery("mysql");
+		List<ICartridge> mysqls = catalog.getAll(query);
+		assertThat(mysqls).isNotEmpty();
+
+		// operation
+		query.name = "php";
+		List<ICartridge> phps = catalog.getAll(query);
+
+		// verification
+		assertThat(phps).isNotEmpty();
+		assertThat(phps).isEqualTo(new CartridgeNameQuery("php").getAll(cartridges));
+	}
+
+	@Test
+	public void shouldNotRememberMatchesOfQuerySubclasses() {
+		// pre-conditions
+		List<ICartridge> cartridges = connection.getCartridges();
+		@SuppressWarnings("unchecked")
+		CartridgeCatalog<ICartridge> catalog = (CartridgeCatalog<ICartridge>) cartridges;
+
+		// operation
+		List<ICartridge> matches = catalog.getAll(new CartridgeNameQuery("mysql") {});
+		List<ICartridge> matches2 = catalog.getAll(new CartridgeNameQuery("mysql") {});
+
+		// verification
+		assertThat(matches).isNotEmpty();
+		assertThat(matches2).isNotSameAs(matches);
+		assertThat(matches2).isEqualTo(matches);
+	}
+
+	private static class MutableNameQuery extends AbstractCartridgeQuery {
+
+		private String name;
+
+		private MutableNameQuery(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public <C extends ICartridge> boolean matches(C cartridge) {
+			return cartridge.getName().contains(name);
+		}
+	}
+}
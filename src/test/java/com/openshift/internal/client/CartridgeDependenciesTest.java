@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.openshift.client.cartridge.EmbeddableCartridge;
+import com.openshift.client.cartridge.IEmbeddableCartridge;
+import com.openshift.internal.client.cartridge.CartridgeDependencies;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class CartridgeDependenciesTest {
+
+	private static final IEmbeddableCartridge MYSQL = new EmbeddableCartridge("mysql-5.5");
+	private static final IEmbeddableCartridge PHPMYADMIN = new EmbeddableCartridge("phpmyadmin-4");
+	private static final IEmbeddableCartridge MONGODB = new EmbeddableCartridge("mongodb-2.4");
+	private static final IEmbeddableCartridge CRON = new EmbeddableCartridge("cron-1.4");
+
+	@Test
+	public void shouldAddRequiredCartridgesFirst() {
+		// pre-conditions
+		CartridgeDependencies dependencies = new CartridgeDependencies()
+				.add("phpmyadmin-4", "mysql");
+
+		// operation
+		List<IEmbeddableCartridge> ordered =
+				dependencies.getAddOrder(Arrays.asList(PHPMYADMIN, CRON, MYSQL, MONGODB));
+
+		// verification
+		assertThat(ordered).containsExactly(CRON, MYSQL, MONGODB, PHPMYADMIN);
+	}
+
+	@Test
+	public void shouldKeepOrderOfIndependentCartridges() {
+		// pre-conditions
+		CartridgeDependencies dependencies = new CartridgeDependencies()
+				.add("phpmyadmin", "mysql");
+
+		// operation
+		List<IEmbeddableCartridge> ordered =
+				dependencies.getAddOrder(Arrays.asList(PHPMYADMIN, CRON));
+
+		// verification
+		assertThat(ordered).containsExactly(PHPMYADMIN, CRON);
+	}
+
+	@Test
+	public void shouldMatchRequiredCartridgesWithoutVersion() {
+		// pre-conditions
+		CartridgeDependencies dependencies = new CartridgeDependencies()
+				.add("phpmyadmin-3.4", "mysql-5.1");
+
+		// operation
+		List<IEmbeddableCartridge> ordered =
+				dependencies.getAddOrder(Arrays.asList(PHPMYADMIN, MYSQL));
+
+		// verification
+		assertThat(ordered).containsExactly(MYSQL, PHPMYADMIN);
+	}
+
+	@Test
+	public void shouldRemoveDependentCartridgesFirst() {
+		// pre-conditions
+		CartridgeDependencies dependencies = new CartridgeDependencies()
+				.add("cron", "mongodb");
+
+		// operation
+		List<IEmbeddableCartridge> ordered =
+				dependencies.getRemoveOrder(Arrays.asList(MONGODB, CRON, MYSQL));
+
+		// verification
+		assertThat(ordered).containsExactly(CRON, MYSQL, MONGODB);
+	}
+
+	@Test
+	public void shouldKeepCyclicDependenciesInGivenOrder() {
+		// pre-conditions
+		CartridgeDependencies dependencies = new CartridgeDependencies()
+				.add("cron", "mongodb")
+				.add("mongodb", "cron");
+
+		// operation
+		List<IEmbeddableCartridge> ordered =
+				dependencies.getAddOrder(Arrays.asList(CRON, MYSQL, MONGODB));
+
+		// verification
+		assertThat(ordered).containsExactly(MYSQL, CRON, MONGODB);
+	}
+}
@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.client.ConnectionBuilder.CredentialsConnectionBuilder;
+import com.openshift.client.IOpenShiftConnection;
+import com.openshift.client.IQuickstart;
+import com.openshift.client.Message;
+import com.openshift.client.cartridge.ICartridge;
+import com.openshift.client.cartridge.query.CartridgeNameQuery;
+import com.openshift.client.cartridge.query.ICartridgeQuery;
+import com.openshift.client.utils.CartridgeTestUtils;
+import com.openshift.client.utils.FileUtils;
+import com.openshift.client.utils.QuickstartTestUtils;
+import com.openshift.client.utils.Samples;
+import com.openshift.client.utils.TestConnectionBuilder;
+import com.openshift.internal.client.response.CartridgeResourceDTO;
+import com.openshift.internal.client.response.CartridgeResourceProperty;
+import com.openshift.internal.client.response.CatalogSnapshot;
+import com.openshift.internal.client.response.Link;
+import com.openshift.internal.client.response.OpenShiftJsonDTOFactory;
+import com.openshift.internal.client.response.QuickstartDTO;
+import com.openshift.internal.client.response.RestResponse;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class CatalogSnapshotTest extends TestTimer {
+
+	private File file;
+	private IOpenShiftConnection connection;
+
+	@Before
+	public void setUp() throws Throwable {
+		this.file = FileUtils.createRandomTempFile(".snapshot");
+		file.delete();
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector()
+				.mockGetQuickstarts(Samples.GET_API_QUICKSTARTS);
+		this.connection = createConnection(mockDirector);
+	}
+
+	@After
+	public void tearDown() {
+		FileUtils.silentlyDelete(file);
+	}
+
+	@Test
+	public void shouldLoadCatalogsFromSnapshot() throws Throwable {
+		// pre-conditions
+		List<IQuickstart> quickstarts = connection.getQuickstarts();
+		List<ICartridge> cartridges = connection.getCartridges(true);
+		assertThat(file).exists();
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector();
+
+		// operation
+		IOpenShiftConnection connection2 = createConnection(mockDirector);
+		List<IQuickstart> quickstarts2 = connection2.getQuickstarts();
+		List<ICartridge> cartridges2 = connection2.getCartridges(true);
+
+		// verification
+		mockDirector.verifyGetAny(1); // api only
+		assertThat(quickstarts2).hasSize(quickstarts.size());
+		for (int i = 0; i < quickstarts.size(); i++) {
+			IQuickstart quickstart = quickstarts.get(i);
+			IQuickstart quickstart2 = quickstarts2.get(i);
+			assertThat(quickstart2.getName()).isEqualTo(quickstart.getName());
+			assertThat(quickstart2.getTags()).isEqualTo(quickstart.getTags());
+			assertThat(quickstart2.getLanguage()).isEqualTo(quickstart.getLanguage());
+			assertThat(quickstart2.getSummary()).isEqualTo(quickstart.getSummary());
+			assertThat(quickstart2.getSuitableCartridges()).hasSize(quickstart.getSuitableCartridges().size());
+		}
+		assertThat(cartridges2).isEqualTo(cartridges);
+		IQuickstart textpress = QuickstartTestUtils.getByName(QuickstartTestUtils.TEXTPRESS, quickstarts2);
+		assertThat(textpress.getAlternativesFor(CartridgeTestUtils.php53()))
+				.onProperty("name")
+				.contains(CartridgeTestUtils.PHP_53_NAME, CartridgeTestUtils.ZEND_61_NAME);
+	}
+
+	@Test
+	public void shouldIgnoreSnapshotOfOtherServer() throws Throwable {
+		// pre-conditions
+		connection.getQuickstarts();
+
+		// operation
+		CatalogSnapshot snapshot = new CatalogSnapshot(file, "https://localhost");
+
+		// verification
+		assertThat(snapshot.getQuickstarts()).isNull();
+		assertThat(new CatalogSnapshot(file, connection.getServer()).getQuickstarts()).isNotEmpty();
+	}
+
+	@Test
+	public void shouldIgnoreOutdatedSnapshot() throws Throwable {
+		// pre-conditions
+		connection.getQuickstarts();
+
+		// operation
+		CatalogSnapshot snapshot = new CatalogSnapshot(file, connection.getServer(), -1);
+
+		// verification
+		assertThat(snapshot.getQuickstarts()).isNull();
+	}
+
+	@Test
+	public void shouldIgnoreCorruptedSnapshot() throws Throwable {
+		// pre-conditions
+		connection.getQuickstarts();
+		flipByte(file, file.length() / 2);
+
+		// operation
+		CatalogSnapshot snapshot = new CatalogSnapshot(file, connection.getServer());
+
+		// verification
+		assertThat(snapshot.getQuickstarts()).isNull();
+	}
+
+	@Test
+	public void shouldKeepQuickstartsWhenStoringCartridges() throws Throwable {
+		// pre-conditions
+		connection.getQuickstarts();
+
+		// operation
+		connection.getCartridges();
+
+		// verification
+		CatalogSnapshot snapshot = new CatalogSnapshot(file, connection.getServer());
+		assertThat(snapshot.getQuickstarts()).isNotEmpty();
+		assertThat(snapshot.getCartridges()).isNotEmpty();
+	}
+
+	@Test
+	public void shouldRestoreCartridgesLikeRequestedOnes() throws Throwable {
+		// pre-conditions
+		RestResponse response = new OpenShiftJsonDTOFactory().get(
+				Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_CARTRIDGES_2EMBEDDED.getContentAsString());
+		Map<String, CartridgeResourceDTO> cartridgesByName = response.getData();
+		List<CartridgeResourceDTO> cartridges = new ArrayList<CartridgeResourceDTO>(cartridgesByName.values());
+		// single cartridges have messages
+		RestResponse mysqlResponse = new OpenShiftJsonDTOFactory().get(
+				Samples.POST_MYSQL_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_CARTRIDGES.getContentAsString());
+		CartridgeResourceDTO mysql = mysqlResponse.getData();
+		assertThat(mysql.getMessages().size()).isPositive();
+		cartridges.add(mysql);
+		new CatalogSnapshot(file, connection.getServer()).setCartridges(cartridges);
+
+		// operation
+		List<CartridgeResourceDTO> restored = new CatalogSnapshot(file, connection.getServer()).getCartridges();
+
+		// verification
+		assertThat(restored).hasSize(cartridges.size());
+		for (int i = 0; i < cartridges.size(); i++) {
+			CartridgeResourceDTO cartridge = cartridges.get(i);
+			CartridgeResourceDTO restoredCartridge = restored.get(i);
+			assertThat(restoredCartridge.getName()).isEqualTo(cartridge.getName());
+			assertThat(restoredCartridge.getProperties().size()).isPositive();
+			assertThat(restoredCartridge.getProperties().getAll()).onProperty("value")
+					.isEqualTo(getValues(cartridge.getProperties().getAll()));
+			assertThat(restoredCartridge.getLinks()).isNotEmpty();
+			assertThat(restoredCartridge.getLinks().keySet()).isEqualTo(cartridge.getLinks().keySet());
+			Link link = cartridge.getLinks().values().iterator().next();
+			Link restoredLink = restoredCartridge.getLinks().get(cartridge.getLinks().keySet().iterator().next());
+			assertThat(restoredLink.getHref()).isEqualTo(link.getHref());
+			assertThat(restoredLink.getHttpMethod()).isEqualTo(link.getHttpMethod());
+			if (cartridge.getMessages() == null) {
+				assertThat(restoredCartridge.getMessages()).isNull();
+			} else {
+				assertThat(restoredCartridge.getMessages().getAll()).onProperty("text")
+						.isEqualTo(getTexts(cartridge.getMessages().getAll()));
+			}
+		}
+	}
+
+	@Test
+	public void shouldStoreCartridgesIfQuickstartsCannotBeStored() throws Throwable {
+		// pre-conditions
+		CatalogSnapshot snapshot = new CatalogSnapshot(file, connection.getServer());
+		QuickstartDTO quickstart = mock(QuickstartDTO.class);
+		when(quickstart.getCartridges()).thenReturn(
+				Collections.<ICartridgeQuery> singletonList(new CartridgeNameQuery("php")));
+		snapshot.setQuickstarts(Collections.singletonList(quickstart));
+
+		// operation
+		connection.getCartridges();
+
+		// verification
+		snapshot = new CatalogSnapshot(file, connection.getServer());
+		assertThat(snapshot.getCartridges()).isNotEmpty();
+		assertThat(snapshot.getQuickstarts()).isNull();
+	}
+
+	@Test
+	public void shouldReplaceExistingSnapshot() throws Throwable {
+		// pre-conditions
+		connection.getQuickstarts();
+		assertThat(file).exists();
+
+		// operation
+		connection.getCartridges();
+
+		// verification
+		assertThat(file).exists();
+		assertThat(new File(file.getPath() + ".bak")).doesNotExist();
+		assertThat(new CatalogSnapshot(file, connection.getServer()).getCartridges()).isNotEmpty();
+	}
+
+	private List<String> getValues(List<CartridgeResourceProperty> properties) {
+		List<String> values = new ArrayList<String>();
+		for (CartridgeResourceProperty property : properties) {
+			values.add(property.getValue());
+		}
+		return values;
+	}
+
+	private List<String> getTexts(List<Message> messages) {
+		List<String> texts = new ArrayList<String>();
+		for (Message message : messages) {
+			texts.add(message.getText());
+		}
+		return texts;
+	}
+
+	private IOpenShiftConnection createConnection(HttpClientMockDirector mockDirector) throws Throwable {
+		CredentialsConnectionBuilder builder = new TestConnectionBuilder().defaultCredentials();
+		builder.catalogSnapshot(file);
+		return builder.create(mockDirector.client());
+	}
+
+	private void flipByte(File file, long position) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.seek(position);
+			int value = randomAccessFile.read();
+			randomAccessFile.seek(position);
+			randomAccessFile.write(~value);
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+}
@@ -18,6 +18,7 @@ import static com.openshift.client.utils.Samples.GET_DOMAINS_EMPTY;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARS;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED;
+import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_2EMBEDDED;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_DOWNLOADABLECART;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_NOAPPS;
 import static com.openshift.client.utils.Samples.POST_JEKYLL_DOMAINS_FOOBARZ_APPLICATIONS;
@@ -29,6 +30,10 @@ import static org.mockito.Mockito.reset;
 
 import java.net.SocketTimeoutException;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -43,6 +48,8 @@ import com.openshift.client.IDomain;
 import com.openshift.client.IField;
 import com.openshift.client.IGearProfile;
 import com.openshift.client.IHttpClient;
+import com.openshift.client.IOpenShiftResource;
+import com.openshift.client.IResourceChangeListener;
 import com.openshift.client.ISeverity;
 import com.openshift.client.IUser;
 import com.openshift.client.InvalidCredentialsOpenShiftException;
@@ -50,6 +57,8 @@ import com.openshift.client.Message;
 import com.openshift.client.Messages;
 import com.openshift.client.OpenShiftEndpointException;
 import com.openshift.client.OpenShiftException;
+import com.openshift.client.ResourceChangeEvent;
+import com.openshift.client.cartridge.IEmbeddedCartridge;
 import com.openshift.client.cartridge.IStandaloneCartridge;
 import com.openshift.client.utils.ApplicationAssert;
 import com.openshift.client.utils.CartridgeAssert;
@@ -577,7 +586,186 @@ public class DomainResourceTest extends TestTimer {
 		assertThat(upperCaseQueryResult).isNotNull();
 		assertThat(upperCaseQueryResult.getName()).isEqualTo("springeap6");
 	}
+
+	@Test
+	public void shouldCreateApplicationsOnlyWhenAccessed() throws Throwable {
+		// pre-conditions
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+
+		// operation
+		IApplication application = domain.getApplicationByName("springeap6");
+
+		// verifications
+		ApplicationResourceList applications = ((DomainResource) domain).getOrLoadApplications();
+		assertThat(applications).hasSize(2);
+		int springeap6 = applications.indexOf(application);
+		assertThat(applications.isCreated(springeap6)).isTrue();
+		assertThat(applications.isCreated(springeap6 == 0 ? 1 : 0)).isFalse();
+		// copies share the applications
+		assertThat(domain.getApplications().get(springeap6)).isSameAs(application);
+	}
 	
+	@Test
+	public void shouldNotifyAddedRemovedAndChangedApplicationsOnRefresh() throws Throwable {
+		// pre-conditions
+		mockDirector
+			.mockGetDomain("foobarz", GET_DOMAINS_FOOBARZ)
+			.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+		assertThat(domain.getApplications()).hasSize(2);
+		EventCollector events = new EventCollector();
+		domain.addChangeListener(events);
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_2EMBEDDED);
+
+		// operation
+		domain.refresh();
+
+		// verifications
+		// scalable got an initial git url, springeap6 got mysql-5.1
+		assertThat(events.toString()).isEqualTo("CHANGED scalable, CHANGED springeap6");
+
+		// operation
+		events.clear();
+		domain.refresh();
+
+		// verifications
+		assertThat(events.toString()).isEmpty();
+
+		// operation
+		events.clear();
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_NOAPPS);
+		domain.refresh();
+
+		// verifications
+		assertThat(events.toString()).isEqualTo("REMOVED scalable, REMOVED springeap6");
+		assertThat(domain.getApplications()).isEmpty();
+
+		// operation
+		events.clear();
+		domain.removeChangeListener(events);
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+		domain.refresh();
+
+		// verifications
+		assertThat(events.toString()).isEmpty();
+		assertThat(domain.getApplications()).hasSize(2);
+	}
+
+	@Test
+	public void shouldNotifyAddedEmbeddedCartridgeOnRefresh() throws Throwable {
+		// pre-conditions
+		mockDirector
+			.mockGetDomain("foobarz", GET_DOMAINS_FOOBARZ)
+			.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+		IApplication application = domain.getApplicationByName("springeap6");
+		EventCollector events = new EventCollector();
+		application.addChangeListener(events);
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_2EMBEDDED);
+
+		// operation
+		domain.refresh();
+
+		// verifications
+		assertThat(events.toString()).isEqualTo("ADDED mysql-5.1");
+		assertThat(domain.getApplicationByName("springeap6")).isSameAs(application);
+		assertThat(application.getEmbeddedCartridges()).hasSize(2);
+	}
+
+	@Test
+	public void shouldNotifyWatchersOfPolledApplicationChanges() throws Throwable {
+		// pre-conditions
+		((APIResource) user.getConnection()).setResourcePoller(new ResourcePoller(10, 100));
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+		assertThat(domain.getApplications()).hasSize(2);
+		final BlockingQueue<ResourceChangeEvent> events = new LinkedBlockingQueue<ResourceChangeEvent>();
+		IResourceChangeListener listener = new IResourceChangeListener() {
+
+			@Override
+			public void resourceChanged(ResourceChangeEvent event) {
+				events.add(event);
+			}
+		};
+
+		// operation
+		domain.watch(listener);
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_NOAPPS);
+
+		// verifications
+		ResourceChangeEvent event = events.poll(10, TimeUnit.SECONDS);
+		assertThat(event).isNotNull();
+		assertThat(event.getSource()).isSameAs(domain);
+		assertThat(event.getType()).isEqualTo(ResourceChangeEvent.Type.REMOVED);
+		assertThat(events.poll(10, TimeUnit.SECONDS)).isNotNull();
+		domain.unwatch(listener);
+		assertThat(domain.getApplications()).isEmpty();
+	}
+
+	@Test
+	public void shouldNotifyEmbeddedCartridgesOutsideOfApplicationsLock() throws Throwable {
+		// pre-conditions
+		mockDirector
+			.mockGetDomain("foobarz", GET_DOMAINS_FOOBARZ)
+			.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+		IApplication application = domain.getApplicationByName("springeap6");
+		final AtomicBoolean accessedApplications = new AtomicBoolean();
+		application.addChangeListener(new IResourceChangeListener() {
+
+			@Override
+			public void resourceChanged(ResourceChangeEvent event) {
+				// another thread accessing the applications would block if the event was fired within the lock
+				Thread thread = new Thread() {
+
+					@Override
+					public void run() {
+						domain.getApplications();
+						accessedApplications.set(true);
+					}
+				};
+				thread.start();
+				try {
+					thread.join(5 * 1000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		mockDirector.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_2EMBEDDED);
+
+		// operation
+		domain.refresh();
+
+		// verifications
+		assertThat(accessedApplications.get()).isTrue();
+	}
+
+	private static class EventCollector implements IResourceChangeListener {
+
+		private final StringBuilder builder = new StringBuilder();
+
+		@Override
+		public void resourceChanged(ResourceChangeEvent event) {
+			if (builder.length() > 0) {
+				builder.append(", ");
+			}
+			builder.append(event.getType()).append(' ').append(getName(event.getResource()));
+		}
+
+		private String getName(IOpenShiftResource resource) {
+			if (resource instanceof IApplication) {
+				return ((IApplication) resource).getName();
+			}
+			return ((IEmbeddedCartridge) resource).getName();
+		}
+
+		public void clear() {
+			builder.setLength(0);
+		}
+
+		@Override
+		public String toString() {
+			return builder.toString();
+		}
+	}
+
 	@Test
 	@Ignore
 	public void shouldRefreshDomain() throws Throwable {
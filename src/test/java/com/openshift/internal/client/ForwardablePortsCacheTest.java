@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static com.openshift.client.utils.Samples.GET_DOMAINS;
+import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.jcraft.jsch.Session;
+import com.openshift.client.IApplication;
+import com.openshift.client.IApplicationPortForwarding;
+import com.openshift.client.OpenShiftException;
+import com.openshift.client.utils.FileUtils;
+import com.openshift.internal.client.ssh.ApplicationPortForwarding;
+import com.openshift.internal.client.ssh.ForwardablePortsCache;
+import com.openshift.internal.client.ssh.ForwardablePortsSnapshot;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class ForwardablePortsCacheTest extends TestTimer {
+
+	private static final String SERVER = "https://openshift.redhat.com";
+	private static final String UUID = "523cbe15e0b8cd0a520001b6";
+
+	private IApplication application;
+	private ExecutorService executor;
+	private File directory;
+	private CountingLoader loader;
+
+	@Before
+	public void setUp() throws Throwable {
+		this.application = mock(IApplication.class);
+		when(application.getUUID()).thenReturn(UUID);
+		this.executor = Executors.newSingleThreadExecutor();
+		this.directory = FileUtils.createRandomTempDirectory();
+		this.loader = new CountingLoader();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				FileUtils.silentlyDelete(file);
+			}
+		}
+		FileUtils.silentlyDelete(directory);
+	}
+
+	@Test
+	public void shouldReturnCachedPortsWithoutLoadingThem() throws Throwable {
+		// pre-conditions
+		ForwardablePortsCache cache = new ForwardablePortsCache(executor);
+		List<IApplicationPortForwarding> ports = cache.getPorts(application, loader);
+		assertThat(loader.getLoads()).isEqualTo(1);
+
+		// operation
+		List<IApplicationPortForwarding> cachedPorts = cache.getPorts(application, loader);
+
+		// verification
+		assertThat(loader.getLoads()).isEqualTo(1);
+		assertPortsEqual(cachedPorts, ports);
+		// cached ports are new instances that are not bound yet
+		assertThat(cachedPorts.get(0)).isNotSameAs(ports.get(0));
+		assertThat(cachedPorts.get(0).getLocalAddress()).isNull();
+	}
+
+	@Test
+	public void shouldLoadPortsAgainOnceInvalidated() throws Throwable {
+		// pre-conditions
+		ForwardablePortsCache cache = new ForwardablePortsCache(executor);
+		cache.getPorts(application, loader);
+		assertThat(cache.contains(UUID)).isTrue();
+
+		// operation
+		cache.invalidate(UUID);
+
+		// verification
+		assertThat(cache.contains(UUID)).isFalse();
+		cache.getPorts(application, loader);
+		assertThat(loader.getLoads()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldLoadPortsFromSnapshot() throws Throwable {
+		// pre-conditions
+		ForwardablePortsCache cache = new ForwardablePortsCache(
+				new ForwardablePortsSnapshot(directory, SERVER), executor, ForwardablePortsCache.DEFAULT_REVALIDATE_AFTER);
+		List<IApplicationPortForwarding> ports = cache.getPorts(application, loader);
+
+		// operation
+		ForwardablePortsCache cache2 = new ForwardablePortsCache(
+				new ForwardablePortsSnapshot(directory, SERVER), executor, ForwardablePortsCache.DEFAULT_REVALIDATE_AFTER);
+		List<IApplicationPortForwarding> ports2 = cache2.getPorts(application, loader);
+
+		// verification
+		assertThat(loader.getLoads()).isEqualTo(1);
+		assertPortsEqual(ports2, ports);
+	}
+
+	@Test
+	public void shouldNotLoadInvalidatedPortsFromSnapshot() throws Throwable {
+		// pre-conditions
+		ForwardablePortsCache cache = new ForwardablePortsCache(
+				new ForwardablePortsSnapshot(directory, SERVER), executor, ForwardablePortsCache.DEFAULT_REVALIDATE_AFTER);
+		cache.getPorts(application, loader);
+
+		// operation
+		cache.invalidate(UUID);
+
+		// verification
+		ForwardablePortsCache cache2 = new ForwardablePortsCache(
+				new ForwardablePortsSnapshot(directory, SERVER), executor, ForwardablePortsCache.DEFAULT_REVALIDATE_AFTER);
+		assertThat(cache2.contains(UUID)).isFalse();
+	}
+
+	@Test
+	public void shouldRevalidateStalePortsInBackground() throws Throwable {
+		// pre-conditions
+		ForwardablePortsCache cache = new ForwardablePortsCache(null, executor, 0);
+		cache.getPorts(application, loader);
+		Thread.sleep(5);
+
+		// operation
+		List<IApplicationPortForwarding> ports = cache.getPorts(application, loader);
+
+		// verification
+		assertThat(ports).hasSize(2);
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(loader.getLoads()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldShareCachedPortsBetweenSessionsOfTheSameApplication() throws Throwable {
+		// pre-conditions
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector()
+				.mockGetDomains(GET_DOMAINS)
+				.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+		IApplication springeap6 = mockDirector.getDomain("foobarz").getApplicationByName("springeap6");
+		ApplicationSSHSession session = new ApplicationSSHSessionMockDirector(springeap6)
+				.mockLocalPortForwarding()
+				.mockGetForwardablePorts(CountingLoader.RHC_LIST_PORTS)
+				.getMock();
+		List<IApplicationPortForwarding> ports = session.getForwardablePorts();
+		ApplicationSSHSession session2 = new ApplicationSSHSessionMockDirector(springeap6)
+				.mockLocalPortForwarding()
+				.mockGetForwardablePorts(CountingLoader.RHC_LIST_PORTS)
+				.getMock();
+
+		// operation
+		List<IApplicationPortForwarding> ports2 = session2.getForwardablePorts();
+
+		// verification
+		verify(session2, never()).execCommand(Mockito.anyString(),
+				(ApplicationSSHSession.ChannelInputStreams) Mockito.any(), (Session) Mockito.any());
+		assertPortsEqual(ports2, ports);
+	}
+
+	private void assertPortsEqual(List<IApplicationPortForwarding> ports, List<IApplicationPortForwarding> expected) {
+		assertThat(ports).hasSize(expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(ports.get(i).getName()).isEqualTo(expected.get(i).getName());
+			assertThat(ports.get(i).getRemoteAddress()).isEqualTo(expected.get(i).getRemoteAddress());
+			assertThat(ports.get(i).getRemotePort()).isEqualTo(expected.get(i).getRemotePort());
+		}
+	}
+
+	private class CountingLoader implements ForwardablePortsCache.IPortsLoader {
+
+		private static final String RHC_LIST_PORTS =
+				"java -> 127.7.233.1:8080\n"
+						+ " mysql -> 5190d701500446506a0000e4-foobarz.rhcloud.com:56756";
+
+		private final AtomicInteger loads = new AtomicInteger();
+
+		@Override
+		public List<IApplicationPortForwarding> load() throws OpenShiftException {
+			loads.incrementAndGet();
+			List<IApplicationPortForwarding> ports = new ArrayList<IApplicationPortForwarding>();
+			ports.add(new ApplicationPortForwarding(application, "java", "127.7.233.1", 8080));
+			ports.add(new ApplicationPortForwarding(application, "mysql",
+					"5190d701500446506a0000e4-foobarz.rhcloud.com", 56756));
+			return ports;
+		}
+
+		private int getLoads() {
+			return loads.get();
+		}
+	}
+}
@@ -12,19 +12,31 @@ package com.openshift.internal.client;
 
 import static com.openshift.client.utils.Samples.GET_DOMAINS;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED;
+import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_NOAPPS;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_1EMBEDDED;
 import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_GEARGROUPS;
+import static com.openshift.client.utils.UrlEndsWithMatcher.urlEndsWith;
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.when;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import com.openshift.client.GearState;
+import com.openshift.client.GearStateChangeEvent;
 import com.openshift.client.IApplication;
 import com.openshift.client.IDomain;
+import com.openshift.client.IGear;
 import com.openshift.client.IGearGroup;
+import com.openshift.client.IGearInventory;
+import com.openshift.client.IGearStateListener;
 import com.openshift.client.IHttpClient;
 import com.openshift.client.IUser;
 import com.openshift.client.utils.GearGroupsAssert;
@@ -37,10 +49,12 @@ import com.openshift.client.utils.TestConnectionBuilder;
 public class GearGroupsResourceTest extends TestTimer {
 
 	private IDomain domain;
+	private HttpClientMockDirector mockDirector;
 
 	@Before
 	public void setup() throws Throwable {
-		IHttpClient client = new HttpClientMockDirector()
+		this.mockDirector = new HttpClientMockDirector();
+		IHttpClient client = mockDirector
 			.mockGetDomains(GET_DOMAINS)
 			.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED)
 			.mockGetApplication("foobarz", "springeap6", GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_1EMBEDDED)
@@ -71,4 +85,107 @@ public class GearGroupsResourceTest extends TestTimer {
 				.assertGear("514212ce500446b64e0000b4").inState(new GearState("deploying"))
 				.hasCartridges("mongodb-2.2");
 	}
+
+	@Test
+	public void shouldLoadGearInventoryOfAllApplications() throws Throwable {
+		// pre-conditions
+		mockFoogooWithoutApplications();
+		mockDirector.mockGetGearGroups("foobarz", "scalable", GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_GEARGROUPS);
+
+		// operation
+		IGearInventory inventory = domain.getUser().getGearInventory(1);
+
+		// verifications
+		assertThat(inventory.getApplications()).hasSize(2);
+		assertThat(inventory.size()).isEqualTo(6);
+		assertThat(inventory.getStates()).containsOnly(
+				new GearState("idle"), new GearState("building"), new GearState("deploying"));
+		assertThat(inventory.getCount(new GearState("idle"))).isEqualTo(2);
+		assertThat(inventory.getCount(new GearState("IDLE"))).isEqualTo(2);
+		assertThat(inventory.getCount(new GearState("stopped"))).isEqualTo(0);
+		List<IGear> buildingGears = inventory.getGears(new GearState("building"));
+		assertThat(buildingGears).hasSize(2);
+		assertThat(buildingGears.get(0).getId()).isEqualTo("5146f047500446f12d00002e");
+		assertThat(buildingGears.get(0).getState()).isEqualTo(new GearState("building"));
+		List<IGear> springeap6Gears = inventory.getGears(domain.getApplicationByName("springeap6"));
+		assertThat(springeap6Gears).onProperty("id").containsOnly(
+				"514207b84382ec1fef000098", "5146f047500446f12d00002e", "514212ce500446b64e0000b4");
+		assertThat(springeap6Gears.get(0).getSshUrl())
+				.isEqualTo("ssh://52380549e0b8cd1e0e000032@springeap6-foobarz.rhcloud.com");
+	}
+
+	@Test
+	public void shouldLoadSameGearInventoryInParallel() throws Throwable {
+		// pre-conditions
+		mockFoogooWithoutApplications();
+		mockDirector.mockGetGearGroups("foobarz", "scalable", GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_GEARGROUPS);
+		IGearInventory serialInventory = domain.getUser().getGearInventory(1);
+
+		// operation
+		IGearInventory inventory = domain.getUser().getGearInventory();
+
+		// verifications
+		assertThat(inventory.size()).isEqualTo(serialInventory.size());
+		for (GearState state : serialInventory.getStates()) {
+			assertThat(inventory.getCount(state)).isEqualTo(serialInventory.getCount(state));
+		}
+	}
+
+	@Test
+	public void shouldLoadGearInventoryIfExecutorIsShutDown() throws Throwable {
+		// pre-conditions
+		mockFoogooWithoutApplications();
+		mockDirector.mockGetGearGroups("foobarz", "scalable", GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_GEARGROUPS);
+		domain.getUser().getConnection().getExecutorService().shutdownNow();
+
+		// operation
+		IGearInventory inventory = domain.getUser().getGearInventory();
+
+		// verifications
+		assertThat(inventory.getApplications()).hasSize(2);
+		assertThat(inventory.size()).isEqualTo(6);
+	}
+
+	private void mockFoogooWithoutApplications() throws Throwable {
+		// sample links foogoo applications to /domain/foogoo
+		when(mockDirector.client().get(urlEndsWith("/domain/foogoo/applications?include=cartridges"), anyInt()))
+				.thenReturn(GET_DOMAINS_FOOBARZ_APPLICATIONS_NOAPPS.getContentAsString());
+	}
+
+	@Test
+	public void shouldNotifyGearStateChangesSinceLastPoll() throws Throwable {
+		// pre-conditions
+		((APIResource) domain.getUser().getConnection()).setResourcePoller(new ResourcePoller(10, 100));
+		String gearGroups = GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_GEARGROUPS.getContentAsString();
+		mockDirector.mockGetGearGroups("foobarz", "springeap6",
+				gearGroups,
+				gearGroups
+					.replace("\"building\"", "\"started\"")
+					.replace("514212ce500446b64e0000b4", "514212ce500446b64e0000b5"));
+		IApplication app = domain.getApplicationByName("springeap6");
+		final BlockingQueue<GearStateChangeEvent> events = new LinkedBlockingQueue<GearStateChangeEvent>();
+		IGearStateListener listener = new IGearStateListener() {
+
+			@Override
+			public void gearStateChanged(GearStateChangeEvent event) {
+				events.add(event);
+			}
+		};
+
+		// operation
+		app.watchGearStates(listener);
+
+		// verifications
+		GearStateChangeEvent stateChanged = events.poll(10, TimeUnit.SECONDS);
+		assertThat(stateChanged.getGear().getId()).isEqualTo("5146f047500446f12d00002e");
+		assertThat(stateChanged.getPreviousState()).isEqualTo(new GearState("building"));
+		assertThat(stateChanged.getState()).isEqualTo(new GearState("started"));
+		GearStateChangeEvent added = events.poll(10, TimeUnit.SECONDS);
+		assertThat(added.getGear().getId()).isEqualTo("514212ce500446b64e0000b5");
+		assertThat(added.isAdded()).isTrue();
+		GearStateChangeEvent removed = events.poll(10, TimeUnit.SECONDS);
+		assertThat(removed.getGear().getId()).isEqualTo("514212ce500446b64e0000b4");
+		assertThat(removed.isRemoved()).isTrue();
+		app.unwatchGearStates(listener);
+	}
 }
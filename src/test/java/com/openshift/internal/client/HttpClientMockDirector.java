@@ -353,10 +353,16 @@ public class HttpClientMockDirector {
 	public HttpClientMockDirector mockGetGearGroups(String domainId, String applicationName,
 			Samples gearGroupsResourceResponse)
 			throws SocketTimeoutException, HttpClientException {
+		return mockGetGearGroups(domainId, applicationName, gearGroupsResourceResponse.getContentAsString());
+	}
+
+	public HttpClientMockDirector mockGetGearGroups(String domainId, String applicationName,
+			String gearGroupsResourceResponse, String... consecutiveResponses)
+			throws SocketTimeoutException, HttpClientException {
 		when(client.get(
 				urlEndsWith("/domains/" + domainId + "/applications/" + applicationName + "/gear_groups"),
 				anyInt()))
-				.thenReturn(gearGroupsResourceResponse.getContentAsString());
+				.thenReturn(gearGroupsResourceResponse, consecutiveResponses);
 		return this;
 	}
 
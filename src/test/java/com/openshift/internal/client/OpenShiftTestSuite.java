@@ -17,8 +17,12 @@ import com.openshift.client.HttpMethodTest;
 import com.openshift.internal.client.httpclient.HttpClientTest;
 import com.openshift.internal.client.httpclient.request.FormUrlEncodedMediaTypeTest;
 import com.openshift.internal.client.httpclient.request.JsonMediaTypeTest;
+import com.openshift.internal.client.response.EnumDataTypeTest;
+import com.openshift.internal.client.response.InternerTest;
+import com.openshift.internal.client.response.JsonReaderTest;
 import com.openshift.internal.client.response.OpenShiftJsonDTOFactoryTest;
 import com.openshift.internal.client.response.QuickstartDTOCartridgeQueryTest;
+import com.openshift.internal.client.response.UrlTemplateTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
@@ -28,8 +32,12 @@ import com.openshift.internal.client.response.QuickstartDTOCartridgeQueryTest;
 	RestServicePropertiesTest.class,
 	RestServiceTest.class,
 	OpenShiftJsonDTOFactoryTest.class,
+	InternerTest.class,
+	JsonReaderTest.class,
+	EnumDataTypeTest.class,
 	DomainResourceTest.class,
 	ApplicationBuilderTest.class,
+	ApplicationProvisionerTest.class,
 	ApplicationResourceTest.class,
 	APIResourceTest.class,
 	QuickstartTest.class,
@@ -39,9 +47,16 @@ import com.openshift.internal.client.response.QuickstartDTOCartridgeQueryTest;
 	EmbeddableCartridgeTest.class,
 	EmbeddedCartridgeResourceTest.class,
 	CartridgeQueryTest.class,
+	CartridgeCatalogTest.class,
+	CartridgeDependenciesTest.class,
+	RFC3339DateUtilsTest.class,
+	CatalogSnapshotTest.class,
+	ApiLinksSnapshotTest.class,
 	UserTest.class,
 	SSHKeyTest.class,
+	SSHKeyPairPoolTest.class,
 	GearGroupsResourceTest.class,
+	ResourcePollerTest.class,
 	GearTest.class,
 	GearTest.class,
 	OpenShiftExceptionTest.class,
@@ -49,7 +64,11 @@ import com.openshift.internal.client.response.QuickstartDTOCartridgeQueryTest;
 	JsonMediaTypeTest.class,
 	EnvironmentVariableResourceTest.class,
 	ApplicationSSHSessionTest.class,
+	PortForwardingManagerTest.class,
+	ForwardablePortsCacheTest.class,
+	RemoteCommandOutputTest.class,
 	QuickstartDTOCartridgeQueryTest.class,
+	UrlTemplateTest.class,
 	AuthorizationTest.class
 })
 
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static com.openshift.client.utils.Samples.GET_DOMAINS;
+import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED;
+import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_1EMBEDDED;
+import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_CARTRIDGES_1EMBEDDED;
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.client.IApplication;
+import com.openshift.client.IApplicationPortForwarding;
+import com.openshift.client.OpenShiftSSHOperationException;
+import com.openshift.client.PortForwardingManager;
+import com.openshift.client.PortForwardingManager.Report;
+import com.openshift.client.PortForwardingManager.Result;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class PortForwardingManagerTest extends TestTimer {
+
+	private static final String RHC_LIST_PORTS =
+			"java -> 127.7.233.1:8080\n"
+					+ " mysql -> 5190d701500446506a0000e4-foobarz.rhcloud.com:56756";
+
+	private IApplication application;
+	private IApplication otherApplication;
+	private List<ApplicationSSHSession> sessions = new ArrayList<ApplicationSSHSession>();
+
+	@Before
+	public void setup() throws Throwable {
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector()
+				.mockGetDomains(GET_DOMAINS)
+				.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED)
+				.mockGetApplication("foobarz", "springeap6", GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_1EMBEDDED)
+				.mockGetApplicationCartridges("foobarz", "springeap6",
+						GET_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_CARTRIDGES_1EMBEDDED);
+		this.application = mockDirector.getDomain("foobarz").getApplicationByName("springeap6");
+		assertThat(application).isNotNull();
+		this.otherApplication = mockDirector.getDomain("foobarz").getApplicationByName("scalable");
+		assertThat(otherApplication).isNotNull();
+	}
+
+	@After
+	public void tearDown() {
+		new PortForwardingManager().stop(sessions);
+	}
+
+	@Test
+	public void shouldStartPortsOfAllSessions() throws Throwable {
+		// pre-conditions
+		createSession(RHC_LIST_PORTS);
+		createSession(RHC_LIST_PORTS);
+		createSession(RHC_LIST_PORTS);
+
+		// operation
+		Report report = new PortForwardingManager().setConcurrency(2).start(sessions);
+
+		// verification
+		assertThat(report.getResults()).hasSize(6);
+		assertThat(report.getFailed()).isEmpty();
+		Set<Integer> localPorts = new HashSet<Integer>();
+		for (IApplicationPortForwarding port : report.getPorts()) {
+			assertThat(port.getLocalAddress()).isEqualTo(ApplicationSSHSession.DEFAULT_LOCAL_ADDRESS);
+			assertThat(port.getLocalPort()).isGreaterThan(0);
+			localPorts.add(port.getLocalPort());
+		}
+		assertThat(localPorts).hasSize(6);
+		for (ApplicationSSHSession session : sessions) {
+			assertThat(session.isPortForwardingStarted()).isTrue();
+		}
+	}
+
+	@Test
+	public void shouldStopPortsOfAllSessions() throws Throwable {
+		// pre-conditions
+		createSession(RHC_LIST_PORTS);
+		createSession(RHC_LIST_PORTS);
+		PortForwardingManager manager = new PortForwardingManager();
+		manager.start(sessions);
+
+		// operation
+		Report report = manager.stop(sessions);
+
+		// verification
+		assertThat(report.getFailed()).isEmpty();
+		for (ApplicationSSHSession session : sessions) {
+			assertThat(session.isPortForwardingStarted()).isFalse();
+		}
+	}
+
+	@Test
+	public void shouldNotBindFreePortIfGivenLocalPortIsTaken() throws Throwable {
+		// pre-conditions
+		ServerSocket taken = new ServerSocket(0, 1, InetAddress.getByName(ApplicationSSHSession.DEFAULT_LOCAL_ADDRESS));
+		try {
+			ApplicationSSHSession session = createSession(RHC_LIST_PORTS);
+			IApplicationPortForwarding port = session.getForwardablePorts().get(0);
+			port.setLocalPort(taken.getLocalPort());
+
+			// operation
+			Report report = new PortForwardingManager().start(sessions);
+
+			// verification
+			assertThat(report.getFailed()).hasSize(1);
+			assertThat(report.getFailed().get(0).getPort()).isSameAs(port);
+			assertThat(report.getFailed().get(0).getError()).isInstanceOf(OpenShiftSSHOperationException.class);
+			assertThat(port.getLocalPort()).isEqualTo(taken.getLocalPort());
+		} finally {
+			taken.close();
+		}
+	}
+
+	@Test
+	public void shouldBindFreePortIfPickedLocalPortIsTaken() throws Throwable {
+		// pre-conditions
+		ApplicationSSHSession session = createSession(RHC_LIST_PORTS);
+		PortForwardingManager manager = new PortForwardingManager();
+		manager.start(sessions);
+		manager.stop(sessions);
+		IApplicationPortForwarding port = session.getForwardablePorts().get(0);
+		int pickedLocalPort = port.getLocalPort();
+		ServerSocket taken = bind(port.getLocalAddress(), pickedLocalPort);
+		try {
+			// operation
+			Report report = manager.start(sessions);
+
+			// verification
+			assertThat(report.getFailed()).isEmpty();
+			assertThat(port.getLocalPort()).isGreaterThan(0).isNotEqualTo(pickedLocalPort);
+		} finally {
+			taken.close();
+		}
+	}
+
+	@Test
+	public void shouldReportSessionWhosePortsCouldNotBeLookedUp() throws Throwable {
+		// pre-conditions
+		createSession(RHC_LIST_PORTS);
+		// other application, the ports of springeap6 are cached
+		ApplicationSSHSession failing = new ApplicationSSHSessionMockDirector(otherApplication)
+				.mockLocalPortForwarding()
+				.mockGetForwardablePorts(new OpenShiftSSHOperationException("rhc-list-ports failed"))
+				.getMock();
+
+		// operation
+		Report report = new PortForwardingManager().start(Arrays.asList(sessions.get(0), failing));
+
+		// verification
+		assertThat(report.getPorts()).hasSize(2);
+		assertThat(report.getFailed()).hasSize(1);
+		Result result = report.getFailed().get(0);
+		assertThat(result.getPort()).isNull();
+		assertThat(result.getError()).isInstanceOf(OpenShiftSSHOperationException.class);
+	}
+
+	/**
+	 * Binds the given port once jsch released it, which it may do shortly
+	 * after its forwarding was removed.
+	 */
+	private ServerSocket bind(String address, int port) throws Exception {
+		long timeout = System.currentTimeMillis() + 10 * 1000;
+		while (true) {
+			try {
+				return new ServerSocket(port, 1, InetAddress.getByName(address));
+			} catch (BindException e) {
+				if (System.currentTimeMillis() > timeout) {
+					throw e;
+				}
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	private ApplicationSSHSession createSession(String rhcListPorts) throws Exception {
+		ApplicationSSHSession session = new ApplicationSSHSessionMockDirector(application)
+				.mockLocalPortForwarding()
+				.mockGetForwardablePorts(rhcListPorts)
+				.getMock();
+		sessions.add(session);
+		return session;
+	}
+}
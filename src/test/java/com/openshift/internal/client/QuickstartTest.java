@@ -343,4 +343,48 @@ public class QuickstartTest extends TestTimer {
 				.contains(CartridgeTestUtils.PHP_53_NAME, CartridgeTestUtils.ZEND_61_NAME);
 	}
 
+	@Test
+	public void shouldGetQuickstartsByTag() throws Throwable {
+		// pre-conditions
+
+		// operation
+		List<IQuickstart> phpQuickstarts = connection.getQuickstartsByTag("PHP");
+
+		// verification
+		assertThat(phpQuickstarts)
+				.onProperty("name")
+				.contains(QuickstartTestUtils.CAKEPHP, QuickstartTestUtils.TEXTPRESS)
+				.excludes(QuickstartTestUtils.DJANGO);
+		for (IQuickstart quickstart : phpQuickstarts) {
+			assertThat(quickstart.getTags()).contains("php");
+		}
+		assertThat(connection.getQuickstartsByTag("bogus")).isEmpty();
+	}
+
+	@Test
+	public void shouldGetQuickstartsByLanguageAndProvider() throws Throwable {
+		// pre-conditions
+		List<IQuickstart> quickstarts = connection.getQuickstarts();
+
+		// operation
+		List<IQuickstart> javaQuickstarts = connection.getQuickstartsByLanguage("java");
+		List<IQuickstart> partnerQuickstarts = connection.getQuickstartsByProvider("partner");
+
+		// verification
+		int java = 0;
+		int partner = 0;
+		for (IQuickstart quickstart : quickstarts) {
+			if ("Java".equals(quickstart.getLanguage())) {
+				assertThat(javaQuickstarts).contains(quickstart);
+				java++;
+			}
+			if ("partner".equals(quickstart.getProvider())) {
+				assertThat(partnerQuickstarts).contains(quickstart);
+				partner++;
+			}
+		}
+		assertThat(javaQuickstarts).hasSize(java);
+		assertThat(partnerQuickstarts).hasSize(partner);
+		assertThat(javaQuickstarts).onProperty("name").contains(QuickstartTestUtils.WILDFLY_8);
+	}
 }
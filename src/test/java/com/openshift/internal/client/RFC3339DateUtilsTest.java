@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import javax.xml.datatype.DatatypeFactory;
+
+import org.junit.Test;
+
+import com.openshift.client.utils.RFC822DateUtils;
+import com.openshift.internal.client.utils.RFC3339DateUtils;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class RFC3339DateUtilsTest extends TestTimer {
+
+	private static final int TIMESTAMPS = 10000;
+
+	@Test
+	public void shouldParseUtcTimestamp() throws Exception {
+		// pre-conditions
+		// operation
+		Date date = RFC3339DateUtils.parse("2013-07-04T23:18:09Z");
+
+		// verification
+		assertThat(date.getTime()).isEqualTo(1372979889000l);
+	}
+
+	@Test
+	public void shouldParseOffsetsAndFractions() throws Exception {
+		// pre-conditions
+		long expected = 1372979889000l;
+
+		// operation
+		// verification
+		assertThat(RFC3339DateUtils.parseMillis("2013-07-04T19:18:09-04:00")).isEqualTo(expected);
+		assertThat(RFC3339DateUtils.parseMillis("2013-07-05T01:48:09+0230")).isEqualTo(expected);
+		assertThat(RFC3339DateUtils.parseMillis("2013-07-04t23:18:09z")).isEqualTo(expected);
+		assertThat(RFC3339DateUtils.parseMillis("2013-07-04T23:18:09.1Z")).isEqualTo(expected + 100);
+		assertThat(RFC3339DateUtils.parseMillis("2013-07-04T23:18:09.123456Z")).isEqualTo(expected + 123);
+	}
+
+	@Test
+	public void shouldParseTimestampWithoutOffsetAsUtc() throws Exception {
+		// pre-conditions
+		// operation
+		Date date = RFC822DateUtils.getDate("2013-07-04T23:18:09");
+
+		// verification
+		assertThat(date.getTime()).isEqualTo(1372979889000l);
+	}
+
+	@Test
+	public void shouldNotParseInvalidTimestamps() throws Exception {
+		// pre-conditions
+		String[] timestamps = new String[] {
+				"", "2013-07-04", "2013-07-04T23:18", "2013-13-04T23:18:09Z", "2013-02-29T23:18:09Z",
+				"2013-07-04T24:18:09Z", "2013-07-04T23:18:09.Z", "2013-07-04T23:18:09+04", "2013-07-04T23:18:09Zfoo",
+				"2013-07-04 23:18:0xZ" };
+
+		for (String timestamp : timestamps) {
+			try {
+				// operation
+				RFC3339DateUtils.parse(timestamp);
+				fail("parsed invalid timestamp " + timestamp);
+			} catch (IllegalArgumentException e) {
+				// verification
+			}
+			assertThat(RFC822DateUtils.safeGetDate(timestamp)).isNull();
+		}
+		assertThat(RFC822DateUtils.safeGetDate(null)).isNull();
+	}
+
+	@Test
+	public void shouldFormatTimestampsThatParseToTheSameDate() throws Exception {
+		// pre-conditions
+		Date date = new Date(1372979889123l);
+
+		// operation
+		String timestamp = RFC3339DateUtils.format(date);
+
+		// verification
+		assertThat(timestamp).isEqualTo("2013-07-04T23:18:09.123Z");
+		assertThat(RFC3339DateUtils.format(new Date(0))).isEqualTo("1970-01-01T00:00:00Z");
+		assertThat(RFC3339DateUtils.format(new Date(-1))).isEqualTo("1969-12-31T23:59:59.999Z");
+		assertThat(RFC3339DateUtils.parse(RFC822DateUtils.getString(date))).isEqualTo(date);
+	}
+
+	@Test
+	public void shouldParseLikeDatatypeFactory() throws Exception {
+		// pre-conditions
+		List<String> timestamps = createTimestamps(TIMESTAMPS);
+		DatatypeFactory factory = DatatypeFactory.newInstance();
+
+		for (String timestamp : timestamps) {
+			// operation
+			Date date = RFC3339DateUtils.parse(timestamp);
+
+			// verification
+			assertThat(date)
+					.as(timestamp)
+					.isEqualTo(factory.newXMLGregorianCalendar(timestamp).toGregorianCalendar().getTime());
+		}
+	}
+
+	private List<String> createTimestamps(int count) {
+		Random random = new Random(42);
+		List<String> timestamps = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++) {
+			String timestamp = RFC3339DateUtils.format(new Date(random.nextLong() % 4000000000000l));
+			if (i % 2 == 0) {
+				int hours = random.nextInt(14);
+				timestamp = timestamp.substring(0, timestamp.length() - 1)
+						+ (i % 4 == 0 ? '-' : '+') + (hours < 10 ? "0" + hours : hours) + ":30";
+			}
+			timestamps.add(timestamp);
+		}
+		return timestamps;
+	}
+}
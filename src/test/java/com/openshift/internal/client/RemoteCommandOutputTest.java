@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static com.openshift.client.utils.Samples.GET_DOMAINS;
+import static com.openshift.client.utils.Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.jcraft.jsch.ChannelExec;
+import com.openshift.client.IApplication;
+import com.openshift.client.IRemoteCommandOutput;
+import com.openshift.client.IRemoteCommandOutputListener;
+import com.openshift.internal.client.ssh.RemoteCommandOutput;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class RemoteCommandOutputTest extends TestTimer {
+
+	private ChannelExec channel;
+	private PipedOutputStream remoteOutput;
+	private PipedInputStream channelInput;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() throws Throwable {
+		this.remoteOutput = new PipedOutputStream();
+		this.channelInput = new PipedInputStream(remoteOutput);
+		this.channel = mock(ChannelExec.class);
+		when(channel.getInputStream()).thenReturn(channelInput);
+		// jsch closes the remote end of the stream when disconnecting
+		Mockito.doAnswer(new Answer<Void>() {
+
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				remoteOutput.close();
+				return null;
+			}
+		}).when(channel).disconnect();
+		this.executor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void shouldReturnLinesWhileCommandIsRunning() throws Throwable {
+		// pre-conditions
+		RemoteCommandOutput output = new RemoteCommandOutput("tail", channel, channelInput);
+
+		// operation
+		write("line1\n");
+
+		// verification
+		assertThat(output.hasNext()).isTrue();
+		assertThat(output.next()).isEqualTo("line1");
+		write("line2\r\nline3");
+		remoteOutput.close();
+		assertThat(output.next()).isEqualTo("line2");
+		assertThat(output.next()).isEqualTo("line3");
+		assertThat(output.hasNext()).isFalse();
+	}
+
+	@Test
+	public void shouldSplitLinesThatAreTooLong() throws Throwable {
+		// pre-conditions
+		RemoteCommandOutput output = new RemoteCommandOutput("cat", channel, channelInput, 4);
+
+		// operation
+		write("abcdefgh\nij\n");
+		remoteOutput.close();
+
+		// verification
+		assertThat(output.getLines()).containsExactly("abcd", "efgh", "ij");
+	}
+
+	@Test
+	public void shouldReadChunks() throws Throwable {
+		// pre-conditions
+		RemoteCommandOutput output = new RemoteCommandOutput("cat", channel, channelInput);
+		write("0123456789");
+		remoteOutput.close();
+		byte[] buffer = new byte[4];
+
+		// operation
+		StringBuilder builder = new StringBuilder();
+		for (int read = -1; (read = output.read(buffer)) != -1;) {
+			assertThat(read).isLessThanOrEqualTo(4);
+			builder.append(new String(buffer, 0, read));
+		}
+
+		// verification
+		assertThat(builder.toString()).isEqualTo("0123456789");
+	}
+
+	@Test
+	public void shouldNotifyListenerAndReturnExitStatus() throws Throwable {
+		// pre-conditions
+		when(channel.isClosed()).thenReturn(true);
+		when(channel.getExitStatus()).thenReturn(3);
+		RemoteCommandOutput output = new RemoteCommandOutput("cat", channel, channelInput);
+		write("line1\nline2\n");
+		remoteOutput.close();
+		LinesListener listener = new LinesListener(Integer.MAX_VALUE);
+
+		// operation
+		int exitStatus = output.notifyLines(listener);
+
+		// verification
+		assertThat(exitStatus).isEqualTo(3);
+		assertThat(listener.lines).containsExactly("line1", "line2");
+	}
+
+	@Test
+	public void shouldCancelCommandIfListenerAsksForIt() throws Throwable {
+		// pre-conditions
+		RemoteCommandOutput output = new RemoteCommandOutput("tail", channel, channelInput);
+		write("line1\nline2\nline3\n");
+		LinesListener listener = new LinesListener(1);
+
+		// operation
+		int exitStatus = output.notifyLines(listener);
+
+		// verification
+		assertThat(exitStatus).isEqualTo(-1);
+		assertThat(listener.lines).containsExactly("line1");
+		assertThat(output.isCancelled()).isTrue();
+		verify(channel, atLeastOnce()).disconnect();
+	}
+
+	@Test
+	public void shouldUnblockReaderWhenCancelled() throws Throwable {
+		// pre-conditions
+		final RemoteCommandOutput output = new RemoteCommandOutput("tail", channel, channelInput);
+		Future<Boolean> hasNext = executor.submit(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				return output.hasNext();
+			}
+		});
+		Thread.sleep(100);
+		assertThat(hasNext.isDone()).isFalse();
+
+		// operation
+		output.cancel();
+
+		// verification
+		assertThat(hasNext.get(10, TimeUnit.SECONDS)).isFalse();
+		verify(channel, atLeastOnce()).disconnect();
+	}
+
+	@Test
+	public void shouldStreamCommandOfSession() throws Throwable {
+		// pre-conditions
+		HttpClientMockDirector mockDirector = new HttpClientMockDirector()
+				.mockGetDomains(GET_DOMAINS)
+				.mockGetApplications("foobarz", GET_DOMAINS_FOOBARZ_APPLICATIONS_1EMBEDDED);
+		IApplication application = mockDirector.getDomain("foobarz").getApplicationByName("springeap6");
+		ApplicationSSHSession session = new ApplicationSSHSessionMockDirector(application)
+				.mockChannel(channel)
+				.getMock();
+		write("line1\n");
+
+		// operation
+		IRemoteCommandOutput output = session.streamCommand("tail -f app-root/logs/*.log");
+
+		// verification
+		verify(channel).setCommand("tail -f app-root/logs/*.log");
+		verify(channel).connect(Mockito.anyInt());
+		assertThat(output.next()).isEqualTo("line1");
+		output.close();
+		assertThat(output.hasNext()).isFalse();
+	}
+
+	private void write(String data) throws IOException {
+		remoteOutput.write(data.getBytes());
+		remoteOutput.flush();
+	}
+
+	private static class LinesListener implements IRemoteCommandOutputListener {
+
+		private final int maxLines;
+		private final List<String> lines = new ArrayList<String>();
+
+		private LinesListener(int maxLines) {
+			this.maxLines = maxLines;
+		}
+
+		@Override
+		public boolean lineReceived(String line) {
+			lines.add(line);
+			return lines.size() < maxLines;
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.client.OpenShiftException;
+import com.openshift.internal.client.ResourcePoller.IPollable;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class ResourcePollerTest {
+
+	private ResourcePoller poller;
+
+	@Before
+	public void setUp() {
+		this.poller = new ResourcePoller(10, 100);
+	}
+
+	@After
+	public void tearDown() {
+		poller.shutdown();
+	}
+
+	@Test
+	public void shouldPollOnceForAllWatchers() throws Throwable {
+		// pre-conditions
+		ManualExecutor executor = new ManualExecutor();
+		ResourcePoller poller = new ManualResourcePoller(executor);
+		CountingPollable pollable = new CountingPollable(false, 1);
+
+		// operation
+		poller.watch(pollable, "watcher1");
+		poller.watch(pollable, "watcher2");
+		executor.runNext();
+
+		// verifications
+		assertThat(pollable.getPolls()).isEqualTo(1);
+		assertThat(executor.getPending()).hasSize(1);
+		assertThat(poller.unwatch(pollable, "watcher1")).isTrue();
+		assertThat(poller.isWatched(pollable)).isTrue();
+		assertThat(poller.unwatch(pollable, "watcher2")).isFalse();
+		assertThat(poller.isWatched(pollable)).isFalse();
+		assertThat(executor.getPending()).isEmpty();
+		assertThat(executor.isShutdown()).isTrue();
+	}
+
+	@Test
+	public void shouldPollLessOftenWhileUnchanged() throws Throwable {
+		// pre-conditions
+		ManualExecutor unchangedExecutor = new ManualExecutor();
+		ManualExecutor changingExecutor = new ManualExecutor();
+		CountingPollable unchanged = new CountingPollable(false, 0);
+		CountingPollable changing = new CountingPollable(true, 0);
+
+		// operation
+		new ManualResourcePoller(unchangedExecutor).watch(unchanged, "watcher");
+		new ManualResourcePoller(changingExecutor).watch(changing, "watcher");
+
+		// verifications
+		// min interval 10, max interval 100
+		assertThat(unchangedExecutor.runNext(6)).containsExactly(0L, 20L, 40L, 80L, 100L, 100L);
+		assertThat(changingExecutor.runNext(6)).containsExactly(0L, 10L, 10L, 10L, 10L, 10L);
+		assertThat(unchanged.getPolls()).isEqualTo(6);
+		assertThat(changing.getPolls()).isEqualTo(6);
+	}
+
+	@Test
+	public void shouldKeepPollingIfPollFails() throws Throwable {
+		// pre-conditions
+		CountingPollable failing = new CountingPollable(false, 2) {
+
+			@Override
+			public boolean poll() throws OpenShiftException {
+				super.poll();
+				throw new OpenShiftException("server unavailable");
+			}
+		};
+
+		// operation
+		poller.watch(failing, "watcher");
+
+		// verifications
+		assertThat(failing.await()).isTrue();
+	}
+
+	private static class ManualResourcePoller extends ResourcePoller {
+
+		private final ScheduledExecutorService executor;
+
+		private ManualResourcePoller(ScheduledExecutorService executor) {
+			super(10, 100);
+			this.executor = executor;
+		}
+
+		@Override
+		protected ScheduledExecutorService createExecutor() {
+			return executor;
+		}
+	}
+
+	/**
+	 * An executor that runs the scheduled tasks when it's told to, it records
+	 * the delays that they were scheduled with.
+	 */
+	private static class ManualExecutor extends ScheduledThreadPoolExecutor {
+
+		private final List<ManualFuture> scheduled = new ArrayList<ManualFuture>();
+
+		private ManualExecutor() {
+			super(1);
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			ManualFuture future = new ManualFuture(command, unit.toMillis(delay));
+			scheduled.add(future);
+			return future;
+		}
+
+		/**
+		 * Runs the given number of scheduled tasks, including the ones that
+		 * they schedule, and returns their delays.
+		 */
+		private List<Long> runNext(int tasks) {
+			List<Long> delays = new ArrayList<Long>();
+			for (int i = 0; i < tasks; i++) {
+				delays.add(runNext());
+			}
+			return delays;
+		}
+
+		private long runNext() {
+			List<ManualFuture> pending = getPending();
+			assertThat(pending).isNotEmpty();
+			ManualFuture future = pending.get(0);
+			scheduled.remove(future);
+			future.command.run();
+			return future.delay;
+		}
+
+		private List<ManualFuture> getPending() {
+			List<ManualFuture> pending = new ArrayList<ManualFuture>();
+			for (ManualFuture future : scheduled) {
+				if (!future.isCancelled()) {
+					pending.add(future);
+				}
+			}
+			return pending;
+		}
+	}
+
+	private static class ManualFuture implements ScheduledFuture<Object> {
+
+		private final Runnable command;
+		private final long delay;
+		private boolean cancelled;
+
+		private ManualFuture(Runnable command, long delay) {
+			this.command = command;
+			this.delay = delay;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(delay, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			long difference = delay - other.getDelay(TimeUnit.MILLISECONDS);
+			return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			this.cancelled = true;
+			return true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public boolean isDone() {
+			return cancelled;
+		}
+
+		@Override
+		public Object get() {
+			return null;
+		}
+
+		@Override
+		public Object get(long timeout, TimeUnit unit) {
+			return null;
+		}
+	}
+
+	private static class CountingPollable implements IPollable {
+
+		private final boolean changed;
+		private final CountDownLatch latch;
+		private final AtomicInteger polls = new AtomicInteger();
+
+		private CountingPollable(boolean changed, int awaitedPolls) {
+			this.changed = changed;
+			this.latch = new CountDownLatch(awaitedPolls);
+		}
+
+		@Override
+		public boolean poll() throws OpenShiftException {
+			polls.incrementAndGet();
+			latch.countDown();
+			return changed;
+		}
+
+		private int getPolls() {
+			return polls.get();
+		}
+
+		private boolean await() throws InterruptedException {
+			return latch.await(10, TimeUnit.SECONDS);
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client;
+
+import static com.openshift.client.utils.FileUtils.createRandomTempDirectory;
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.client.SSHKeyPair;
+import com.openshift.client.SSHKeyPairPool;
+import com.openshift.client.SSHKeyType;
+import com.openshift.client.utils.SSHKeyTestUtils;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class SSHKeyPairPoolTest extends TestTimer {
+
+	private static final int KEYS = 3;
+
+	private File directory;
+	private SSHKeyPairPool pool;
+
+	@Before
+	public void setUp() throws Exception {
+		this.directory = createRandomTempDirectory();
+	}
+
+	@After
+	public void tearDown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void shouldCreateDsaKeyPair() throws Exception {
+		// pre-conditions
+		String privateKeyPath = new File(directory, "id_dsa").getAbsolutePath();
+		String publicKeyPath = new File(directory, "id_dsa.pub").getAbsolutePath();
+
+		// operation
+		SSHKeyPair.create(SSHKeyType.SSH_DSA, SSHKeyTestUtils.DEFAULT_PASSPHRASE, privateKeyPath, publicKeyPath);
+
+		// verification
+		SSHKeyPair keyPair = SSHKeyPair.load(privateKeyPath, publicKeyPath);
+		assertThat(keyPair.getKeyType()).isEqualTo(SSHKeyType.SSH_DSA);
+	}
+
+	@Test
+	public void shouldOnlyLeaveKeyFilesInDirectory() throws Exception {
+		// pre-conditions
+		File privateKey = new File(directory, "id_rsa");
+		File publicKey = new File(directory, "id_rsa.pub");
+
+		// operation
+		SSHKeyPair.create(SSHKeyType.SSH_RSA, SSHKeyTestUtils.DEFAULT_PASSPHRASE,
+				privateKey.getAbsolutePath(), publicKey.getAbsolutePath());
+
+		// verification
+		assertThat(directory.list()).containsOnly(privateKey.getName(), publicKey.getName());
+	}
+
+	@Test
+	public void shouldReplaceExistingKeyFiles() throws Exception {
+		// pre-conditions
+		String privateKeyPath = new File(directory, "id_dsa").getAbsolutePath();
+		String publicKeyPath = new File(directory, "id_dsa.pub").getAbsolutePath();
+		SSHKeyPair.create(SSHKeyType.SSH_DSA, SSHKeyTestUtils.DEFAULT_PASSPHRASE, privateKeyPath, publicKeyPath);
+
+		// operation
+		SSHKeyPair created =
+				SSHKeyPair.create(SSHKeyType.SSH_DSA, SSHKeyTestUtils.DEFAULT_PASSPHRASE, privateKeyPath, publicKeyPath);
+
+		// verification
+		SSHKeyPair loaded = SSHKeyPair.load(privateKeyPath, publicKeyPath);
+		assertThat(loaded.getPublicKey()).isEqualTo(created.getPublicKey());
+		assertThat(directory.list()).containsOnly("id_dsa", "id_dsa.pub");
+	}
+
+	@Test
+	public void shouldCreateKeyPairsFromPool() throws Exception {
+		// pre-conditions
+		this.pool = new SSHKeyPairPool(SSHKeyType.SSH_DSA, KEYS);
+		waitForAvailable(KEYS, pool);
+
+		// operation
+		SSHKeyPair created = createKeyPair("id_dsa", pool);
+
+		// verification
+		SSHKeyPair loaded = SSHKeyPair.load(created.getPrivateKeyPath(), created.getPublicKeyPath());
+		assertThat(loaded.getKeyType()).isEqualTo(SSHKeyType.SSH_DSA);
+		assertThat(loaded.getPublicKey()).isEqualTo(created.getPublicKey());
+		waitForAvailable(KEYS, pool);
+	}
+
+	@Test
+	public void shouldCreateKeyPairsIfPoolIsShutDown() throws Exception {
+		// pre-conditions
+		this.pool = new SSHKeyPairPool(SSHKeyType.SSH_DSA, KEYS);
+		pool.shutdown();
+
+		// operation
+		SSHKeyPair created = createKeyPair("id_dsa", pool);
+
+		// verification
+		assertThat(new File(created.getPrivateKeyPath()).isFile()).isTrue();
+		assertThat(pool.getAvailable()).isEqualTo(0);
+	}
+
+	private SSHKeyPair createKeyPair(String name, SSHKeyPairPool pool) {
+		return pool.create(SSHKeyTestUtils.DEFAULT_PASSPHRASE,
+				new File(directory, name).getAbsolutePath(),
+				new File(directory, name + ".pub").getAbsolutePath());
+	}
+
+	private void waitForAvailable(int keys, SSHKeyPairPool pool) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 60 * 1000;
+		while (pool.getAvailable() < keys
+				&& System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertThat(pool.getAvailable()).isEqualTo(keys);
+	}
+}
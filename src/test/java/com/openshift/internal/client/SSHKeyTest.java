@@ -12,17 +12,27 @@ package com.openshift.internal.client;
 
 import static com.openshift.client.utils.FileUtils.createRandomTempFile;
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.net.SocketTimeoutException;
+import java.net.URL;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Matchers;
 
 import com.openshift.client.IOpenShiftConnection;
 import com.openshift.client.IOpenShiftSSHKey;
@@ -33,11 +43,14 @@ import com.openshift.client.OpenShiftUnknownSSHKeyTypeException;
 import com.openshift.client.SSHKeyPair;
 import com.openshift.client.SSHKeyType;
 import com.openshift.client.SSHPublicKey;
+import com.openshift.client.utils.FileUtils;
 import com.openshift.client.utils.SSHKeyTestUtils;
 import com.openshift.client.utils.SSHPublicKeyAssertion;
 import com.openshift.client.utils.Samples;
 import com.openshift.client.utils.TestConnectionBuilder;
 import com.openshift.internal.client.httpclient.HttpClientException;
+import com.openshift.internal.client.httpclient.request.IMediaType;
+import com.openshift.internal.client.httpclient.request.Parameter;
 import com.openshift.internal.client.httpclient.request.StringParameter;
 
 /**
@@ -304,4 +317,128 @@ public class SSHKeyTest extends TestTimer {
 		user.addSSHKey(keyName, publicKey); // throws
 	}
 
+	@Test
+	public void shouldGetKeyByPublicKey() throws Throwable {
+		// pre-conditions
+		mockDirector.mockGetKeys(Samples.GET_USER_KEYS_2KEYS);
+
+		// operation
+		IOpenShiftSSHKey key = user.getSSHKeyByPublicKey("AABB");
+
+		// verification
+		assertThat(key).isNotNull();
+		assertThat(key.getName()).isEqualTo("default2");
+		assertThat(user.hasSSHPublicKey("ABBA")).isTrue();
+		assertThat(user.hasSSHPublicKey("BBCC")).isFalse();
+	}
+
+	@Test
+	public void shouldGetKeyByUpdatedPublicKey() throws Throwable {
+		// pre-conditions
+		String keyName = "somekey";
+		mockDirector
+				.mockGetKeys(Samples.GET_USER_KEYS_1KEY)
+				.mockUpdateKey(keyName, Samples.PUT_BBCC_DSA_USER_KEYS_SOMEKEY);
+		IOpenShiftSSHKey key = user.getSSHKeyByName(keyName);
+		String publicKey = key.getPublicKey();
+
+		// operation
+		key.setPublicKey("BBCC");
+
+		// verification
+		assertThat(user.getSSHKeyByPublicKey("BBCC")).isSameAs(key);
+		assertThat(user.hasSSHPublicKey(publicKey)).isFalse();
+	}
+
+	@Test
+	public void shouldNotGetKeyByPublicKeyOnceRemoved() throws Throwable {
+		// pre-conditions
+		mockDirector
+				.mockGetKeys(Samples.GET_USER_KEYS_2KEYS)
+				.mockDeleteAny("{}");
+		assertThat(user.hasSSHPublicKey("AABB")).isTrue();
+
+		// operation
+		user.removeSSHKey("default2");
+
+		// verification
+		assertThat(user.hasSSHPublicKey("AABB")).isFalse();
+		assertThat(user.getSSHKeys()).onProperty("name").containsOnly("default");
+	}
+
+	@Test
+	public void shouldSyncKeys() throws Throwable {
+		// pre-conditions
+		mockDirector
+				.mockGetKeys(Samples.GET_USER_KEYS_2KEYS)
+				.mockCreateKey(Samples.PUT_BBCC_DSA_USER_KEYS_SOMEKEY)
+				.mockDeleteAny("{}");
+		Map<String, ISSHPublicKey> keys = new HashMap<String, ISSHPublicKey>();
+		keys.put("default", createPublicKey(SSHKeyTestUtils.SSH_RSA, "ABBA"));
+		keys.put("somekey", createPublicKey(SSHKeyTestUtils.SSH_DSA, "BBCC"));
+
+		// operation
+		List<IOpenShiftSSHKey> synced = user.syncSSHKeys(keys, 2);
+
+		// verification
+		assertThat(synced).onProperty("name").containsOnly("default", "somekey");
+		assertThat(user.getSSHKeyByPublicKey("BBCC").getName()).isEqualTo("somekey");
+		mockDirector.verifyCreateKey(
+				new StringParameter("type", SSHKeyTestUtils.SSH_DSA),
+				new StringParameter("name", "somekey"),
+				new StringParameter("content", "BBCC"));
+		verify(mockDirector.client(), times(1)).delete(
+				any(URL.class), any(IMediaType.class), anyInt(), Matchers.<Parameter[]> anyVararg());
+		verify(mockDirector.client(), never()).put(
+				any(URL.class), any(IMediaType.class), anyInt(), Matchers.<Parameter[]> anyVararg());
+	}
+
+	@Test
+	public void shouldUpdateChangedKeysWhenSyncing() throws Throwable {
+		// pre-conditions
+		String keyName = "somekey";
+		mockDirector
+				.mockGetKeys(Samples.GET_USER_KEYS_1KEY)
+				.mockUpdateKey(keyName, Samples.PUT_BBCC_DSA_USER_KEYS_SOMEKEY);
+		Map<String, ISSHPublicKey> keys = new HashMap<String, ISSHPublicKey>();
+		keys.put(keyName, createPublicKey(SSHKeyTestUtils.SSH_DSA, "BBCC"));
+
+		// operation
+		user.syncSSHKeys(keys);
+
+		// verification
+		assertThat(user.getSSHKeyByName(keyName).getPublicKey()).isEqualTo("BBCC");
+		mockDirector.verifyUpdateKey(
+				keyName,
+				new StringParameter("content", "BBCC"),
+				new StringParameter("type", SSHKeyTestUtils.SSH_DSA));
+	}
+
+	@Test
+	public void shouldUpdateKeysBeforeAddingKeysWithTheirPreviousPublicKey() throws Throwable {
+		// pre-conditions
+		mockDirector
+				.mockGetKeys(Samples.GET_USER_KEYS_1KEY)
+				.mockUpdateKey("somekey", Samples.PUT_BBCC_DSA_USER_KEYS_SOMEKEY)
+				.mockCreateKey(Samples.PUT_BBCC_DSA_USER_KEYS_SOMEKEY);
+		Map<String, ISSHPublicKey> keys = new HashMap<String, ISSHPublicKey>();
+		keys.put("otherkey", createPublicKey(SSHKeyTestUtils.SSH_RSA, "ABBA"));
+		keys.put("somekey", createPublicKey(SSHKeyTestUtils.SSH_DSA, "BBCC"));
+
+		// operation
+		user.syncSSHKeys(keys, 2);
+
+		// verification
+		InOrder inOrder = inOrder(mockDirector.client());
+		inOrder.verify(mockDirector.client()).put(
+				any(URL.class), any(IMediaType.class), anyInt(), Matchers.<Parameter[]> anyVararg());
+		inOrder.verify(mockDirector.client()).post(
+				any(URL.class), any(IMediaType.class), anyInt(), Matchers.<Parameter[]> anyVararg());
+	}
+
+	private ISSHPublicKey createPublicKey(String type, String content) throws Exception {
+		File file = createRandomTempFile(".pub");
+		FileUtils.writeTo(type + " " + content + " created by " + getClass().getSimpleName(), file);
+		return new SSHPublicKey(file);
+	}
 }
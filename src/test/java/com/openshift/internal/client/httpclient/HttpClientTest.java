@@ -35,6 +35,8 @@ import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.SSLSession;
 
@@ -50,6 +52,7 @@ import com.openshift.client.IHttpClient.ISSLCertificateCallback;
 import com.openshift.client.OpenShiftException;
 import com.openshift.client.configuration.AbstractOpenshiftConfiguration.ConfigurationOptions;
 import com.openshift.client.configuration.IOpenShiftConfiguration;
+import com.openshift.client.fakes.CompressingHttpServerFake;
 import com.openshift.client.fakes.HttpServerFake;
 import com.openshift.client.fakes.HttpsServerFake;
 import com.openshift.client.fakes.OpenShiftConfigurationFake;
@@ -251,6 +254,161 @@ public class HttpClientTest extends TestTimer {
 		assertTrue(response.indexOf(ACCEPT_APPLICATION_JSON) > 0);
 	}
 
+	@Test
+	public void shouldAcceptCompressedResponses() throws Throwable {
+		// operation
+		String response = httpClient.get(serverFake.getUrl(), IHttpClient.NO_TIMEOUT);
+		// verification
+		assertThat(response).contains(IHttpClient.PROPERTY_ACCEPT_ENCODING + ": gzip, deflate");
+	}
+
+	@Test
+	public void shouldNotAcceptCompressedResponsesIfDisabled() throws Throwable {
+		// pre-conditions
+		IHttpClient httpClient = new UrlConnectionHttpClientBuilder()
+				.setAcceptMediaType(ACCEPT_APPLICATION_JSON)
+				.setAcceptCompressedResponses(false)
+				.client();
+		// operation
+		String response = httpClient.get(serverFake.getUrl(), IHttpClient.NO_TIMEOUT);
+		// verification
+		assertThat(response).doesNotContain(IHttpClient.PROPERTY_ACCEPT_ENCODING);
+	}
+
+	@Test
+	public void shouldDecodeGzipResponse() throws Throwable {
+		assertDecodesResponse(IHttpClient.ENCODING_GZIP, false);
+	}
+
+	@Test
+	public void shouldDecodeDeflateResponse() throws Throwable {
+		assertDecodesResponse(IHttpClient.ENCODING_DEFLATE, false);
+	}
+
+	@Test
+	public void shouldDecodeRawDeflateResponse() throws Throwable {
+		assertDecodesResponse(IHttpClient.ENCODING_DEFLATE, true);
+	}
+
+	private void assertDecodesResponse(String contentEncoding, boolean rawDeflate) throws Throwable {
+		// pre-conditions
+		CompressingHttpServerFake server = null;
+		try {
+			this.serverFake.stop();
+			server = new CompressingHttpServerFake(new Random().nextInt(9 * 1024) + 1024, contentEncoding, rawDeflate);
+			server.start();
+			// operation
+			String response = httpClient.get(server.getUrl(), IHttpClient.NO_TIMEOUT);
+			// verification
+			assertThat(response).startsWith("GET");
+			TransferStatistics statistics = ((UrlConnectionHttpClient) httpClient).getTransferStatistics();
+			assertThat(statistics.getDecodedBytesReceived()).isEqualTo(response.length());
+			assertThat(statistics.getWireBytesReceived())
+					.isGreaterThan(0)
+					.isNotEqualTo(statistics.getDecodedBytesReceived());
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void shouldCompressRequestBodyAboveThreshold() throws Throwable {
+		// pre-conditions
+		UrlConnectionHttpClient httpClient = (UrlConnectionHttpClient) new UrlConnectionHttpClientBuilder()
+				.setAcceptMediaType(ACCEPT_APPLICATION_JSON)
+				.setRequestCompressionThreshold(0)
+				.client();
+		// operation
+		String response = httpClient.post(serverFake.getUrl(), new FormUrlEncodedMediaType(), IHttpClient.NO_TIMEOUT,
+				new StringParameter("adietish", "redhat"));
+		// verification
+		assertThat(response).contains(IHttpClient.PROPERTY_CONTENT_ENCODING + ": " + IHttpClient.ENCODING_GZIP);
+		assertThat(httpClient.getTransferStatistics().getDecodedBytesSent()).isEqualTo("adietish=redhat".length());
+	}
+
+	@Test
+	public void shouldNotCompressRequestBodyByDefault() throws Throwable {
+		// operation
+		String response = httpClient.post(serverFake.getUrl(), new FormUrlEncodedMediaType(), IHttpClient.NO_TIMEOUT,
+				new StringParameter("adietish", "redhat"));
+		// verification
+		assertThat(response).doesNotContain(IHttpClient.PROPERTY_CONTENT_ENCODING);
+		TransferStatistics statistics = ((UrlConnectionHttpClient) httpClient).getTransferStatistics();
+		assertThat(statistics.getWireBytesSent()).isEqualTo(statistics.getDecodedBytesSent());
+	}
+
+	@Test
+	public void shouldSendFixedContentLength() throws Throwable {
+		// operation
+		String response = httpClient.post(serverFake.getUrl(), new FormUrlEncodedMediaType(), IHttpClient.NO_TIMEOUT,
+				new StringParameter("adietish", "redhat"));
+		// verification
+		assertThat(response).contains("Content-Length: " + "adietish=redhat".length());
+	}
+
+	@Test(expected = UnauthorizedException.class)
+	public void shouldThrowUnauthorizedExceptionWhenPosting() throws Exception {
+		HttpServerFake server = null;
+		try {
+			// precondition
+			this.serverFake.stop();
+			server = startHttpServerFake("HTTP/1.0 401 Unauthorized");
+
+			// operation
+			httpClient.post(server.getUrl(), new FormUrlEncodedMediaType(), IHttpClient.NO_TIMEOUT,
+					new StringParameter("adietish", "redhat"));
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void shouldResendBodyToRedirectLocation() throws Throwable {
+		HttpServerFake redirectingServer = null;
+		HttpServerFake server = null;
+		try {
+			// pre-conditions
+			server = startHttpServerFake(null);
+			redirectingServer = startHttpServerFake(
+					"HTTP/1.1 307 Temporary Redirect\n"
+							+ "Location: " + server.getUrl() + "\n"
+							+ "Content-Length: 0\n");
+
+			// operation
+			String response = httpClient.post(redirectingServer.getUrl(), new FormUrlEncodedMediaType(),
+					IHttpClient.NO_TIMEOUT, new StringParameter("adietish", "redhat"));
+
+			// verification
+			assertThat(response).startsWith("POST / ");
+			assertThat(response).contains("Content-Length: " + "adietish=redhat".length());
+		} finally {
+			redirectingServer.stop();
+			server.stop();
+		}
+	}
+
+	@Test
+	public void shouldNotResendBodyToOtherHost() throws Throwable {
+		HttpServerFake redirectingServer = null;
+		try {
+			// pre-conditions
+			redirectingServer = startHttpServerFake(
+					"HTTP/1.1 302 Found\n"
+							+ "Location: http://127.0.0.1/\n"
+							+ "Content-Length: 0\n");
+
+			// operation
+			httpClient.post(redirectingServer.getUrl(), new FormUrlEncodedMediaType(),
+					IHttpClient.NO_TIMEOUT, new StringParameter("adietish", "redhat"));
+			fail("request to another host expected to fail");
+		} catch (HttpClientException e) {
+			// verification
+			assertThat(e.getMessage()).contains("redirected (302) to another host");
+		} finally {
+			redirectingServer.stop();
+		}
+	}
+
 	@Test
 	public void shouldEncodeParametersCorrectly() throws HttpClientException, FileNotFoundException, IOException,
 			OpenShiftException {
@@ -630,6 +788,48 @@ public class HttpClientTest extends TestTimer {
 		}
 	}
 
+	@Test
+	public void shouldReuseSSLSocketFactoryForAllConnections() throws Throwable {
+		// pre-conditions
+		SSLClientFake client = new SSLClientFake(null);
+		URL url = new URL("https://localhost");
+		// operation
+		HttpsURLConnection connection1 = (HttpsURLConnection) client.createConnection(url);
+		HttpsURLConnection connection2 = (HttpsURLConnection) client.createConnection(url);
+		// verification
+		assertThat(connection1.getSSLSocketFactory()).isNotNull();
+		assertThat(connection1.getSSLSocketFactory()).isSameAs(connection2.getSSLSocketFactory());
+	}
+
+	@Test
+	public void shouldReuseCipherFilteringSSLSocketFactoryForAllConnections() throws Throwable {
+		// pre-conditions
+		SSLClientFake client = new SSLClientFake(SSLUtils.CIPHER_DHE_REGEX);
+		URL url = new URL("https://localhost");
+		// operation
+		HttpsURLConnection connection1 = (HttpsURLConnection) client.createConnection(url);
+		HttpsURLConnection connection2 = (HttpsURLConnection) client.createConnection(url);
+		// verification
+		assertThat(connection1.getSSLSocketFactory()).isSameAs(connection2.getSSLSocketFactory());
+		assertThat(connection1.getSSLSocketFactory().getSupportedCipherSuites()).satisfies(new NoDHECiphersCondition());
+		assertThat(client.getSupportedCiphersRequests()).isEqualTo(1);
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	public void shouldStillSetCipherFilteringSSLSocketFactoryWithDeprecatedMethod() throws Throwable {
+		// pre-conditions
+		SSLClientFake client = new SSLClientFake(null);
+		HttpsURLConnection connection = (HttpsURLConnection) new URL("https://localhost").openConnection();
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(null, null, null);
+		// operation
+		SSLContext returned = client.setFilteredCiphers(SSLUtils.CIPHER_DHE_REGEX, sslContext, connection);
+		// verification
+		assertThat(returned).isSameAs(sslContext);
+		assertThat(connection.getSSLSocketFactory().getSupportedCipherSuites()).satisfies(new NoDHECiphersCondition());
+	}
+
 	@Test
 	public void shouldFilterBadSSLCiphers() throws Throwable {
 		// pre-conditions
@@ -713,6 +913,31 @@ public class HttpClientTest extends TestTimer {
 		}
 	}
 
+	private class SSLClientFake extends UrlConnectionHttpClient {
+
+		private int supportedCiphersRequests;
+
+		private SSLClientFake(String excludedSSLCipherRegex) {
+			super(null, null, null, IHttpClient.MEDIATYPE_APPLICATION_JSON, null, null, null, null, null,
+					IHttpClient.NO_TIMEOUT, excludedSSLCipherRegex);
+		}
+
+		public HttpURLConnection createConnection(URL url) throws IOException {
+			return super.createConnection(url, username, password, authKey, authIV, token, userAgent,
+					acceptedVersion, acceptedMediaType, sslAuthorizationCallback, NO_TIMEOUT);
+		}
+
+		@Override
+		protected String[] getSupportedCiphers(SSLContext sslContext) {
+			supportedCiphersRequests++;
+			return super.getSupportedCiphers(sslContext);
+		}
+
+		public int getSupportedCiphersRequests() {
+			return supportedCiphersRequests;
+		}
+	}
+
 	private abstract class UrlConnectionHttpClientFake extends UrlConnectionHttpClient {
 		private UrlConnectionHttpClientFake(String userAgent, String acceptVersion) {
 			super("username", "password", userAgent, IHttpClient.MEDIATYPE_APPLICATION_JSON, acceptVersion,
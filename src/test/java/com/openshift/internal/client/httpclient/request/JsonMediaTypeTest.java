@@ -112,4 +112,55 @@ public class JsonMediaTypeTest {
 		assertThat(out.toString()).isEqualTo(
 				"{\"thirst\" : [{\"name\" : \"adietish\", \"company\" : \"jboss\"},{\"name\" : \"xcoulon\", \"company\" : \"redhat\"}]}");
 	}
+
+	@Test
+	public void shouldEscapeStrings() throws IOException {
+		// pre-condition
+		// operation
+		jsonEncoder.writeTo(
+				new ParameterValueMap()
+						.add(new StringParameter("na\"me", "q\"uote\\back/slash\n\r\t\b\f\u0001"))
+				, out);
+		// verification
+		assertThat(out.toString()).isEqualTo(
+				"{\"na\\\"me\" : \"q\\\"uote\\\\back/slash\\n\\r\\t\\b\\f\\u0001\"}");
+	}
+
+	@Test
+	public void shouldEncodeNonAsciiCharactersInUtf8() throws IOException {
+		// pre-condition
+		// operation
+		jsonEncoder.writeTo(
+				new ParameterValueMap()
+						.add(new StringParameter("name", "Andr\u00e9"))
+				, out);
+		// verification
+		assertThat(out.toString("UTF-8")).isEqualTo("{\"name\" : \"Andr\u00e9\"}");
+	}
+
+	@Test
+	public void shouldEncodeSupplementaryCharactersInUtf8() throws IOException {
+		// pre-condition
+		String name = "Andr\u00e9 \ud83d\ude00\n\u20ac";
+		// operation
+		jsonEncoder.writeTo(
+				new ParameterValueMap()
+						.add(new StringParameter("name", name))
+				, out);
+		// verification
+		assertThat(out.toByteArray()).isEqualTo(
+				"{\"name\" : \"Andr\u00e9 \ud83d\ude00\\n\u20ac\"}".getBytes("UTF-8"));
+	}
+
+	@Test
+	public void shouldEncodeEmptyArrayAsNull() throws IOException {
+		// pre-condition
+		// operation
+		jsonEncoder.writeTo(
+				new ParameterValueMap()
+						.add(new Parameter("cartridges", new ParameterValueArray()))
+				, out);
+		// verification
+		assertThat(out.toString()).isEqualTo("{\"cartridges\" : null}");
+	}
 }
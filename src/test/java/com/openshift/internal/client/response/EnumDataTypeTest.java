@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+import com.openshift.client.utils.Samples;
+import com.openshift.internal.client.TestTimer;
+import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
+import com.openshift.internal.client.utils.StringUtils;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class EnumDataTypeTest extends TestTimer {
+
+	@Test
+	public void shouldLookupAllTypesByName() {
+		for (EnumDataType type : EnumDataType.values()) {
+			// operation
+			// verification
+			assertThat(EnumDataType.safeValueOf(type.name())).isSameAs(type);
+			assertThat(EnumDataType.safeValueOf(type.name().replace('_', '-'))).isSameAs(type);
+		}
+		assertThat(EnumDataType.safeValueOf(null)).isNull();
+		assertThat(EnumDataType.safeValueOf("")).isNull();
+		assertThat(EnumDataType.safeValueOf("gear-group")).isNull();
+	}
+
+	@Test
+	public void shouldLookupTypesOfSamplesLikeValueOf() {
+		for (Samples sample : Samples.values()) {
+			// pre-conditions
+			String json = sample.getContentAsString();
+			if (StringUtils.isEmpty(json)) {
+				continue;
+			}
+			ModelNode node = JsonReader.read(json);
+			if (!node.has(IOpenShiftJsonConstants.PROPERTY_TYPE)) {
+				continue;
+			}
+			String type = node.get(IOpenShiftJsonConstants.PROPERTY_TYPE).asString();
+
+			// operation
+			// verification
+			assertThat(EnumDataType.safeValueOf(type)).as(sample.name()).isEqualTo(valueOf(type));
+		}
+	}
+
+	private EnumDataType valueOf(String type) {
+		try {
+			return EnumDataType.valueOf(type.replaceAll("-", "_"));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class InternerTest {
+
+	@Test
+	public void shouldReturnSameInstanceForEqualValues() {
+		// pre-conditions
+		Interner<String> interner = new Interner<String>();
+		String jbossews = new String("jbossews-2.0");
+
+		// operation
+		String interned = interner.intern(jbossews);
+		String interned2 = interner.intern(new String("jbossews-2.0"));
+
+		// verification
+		assertThat(interned).isSameAs(jbossews);
+		assertThat(interned2).isSameAs(jbossews);
+		assertThat(interner.intern(null)).isNull();
+	}
+
+	@Test
+	public void shouldDropLeastRecentlyUsedValues() {
+		// pre-conditions
+		Interner<String> interner = new Interner<String>(2);
+		String small = new String("small");
+		String medium = new String("medium");
+		interner.intern(small);
+		interner.intern(medium);
+		interner.intern(new String("small"));
+
+		// operation
+		interner.intern("large");
+
+		// verification
+		assertThat(interner.size()).isEqualTo(2);
+		assertThat(interner.intern(new String("small"))).isSameAs(small);
+		assertThat(interner.intern(new String("medium"))).isNotSameAs(medium);
+	}
+}
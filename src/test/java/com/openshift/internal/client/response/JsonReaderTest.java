@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+import com.openshift.client.utils.Samples;
+import com.openshift.internal.client.TestTimer;
+import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
+import com.openshift.internal.client.utils.StringUtils;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class JsonReaderTest extends TestTimer {
+
+	@Test
+	public void shouldReadSamplesLikeModelNode() {
+		for (Samples sample : Samples.values()) {
+			// pre-conditions
+			String json = sample.getContentAsString();
+			if (json == null) {
+				continue;
+			}
+
+			// operation
+			// verification
+			assertReadsLikeModelNode(json);
+		}
+	}
+
+	@Test
+	public void shouldReadValuesLikeModelNode() {
+		// pre-conditions
+		String[] jsons = new String[] {
+				"{\"a\":1}", "{\"a\":-2}", "{\"a\":2147483648}", "{\"a\":12345678901}",
+				"{\"a\":123456789012345678901234}", "{\"a\":-9223372036854775809}", "{\"a\":1.5}", "{\"a\":-0.5}",
+				"{\"a\":true}", "{\"a\":false}", "{\"a\":null}", "{\"a\":{}}", "{\"a\":[]}", "[1,2]", "\"str\"",
+				"{\"a\":\"x\\u00e9\\n\\/\\t\\b\\f\\r\\\"\\\\\"}", "{\"a\":1, \"a\":2}",
+				"{\"a\":{\"b\":1}, \"a\":{\"c\":2}}", "  {\"a\" : [ 1 , {\"b\":null}, null ] }  " };
+
+		for (String json : jsons) {
+			// operation
+			// verification
+			assertReadsLikeModelNode(json);
+		}
+		assertThat(JsonReader.read("{\"a\":12345678901}").get("a").getType()).isEqualTo(ModelType.LONG);
+	}
+
+	@Test
+	public void shouldNotReadInvalidJson() {
+		// pre-conditions
+		String[] jsons = new String[] {
+				"", " ", "{", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "[1 2]", "{\"a\":\"b}", "{\"a\":tru}", "{\"a\":-}",
+				"{\"a\":\"\\x\"}", "{\"a\":1} 2", "php-5.4, mysql-5.1" };
+
+		for (String json : jsons) {
+			try {
+				// operation
+				JsonReader.read(json);
+				fail("read invalid json " + json);
+			} catch (IllegalArgumentException e) {
+				// verification
+			}
+		}
+	}
+
+	@Test
+	public void shouldSkipPropertiesOfRootObject() {
+		for (String json : getSamples()) {
+			// pre-conditions
+			ModelNode expected = ModelNode.fromJSONString(json);
+			if (expected.getType() != ModelType.OBJECT) {
+				continue;
+			}
+			expected.remove(IOpenShiftJsonConstants.PROPERTY_DATA);
+			expected.remove(IOpenShiftJsonConstants.PROPERTY_MESSAGES);
+
+			// operation
+			ModelNode node = JsonReader.read(json,
+					Arrays.asList(IOpenShiftJsonConstants.PROPERTY_DATA, IOpenShiftJsonConstants.PROPERTY_MESSAGES));
+
+			// verification
+			assertThat(node).isEqualTo(expected);
+		}
+		assertThat(JsonReader.read("{\"a\":[{\"b\":\"]}\\\"\"}, 1], \"c\":true}", Arrays.asList("a")))
+				.isEqualTo(ModelNode.fromJSONString("{\"c\":true}"));
+	}
+
+	private void assertReadsLikeModelNode(String json) {
+		ModelNode expected = null;
+		try {
+			expected = ModelNode.fromJSONString(json);
+		} catch (IllegalArgumentException e) {
+			// invalid json
+		}
+		try {
+			assertThat(JsonReader.read(json)).as(json).isEqualTo(expected);
+		} catch (IllegalArgumentException e) {
+			assertThat(expected).as(json).isNull();
+		}
+	}
+
+	private List<String> getSamples() {
+		List<String> jsons = new ArrayList<String>();
+		for (Samples sample : Samples.values()) {
+			String json = sample.getContentAsString();
+			if (!StringUtils.isEmpty(json)) {
+				jsons.add(json);
+			}
+		}
+		return jsons;
+	}
+}
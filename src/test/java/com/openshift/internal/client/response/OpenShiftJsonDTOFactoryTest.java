@@ -14,11 +14,13 @@ import static org.fest.assertions.Assertions.assertThat;
 import static org.junit.Assert.assertNotNull;
 
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.fest.assertions.Condition;
+import org.jboss.dmr.ModelNode;
 import org.junit.Test;
 
 import com.openshift.client.ApplicationScale;
@@ -32,6 +34,7 @@ import com.openshift.client.utils.ResourcePropertyAssert;
 import com.openshift.client.utils.Samples;
 import com.openshift.internal.client.CartridgeType;
 import com.openshift.internal.client.GearProfile;
+import com.openshift.internal.client.utils.IOpenShiftJsonConstants;
 
 public class OpenShiftJsonDTOFactoryTest {
 
@@ -195,6 +198,118 @@ public class OpenShiftJsonDTOFactoryTest {
 		assertThat(response.getMessages().size()).isEqualTo(1);
 	}
 
+	@Test
+	public void shouldNotAddMissingPropertiesWhenReading() {
+		// pre-conditions
+		final ModelNode node = ModelNode.fromJSONString("{\"name\":\"foobarz\"}");
+		ModelNode undefined = new ModelNode();
+
+		// operation
+		OpenShiftJsonDTOFactory factory = new OpenShiftJsonDTOFactory();
+		String id = factory.getAsString(node, IOpenShiftJsonConstants.PROPERTY_ID);
+		factory.getAsString(undefined, IOpenShiftJsonConstants.PROPERTY_ID);
+
+		// verification
+		assertThat(id).isNull();
+		assertThat(node.keys()).containsOnly("name");
+		assertThat(undefined.isDefined()).isFalse();
+	}
+
+	@Test
+	public void shouldOnlyReadProjectedParts() throws Throwable {
+		// pre-conditions
+		String content = Samples.POST_MYSQL_DOMAINS_FOOBARZ_APPLICATIONS_SPRINGEAP6_CARTRIDGES.getContentAsString();
+
+		// operation
+		RestResponse statusResponse = factory.get(content, ResponseProjection.STATUS);
+		RestResponse messagesResponse = factory.get(content, ResponseProjection.MESSAGES);
+		RestResponse dataResponse = factory.get(content, ResponseProjection.DATA);
+
+		// verifications
+		assertThat(statusResponse.getStatus()).isEqualTo(dataResponse.getStatus());
+		assertThat(statusResponse.getDataType()).isEqualTo(EnumDataType.cartridge);
+		assertThat(statusResponse.getMessages().size()).isEqualTo(0);
+		assertThat(statusResponse.<Object> getData()).isNull();
+		assertThat(messagesResponse.getMessages().size()).isEqualTo(dataResponse.getMessages().size());
+		assertThat(messagesResponse.getMessages().size()).isGreaterThan(0);
+		assertThat(messagesResponse.<Object> getData()).isNull();
+		assertThat(dataResponse.<Object> getData()).isNotNull();
+	}
+
+	@Test
+	public void shouldShareRepeatedValuesAcrossApplications() throws Throwable {
+		// pre-conditions
+		String content = createApplications(Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_2EMBEDDED, 10000);
+
+		// operation
+		RestResponse response = factory.get(content);
+
+		// verifications
+		List<ApplicationResourceDTO> applications = response.getData();
+		assertThat(applications).hasSize(10000);
+		Map<Object, Object> frameworks = new IdentityHashMap<Object, Object>();
+		Map<Object, Object> gearProfiles = new IdentityHashMap<Object, Object>();
+		Map<Object, Object> domainIds = new IdentityHashMap<Object, Object>();
+		Map<Object, Object> cartridgeValues = new IdentityHashMap<Object, Object>();
+		for (ApplicationResourceDTO application : applications) {
+			frameworks.put(application.getFramework(), null);
+			gearProfiles.put(application.getGearProfile(), null);
+			domainIds.put(application.getDomainId(), null);
+			for (CartridgeResourceDTO cartridge : application.getCartridges().values()) {
+				cartridgeValues.put(cartridge.getName(), null);
+				cartridgeValues.put(cartridge.getDisplayName(), null);
+				cartridgeValues.put(cartridge.getDescription(), null);
+			}
+		}
+		// the 2 applications in the sample were each replicated 5000x
+		assertThat(frameworks.size()).isLessThanOrEqualTo(2);
+		assertThat(gearProfiles.size()).isLessThanOrEqualTo(2);
+		assertThat(domainIds.size()).isEqualTo(1);
+		assertThat(cartridgeValues.size()).isLessThan(50);
+	}
+
+	private String createApplications(Samples sample, int count) {
+		ModelNode node = ModelNode.fromJSONString(sample.getContentAsString());
+		List<ModelNode> applicationNodes = node.get(IOpenShiftJsonConstants.PROPERTY_DATA).asList();
+		ModelNode data = new ModelNode().setEmptyList();
+		for (ModelNode application : applicationNodes) {
+			// keep the synthetic account small, link schemas are shared anyhow
+			application.remove(IOpenShiftJsonConstants.PROPERTY_LINKS);
+			for (ModelNode cartridge : application.get(IOpenShiftJsonConstants.PROPERTY_CARTRIDGES).asList()) {
+				cartridge.remove(IOpenShiftJsonConstants.PROPERTY_LINKS);
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			ModelNode application = applicationNodes.get(i % applicationNodes.size()).clone();
+			application.get(IOpenShiftJsonConstants.PROPERTY_NAME).set("application" + i);
+			application.get(IOpenShiftJsonConstants.PROPERTY_UUID).set(Integer.toHexString(i));
+			data.add(application);
+		}
+		node.get(IOpenShiftJsonConstants.PROPERTY_DATA).set(data);
+		return node.toJSONString(true);
+	}
+
+	@Test
+	public void shouldShareLinkSchemasAcrossApplications() throws Throwable {
+		// pre-conditions
+		String content = Samples.GET_DOMAINS_FOOBARZ_APPLICATIONS_2EMBEDDED.getContentAsString();
+		// operation
+		RestResponse response = factory.get(content);
+		RestResponse response2 = factory.get(content);
+		// verifications
+		List<ApplicationResourceDTO> applications = response.getData();
+		Link addAlias = applications.get(0).getLinks().get("ADD_ALIAS");
+		Link addAlias2 = applications.get(1).getLinks().get("ADD_ALIAS");
+		assertThat(addAlias.getHref()).isNotEqualTo(addAlias2.getHref());
+		assertThat(addAlias.getSchema()).isSameAs(addAlias2.getSchema());
+		assertThat(addAlias.getRequiredParams()).isSameAs(addAlias2.getRequiredParams());
+		List<ApplicationResourceDTO> applications2 = response2.getData();
+		assertThat(applications2.get(0).getLinks().get("ADD_ALIAS").getSchema()).isSameAs(addAlias.getSchema());
+		// valid options differ
+		assertThat(applications.get(0).getLinks().get("ADD_CARTRIDGE").getSchema())
+				.isNotSameAs(applications.get(1).getLinks().get("ADD_CARTRIDGE").getSchema());
+	}
+
 	@Test
 	public void shouldUnmarshallGetApplicationsWith2AppsResponseBody() throws Throwable {
 		// pre-conditions
@@ -380,6 +495,19 @@ public class OpenShiftJsonDTOFactoryTest {
 				CartridgeTestUtils.JBOSSEAP_6_NAME);
 	}
 
+	@Test
+	public void shouldUnmarshallCartridgeRequires() throws Throwable {
+		// pre-conditions
+		String content = Samples.GET_CARTRIDGES.getContentAsString();
+		assertNotNull(content);
+		// operation
+		RestResponse response = factory.get(content);
+		// verifications
+		Map<String, CartridgeResourceDTO> cartridges = response.getData();
+		assertThat(cartridges.get("phpmyadmin-3.4").getRequires()).containsExactly("mysql");
+		assertThat(cartridges.get(CartridgeTestUtils.MYSQL_51_NAME).getRequires()).isEmpty();
+	}
+
 	@Test
 	public void shouldUnmarshallGetApplicationGearGroupsResponseBody() throws Throwable {
 		// pre-conditions
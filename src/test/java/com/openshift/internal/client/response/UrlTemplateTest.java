@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.openshift.internal.client.response;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.openshift.client.HttpMethod;
+import com.openshift.internal.client.httpclient.request.Parameter;
+import com.openshift.internal.client.httpclient.request.StringParameter;
+
+/**
+ * @author Andre Dietisheim
+ */
+public class UrlTemplateTest {
+
+	private static final String SERVER = "https://openshift.redhat.com";
+	private static final String SERVICE_PATH = "/broker/rest/";
+
+	@Test
+	public void shouldShareTemplateOfSameHref() {
+		// pre-conditions
+		Link link = new Link("GET", "https://openshift.redhat.com/broker/rest/domain/foobar", HttpMethod.GET);
+		Link link2 = new Link("GET", "https://openshift.redhat.com/broker/rest/domain/foobar", HttpMethod.GET);
+
+		// operation
+		link.getHref(SERVER, SERVICE_PATH);
+		UrlTemplate template = link.getTemplate();
+		link.getHref(SERVER, SERVICE_PATH);
+
+		// verification
+		assertThat(link.getTemplate()).isSameAs(template);
+		assertThat(link2.getTemplate()).isSameAs(template);
+	}
+
+	@Test
+	public void shouldSubstituteVariables() {
+		// pre-conditions
+		UrlTemplate template = UrlTemplate.compile("/domain/:domain_name/application/:name");
+		List<Parameter> pathParameters = Arrays.<Parameter> asList(
+				new StringParameter("domain_name", "foobar"),
+				new StringParameter("name", "jbossas"));
+
+		// operation
+		String url = template.expand(SERVER, SERVICE_PATH, pathParameters, null);
+
+		// verification
+		assertThat(url).isEqualTo("https://openshift.redhat.com/broker/rest/domain/foobar/application/jbossas");
+	}
+
+	@Test
+	public void shouldLeaveVariablesWithoutValue() {
+		// pre-conditions
+		UrlTemplate template = UrlTemplate.compile("/broker/rest/domain/:domain_name/application/:name");
+		List<Parameter> pathParameters = Arrays.<Parameter> asList(
+				new StringParameter("name", "jbossas"));
+
+		// operation
+		String url = template.expand(SERVER, SERVICE_PATH, pathParameters, null);
+
+		// verification
+		assertThat(url).isEqualTo("https://openshift.redhat.com/broker/rest/domain/:domain_name/application/jbossas");
+	}
+
+	@Test
+	public void shouldNotEncodeVariableValues() {
+		// pre-conditions
+		UrlTemplate template = UrlTemplate.compile("/broker/rest/domain/:domain_name/cartridge/:name");
+		List<Parameter> pathParameters = Arrays.<Parameter> asList(
+				new StringParameter("domain_name", "foobar"),
+				new StringParameter("name", "a b/c"));
+
+		// operation
+		String url = template.expand(SERVER, SERVICE_PATH, pathParameters, null);
+
+		// verification
+		// values are inserted as-is, as Link#getHref always did
+		assertThat(url).isEqualTo("https://openshift.redhat.com/broker/rest/domain/foobar/cartridge/a b/c");
+	}
+
+	@Test
+	public void shouldNotPrependToAbsoluteHref() {
+		// pre-conditions
+		UrlTemplate template = UrlTemplate.compile("https://openshift.redhat.com:8443/broker/rest/api");
+
+		// operation
+		String url = template.expand("http://localhost", SERVICE_PATH, null, null);
+
+		// verification
+		assertThat(url).isEqualTo("https://openshift.redhat.com:8443/broker/rest/api");
+	}
+
+	@Test
+	public void shouldJoinServicePathAndHrefWithSingleSlash() {
+		// pre-conditions
+		UrlTemplate template = UrlTemplate.compile("/api");
+		UrlTemplate template2 = UrlTemplate.compile("api");
+
+		// operation
+		String url = template.expand(SERVER, SERVICE_PATH, null, null);
+		String url2 = template2.expand(SERVER, "/broker/rest", null, null);
+
+		// verification
+		assertThat(url).isEqualTo("https://openshift.redhat.com/broker/rest/api");
+		assertThat(url2).isEqualTo("https://openshift.redhat.com/broker/rest/api");
+	}
+
+	@Test
+	public void shouldAppendQueryParameters() {
+		// pre-conditions
+		UrlTemplate template = UrlTemplate.compile("/broker/rest/domain/:name/applications");
+		List<Parameter> pathParameters = Arrays.<Parameter> asList(
+				new StringParameter("name", "foobar"));
+		List<Parameter> urlParameters = Arrays.<Parameter> asList(
+				new StringParameter("include", "cartridges"),
+				new StringParameter("nolinks", "true"));
+
+		// operation
+		String url = template.expand(SERVER, SERVICE_PATH, pathParameters, urlParameters);
+
+		// verification
+		assertThat(url).isEqualTo(
+				"https://openshift.redhat.com/broker/rest/domain/foobar/applications?include=cartridges&nolinks=true");
+	}
+}